@@ -0,0 +1,185 @@
+package ca.bcit.termproject.wordgame;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * The {@code AnswerKeyBenchmark} class measures the cost of grading one answer against the precomputed
+ * answer key of a country, and shows that it stays flat as the catalog grows.
+ * <p>
+ * Synthetic catalogs of increasing size are made by copying the shipped countries with numbered names, so they
+ * keep the accented capitals such as "Bogotá" and "Asunción". For each catalog, capital city answers are graded
+ * with an {@link AnswerMatcher} in three ways:
+ * 1. Typed without accents and in upper case, such as "BOGOTA 3", which folds without Unicode decomposition.
+ * 2. Typed with accents, such as "Bogotá 3", which needs decomposition.
+ * 3. Typed with accents and graded against the expected name rather than its key, so both sides are folded
+ *    on every answer, as they would be without precomputed keys.
+ * It lives in the {@code src/benchmarks} source root, apart from the game. Run from the repository root with
+ * the compiled {@code src/code} and {@code src/benchmarks} classes on the class path:
+ * {@code java ca.bcit.termproject.wordgame.AnswerKeyBenchmark}
+ *
+ * @author Jonah Botelho
+ * @version 1.0
+ */
+public final class AnswerKeyBenchmark
+{
+    private static final int[]  CATALOG_SIZES         = {1_000, 10_000, 100_000};
+    private static final int    QUERY_COUNT           = 10_000;
+    private static final int    WARM_UP_ROUNDS        = 20;
+    private static final long   SEED                  = 2522L;
+    private static final int    NOTHING               = 0;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args unused.
+     */
+    public static void main(final String[] args) throws IOException
+    {
+        final List<Country> shipped;
+        shipped = World.getInstance().getCountries();
+
+        System.out.printf("%-10s %14s %14s %14s%n", "countries", "plain input", "accented input", "fold both");
+
+        for (final int size : CATALOG_SIZES)
+        {
+            benchmark(shipped, size);
+        }
+    }
+
+    /**
+     * Builds a catalog of the given size and prints the average cost of grading one answer.
+     *
+     * @param shipped The shipped countries to copy.
+     * @param size    The number of countries in the catalog.
+     */
+    private static void benchmark(final List<Country> shipped,
+                                  final int size) throws IOException
+    {
+        final InMemoryCountrySource.Builder builder;
+        final World world;
+        final AnswerMatcher matcher;
+        final Random random;
+        final Country[] expected;
+        final String[] plainInputs;
+        final String[] accentedInputs;
+
+        builder = new InMemoryCountrySource.Builder();
+
+        for (final Country country : CompactCatalogBenchmark.makeSyntheticCatalog(shipped, size))
+        {
+            builder.add(country);
+        }
+
+        world          = new World(builder.build());
+        matcher        = new AnswerMatcher(world, AnswerMatcher.DEFAULT_MAX_DISTANCE);
+        random         = new Random(SEED);
+        expected       = new Country[QUERY_COUNT];
+        plainInputs    = new String[QUERY_COUNT];
+        accentedInputs = new String[QUERY_COUNT];
+
+        for (int i = NOTHING; i < QUERY_COUNT; i++)
+        {
+            expected[i]       = world.getCountry(random.nextInt(world.getCountryCount()));
+            plainInputs[i]    = expected[i].getCapitalCityKey().toUpperCase(Locale.ROOT);
+            accentedInputs[i] = expected[i].getCapitalCityName();
+        }
+
+        for (int i = NOTHING; i < WARM_UP_ROUNDS; i++)
+        {
+            gradeAll(matcher, plainInputs, expected);
+            gradeAll(matcher, accentedInputs, expected);
+            foldBoth(matcher, accentedInputs, expected);
+        }
+
+        System.out.printf("%-10d %11.1f ns %11.1f ns %11.1f ns%n",
+                          world.getCountryCount(),
+                          gradeAll(matcher, plainInputs, expected),
+                          gradeAll(matcher, accentedInputs, expected),
+                          foldBoth(matcher, accentedInputs, expected));
+    }
+
+    /**
+     * Grades every input against the precomputed capital city key, folding only the input.
+     *
+     * @param matcher  The matcher to grade with.
+     * @param inputs   The answers to grade.
+     * @param expected The countries the answers should match.
+     * @return The average time per answer in nanoseconds.
+     */
+    private static double gradeAll(final AnswerMatcher matcher,
+                                   final String[] inputs,
+                                   final Country[] expected)
+    {
+        final long startTime;
+        int correct;
+
+        startTime = System.nanoTime();
+        correct   = NOTHING;
+
+        for (int i = NOTHING; i < inputs.length; i++)
+        {
+            if (matcher.gradeKey(inputs[i], expected[i].getCapitalCityKey()) == AnswerMatcher.MatchType.EXACT)
+            {
+                correct++;
+            }
+        }
+
+        return averageNanos(startTime, correct, inputs.length);
+    }
+
+    /**
+     * Grades every input against the capital city name, folding both sides, as would be needed without
+     * precomputed keys.
+     *
+     * @param matcher  The matcher to grade with.
+     * @param inputs   The answers to grade.
+     * @param expected The countries the answers should match.
+     * @return The average time per answer in nanoseconds.
+     */
+    private static double foldBoth(final AnswerMatcher matcher,
+                                   final String[] inputs,
+                                   final Country[] expected)
+    {
+        final long startTime;
+        int correct;
+
+        startTime = System.nanoTime();
+        correct   = NOTHING;
+
+        for (int i = NOTHING; i < inputs.length; i++)
+        {
+            if (matcher.grade(inputs[i], expected[i].getCapitalCityName()) == AnswerMatcher.MatchType.EXACT)
+            {
+                correct++;
+            }
+        }
+
+        return averageNanos(startTime, correct, inputs.length);
+    }
+
+    /**
+     * Returns the average time per answer since the start time, checking that every answer was graded correct.
+     *
+     * @param startTime The time the answers started being graded.
+     * @param correct   The number of answers graded correct.
+     * @param count     The number of answers graded.
+     * @return The average time per answer in nanoseconds.
+     */
+    private static double averageNanos(final long startTime,
+                                       final int correct,
+                                       final int count)
+    {
+        final long elapsed;
+        elapsed = System.nanoTime() - startTime;
+
+        if (correct != count)
+        {
+            throw new IllegalStateException(correct + " of " + count + " answers were graded correct");
+        }
+
+        return (double) elapsed / count;
+    }
+}
@@ -0,0 +1,275 @@
+package ca.bcit.termproject.wordgame;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * The {@code AnswerMatcherBenchmark} class measures how long an {@link AnswerMatcher} takes to grade answers
+ * over a large catalog, and compares it with checking the answer against every entry.
+ * <p>
+ * A synthetic catalog of {@value ENTRY_COUNT} made-up place names is generated from random syllables with a
+ * fixed seed. Three kinds of answers are graded against randomly chosen entries:
+ * 1. Exact answers.
+ * 2. Answers with one typo, which should be accepted.
+ * 3. Unrelated answers, which should be rejected.
+ * <p>
+ * Grading a typo has to make sure no other entry is as close to it, so the one-typo time is the one to watch;
+ * it should stay in microseconds, while comparing the typo with every entry takes tens of milliseconds.
+ * The same typo answers are then graded against the shipped catalog for comparison.
+ * It lives in the {@code src/benchmarks} source root, apart from the game. Run from the repository root with
+ * the compiled {@code src/code} and {@code src/benchmarks} classes on the class path:
+ * {@code java ca.bcit.termproject.wordgame.AnswerMatcherBenchmark}
+ *
+ * @author Jonah Botelho
+ * @version 1.0
+ */
+public final class AnswerMatcherBenchmark
+{
+    private static final int      ENTRY_COUNT           = 100_000;
+    private static final int      QUERY_COUNT           = 2_000;
+    private static final int      LINEAR_QUERY_COUNT    = 50;
+    private static final int      WARM_UP_ROUNDS        = 3;
+    private static final long     SEED                  = 2522L;
+    private static final int      MIN_SYLLABLES         = 2;
+    private static final int      EXTRA_SYLLABLES       = 4;
+    private static final int      NOTHING               = 0;
+    private static final double   NANOS_PER_MICROSECOND = 1_000.0;
+    private static final double   NANOS_PER_MILLISECOND = 1_000_000.0;
+    private static final String[] SYLLABLES             = {
+        "ka", "bul", "lo", "ma", "ri", "ta", "ne", "sa", "vo", "din",
+        "gar", "pe", "zu", "mon", "tri", "al", "e", "or", "qui", "ston"
+    };
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args unused.
+     */
+    public static void main(final String[] args) throws IOException
+    {
+        final Random random;
+        final List<String> answers;
+        final String[] expected;
+        final String[] typos;
+        final String[] unrelated;
+        final long buildStart;
+        final AnswerMatcher matcher;
+        final long buildNanos;
+
+        random    = new Random(SEED);
+        answers   = makeSyntheticAnswers(random, ENTRY_COUNT);
+        expected  = new String[QUERY_COUNT];
+        typos     = new String[QUERY_COUNT];
+        unrelated = new String[QUERY_COUNT];
+
+        for (int i = NOTHING; i < QUERY_COUNT; i++)
+        {
+            expected[i]  = answers.get(random.nextInt(answers.size()));
+            typos[i]     = addTypo(expected[i], random);
+            unrelated[i] = makeName(random) + makeName(random);
+        }
+
+        buildStart = System.nanoTime();
+        matcher    = new AnswerMatcher(answers, AnswerMatcher.DEFAULT_MAX_DISTANCE);
+        buildNanos = System.nanoTime() - buildStart;
+
+        System.out.printf("%d entries, built in %.1f ms%n", answers.size(), buildNanos / NANOS_PER_MILLISECOND);
+
+        for (int i = NOTHING; i < WARM_UP_ROUNDS; i++)
+        {
+            gradeAll(matcher, expected, expected);
+            gradeAll(matcher, typos, expected);
+            gradeAll(matcher, unrelated, expected);
+        }
+
+        report("exact answers", matcher, expected, expected);
+        report("one typo", matcher, typos, expected);
+        report("unrelated answers", matcher, unrelated, expected);
+        reportLinearScan(answers, typos);
+        reportShippedCatalog(random);
+    }
+
+    /**
+     * Grades one-typo answers for every capital city of the shipped catalog.
+     *
+     * @param random The source of randomness.
+     */
+    private static void reportShippedCatalog(final Random random) throws IOException
+    {
+        final List<Country> countries;
+        final AnswerMatcher matcher;
+        final String[] expected;
+        final String[] typos;
+
+        countries = World.getInstance().getCountries();
+        matcher   = new AnswerMatcher(World.getInstance(), AnswerMatcher.DEFAULT_MAX_DISTANCE);
+        expected  = new String[countries.size()];
+        typos     = new String[countries.size()];
+
+        for (int i = NOTHING; i < expected.length; i++)
+        {
+            expected[i] = countries.get(i).getCapitalCityName();
+            typos[i]    = addTypo(expected[i], random);
+        }
+
+        for (int i = NOTHING; i < WARM_UP_ROUNDS; i++)
+        {
+            gradeAll(matcher, typos, expected);
+        }
+
+        System.out.printf("%d shipped countries%n", countries.size());
+        report("one typo", matcher, typos, expected);
+    }
+
+    /**
+     * Grades every input against its expected answer and prints the average time and the results.
+     *
+     * @param label    The kind of answers being graded.
+     * @param matcher  The matcher to grade with.
+     * @param inputs   The answers to grade.
+     * @param expected The expected answers.
+     */
+    private static void report(final String label,
+                               final AnswerMatcher matcher,
+                               final String[] inputs,
+                               final String[] expected)
+    {
+        final long startTime;
+        final int[] counts;
+        final long elapsed;
+
+        startTime = System.nanoTime();
+        counts    = gradeAll(matcher, inputs, expected);
+        elapsed   = System.nanoTime() - startTime;
+
+        System.out.printf("  %-18s %8.2f us per answer (exact %d, near %d, none %d)%n",
+                          label + ":",
+                          elapsed / NANOS_PER_MICROSECOND / inputs.length,
+                          counts[AnswerMatcher.MatchType.EXACT.ordinal()],
+                          counts[AnswerMatcher.MatchType.NEAR.ordinal()],
+                          counts[AnswerMatcher.MatchType.NONE.ordinal()]);
+    }
+
+    /**
+     * Prints the average time of finding the closest entry by comparing against every entry.
+     *
+     * @param answers The catalog entries.
+     * @param inputs  The answers to look up.
+     */
+    private static void reportLinearScan(final List<String> answers,
+                                         final String[] inputs)
+    {
+        final long startTime;
+        final long elapsed;
+        int best;
+
+        startTime = System.nanoTime();
+        best      = Integer.MAX_VALUE;
+
+        for (int i = NOTHING; i < LINEAR_QUERY_COUNT; i++)
+        {
+            for (final String answer : answers)
+            {
+                best = Math.min(best, AnswerMatcher.editDistance(answer, inputs[i]));
+            }
+        }
+
+        elapsed = System.nanoTime() - startTime;
+
+        System.out.printf("  %-18s %8.2f us per answer (best distance %d)%n",
+                          "full scan:",
+                          elapsed / NANOS_PER_MICROSECOND / LINEAR_QUERY_COUNT,
+                          best);
+    }
+
+    /**
+     * Grades every input against its expected answer.
+     *
+     * @param matcher  The matcher to grade with.
+     * @param inputs   The answers to grade.
+     * @param expected The expected answers.
+     * @return The number of answers of each match type, indexed by ordinal.
+     */
+    private static int[] gradeAll(final AnswerMatcher matcher,
+                                  final String[] inputs,
+                                  final String[] expected)
+    {
+        final int[] counts;
+        counts = new int[AnswerMatcher.MatchType.values().length];
+
+        for (int i = NOTHING; i < inputs.length; i++)
+        {
+            counts[matcher.grade(inputs[i], expected[i]).ordinal()]++;
+        }
+
+        return counts;
+    }
+
+    /**
+     * Makes the given number of distinct made-up place names.
+     *
+     * @param random The source of randomness.
+     * @param count  The number of names to make.
+     * @return The names.
+     */
+    private static List<String> makeSyntheticAnswers(final Random random,
+                                                     final int count)
+    {
+        final Set<String> names;
+        names = new LinkedHashSet<>();
+
+        while (names.size() < count)
+        {
+            names.add(makeName(random));
+        }
+
+        return new ArrayList<>(names);
+    }
+
+    /**
+     * Makes one place name from random syllables.
+     *
+     * @param random The source of randomness.
+     * @return The name.
+     */
+    private static String makeName(final Random random)
+    {
+        final StringBuilder name;
+        final int syllables;
+
+        name      = new StringBuilder();
+        syllables = MIN_SYLLABLES + random.nextInt(EXTRA_SYLLABLES);
+
+        for (int i = NOTHING; i < syllables; i++)
+        {
+            name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+
+        name.setCharAt(NOTHING, Character.toUpperCase(name.charAt(NOTHING)));
+        return name.toString();
+    }
+
+    /**
+     * Replaces one random letter of a name with another letter.
+     *
+     * @param name   The name to misspell.
+     * @param random The source of randomness.
+     * @return The misspelled name.
+     */
+    private static String addTypo(final String name,
+                                  final Random random)
+    {
+        final StringBuilder typo;
+        final int position;
+
+        typo     = new StringBuilder(name);
+        position = random.nextInt(name.length());
+
+        typo.setCharAt(position, typo.charAt(position) == 'x' ? 'y' : 'x');
+        return typo.toString();
+    }
+}
@@ -0,0 +1,202 @@
+package ca.bcit.termproject.wordgame;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * The {@code AnswerSheetGradingBenchmark} class measures how many answer sheets per second an
+ * {@link AnswerSheetGrader} grades as threads are added.
+ * <p>
+ * A temporary file of {@value SHEET_COUNT} sheets about the shipped countries is written first, each with up to
+ * {@value MAX_GAMES_PER_SHEET} games of answers: most first attempts are right, and most wrong ones are followed
+ * by a second attempt. The file is then graded with 1, 2, 4 and so on up to one thread per available processor,
+ * each time into a fresh score file, after a warm-up run.
+ * <p>
+ * It lives in the {@code src/benchmarks} source root, apart from the game. Run from the repository root with
+ * the compiled {@code src/code} and {@code src/benchmarks} classes on the class path:
+ * {@code java ca.bcit.termproject.wordgame.AnswerSheetGradingBenchmark}
+ *
+ * @author Jonah Botelho
+ * @version 1.0
+ */
+public final class AnswerSheetGradingBenchmark
+{
+    private static final int    SHEET_COUNT          = 100_000;
+    private static final int    MAX_GAMES_PER_SHEET  = 3;
+    private static final double FIRST_ATTEMPT_RIGHT  = 0.6;
+    private static final double SECOND_ATTEMPT_RIGHT = 0.5;
+    private static final double SECOND_ATTEMPT_GIVEN = 0.9;
+    private static final long   SEED                 = 2522L;
+    private static final int    NOTHING              = 0;
+    private static final double NANOS_PER_SECOND     = 1_000_000_000.0;
+
+    private static final Question.Type[] TYPES = {Question.Type.CAPITAL_TO_COUNTRY,
+                                                  Question.Type.COUNTRY_TO_CAPITAL,
+                                                  Question.Type.FACT_TO_COUNTRY};
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args unused.
+     */
+    public static void main(final String[] args) throws IOException, InterruptedException, ExecutionException
+    {
+        final World world;
+        final AnswerMatcher matcher;
+        final Path sheetFile;
+        final Path scoreFile;
+        final int processors;
+
+        world      = World.getInstance();
+        matcher    = new AnswerMatcher(world, AnswerMatcher.DEFAULT_MAX_DISTANCE);
+        sheetFile  = Files.createTempFile("wordgame_sheets", ".txt");
+        scoreFile  = Files.createTempFile("wordgame_sheet_scores", ".txt");
+        processors = Runtime.getRuntime().availableProcessors();
+
+        try
+        {
+            writeSheets(world, sheetFile);
+
+            System.out.printf("%,d sheets, %,d byte file%n", SHEET_COUNT, Files.size(sheetFile));
+
+            // warm up with every thread
+            run(world, matcher, processors, sheetFile, scoreFile);
+
+            for (int threads = 1; threads < processors; threads *= 2)
+            {
+                report(threads, run(world, matcher, threads, sheetFile, scoreFile));
+            }
+
+            report(processors, run(world, matcher, processors, sheetFile, scoreFile));
+        }
+        finally
+        {
+            Files.deleteIfExists(sheetFile);
+            Files.deleteIfExists(scoreFile);
+        }
+    }
+
+    /**
+     * Grades the sheet file once, into an emptied score file.
+     *
+     * @param world     The shared World.
+     * @param matcher   The shared answer matcher.
+     * @param threads   The number of grading threads.
+     * @param sheetFile The answer sheet file.
+     * @param scoreFile The score file.
+     * @return The time taken, in nanoseconds.
+     */
+    private static long run(final World world,
+                            final AnswerMatcher matcher,
+                            final int threads,
+                            final Path sheetFile,
+                            final Path scoreFile) throws IOException, InterruptedException, ExecutionException
+    {
+        final AnswerSheetGrader grader;
+        final long startTime;
+        final AnswerSheetGrader.Summary summary;
+
+        Files.write(scoreFile, new byte[NOTHING]);
+
+        grader    = new AnswerSheetGrader(world, matcher, threads, AnswerSheetGrader.DEFAULT_BATCH_SIZE);
+        startTime = System.nanoTime();
+        summary   = grader.grade(sheetFile, scoreFile);
+
+        if (summary.getSheetsGraded() != SHEET_COUNT)
+        {
+            throw new IllegalStateException("Expected " + SHEET_COUNT + " sheets but graded " +
+                                            summary.getSheetsGraded());
+        }
+
+        return System.nanoTime() - startTime;
+    }
+
+    /**
+     * Prints the throughput of one run.
+     *
+     * @param threads The number of grading threads.
+     * @param elapsed The time taken, in nanoseconds.
+     */
+    private static void report(final int threads,
+                               final long elapsed)
+    {
+        System.out.printf("  %2d threads: %,10.0f sheets/s (%.2f s)%n",
+                          threads,
+                          SHEET_COUNT * NANOS_PER_SECOND / elapsed,
+                          elapsed / NANOS_PER_SECOND);
+    }
+
+    /**
+     * Writes the answer sheet file.
+     *
+     * @param world The World the sheets are about.
+     * @param file  The file to write.
+     */
+    private static void writeSheets(final World world,
+                                    final Path file) throws IOException
+    {
+        final Random random;
+        random = new Random(SEED);
+
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8))
+        {
+            for (int sheet = NOTHING; sheet < SHEET_COUNT; sheet++)
+            {
+                final int answers;
+                answers = (random.nextInt(MAX_GAMES_PER_SHEET) + 1) * GameSession.QUESTIONS_PER_GAME;
+
+                writer.write("Date and Time: 2025-04-04 17:01:18");
+                writer.newLine();
+
+                for (int i = NOTHING; i < answers; i++)
+                {
+                    final Country country;
+                    final Question.Type type;
+
+                    country = world.getCountry(random.nextInt(world.getCountryCount()));
+                    type    = TYPES[random.nextInt(TYPES.length)];
+
+                    writer.write(type + "|" + country.getName() + "|" + attempt(world, country, type, random,
+                                                                               FIRST_ATTEMPT_RIGHT));
+
+                    if (random.nextDouble() < SECOND_ATTEMPT_GIVEN)
+                    {
+                        writer.write("|" + attempt(world, country, type, random, SECOND_ATTEMPT_RIGHT));
+                    }
+
+                    writer.newLine();
+                }
+
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Makes one attempt at a question: the right answer, or the answer about another country.
+     *
+     * @param world       The World.
+     * @param country     The country the question is about.
+     * @param type        The type of the question.
+     * @param random      The random number generator.
+     * @param probability The probability of the right answer.
+     * @return The attempt.
+     */
+    private static String attempt(final World world,
+                                  final Country country,
+                                  final Question.Type type,
+                                  final Random random,
+                                  final double probability)
+    {
+        final Country answered;
+        answered = random.nextDouble() < probability ?
+                   country : world.getCountry(random.nextInt(world.getCountryCount()));
+
+        return type.expectsCapitalCity() ? answered.getCapitalCityName() : answered.getName();
+    }
+}
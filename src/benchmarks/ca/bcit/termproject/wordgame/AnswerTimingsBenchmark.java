@@ -0,0 +1,102 @@
+package ca.bcit.termproject.wordgame;
+
+/**
+ * The {@code AnswerTimingsBenchmark} class measures what {@link AnswerTimings} adds to each attempt at a
+ * question: four clock reads and three histogram updates, which should stay well under a microsecond.
+ * <p>
+ * Each round times {@value ATTEMPT_COUNT} attempts, cycling through the question types, after a warm-up.
+ * A round of bare {@link System#nanoTime()} reads is timed as well, for comparison.
+ * <p>
+ * It lives in the {@code src/benchmarks} source root, apart from the game. Run from the repository root with
+ * the compiled {@code src/code} and {@code src/benchmarks} classes on the class path:
+ * {@code java ca.bcit.termproject.wordgame.AnswerTimingsBenchmark}
+ *
+ * @author Jonah Botelho
+ * @version 1.0
+ */
+public final class AnswerTimingsBenchmark
+{
+    private static final int ATTEMPT_COUNT  = 10_000_000;
+    private static final int WARM_UP_ROUNDS = 3;
+    private static final int CLOCK_READS    = 4;
+    private static final int NOTHING        = 0;
+
+    private static final Question.Type[] TYPES = Question.Type.values();
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args unused.
+     */
+    public static void main(final String[] args)
+    {
+        final AnswerTimings timings;
+        double nanosPerAttempt;
+        double nanosPerClockRead;
+
+        timings           = new AnswerTimings();
+        nanosPerAttempt   = NOTHING;
+        nanosPerClockRead = NOTHING;
+
+        // the last round is reported; the earlier ones warm up
+        for (int round = NOTHING; round <= WARM_UP_ROUNDS; round++)
+        {
+            timings.clear();
+            nanosPerAttempt   = timeAttempts(timings);
+            nanosPerClockRead = timeClockReads();
+        }
+
+        System.out.printf("%,d attempts timed per round%n", ATTEMPT_COUNT);
+        System.out.printf("  timing one attempt: %.1f ns%n", nanosPerAttempt);
+        System.out.printf("  %d bare clock reads: %.1f ns%n", CLOCK_READS, nanosPerClockRead * CLOCK_READS);
+    }
+
+    /**
+     * Times attempts with no work between their marks.
+     *
+     * @param timings The timings to record into.
+     * @return The average time per attempt in nanoseconds.
+     */
+    private static double timeAttempts(final AnswerTimings timings)
+    {
+        final long startTime;
+        startTime = System.nanoTime();
+
+        for (int i = NOTHING; i < ATTEMPT_COUNT; i++)
+        {
+            timings.startPrompt();
+            timings.promptShown();
+            timings.inputReceived();
+            timings.graded(TYPES[i % TYPES.length]);
+        }
+
+        return (double) (System.nanoTime() - startTime) / ATTEMPT_COUNT;
+    }
+
+    /**
+     * Times bare clock reads.
+     *
+     * @return The average time per clock read in nanoseconds.
+     */
+    private static double timeClockReads()
+    {
+        final long startTime;
+        long total;
+
+        startTime = System.nanoTime();
+        total     = NOTHING;
+
+        for (int i = NOTHING; i < ATTEMPT_COUNT; i++)
+        {
+            total += System.nanoTime();
+        }
+
+        // use the total so the reads cannot be optimized away
+        if (total == NOTHING)
+        {
+            throw new IllegalStateException("The clock did not move");
+        }
+
+        return (double) (System.nanoTime() - startTime) / ATTEMPT_COUNT;
+    }
+}
@@ -0,0 +1,115 @@
+package ca.bcit.termproject.wordgame;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The {@code CompactCatalogBenchmark} class compares the heap used per entry by a list of {@link Country} objects
+ * and by a {@link CompactCountryCatalog} holding the same data.
+ * <p>
+ * A synthetic catalog of {@value ENTRY_COUNT} entries is made by copying the shipped countries with numbered
+ * names and facts, so every entry has its own Strings as if it had been read from disk. Heap use is measured
+ * as the difference in used memory reported by {@link Runtime} after requesting garbage collection, so the
+ * results are approximate.
+ * It lives in the {@code src/benchmarks} source root, apart from the game. Run from the repository root with
+ * the compiled {@code src/code} and {@code src/benchmarks} classes on the class path:
+ * {@code java ca.bcit.termproject.wordgame.CompactCatalogBenchmark}
+ *
+ * @author Jonah Botelho
+ * @version 1.0
+ */
+public final class CompactCatalogBenchmark
+{
+    private static final int ENTRY_COUNT = 100_000;
+    private static final int GC_ROUNDS   = 5;
+    private static final int GC_PAUSE_MS = 100;
+    private static final int NOTHING     = 0;
+    private static final double PERCENT  = 100.0;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args unused.
+     */
+    public static void main(final String[] args) throws IOException, InterruptedException
+    {
+        final List<Country> shipped;
+        final long baseline;
+        final long objectBytes;
+        final long compactBytes;
+        List<Country> objects;
+        final CompactCountryCatalog compact;
+
+        shipped  = World.getInstance().getCountries();
+        baseline = usedHeap();
+
+        objects     = makeSyntheticCatalog(shipped, ENTRY_COUNT);
+        objectBytes = usedHeap() - baseline;
+
+        compact = CompactCountryCatalog.of(objects);
+        objects = null;
+
+        compactBytes = usedHeap() - baseline;
+
+        System.out.printf("%d entries%n", compact.size());
+        System.out.printf("  Country objects: %d bytes per entry%n", objectBytes / ENTRY_COUNT);
+        System.out.printf("  compact catalog: %d bytes per entry%n", compactBytes / ENTRY_COUNT);
+        System.out.printf("  saving:          %.1f%%%n", PERCENT * (objectBytes - compactBytes) / objectBytes);
+    }
+
+    /**
+     * Makes a catalog of the given size by copying the source countries with numbered names and facts.
+     *
+     * @param source The countries to copy.
+     * @param size   The number of entries to make.
+     * @return The synthetic catalog.
+     */
+    static List<Country> makeSyntheticCatalog(final List<Country> source,
+                                              final int size)
+    {
+        final List<Country> catalog;
+        catalog = new ArrayList<>(size);
+
+        for (int i = NOTHING; i < size; i++)
+        {
+            final Country original;
+            final int copy;
+            final String[] facts;
+
+            original = source.get(i % source.size());
+            copy     = i / source.size();
+            facts    = new String[original.getFacts().length];
+
+            for (int j = NOTHING; j < facts.length; j++)
+            {
+                facts[j] = original.getFacts()[j] + " " + copy;
+            }
+
+            catalog.add(new Country(original.getName() + " " + copy,
+                                    original.getCapitalCityName() + " " + copy,
+                                    facts));
+        }
+
+        return catalog;
+    }
+
+    /**
+     * Requests garbage collection a few times and returns the heap in use afterwards.
+     *
+     * @return The used heap in bytes.
+     */
+    private static long usedHeap() throws InterruptedException
+    {
+        final Runtime runtime;
+        runtime = Runtime.getRuntime();
+
+        for (int i = NOTHING; i < GC_ROUNDS; i++)
+        {
+            System.gc();
+            Thread.sleep(GC_PAUSE_MS);
+        }
+
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
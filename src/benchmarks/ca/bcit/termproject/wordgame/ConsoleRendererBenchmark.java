@@ -0,0 +1,163 @@
+package ca.bcit.termproject.wordgame;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * The {@code ConsoleRendererBenchmark} class compares printing word game screens line by line through an
+ * autoflushing {@link PrintStream}, as {@link System#out} does, with building them in a {@link ConsoleRenderer}
+ * and flushing once per prompt.
+ * <p>
+ * Each screen is a question, a wrong first attempt, a retry prompt and the revealed answer, as printed by
+ * {@link WordGame}. Output goes to a stream that discards the bytes but counts the writes that would each be
+ * a system call on a real console or pipe.
+ * <p>
+ * It lives in the {@code src/benchmarks} source root, apart from the game. Run from the repository root with
+ * the compiled {@code src/code} and {@code src/benchmarks} classes on the class path:
+ * {@code java ca.bcit.termproject.wordgame.ConsoleRendererBenchmark}
+ *
+ * @author Jonah Botelho
+ * @version 1.0
+ */
+public final class ConsoleRendererBenchmark
+{
+    private static final int    QUESTION_COUNT   = 500_000;
+    private static final int    WARM_UP_ROUNDS   = 3;
+    private static final long   SEED             = 2522L;
+    private static final int    NOTHING          = 0;
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args unused.
+     */
+    public static void main(final String[] args) throws IOException
+    {
+        final List<Question> questions;
+        questions = new QuestionGenerator(World.getInstance(), SEED).generateBatch(QUESTION_COUNT);
+
+        for (int i = NOTHING; i < WARM_UP_ROUNDS; i++)
+        {
+            printLines(questions, new CountingOutputStream());
+            render(questions, new CountingOutputStream());
+        }
+
+        report("PrintStream, autoflush", questions, false);
+        report("ConsoleRenderer       ", questions, true);
+    }
+
+    /**
+     * Measures and prints one way of writing the screens.
+     *
+     * @param label     The name to print.
+     * @param questions The questions to write screens for.
+     * @param renderer  true to use a ConsoleRenderer, false to use a PrintStream.
+     */
+    private static void report(final String label,
+                               final List<Question> questions,
+                               final boolean renderer) throws IOException
+    {
+        final CountingOutputStream out;
+        final long startTime;
+        final long elapsed;
+
+        out       = new CountingOutputStream();
+        startTime = System.nanoTime();
+
+        if (renderer)
+        {
+            render(questions, out);
+        }
+        else
+        {
+            printLines(questions, out);
+        }
+
+        elapsed = System.nanoTime() - startTime;
+
+        System.out.printf("%s: %,.0f screens/s, %.2f writes per screen, %,d bytes%n",
+                          label,
+                          questions.size() * NANOS_PER_SECOND / elapsed,
+                          (double) out.writes / questions.size(),
+                          out.bytes);
+    }
+
+    /**
+     * Writes every screen line by line through an autoflushing PrintStream.
+     *
+     * @param questions The questions to write screens for.
+     * @param out       The stream to write to.
+     */
+    private static void printLines(final List<Question> questions,
+                                   final OutputStream out)
+    {
+        final PrintStream printStream;
+        printStream = new PrintStream(out, true, StandardCharsets.UTF_8);
+
+        for (final Question question : questions)
+        {
+            printStream.println("\n" + question.getPrompt());
+            printStream.println("Incorrect!");
+            printStream.print("Try again: ");
+            printStream.flush();
+            printStream.println("Incorrect!");
+            printStream.printf("The correct answer is: %s\n", question.getExpectedAnswer());
+            printStream.println("___________________________________________");
+        }
+    }
+
+    /**
+     * Writes every screen through a ConsoleRenderer, flushing once per prompt.
+     *
+     * @param questions The questions to write screens for.
+     * @param out       The stream to write to.
+     */
+    private static void render(final List<Question> questions,
+                               final OutputStream out) throws IOException
+    {
+        final ConsoleRenderer renderer;
+        renderer = new ConsoleRenderer(out);
+
+        for (final Question question : questions)
+        {
+            renderer.println("\n" + question.getPrompt());
+            renderer.println("Incorrect!");
+            renderer.print("Try again: ");
+            renderer.flush();
+            renderer.println("Incorrect!");
+            renderer.printf("The correct answer is: %s\n", question.getExpectedAnswer());
+            renderer.println("___________________________________________");
+        }
+
+        renderer.flush();
+    }
+
+    /**
+     * An output stream that discards its bytes, counting them and the writes made.
+     */
+    private static final class CountingOutputStream extends OutputStream
+    {
+        private long writes;
+        private long bytes;
+
+        @Override
+        public void write(final int b)
+        {
+            writes++;
+            bytes++;
+        }
+
+        @Override
+        public void write(final byte[] b,
+                          final int off,
+                          final int len)
+        {
+            writes++;
+            bytes += len;
+        }
+    }
+}
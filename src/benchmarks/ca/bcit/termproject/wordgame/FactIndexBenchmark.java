@@ -0,0 +1,178 @@
+package ca.bcit.termproject.wordgame;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The {@code FactIndexBenchmark} class measures how long it takes to build a {@link FactIndex} from the facts,
+ * to load it from its cache file instead, and to answer queries, against a scan of every fact.
+ * <p>
+ * The index is built over a synthetic catalog of {@value SYNTHETIC_SIZE} countries made by copying the shipped
+ * countries with numbered names. Each query is run {@value QUERY_COUNT} times after a warm-up.
+ * <p>
+ * It lives in the {@code src/benchmarks} source root, apart from the game. Run from the repository root with
+ * the compiled {@code src/code} and {@code src/benchmarks} classes on the class path:
+ * {@code java ca.bcit.termproject.wordgame.FactIndexBenchmark}
+ *
+ * @author Jonah Botelho
+ * @version 1.0
+ */
+public final class FactIndexBenchmark
+{
+    private static final int    SYNTHETIC_SIZE    = 100_000;
+    private static final int    QUERY_COUNT       = 200;
+    private static final int    WARM_UP_ROUNDS    = 3;
+    private static final long   FINGERPRINT       = 2522L;
+    private static final int    NOTHING           = 0;
+    private static final double NANOS_PER_MILLI   = 1_000_000.0;
+    private static final double NANOS_PER_MICRO   = 1_000.0;
+    private static final String WORD_QUERY        = "volcano";
+    private static final String AND_QUERY         = "desert AND largest";
+    private static final String OR_QUERY          = "glacier OR volcano OR Silk Road";
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args unused.
+     */
+    public static void main(final String[] args) throws IOException
+    {
+        final InMemoryCountrySource.Builder builder;
+        final World world;
+        final Path file;
+        final long buildStart;
+        final FactIndex built;
+        final double buildMillis;
+        final long loadStart;
+        final FactIndex loaded;
+        final double loadMillis;
+
+        builder = new InMemoryCountrySource.Builder();
+
+        for (final Country country : CompactCatalogBenchmark.makeSyntheticCatalog(World.getInstance().getCountries(),
+                                                                                  SYNTHETIC_SIZE))
+        {
+            builder.add(country);
+        }
+
+        world = new World(builder.build());
+        file  = Files.createTempFile("wordgame_facts", ".index");
+
+        try
+        {
+            buildStart  = System.nanoTime();
+            built       = FactIndex.build(world);
+            buildMillis = (System.nanoTime() - buildStart) / NANOS_PER_MILLI;
+
+            built.save(file, FINGERPRINT);
+
+            loadStart  = System.nanoTime();
+            loaded     = FactIndex.load(world, file, FINGERPRINT);
+            loadMillis = (System.nanoTime() - loadStart) / NANOS_PER_MILLI;
+
+            System.out.printf("%,d countries, %,d tokens, %,d byte index file%n",
+                              world.getCountryCount(),
+                              loaded.getTokenCount(),
+                              Files.size(file));
+            System.out.printf("  build from facts: %.0f ms%n", buildMillis);
+            System.out.printf("  load from file:   %.0f ms%n", loadMillis);
+
+            for (final String query : new String[]{WORD_QUERY, AND_QUERY, OR_QUERY})
+            {
+                System.out.printf("  %-32s index %,8.1f us, scan %,10.1f us%n",
+                                  "\"" + query + "\":",
+                                  timeQuery(loaded, query),
+                                  timeScan(world, query));
+            }
+        }
+        finally
+        {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Times a query against the index.
+     *
+     * @param index The index.
+     * @param query The query.
+     * @return The average time per query in microseconds.
+     */
+    private static double timeQuery(final FactIndex index,
+                                    final String query)
+    {
+        long startTime;
+        long found;
+
+        startTime = NOTHING;
+        found     = NOTHING;
+
+        // the last round is timed; the earlier ones warm up
+        for (int round = NOTHING; round <= WARM_UP_ROUNDS; round++)
+        {
+            startTime = System.nanoTime();
+
+            for (int i = NOTHING; i < QUERY_COUNT; i++)
+            {
+                found += index.query(query).length;
+            }
+        }
+
+        checkFound(found);
+
+        return (System.nanoTime() - startTime) / NANOS_PER_MICRO / QUERY_COUNT;
+    }
+
+    /**
+     * Times the first term of a query answered by tokenizing the facts of every country, as a baseline.
+     *
+     * @param world The World to scan.
+     * @param query The query; only its first term is looked for.
+     * @return The average time per scan in microseconds.
+     */
+    private static double timeScan(final World world,
+                                   final String query)
+    {
+        final String term;
+        final long startTime;
+        long found;
+
+        term      = FactIndex.tokenize(query).get(NOTHING);
+        startTime = System.nanoTime();
+        found     = NOTHING;
+
+        // a scan is slow enough that a handful of runs is plenty
+        for (int i = NOTHING; i < WARM_UP_ROUNDS; i++)
+        {
+            for (final Country country : world.getCountries())
+            {
+                for (final String fact : country.getFacts())
+                {
+                    if (FactIndex.tokenize(fact).contains(term))
+                    {
+                        found++;
+                        break;
+                    }
+                }
+            }
+        }
+
+        checkFound(found);
+
+        return (System.nanoTime() - startTime) / NANOS_PER_MICRO / WARM_UP_ROUNDS;
+    }
+
+    /**
+     * Uses the number of countries found, so the work cannot be optimized away.
+     *
+     * @param found The total number of countries found.
+     */
+    private static void checkFound(final long found)
+    {
+        if (found < NOTHING)
+        {
+            throw new IllegalStateException("Impossible result count");
+        }
+    }
+}
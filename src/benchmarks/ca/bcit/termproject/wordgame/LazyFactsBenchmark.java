@@ -0,0 +1,121 @@
+package ca.bcit.termproject.wordgame;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The {@code LazyFactsBenchmark} class measures how much startup time and heap are saved by reading country
+ * facts on first access instead of when a {@link World} is loaded from a {@link CountrySnapshot}.
+ * <p>
+ * A synthetic catalog {@value SYNTHETIC_SCALE} times the size of the shipped data is written to a temporary
+ * directory and compiled into a snapshot. The World is then loaded from the snapshot, which leaves every
+ * country's facts unread, and afterwards every fact is read, which is what an eager load would have paid for
+ * up front. Heap use is measured as the difference in used memory reported by {@link Runtime} after requesting
+ * garbage collection, so the results are approximate.
+ * It lives in the {@code src/benchmarks} source root, apart from the game. Run from the repository root with
+ * the compiled {@code src/code} and {@code src/benchmarks} classes on the class path:
+ * {@code java ca.bcit.termproject.wordgame.LazyFactsBenchmark}
+ *
+ * @author Jonah Botelho
+ * @version 1.0
+ */
+public final class LazyFactsBenchmark
+{
+    private static final int    SYNTHETIC_SCALE       = 500;
+    private static final int    GC_ROUNDS             = 5;
+    private static final int    GC_PAUSE_MS           = 100;
+    private static final int    NOTHING               = 0;
+    private static final double NANOS_PER_MILLISECOND = 1_000_000.0;
+    private static final double BYTES_PER_MEGABYTE    = 1024.0 * 1024.0;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args unused.
+     */
+    public static void main(final String[] args) throws IOException, InterruptedException
+    {
+        final Path directory;
+        final Path dataDirectory;
+        final Path snapshotFile;
+
+        directory     = Files.createTempDirectory("lazyfacts");
+        dataDirectory = Files.createDirectory(directory.resolve("countrydata"));
+        snapshotFile  = directory.resolve("countries.snapshot");
+
+        try
+        {
+            WorldLoadBenchmark.writeSyntheticCatalog(World.DATA_DIRECTORY, dataDirectory, SYNTHETIC_SCALE);
+            CountrySnapshot.compile(dataDirectory, snapshotFile, true);
+            benchmark(snapshotFile);
+        }
+        finally
+        {
+            WorldLoadBenchmark.deleteDirectory(directory);
+        }
+    }
+
+    /**
+     * Loads a World from the snapshot, then reads every fact, printing the time and heap of each step.
+     *
+     * @param snapshotFile The compiled snapshot of the synthetic catalog.
+     */
+    private static void benchmark(final Path snapshotFile) throws IOException, InterruptedException
+    {
+        final long baseline;
+        final long loadStart;
+        final World world;
+        final long loadNanos;
+        final long lazyBytes;
+        final long factsStart;
+        final long factsNanos;
+        final long eagerBytes;
+        int factCount;
+
+        baseline = usedHeap();
+
+        loadStart = System.nanoTime();
+        world     = new World(SnapshotCountrySource.open(snapshotFile));
+        loadNanos = System.nanoTime() - loadStart;
+        lazyBytes = usedHeap() - baseline;
+
+        factsStart = System.nanoTime();
+        factCount  = NOTHING;
+
+        for (final Country country : world.getCountries())
+        {
+            factCount += country.getFacts().length;
+        }
+
+        factsNanos = System.nanoTime() - factsStart;
+        eagerBytes = usedHeap() - baseline;
+
+        System.out.printf("%d countries, %d facts%n", world.getCountryCount(), factCount);
+        System.out.printf("  lazy load:         %8.1f ms %8.1f MB%n",
+                          loadNanos / NANOS_PER_MILLISECOND,
+                          lazyBytes / BYTES_PER_MEGABYTE);
+        System.out.printf("  with every fact:   %8.1f ms %8.1f MB%n",
+                          (loadNanos + factsNanos) / NANOS_PER_MILLISECOND,
+                          eagerBytes / BYTES_PER_MEGABYTE);
+    }
+
+    /**
+     * Requests garbage collection a few times and returns the heap in use afterwards.
+     *
+     * @return The used heap in bytes.
+     */
+    private static long usedHeap() throws InterruptedException
+    {
+        final Runtime runtime;
+        runtime = Runtime.getRuntime();
+
+        for (int i = NOTHING; i < GC_ROUNDS; i++)
+        {
+            System.gc();
+            Thread.sleep(GC_PAUSE_MS);
+        }
+
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,116 @@
+package ca.bcit.termproject.wordgame;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * The {@code MultipleChoiceBenchmark} class measures how long it takes to build a {@link DistractorIndex}
+ * and to generate games of multiple choice questions from it.
+ * <p>
+ * The index is built over the shipped countries and over a synthetic catalog of {@value SYNTHETIC_SIZE}
+ * countries made by copying them with numbered names. Each catalog then generates {@value GAME_COUNT} games of
+ * {@value DistractorIndex#DEFAULT_CHOICES} options per question after a warm-up, through a {@link GameSession}.
+ * <p>
+ * It lives in the {@code src/benchmarks} source root, apart from the game. Run from the repository root with
+ * the compiled {@code src/code} and {@code src/benchmarks} classes on the class path:
+ * {@code java ca.bcit.termproject.wordgame.MultipleChoiceBenchmark}
+ *
+ * @author Jonah Botelho
+ * @version 1.0
+ */
+public final class MultipleChoiceBenchmark
+{
+    private static final int    SYNTHETIC_SIZE      = 100_000;
+    private static final int    GAME_COUNT          = 200_000;
+    private static final int    WARM_UP_ROUNDS      = 3;
+    private static final long   SEED                = 2522L;
+    private static final int    NOTHING             = 0;
+    private static final double NANOS_PER_MILLI     = 1_000_000.0;
+    private static final double NANOS_PER_MICRO     = 1_000.0;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args unused.
+     */
+    public static void main(final String[] args) throws IOException
+    {
+        final World shipped;
+        final InMemoryCountrySource.Builder builder;
+
+        shipped = World.getInstance();
+        builder = new InMemoryCountrySource.Builder();
+
+        for (final Country country : CompactCatalogBenchmark.makeSyntheticCatalog(shipped.getCountries(),
+                                                                                  SYNTHETIC_SIZE))
+        {
+            builder.add(country);
+        }
+
+        run(shipped);
+        run(new World(builder.build()));
+    }
+
+    /**
+     * Builds the distractor index of a World and generates games from it.
+     *
+     * @param world The World to benchmark.
+     */
+    private static void run(final World world)
+    {
+        final long buildStart;
+        final double buildMillis;
+        final GameSession session;
+        final double microsPerGame;
+
+        buildStart  = System.nanoTime();
+        world.getDistractors();
+        buildMillis = (System.nanoTime() - buildStart) / NANOS_PER_MILLI;
+
+        session = new GameSession(world,
+                                  new AnswerMatcher(world, AnswerMatcher.DEFAULT_MAX_DISTANCE),
+                                  new Random(SEED));
+
+        for (int i = NOTHING; i < WARM_UP_ROUNDS; i++)
+        {
+            generateGames(session);
+        }
+
+        microsPerGame = generateGames(session);
+
+        System.out.printf("%,d countries%n", world.getCountryCount());
+        System.out.printf("  build index:   %.1f ms%n", buildMillis);
+        System.out.printf("  generate game: %.2f us%n", microsPerGame);
+    }
+
+    /**
+     * Generates games of multiple choice questions.
+     *
+     * @param session The session to generate with.
+     * @return The average time per game in microseconds.
+     */
+    private static double generateGames(final GameSession session)
+    {
+        final long startTime;
+        long optionLength;
+
+        startTime    = System.nanoTime();
+        optionLength = NOTHING;
+
+        for (int i = NOTHING; i < GAME_COUNT; i++)
+        {
+            final MultipleChoiceQuestion[] game;
+            game = session.startMultipleChoiceGame(DistractorIndex.DEFAULT_CHOICES);
+
+            // use the options so the work cannot be optimized away
+            optionLength += game[game.length - 1].getOption(NOTHING).length();
+        }
+
+        if (optionLength <= NOTHING)
+        {
+            throw new IllegalStateException("No options were generated");
+        }
+
+        return (System.nanoTime() - startTime) / NANOS_PER_MICRO / GAME_COUNT;
+    }
+}
@@ -0,0 +1,123 @@
+package ca.bcit.termproject.wordgame;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * The {@code QuestionGeneratorBenchmark} class measures how many questions a {@link QuestionGenerator}
+ * produces per second over the shipped catalog, without any console input or output.
+ * <p>
+ * Two workloads are measured after a warm-up:
+ * 1. Batches of {@value BATCH_SIZE} questions, up to {@value QUESTION_COUNT} questions in total.
+ * 2. Whole games of {@value GAME_LENGTH} questions, reusing one array.
+ * <p>
+ * It lives in the {@code src/benchmarks} source root, apart from the game. Run from the repository root with
+ * the compiled {@code src/code} and {@code src/benchmarks} classes on the class path:
+ * {@code java ca.bcit.termproject.wordgame.QuestionGeneratorBenchmark}
+ *
+ * @author Jonah Botelho
+ * @version 1.0
+ */
+public final class QuestionGeneratorBenchmark
+{
+    private static final int    QUESTION_COUNT   = 5_000_000;
+    private static final int    BATCH_SIZE       = 100_000;
+    private static final int    GAME_LENGTH      = 10;
+    private static final int    WARM_UP_ROUNDS   = 3;
+    private static final long   SEED             = 2522L;
+    private static final int    NOTHING          = 0;
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args unused.
+     */
+    public static void main(final String[] args) throws IOException
+    {
+        final QuestionGenerator generator;
+        generator = new QuestionGenerator(World.getInstance(), SEED);
+
+        for (int i = NOTHING; i < WARM_UP_ROUNDS; i++)
+        {
+            generateBatches(generator);
+            generateGames(generator);
+        }
+
+        System.out.printf("%d questions over %d countries%n", QUESTION_COUNT, World.getInstance().getCountryCount());
+        System.out.printf("  batches of %d: %,.0f questions/s%n", BATCH_SIZE, generateBatches(generator));
+        System.out.printf("  games of %d:      %,.0f questions/s%n", GAME_LENGTH, generateGames(generator));
+    }
+
+    /**
+     * Generates every question in batches.
+     *
+     * @param generator The generator to use.
+     * @return The number of questions generated per second.
+     */
+    private static double generateBatches(final QuestionGenerator generator)
+    {
+        final long startTime;
+        long promptLength;
+
+        startTime    = System.nanoTime();
+        promptLength = NOTHING;
+
+        for (int generated = NOTHING; generated < QUESTION_COUNT; generated += BATCH_SIZE)
+        {
+            final List<Question> batch;
+            batch = generator.generateBatch(BATCH_SIZE);
+
+            // use the questions so the work cannot be optimized away
+            promptLength += batch.get(batch.size() - 1).getPrompt().length();
+        }
+
+        return questionsPerSecond(startTime, promptLength);
+    }
+
+    /**
+     * Generates every question a game at a time.
+     *
+     * @param generator The generator to use.
+     * @return The number of questions generated per second.
+     */
+    private static double generateGames(final QuestionGenerator generator)
+    {
+        final Question[] game;
+        final long startTime;
+        long promptLength;
+
+        game         = new Question[GAME_LENGTH];
+        startTime    = System.nanoTime();
+        promptLength = NOTHING;
+
+        for (int generated = NOTHING; generated < QUESTION_COUNT; generated += GAME_LENGTH)
+        {
+            generator.generateGame(game);
+            promptLength += game[GAME_LENGTH - 1].getPrompt().length();
+        }
+
+        return questionsPerSecond(startTime, promptLength);
+    }
+
+    /**
+     * Returns the number of questions generated per second since the start time.
+     *
+     * @param startTime    The time generation started.
+     * @param promptLength The total length of the sampled prompts, which must be positive.
+     * @return The number of questions generated per second.
+     */
+    private static double questionsPerSecond(final long startTime,
+                                             final long promptLength)
+    {
+        final long elapsed;
+        elapsed = System.nanoTime() - startTime;
+
+        if (promptLength <= NOTHING)
+        {
+            throw new IllegalStateException("No prompts were generated");
+        }
+
+        return QUESTION_COUNT * NANOS_PER_SECOND / elapsed;
+    }
+}
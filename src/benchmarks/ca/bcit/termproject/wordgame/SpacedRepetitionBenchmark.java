@@ -0,0 +1,155 @@
+package ca.bcit.termproject.wordgame;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The {@code SpacedRepetitionBenchmark} class measures how quickly a {@link SpacedRepetitionScheduler} selects
+ * and reschedules countries, and how large and fast its saved progress is, for catalogs of different sizes.
+ * <p>
+ * For each catalog size, a synthetic catalog is built by copying the shipped countries with numbered names.
+ * A simulated player then answers {@value QUESTION_COUNT} questions a game at a time, answering correctly
+ * on the first attempt with probability {@value FIRST_ATTEMPT_RATE}, on the second attempt with probability
+ * {@value SECOND_ATTEMPT_RATE}, and missing the rest. The progress is saved to a temporary file and loaded back.
+ * <p>
+ * It lives in the {@code src/benchmarks} source root, apart from the game. Run from the repository root with
+ * the compiled {@code src/code} and {@code src/benchmarks} classes on the class path:
+ * {@code java ca.bcit.termproject.wordgame.SpacedRepetitionBenchmark}
+ *
+ * @author Jonah Botelho
+ * @version 1.0
+ */
+public final class SpacedRepetitionBenchmark
+{
+    private static final int[]  CATALOG_SIZES         = {200, 10_000, 100_000};
+    private static final int    QUESTION_COUNT        = 2_000_000;
+    private static final double FIRST_ATTEMPT_RATE    = 0.6;
+    private static final double SECOND_ATTEMPT_RATE   = 0.2;
+    private static final int    WARM_UP_ROUNDS        = 2;
+    private static final long   SEED                  = 2522L;
+    private static final int    NOTHING               = 0;
+    private static final double NANOS_PER_SECOND      = 1_000_000_000.0;
+    private static final double NANOS_PER_MILLISECOND = 1_000_000.0;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args unused.
+     */
+    public static void main(final String[] args) throws IOException
+    {
+        final List<Country> shipped;
+        shipped = World.getInstance().getCountries();
+
+        for (final int size : CATALOG_SIZES)
+        {
+            final InMemoryCountrySource.Builder builder;
+            final World world;
+
+            builder = new InMemoryCountrySource.Builder();
+            for (final Country country : CompactCatalogBenchmark.makeSyntheticCatalog(shipped, size))
+            {
+                builder.add(country);
+            }
+            world = new World(builder.build());
+
+            for (int i = NOTHING; i < WARM_UP_ROUNDS; i++)
+            {
+                play(new SpacedRepetitionScheduler(world, new Random(SEED)));
+            }
+
+            benchmark(world);
+        }
+    }
+
+    /**
+     * Measures and prints the scheduling and persistence speed for one catalog.
+     *
+     * @param world The catalog to schedule.
+     */
+    private static void benchmark(final World world) throws IOException
+    {
+        final SpacedRepetitionScheduler scheduler;
+        final Path file;
+        final double questionsPerSecond;
+        final long saveStart;
+        final long saveNanos;
+        final long loadStart;
+        final long loadNanos;
+
+        scheduler          = new SpacedRepetitionScheduler(world, new Random(SEED));
+        file               = Files.createTempFile("wordgame_review", ".dat");
+        questionsPerSecond = play(scheduler);
+
+        try
+        {
+            saveStart = System.nanoTime();
+            scheduler.save(file);
+            saveNanos = System.nanoTime() - saveStart;
+
+            loadStart = System.nanoTime();
+            SpacedRepetitionScheduler.load(world, file, new Random(SEED));
+            loadNanos = System.nanoTime() - loadStart;
+
+            System.out.printf("%,d countries%n", world.getCountryCount());
+            System.out.printf("  select + reschedule: %,.0f questions/s%n", questionsPerSecond);
+            System.out.printf("  saved progress:      %,d bytes (%.3f ms to save, %.3f ms to load)%n",
+                              Files.size(file),
+                              saveNanos / NANOS_PER_MILLISECOND,
+                              loadNanos / NANOS_PER_MILLISECOND);
+        }
+        finally
+        {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Plays every question a game at a time, recording a random outcome for each.
+     *
+     * @param scheduler The scheduler to play with.
+     * @return The number of questions selected and rescheduled per second.
+     */
+    private static double play(final SpacedRepetitionScheduler scheduler)
+    {
+        final Random random;
+        final Country[] game;
+        final long startTime;
+        final long elapsed;
+
+        random    = new Random(SEED);
+        game      = new Country[GameSession.QUESTIONS_PER_GAME];
+        startTime = System.nanoTime();
+
+        for (int asked = NOTHING; asked < QUESTION_COUNT; asked += game.length)
+        {
+            scheduler.drawGame(game);
+
+            for (final Country country : game)
+            {
+                final double outcome;
+                outcome = random.nextDouble();
+
+                if (outcome < FIRST_ATTEMPT_RATE)
+                {
+                    scheduler.record(country, CountrySelector.Recall.FIRST_ATTEMPT);
+                }
+                else if (outcome < FIRST_ATTEMPT_RATE + SECOND_ATTEMPT_RATE)
+                {
+                    scheduler.record(country, CountrySelector.Recall.SECOND_ATTEMPT);
+                }
+                else
+                {
+                    scheduler.record(country, CountrySelector.Recall.MISSED);
+                }
+            }
+        }
+
+        elapsed = System.nanoTime() - startTime;
+
+        return QUESTION_COUNT * NANOS_PER_SECOND / elapsed;
+    }
+}
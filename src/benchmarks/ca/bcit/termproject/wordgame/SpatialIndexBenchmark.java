@@ -0,0 +1,253 @@
+package ca.bcit.termproject.wordgame;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * The {@code SpatialIndexBenchmark} class measures how long it takes to build a {@link SpatialIndex}, and to
+ * answer nearest-neighbour and radius queries with it, against a scan of every capital.
+ * <p>
+ * The index is built over {@value SYNTHETIC_SIZE} synthetic countries whose capitals are spread evenly over
+ * the globe. Each kind of query is run {@value QUERY_COUNT} times at random points after a warm-up. Finding the
+ * closest capital to every capital is also timed, which is what a table of closest capitals would have to
+ * precompute with {@value SYNTHETIC_SIZE} squared distance calculations.
+ * <p>
+ * It lives in the {@code src/benchmarks} source root, apart from the game. Run from the repository root with
+ * the compiled {@code src/code} and {@code src/benchmarks} classes on the class path:
+ * {@code java ca.bcit.termproject.wordgame.SpatialIndexBenchmark}
+ *
+ * @author Jonah Botelho
+ * @version 1.0
+ */
+public final class SpatialIndexBenchmark
+{
+    private static final int    SYNTHETIC_SIZE  = 100_000;
+    private static final int    QUERY_COUNT     = 10_000;
+    private static final int    SCAN_COUNT      = 20;
+    private static final int    WARM_UP_ROUNDS  = 3;
+    private static final int    NEIGHBOURS      = 10;
+    private static final double RADIUS_KM       = 500.0;
+    private static final long   SEED            = 2522L;
+    private static final int    NOTHING         = 0;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final double NANOS_PER_MICRO = 1_000.0;
+
+    private static final String[] FACTS   = {"Fact 1", "Fact 2", "Fact 3"};
+    private static final String[] ALIASES = new String[NOTHING];
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args unused.
+     */
+    public static void main(final String[] args) throws IOException
+    {
+        final Random random;
+        final InMemoryCountrySource.Builder builder;
+        final World world;
+        final double[] queries;
+        final long buildStart;
+        final SpatialIndex index;
+        final double buildMillis;
+        final long closestStart;
+        final double closestMillis;
+        long found;
+
+        random  = new Random(SEED);
+        builder = new InMemoryCountrySource.Builder();
+        queries = new double[QUERY_COUNT * 2];
+
+        for (int i = NOTHING; i < SYNTHETIC_SIZE; i++)
+        {
+            builder.add(new Country("Country " + i,
+                                    "Capital " + i,
+                                    FACTS,
+                                    ALIASES,
+                                    ALIASES,
+                                    randomLatitude(random),
+                                    randomLongitude(random)));
+        }
+
+        for (int i = NOTHING; i < QUERY_COUNT; i++)
+        {
+            queries[i * 2]     = randomLatitude(random);
+            queries[i * 2 + 1] = randomLongitude(random);
+        }
+
+        world = new World(builder.build());
+
+        buildStart  = System.nanoTime();
+        index       = SpatialIndex.build(world);
+        buildMillis = (System.nanoTime() - buildStart) / NANOS_PER_MILLI;
+
+        closestStart = System.nanoTime();
+        found        = NOTHING;
+
+        for (int i = NOTHING; i < index.size(); i++)
+        {
+            found += index.findNearest(index.getCountry(i), 1).length;
+        }
+
+        closestMillis = (System.nanoTime() - closestStart) / NANOS_PER_MILLI;
+
+        checkFound(found);
+
+        System.out.printf("%,d capitals%n", index.size());
+        System.out.printf("  %-30s %,8.0f ms%n", "build:", buildMillis);
+        System.out.printf("  %-30s %,8.0f ms%n", "closest capital to each:", closestMillis);
+        System.out.printf("  %-30s index %,8.2f us, scan %,10.1f us%n",
+                          "nearest capital:",
+                          timeNearest(index, queries, 1),
+                          timeScan(world, queries));
+        System.out.printf("  %-30s index %,8.2f us%n",
+                          "nearest " + NEIGHBOURS + " capitals:",
+                          timeNearest(index, queries, NEIGHBOURS));
+        System.out.printf("  %-30s index %,8.2f us, scan %,10.1f us%n",
+                          "capitals within " + (int) RADIUS_KM + " km:",
+                          timeWithin(index, queries),
+                          timeScan(world, queries));
+    }
+
+    /**
+     * Times nearest-neighbour queries against the index.
+     *
+     * @param index   The index.
+     * @param queries The latitude and longitude of each query point, one after another.
+     * @param count   The number of capitals to find per query.
+     * @return The average time per query in microseconds.
+     */
+    private static double timeNearest(final SpatialIndex index,
+                                      final double[] queries,
+                                      final int count)
+    {
+        long startTime;
+        long found;
+
+        startTime = NOTHING;
+        found     = NOTHING;
+
+        // the last round is timed; the earlier ones warm up
+        for (int round = NOTHING; round <= WARM_UP_ROUNDS; round++)
+        {
+            startTime = System.nanoTime();
+
+            for (int i = NOTHING; i < QUERY_COUNT; i++)
+            {
+                found += index.findNearest(queries[i * 2], queries[i * 2 + 1], count).length;
+            }
+        }
+
+        checkFound(found);
+
+        return (System.nanoTime() - startTime) / NANOS_PER_MICRO / QUERY_COUNT;
+    }
+
+    /**
+     * Times radius queries against the index.
+     *
+     * @param index   The index.
+     * @param queries The latitude and longitude of each query point, one after another.
+     * @return The average time per query in microseconds.
+     */
+    private static double timeWithin(final SpatialIndex index,
+                                     final double[] queries)
+    {
+        long startTime;
+        long found;
+
+        startTime = NOTHING;
+        found     = NOTHING;
+
+        for (int round = NOTHING; round <= WARM_UP_ROUNDS; round++)
+        {
+            startTime = System.nanoTime();
+
+            for (int i = NOTHING; i < QUERY_COUNT; i++)
+            {
+                found += index.findWithin(queries[i * 2], queries[i * 2 + 1], RADIUS_KM).length;
+            }
+        }
+
+        checkFound(found);
+
+        return (System.nanoTime() - startTime) / NANOS_PER_MICRO / QUERY_COUNT;
+    }
+
+    /**
+     * Times a scan of the distance to every capital, which answers either kind of query, as a baseline.
+     *
+     * @param world   The World to scan.
+     * @param queries The latitude and longitude of each query point, one after another.
+     * @return The average time per scan in microseconds.
+     */
+    private static double timeScan(final World world,
+                                   final double[] queries)
+    {
+        final long startTime;
+        long found;
+
+        startTime = System.nanoTime();
+        found     = NOTHING;
+
+        // a scan is slow enough that a handful of runs is plenty
+        for (int i = NOTHING; i < SCAN_COUNT; i++)
+        {
+            double nearest;
+            nearest = Double.MAX_VALUE;
+
+            for (int c = NOTHING; c < world.getCountryCount(); c++)
+            {
+                final Country country;
+                country = world.getCountry(c);
+                nearest = Math.min(nearest, SpatialIndex.distanceKm(queries[i * 2],
+                                                                    queries[i * 2 + 1],
+                                                                    country.getLatitude(),
+                                                                    country.getLongitude()));
+            }
+
+            if (nearest <= RADIUS_KM)
+            {
+                found++;
+            }
+        }
+
+        checkFound(found);
+
+        return (System.nanoTime() - startTime) / NANOS_PER_MICRO / SCAN_COUNT;
+    }
+
+    /**
+     * Draws a latitude so points are spread evenly over the surface of the globe.
+     *
+     * @param random The random number generator.
+     * @return The latitude in degrees.
+     */
+    private static double randomLatitude(final Random random)
+    {
+        return Math.toDegrees(Math.asin(2 * random.nextDouble() - 1));
+    }
+
+    /**
+     * Draws a longitude.
+     *
+     * @param random The random number generator.
+     * @return The longitude in degrees.
+     */
+    private static double randomLongitude(final Random random)
+    {
+        return 2 * Country.MAX_LONGITUDE * random.nextDouble() - Country.MAX_LONGITUDE;
+    }
+
+    /**
+     * Uses the number of capitals found, so the work cannot be optimized away.
+     *
+     * @param found The total number of capitals found.
+     */
+    private static void checkFound(final long found)
+    {
+        if (found < NOTHING)
+        {
+            throw new IllegalStateException("Impossible result count");
+        }
+    }
+}
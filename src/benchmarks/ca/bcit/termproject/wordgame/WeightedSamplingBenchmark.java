@@ -0,0 +1,131 @@
+package ca.bcit.termproject.wordgame;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * The {@code WeightedSamplingBenchmark} class compares the cost of drawing countries uniformly with a
+ * {@link CountrySampler} and by difficulty with a {@link DifficultyWeightedSampler}, and measures how quickly
+ * answers are recorded in the {@link CountryDifficulty} statistics.
+ * <p>
+ * A synthetic catalog of {@value CATALOG_SIZE} countries is built by copying the shipped countries with
+ * numbered names. Its statistics are filled with random answers first, so the weighted table is skewed.
+ * Each workload draws {@value DRAW_COUNT} countries a game at a time after a warm-up.
+ * <p>
+ * It lives in the {@code src/benchmarks} source root, apart from the game. Run from the repository root with
+ * the compiled {@code src/code} and {@code src/benchmarks} classes on the class path:
+ * {@code java ca.bcit.termproject.wordgame.WeightedSamplingBenchmark}
+ *
+ * @author Jonah Botelho
+ * @version 1.0
+ */
+public final class WeightedSamplingBenchmark
+{
+    private static final int    CATALOG_SIZE     = 100_000;
+    private static final int    DRAW_COUNT       = 10_000_000;
+    private static final int    RECORD_COUNT     = 10_000_000;
+    private static final int    WARM_UP_ROUNDS   = 3;
+    private static final long   SEED             = 2522L;
+    private static final int    NOTHING          = 0;
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private static final CountrySelector.Recall[] RECALLS = CountrySelector.Recall.values();
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args unused.
+     */
+    public static void main(final String[] args) throws IOException
+    {
+        final InMemoryCountrySource.Builder builder;
+        final World world;
+        final CountrySelector uniform;
+        final CountrySelector weighted;
+        final double recordsPerSecond;
+
+        builder = new InMemoryCountrySource.Builder();
+        for (final Country country : CompactCatalogBenchmark.makeSyntheticCatalog(World.getInstance().getCountries(),
+                                                                                  CATALOG_SIZE))
+        {
+            builder.add(country);
+        }
+        world = new World(builder.build());
+
+        recordsPerSecond = recordAnswers(world);
+        world.getDifficulty().rebuildNow();
+
+        uniform  = new CountrySampler(world, new Random(SEED));
+        weighted = new DifficultyWeightedSampler(world, new Random(SEED));
+
+        for (int i = NOTHING; i < WARM_UP_ROUNDS; i++)
+        {
+            drawGames(uniform);
+            drawGames(weighted);
+        }
+
+        System.out.printf("%,d countries%n", world.getCountryCount());
+        System.out.printf("  record answer:  %,.0f answers/s (%d background rebuilds)%n",
+                          recordsPerSecond,
+                          world.getDifficulty().getRebuildCount());
+        System.out.printf("  uniform draw:   %,.0f countries/s%n", drawGames(uniform));
+        System.out.printf("  weighted draw:  %,.0f countries/s%n", drawGames(weighted));
+    }
+
+    /**
+     * Records random answers for random countries.
+     *
+     * @param world The World whose statistics are filled.
+     * @return The number of answers recorded per second.
+     */
+    private static double recordAnswers(final World world)
+    {
+        final Random random;
+        final CountryDifficulty difficulty;
+        final long startTime;
+
+        random     = new Random(SEED);
+        difficulty = world.getDifficulty();
+        startTime  = System.nanoTime();
+
+        for (int i = NOTHING; i < RECORD_COUNT; i++)
+        {
+            difficulty.record(world.getCountry(random.nextInt(world.getCountryCount())),
+                              RECALLS[random.nextInt(RECALLS.length)]);
+        }
+
+        return RECORD_COUNT * NANOS_PER_SECOND / (System.nanoTime() - startTime);
+    }
+
+    /**
+     * Draws every country a game at a time.
+     *
+     * @param selector The selector to draw with.
+     * @return The number of countries drawn per second.
+     */
+    private static double drawGames(final CountrySelector selector)
+    {
+        final Country[] game;
+        final long startTime;
+        long nameLength;
+
+        game       = new Country[GameSession.QUESTIONS_PER_GAME];
+        startTime  = System.nanoTime();
+        nameLength = NOTHING;
+
+        for (int drawn = NOTHING; drawn < DRAW_COUNT; drawn += game.length)
+        {
+            selector.drawGame(game);
+
+            // use the countries so the work cannot be optimized away
+            nameLength += game[game.length - 1].getName().length();
+        }
+
+        if (nameLength <= NOTHING)
+        {
+            throw new IllegalStateException("No countries were drawn");
+        }
+
+        return DRAW_COUNT * NANOS_PER_SECOND / (System.nanoTime() - startTime);
+    }
+}
@@ -0,0 +1,342 @@
+package ca.bcit.termproject.wordgame;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * The {@code WordGameLoadTest} class plays many concurrent sessions against a {@link WordGameServer}
+ * and reports how many sessions per second it completes and how long each answer takes to be graded.
+ * <p>
+ * Every simulated player runs on its own virtual thread and keeps up to the given number of sessions
+ * connected at once. A player answers each question with a random country or capital name taken from
+ * the catalog, so most questions take both attempts. Answer latency is measured from sending an answer
+ * to receiving its result, over the loopback connection.
+ * <p>
+ * If no port is given, a server is started in the same process on a free port and closed afterwards.
+ * It lives in the {@code src/benchmarks} source root, apart from the game. Run from the repository root with
+ * the compiled {@code src/code} and {@code src/benchmarks} classes on the class path:
+ * {@code java ca.bcit.termproject.wordgame.WordGameLoadTest [sessions] [concurrency] [gamesPerSession] [port]}
+ *
+ * @author Jonah Botelho
+ * @version 1.0
+ */
+public final class WordGameLoadTest
+{
+    private static final int    DEFAULT_SESSIONS          = 10_000;
+    private static final int    DEFAULT_CONCURRENCY       = 2_000;
+    private static final int    DEFAULT_GAMES_PER_SESSION = 1;
+    private static final int    MAX_ATTEMPTS              = AnswerStrategy.SECOND_ATTEMPT;
+    private static final int    ANY_FREE_PORT             = 0;
+    private static final long   SEED                      = 2522L;
+    private static final int    NOTHING                   = 0;
+    private static final double NANOS_PER_SECOND          = 1_000_000_000.0;
+    private static final double NANOS_PER_MILLISECOND     = 1_000_000.0;
+    private static final double MEDIAN                    = 50.0;
+    private static final double P99                       = 99.0;
+
+    private static final int SESSIONS_ARGUMENT          = 0;
+    private static final int CONCURRENCY_ARGUMENT       = 1;
+    private static final int GAMES_PER_SESSION_ARGUMENT = 2;
+    private static final int PORT_ARGUMENT              = 3;
+
+    /**
+     * Runs the load test.
+     *
+     * @param args The number of sessions, concurrent sessions, games per session and server port, all optional.
+     */
+    public static void main(final String[] args) throws IOException, InterruptedException, ExecutionException
+    {
+        final int sessions;
+        final int concurrency;
+        final int gamesPerSession;
+        final World world;
+        final String[] guesses;
+
+        sessions        = args.length > SESSIONS_ARGUMENT ?
+                          Integer.parseInt(args[SESSIONS_ARGUMENT]) : DEFAULT_SESSIONS;
+        concurrency     = args.length > CONCURRENCY_ARGUMENT ?
+                          Integer.parseInt(args[CONCURRENCY_ARGUMENT]) : DEFAULT_CONCURRENCY;
+        gamesPerSession = args.length > GAMES_PER_SESSION_ARGUMENT ?
+                          Integer.parseInt(args[GAMES_PER_SESSION_ARGUMENT]) : DEFAULT_GAMES_PER_SESSION;
+        world           = World.getInstance();
+        guesses         = collectGuesses(world);
+
+        if (sessions <= NOTHING || concurrency <= NOTHING || gamesPerSession <= NOTHING)
+        {
+            throw new IllegalArgumentException("Sessions, concurrency and games per session must be positive");
+        }
+
+        if (args.length > PORT_ARGUMENT)
+        {
+            run(Integer.parseInt(args[PORT_ARGUMENT]), sessions, concurrency, gamesPerSession, guesses);
+            return;
+        }
+
+        try (final WordGameServer server = new WordGameServer(world,
+                                                              new AnswerMatcher(world, AnswerMatcher.DEFAULT_MAX_DISTANCE),
+                                                              ANY_FREE_PORT))
+        {
+            run(server.getPort(), sessions, concurrency, gamesPerSession, guesses);
+        }
+    }
+
+    /**
+     * Returns every country and capital name in a World, for the players to guess from.
+     *
+     * @param world The World to take names from.
+     * @return The names.
+     */
+    private static String[] collectGuesses(final World world)
+    {
+        final List<String> guesses;
+        guesses = new ArrayList<>();
+
+        for (final Country country : world.getCountries())
+        {
+            guesses.add(country.getName());
+            guesses.add(country.getCapitalCityName());
+        }
+
+        return guesses.toArray(new String[NOTHING]);
+    }
+
+    /**
+     * Plays every session against the server, keeping at most the given number connected at once,
+     * then prints the results.
+     *
+     * @param port            The port of the server.
+     * @param sessions        The number of sessions to play.
+     * @param concurrency     The maximum number of sessions connected at once.
+     * @param gamesPerSession The number of games each session plays.
+     * @param guesses         The names the players answer with.
+     */
+    private static void run(final int port,
+                            final int sessions,
+                            final int concurrency,
+                            final int gamesPerSession,
+                            final String[] guesses) throws InterruptedException, ExecutionException
+    {
+        final Semaphore permits;
+        final List<Future<long[]>> futures;
+        final List<long[]> results;
+        final long startTime;
+        final long elapsed;
+
+        permits = new Semaphore(concurrency);
+        futures = new ArrayList<>(sessions);
+        results = new ArrayList<>(sessions);
+
+        startTime = System.nanoTime();
+
+        try (final ExecutorService players = Executors.newVirtualThreadPerTaskExecutor())
+        {
+            for (int i = NOTHING; i < sessions; i++)
+            {
+                final Random random;
+                random = new Random(SEED + i);
+
+                permits.acquire();
+                futures.add(players.submit(() ->
+                {
+                    try
+                    {
+                        return playSession(port, gamesPerSession, guesses, random);
+                    }
+                    finally
+                    {
+                        permits.release();
+                    }
+                }));
+            }
+
+            for (final Future<long[]> future : futures)
+            {
+                results.add(future.get());
+            }
+        }
+
+        elapsed = System.nanoTime() - startTime;
+
+        report(results, elapsed, sessions, concurrency, gamesPerSession);
+    }
+
+    /**
+     * Connects to the server and plays one session.
+     *
+     * @param port            The port of the server.
+     * @param gamesPerSession The number of games to play.
+     * @param guesses         The names to answer with.
+     * @param random          The random number generator of this player.
+     * @return The latency of each answer, in nanoseconds.
+     */
+    private static long[] playSession(final int port,
+                                      final int gamesPerSession,
+                                      final String[] guesses,
+                                      final Random random) throws IOException
+    {
+        final long[] latencies;
+        int answers;
+        int gamesLeft;
+
+        latencies = new long[gamesPerSession * GameSession.QUESTIONS_PER_GAME * MAX_ATTEMPTS];
+        answers   = NOTHING;
+        gamesLeft = gamesPerSession;
+
+        try (final Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+             final BufferedReader in = new BufferedReader(
+                     new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             final PrintWriter out = new PrintWriter(new BufferedWriter(
+                     new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))))
+        {
+            String line;
+            line = readLine(in);
+
+            while (!line.equals(WordGameServer.BYE))
+            {
+                if (line.startsWith(WordGameServer.QUESTION))
+                {
+                    final int promptLines;
+                    promptLines = Integer.parseInt(line.substring(WordGameServer.QUESTION.length()).trim());
+
+                    for (int i = NOTHING; i < promptLines; i++)
+                    {
+                        readLine(in);
+                    }
+
+                    answers = answer(in, out, guesses, random, latencies, answers);
+                }
+                else if (line.equals(WordGameServer.PLAY_AGAIN))
+                {
+                    gamesLeft--;
+                    out.println(gamesLeft > NOTHING ? WordGameServer.YES : "no");
+                    out.flush();
+                }
+
+                line = readLine(in);
+            }
+        }
+
+        return Arrays.copyOf(latencies, answers);
+    }
+
+    /**
+     * Answers one question, answering again if the server asks for a second attempt.
+     *
+     * @param in        The input from the server.
+     * @param out       The output to the server.
+     * @param guesses   The names to answer with.
+     * @param random    The random number generator of this player.
+     * @param latencies The latencies recorded so far.
+     * @param answers   The number of latencies recorded so far.
+     * @return The number of latencies recorded after this question.
+     */
+    private static int answer(final BufferedReader in,
+                              final PrintWriter out,
+                              final String[] guesses,
+                              final Random random,
+                              final long[] latencies,
+                              final int answers) throws IOException
+    {
+        int recorded;
+        String result;
+
+        recorded = answers;
+        result   = WordGameServer.TRY_AGAIN;
+
+        for (int attempt = NOTHING; attempt < MAX_ATTEMPTS && result.equals(WordGameServer.TRY_AGAIN); attempt++)
+        {
+            final long startTime;
+
+            out.println(guesses[random.nextInt(guesses.length)]);
+            out.flush();
+
+            startTime             = System.nanoTime();
+            result                = readLine(in);
+            latencies[recorded++] = System.nanoTime() - startTime;
+        }
+
+        return recorded;
+    }
+
+    /**
+     * Prints the session throughput and answer latency percentiles of a load test.
+     *
+     * @param results         The answer latencies of each session.
+     * @param elapsed         The wall-clock time of the load test, in nanoseconds.
+     * @param sessions        The number of sessions.
+     * @param concurrency     The maximum number of sessions connected at once.
+     * @param gamesPerSession The number of games each session played.
+     */
+    private static void report(final List<long[]> results,
+                               final long elapsed,
+                               final int sessions,
+                               final int concurrency,
+                               final int gamesPerSession)
+    {
+        final long[] latencies;
+        int answers;
+
+        answers = NOTHING;
+        for (final long[] result : results)
+        {
+            answers += result.length;
+        }
+
+        latencies = new long[answers];
+        answers   = NOTHING;
+
+        for (final long[] result : results)
+        {
+            System.arraycopy(result, NOTHING, latencies, answers, result.length);
+            answers += result.length;
+        }
+
+        Arrays.sort(latencies);
+
+        System.out.printf("%d sessions of %d games, up to %d at once%n", sessions, gamesPerSession, concurrency);
+        System.out.printf("Sessions: %,.0f sessions/s (%.2f s)%n",
+                          sessions * NANOS_PER_SECOND / elapsed,
+                          elapsed / NANOS_PER_SECOND);
+        System.out.printf("Answers:  %,d answers%n", latencies.length);
+        System.out.printf("  p50     %.3f ms%n", WordGameSimulator.percentile(latencies, MEDIAN) / NANOS_PER_MILLISECOND);
+        System.out.printf("  p99     %.3f ms%n", WordGameSimulator.percentile(latencies, P99) / NANOS_PER_MILLISECOND);
+        System.out.printf("  max     %.3f ms%n", latencies[latencies.length - 1] / NANOS_PER_MILLISECOND);
+    }
+
+    /**
+     * Reads one line from the server.
+     *
+     * @param in The input from the server.
+     * @return The line.
+     * @throws EOFException if the server closed the connection.
+     */
+    private static String readLine(final BufferedReader in) throws IOException
+    {
+        final String line;
+        line = in.readLine();
+
+        if (line == null)
+        {
+            throw new EOFException("Server closed the connection");
+        }
+
+        return line;
+    }
+}
@@ -0,0 +1,173 @@
+package ca.bcit.termproject.wordgame;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * The {@code WorldLoadBenchmark} class compares how long it takes to parse the country letter files
+ * sequentially and in parallel.
+ * <p>
+ * Two catalogs are measured:
+ * 1. The shipped letter files in {@code src/res/wordgame/countrydata}.
+ * 2. A synthetic catalog {@value SYNTHETIC_SCALE} times that size, written to a temporary directory
+ *    by copying every shipped country with a numbered name, and deleted afterwards.
+ * <p>
+ * Each load is repeated a number of times after a warm-up, and the average time per load is printed.
+ * It lives in the {@code src/benchmarks} source root, apart from the game. Run from the repository root with
+ * the compiled {@code src/code} and {@code src/benchmarks} classes on the class path:
+ * {@code java ca.bcit.termproject.wordgame.WorldLoadBenchmark}
+ *
+ * @author Jonah Botelho
+ * @version 1.0
+ */
+public final class WorldLoadBenchmark
+{
+    private static final int    SYNTHETIC_SCALE      = 100;
+    private static final int    WARM_UP_ROUNDS       = 5;
+    private static final int    MEASURED_ROUNDS      = 20;
+    private static final int    ALPHABET_LENGTH      = 26 + 'a';
+    private static final int    NOTHING              = 0;
+    private static final double NANOS_PER_MILLISECOND = 1_000_000.0;
+
+    /**
+     * Runs the benchmark on the shipped and synthetic catalogs.
+     *
+     * @param args unused.
+     */
+    public static void main(final String[] args) throws IOException
+    {
+        final Path syntheticDirectory;
+
+        benchmark("shipped data", World.DATA_DIRECTORY);
+
+        syntheticDirectory = Files.createTempDirectory("countrydata");
+        try
+        {
+            writeSyntheticCatalog(World.DATA_DIRECTORY, syntheticDirectory, SYNTHETIC_SCALE);
+            benchmark(SYNTHETIC_SCALE + "x synthetic data", syntheticDirectory);
+        }
+        finally
+        {
+            deleteDirectory(syntheticDirectory);
+        }
+    }
+
+    /**
+     * Measures and prints the average sequential and parallel load time of a catalog.
+     *
+     * @param label         The name of the catalog to print.
+     * @param dataDirectory The directory containing the letter files.
+     */
+    private static void benchmark(final String label,
+                                  final Path dataDirectory) throws IOException
+    {
+        final int countryCount;
+        final double sequentialMillis;
+        final double parallelMillis;
+
+        countryCount     = new DirectoryCountrySource(dataDirectory).loadAll(false).size();
+        sequentialMillis = averageLoadMillis(dataDirectory, false);
+        parallelMillis   = averageLoadMillis(dataDirectory, true);
+
+        System.out.printf("%s (%d countries)%n", label, countryCount);
+        System.out.printf("  sequential: %.3f ms%n", sequentialMillis);
+        System.out.printf("  parallel:   %.3f ms%n", parallelMillis);
+        System.out.printf("  speed-up:   %.2fx%n", sequentialMillis / parallelMillis);
+    }
+
+    /**
+     * Returns the average time of one load, in milliseconds, after warming up.
+     *
+     * @param dataDirectory The directory containing the letter files.
+     * @param parallel      true to parse the letter files concurrently.
+     * @return The average load time in milliseconds.
+     */
+    private static double averageLoadMillis(final Path dataDirectory,
+                                            final boolean parallel) throws IOException
+    {
+        final CountrySource source;
+        final long startTime;
+        final long totalNanos;
+
+        source = new DirectoryCountrySource(dataDirectory);
+
+        for (int i = NOTHING; i < WARM_UP_ROUNDS; i++)
+        {
+            source.loadAll(parallel);
+        }
+
+        startTime = System.nanoTime();
+        for (int i = NOTHING; i < MEASURED_ROUNDS; i++)
+        {
+            source.loadAll(parallel);
+        }
+        totalNanos = System.nanoTime() - startTime;
+
+        return totalNanos / NANOS_PER_MILLISECOND / MEASURED_ROUNDS;
+    }
+
+    /**
+     * Writes letter files containing every country of the source catalog the given number of times.
+     * Each copy of a country gets a numbered name so the copies stay distinct.
+     *
+     * @param sourceDirectory The directory containing the shipped letter files.
+     * @param targetDirectory The directory to write the synthetic letter files to.
+     * @param scale           How many copies of each country to write.
+     */
+    static void writeSyntheticCatalog(final Path sourceDirectory,
+                                      final Path targetDirectory,
+                                      final int scale) throws IOException
+    {
+        for (char fileIndex = 'a'; fileIndex < ALPHABET_LENGTH; fileIndex++)
+        {
+            final Path sourceFile;
+            sourceFile = DirectoryCountrySource.getLetterFile(sourceDirectory, fileIndex);
+
+            if (Files.exists(sourceFile))
+            {
+                final List<Country> countries;
+                countries = DirectoryCountrySource.readCountryFile(sourceFile);
+
+                try (BufferedWriter writer = Files.newBufferedWriter(DirectoryCountrySource.getLetterFile(targetDirectory, fileIndex)))
+                {
+                    for (int copy = NOTHING; copy < scale; copy++)
+                    {
+                        for (final Country country : countries)
+                        {
+                            writer.newLine();
+                            writer.write(country.getName() + " " + copy + ":" + country.getCapitalCityName());
+                            writer.newLine();
+
+                            for (final String fact : country.getFacts())
+                            {
+                                writer.write(fact);
+                                writer.newLine();
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Deletes a directory and everything inside it.
+     *
+     * @param directory The directory to delete.
+     */
+    static void deleteDirectory(final Path directory) throws IOException
+    {
+        try (Stream<Path> paths = Files.walk(directory))
+        {
+            for (final Path path : paths.sorted(Comparator.reverseOrder()).toList())
+            {
+                Files.delete(path);
+            }
+        }
+    }
+}
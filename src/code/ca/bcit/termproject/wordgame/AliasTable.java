@@ -0,0 +1,157 @@
+package ca.bcit.termproject.wordgame;
+
+import java.util.Random;
+
+/**
+ * The {@code AliasTable} class draws the indices 0 to n - 1 at random in constant time, each with probability
+ * proportional to its weight, using Vose's alias method.
+ * <p>
+ * The table splits the total weight into n columns of equal height. Column i holds part of index i's weight,
+ * stored as the probability of keeping i, and the rest of the column belongs to a single other index, its
+ * alias. A draw picks a column uniformly and then keeps i or takes the alias, so it costs one random integer
+ * and one random double whatever the weights are.
+ * <p>
+ * Building a table takes O(n) time. An AliasTable is immutable, so it can be shared between threads and
+ * replaced by a newly built table when the weights change.
+ *
+ * @author Jonah Botelho
+ * @version 1.0
+ */
+public final class AliasTable
+{
+    private static final int    NOTHING = 0;
+    private static final double ONE     = 1.0;
+
+    private final double[] keepProbabilities;
+    private final int[]    aliases;
+
+    /**
+     * Constructs an AliasTable from weights.
+     *
+     * @param weights The weight of each index, all finite and non-negative, with a positive total.
+     */
+    public AliasTable(final double[] weights)
+    {
+        if (weights == null || weights.length == NOTHING)
+        {
+            throw new IllegalArgumentException("Weights cannot be null or empty");
+        }
+
+        final int n;
+        final double[] scaled;
+        final int[] small;
+        final int[] large;
+        double total;
+        int smallCount;
+        int largeCount;
+
+        n     = weights.length;
+        total = NOTHING;
+
+        for (final double weight : weights)
+        {
+            if (!(weight >= NOTHING) || Double.isInfinite(weight))
+            {
+                throw new IllegalArgumentException("Invalid weight: " + weight);
+            }
+
+            total += weight;
+        }
+
+        if (total <= NOTHING)
+        {
+            throw new IllegalArgumentException("Total weight must be positive");
+        }
+
+        this.keepProbabilities = new double[n];
+        this.aliases           = new int[n];
+
+        scaled     = new double[n];
+        small      = new int[n];
+        large      = new int[n];
+        smallCount = NOTHING;
+        largeCount = NOTHING;
+
+        // scale so that the average column has height 1, then sort indices by which side of 1 they fall
+        for (int i = NOTHING; i < n; i++)
+        {
+            scaled[i] = weights[i] * n / total;
+
+            if (scaled[i] < ONE)
+            {
+                small[smallCount++] = i;
+            }
+            else
+            {
+                large[largeCount++] = i;
+            }
+        }
+
+        // each short column is topped up by a tall one, which becomes shorter in turn
+        while (smallCount > NOTHING && largeCount > NOTHING)
+        {
+            final int shortIndex;
+            final int tallIndex;
+
+            shortIndex = small[--smallCount];
+            tallIndex  = large[--largeCount];
+
+            keepProbabilities[shortIndex] = scaled[shortIndex];
+            aliases[shortIndex]           = tallIndex;
+
+            scaled[tallIndex] = scaled[tallIndex] + scaled[shortIndex] - ONE;
+
+            if (scaled[tallIndex] < ONE)
+            {
+                small[smallCount++] = tallIndex;
+            }
+            else
+            {
+                large[largeCount++] = tallIndex;
+            }
+        }
+
+        // whatever is left is full up to rounding error
+        while (largeCount > NOTHING)
+        {
+            final int index;
+            index = large[--largeCount];
+
+            keepProbabilities[index] = ONE;
+            aliases[index]           = index;
+        }
+
+        while (smallCount > NOTHING)
+        {
+            final int index;
+            index = small[--smallCount];
+
+            keepProbabilities[index] = ONE;
+            aliases[index]           = index;
+        }
+    }
+
+    /**
+     * Draws an index with probability proportional to its weight.
+     *
+     * @param random The random number generator to draw with.
+     * @return The drawn index.
+     */
+    public int sample(final Random random)
+    {
+        final int column;
+        column = random.nextInt(aliases.length);
+
+        return random.nextDouble() < keepProbabilities[column] ? column : aliases[column];
+    }
+
+    /**
+     * Returns the number of indices in the table.
+     *
+     * @return The size.
+     */
+    public int size()
+    {
+        return aliases.length;
+    }
+}
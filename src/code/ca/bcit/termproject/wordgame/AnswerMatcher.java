@@ -0,0 +1,678 @@
+package ca.bcit.termproject.wordgame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The {@code AnswerMatcher} class grades typed answers with tolerance for small typos, such as
+ * "Kabull" for "Kabul" or "Phillipines" for "Philippines".
+ * <p>
+ * The matcher is built once over every country name and capital city of a {@link World}. Exact answers are
+ * found with a single hash lookup. Other answers are looked up in a symmetric-delete index:
+ * 1. Two strings within k edits of each other can both be turned into the same string by deleting at most
+ *    k characters from each, since a substitution is a deletion from both and an insertion a deletion from
+ *    the other.
+ * 2. At build time, every way of deleting up to the maximum distance of characters from each known answer is
+ *    hashed, and the hashes are kept in sorted arrays, one per number of characters deleted, together with
+ *    the answer they came from.
+ * 3. At grading time, the deletions of the input are hashed the same way and looked up by binary search,
+ *    only in the arrays for as many deletions as the typo may have edits. Only the answers found are compared
+ *    with the input, so grading does a few dozen lookups and a handful of comparisons instead of comparing
+ *    the answer against every entry.
+ * <p>
+ * Aliases of the World, such as "USA" for "United States", are accepted as exact answers with one lookup in
+ * the World's alias index (see {@link World#resolveAlias(String)}).
+ * <p>
+ * A typo is only accepted when the closest known answer is the expected one. This keeps "Niger" from being
+ * accepted for "Nigeria", since "Niger" is itself a known answer. Short answers allow fewer edits, one edit
+ * per {@value #CHARACTERS_PER_EDIT} characters, up to the configured maximum distance.
+ *
+ * @author Jonah Botelho
+ * @version 1.0
+ */
+public final class AnswerMatcher
+{
+    /** The maximum edit distance used by the word game. */
+    public static final int DEFAULT_MAX_DISTANCE = 2;
+
+    private static final int  CHARACTERS_PER_EDIT = 4;
+    private static final int  NOTHING             = 0;
+    private static final int  NO_MATCH            = -1;
+    private static final int  ID_BITS             = 28;
+    private static final long ID_MASK             = (1L << ID_BITS) - 1;
+    private static final long HASH_MASK           = ~ID_MASK;
+    private static final long FNV_OFFSET_BASIS    = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME           = 0x100000001b3L;
+    private static final long MIX_MULTIPLIER      = 0xff51afd7ed558ccdL;
+    private static final int  MIX_SHIFT           = 33;
+
+    /**
+     * How an answer matched the expected answer.
+     */
+    public enum MatchType
+    {
+        /** The answer is the expected answer, ignoring case, accents and surrounding whitespace. */
+        EXACT,
+        /** The answer is a small typo away from the expected answer. */
+        NEAR,
+        /** The answer does not match the expected answer. */
+        NONE
+    }
+
+    private final Set<String>         knownAnswers;
+    private final Map<String, String> answerKeyByAlias;
+    private final String[]            terms;
+    private final long[][]            deletions;
+    private final int                 maxDistance;
+
+    /**
+     * Constructs an AnswerMatcher over every country name, capital city and alias of a World.
+     *
+     * @param world       The World whose names, capitals and aliases are the known answers.
+     * @param maxDistance The largest number of single-character edits a typo may have.
+     */
+    public AnswerMatcher(final World world,
+                         final int maxDistance)
+    {
+        this(collectAnswers(world), world.getAliasIndex(), maxDistance);
+    }
+
+    /**
+     * Constructs an AnswerMatcher over a collection of known answers, without aliases.
+     *
+     * @param answers     The known answers.
+     * @param maxDistance The largest number of single-character edits a typo may have.
+     */
+    public AnswerMatcher(final Collection<String> answers,
+                         final int maxDistance)
+    {
+        this(answers, Map.of(), maxDistance);
+    }
+
+    /**
+     * Constructs an AnswerMatcher over a collection of known answers and an alias index.
+     *
+     * @param answers          The known answers, including the aliases.
+     * @param answerKeyByAlias The folded key of every alias, mapped to the answer key it stands for.
+     * @param maxDistance      The largest number of single-character edits a typo may have.
+     */
+    private AnswerMatcher(final Collection<String> answers,
+                          final Map<String, String> answerKeyByAlias,
+                          final int maxDistance)
+    {
+        if (answers == null)
+        {
+            throw new IllegalArgumentException("Answers cannot be null");
+        }
+
+        if (maxDistance < NOTHING)
+        {
+            throw new IllegalArgumentException("Maximum distance cannot be negative");
+        }
+
+        final List<String> uniqueTerms;
+        final LongList[] indexed;
+
+        this.knownAnswers     = new HashSet<>();
+        this.answerKeyByAlias = answerKeyByAlias;
+        this.maxDistance      = maxDistance;
+
+        uniqueTerms = new ArrayList<>();
+        indexed     = new LongList[maxDistance + 1];
+
+        for (int deletes = NOTHING; deletes <= maxDistance; deletes++)
+        {
+            indexed[deletes] = new LongList();
+        }
+
+        for (final String answer : answers)
+        {
+            final String term;
+            term = normalize(answer);
+
+            if (knownAnswers.add(term))
+            {
+                if (uniqueTerms.size() > ID_MASK)
+                {
+                    throw new IllegalArgumentException("Too many answers");
+                }
+
+                addDeletionHashes(term, maxDistance, uniqueTerms.size(), indexed);
+                uniqueTerms.add(term);
+            }
+        }
+
+        this.terms     = uniqueTerms.toArray(new String[NOTHING]);
+        this.deletions = new long[maxDistance + 1][];
+
+        for (int deletes = NOTHING; deletes <= maxDistance; deletes++)
+        {
+            this.deletions[deletes] = indexed[deletes].toSortedUniqueArray();
+        }
+    }
+
+    /**
+     * Collects every country name, capital city and alias of a World.
+     *
+     * @param world The World to collect from.
+     * @return The folded names, capitals and aliases.
+     */
+    private static List<String> collectAnswers(final World world)
+    {
+        if (world == null)
+        {
+            throw new IllegalArgumentException("World cannot be null");
+        }
+
+        final List<String> answers;
+        answers = new ArrayList<>();
+
+        for (final Country country : world.getCountries())
+        {
+            answers.add(country.getNameKey());
+            answers.add(country.getCapitalCityKey());
+        }
+
+        answers.addAll(world.getAliasIndex().keySet());
+
+        return answers;
+    }
+
+    /**
+     * Grades an answer against the expected answer.
+     *
+     * @param input    The answer typed by the player.
+     * @param expected The correct answer.
+     * @return EXACT, NEAR for an accepted typo, or NONE.
+     */
+    public MatchType grade(final String input,
+                           final String expected)
+    {
+        if (expected == null)
+        {
+            return MatchType.NONE;
+        }
+
+        return gradeKey(input, normalize(expected));
+    }
+
+    /**
+     * Grades an answer against the precomputed key of the expected answer, such as
+     * {@link Country#getCapitalCityKey()}. Only the input is folded.
+     *
+     * @param input       The answer typed by the player.
+     * @param expectedKey The correct answer, already folded with {@link World#normalize(String)}.
+     * @return EXACT, NEAR for an accepted typo, or NONE.
+     */
+    public MatchType gradeKey(final String input,
+                              final String expectedKey)
+    {
+        if (input == null || expectedKey == null)
+        {
+            return MatchType.NONE;
+        }
+
+        final String normalizedInput;
+        final int distance;
+
+        normalizedInput = normalize(input);
+
+        if (normalizedInput.equals(expectedKey) ||
+            expectedKey.equals(answerKeyByAlias.get(normalizedInput)))
+        {
+            return MatchType.EXACT;
+        }
+
+        // a different known answer typed exactly is never a typo of the expected one
+        if (knownAnswers.contains(normalizedInput))
+        {
+            return MatchType.NONE;
+        }
+
+        distance = editDistance(normalizedInput, expectedKey);
+
+        if (distance > allowedDistance(expectedKey) ||
+            hasOtherAnswerWithin(normalizedInput, expectedKey, distance))
+        {
+            return MatchType.NONE;
+        }
+
+        return MatchType.NEAR;
+    }
+
+    /**
+     * Looks for a known answer, other than the expected one, that is at least as close to the input as the
+     * expected answer. The search stops at the first one found.
+     *
+     * @param input    The normalized input.
+     * @param expected The normalized expected answer.
+     * @param radius   The distance from the input to the expected answer.
+     * @return true if the typo could just as well be of another known answer.
+     */
+    private boolean hasOtherAnswerWithin(final String input,
+                                         final String expected,
+                                         final int radius)
+    {
+        final long[] inputDeletions;
+        inputDeletions = deletionHashes(input, radius);
+
+        // a term more than the radius of deletions away from the meeting string is too far anyway
+        for (int deletes = NOTHING; deletes <= radius; deletes++)
+        {
+            final long[] indexed;
+            indexed = deletions[deletes];
+
+            for (final long hash : inputDeletions)
+            {
+                for (int i = firstWithHash(indexed, hash); i < indexed.length && sameHash(indexed[i], hash); i++)
+                {
+                    final String term;
+                    term = terms[(int) (indexed[i] & ID_MASK)];
+
+                    // an alias of the expected answer is not another answer
+                    if (!answerKeyByAlias.getOrDefault(term, term).equals(expected) &&
+                        editDistance(term, input, radius) <= radius)
+                    {
+                        return true;
+                    }
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Finds the known answer closest to the input, within the maximum distance.
+     *
+     * @param input The answer typed by the player.
+     * @return The closest known answer in normalized form, or null if none is close enough or
+     *         several are equally close.
+     */
+    public String findClosest(final String input)
+    {
+        if (input == null)
+        {
+            return null;
+        }
+
+        return findClosestNormalized(normalize(input));
+    }
+
+    /**
+     * Looks up the unique closest term within the maximum distance.
+     *
+     * @param input The normalized input.
+     * @return The unique closest term, or null if there is none.
+     */
+    private String findClosestNormalized(final String input)
+    {
+        final long[] inputDeletions;
+        int best;
+        int bestDistance;
+        boolean tied;
+
+        inputDeletions = deletionHashes(input, maxDistance);
+        best           = NO_MATCH;
+        bestDistance   = maxDistance;
+        tied           = false;
+
+        for (final long[] indexed : deletions)
+        {
+            for (final long hash : inputDeletions)
+            {
+                for (int i = firstWithHash(indexed, hash); i < indexed.length && sameHash(indexed[i], hash); i++)
+                {
+                    final int id;
+                    final int distance;
+
+                    id       = (int) (indexed[i] & ID_MASK);
+                    distance = editDistance(terms[id], input, bestDistance);
+
+                    // a term can be reached through several deletions, so it only ties with a different term
+                    if (distance < bestDistance || (best == NO_MATCH && distance == bestDistance))
+                    {
+                        best         = id;
+                        bestDistance = distance;
+                        tied         = false;
+                    }
+                    else if (distance == bestDistance && id != best)
+                    {
+                        tied = true;
+                    }
+                }
+            }
+        }
+
+        return best == NO_MATCH || tied ? null : terms[best];
+    }
+
+    /**
+     * Returns the hashes of every string made by deleting up to a number of characters from an input.
+     *
+     * @param input      The normalized input.
+     * @param maxDeletes The largest number of characters to delete.
+     * @return The distinct hashes, with their id bits cleared.
+     */
+    private static long[] deletionHashes(final String input,
+                                         final int maxDeletes)
+    {
+        final LongList[] hashes;
+        final LongList all;
+
+        hashes = new LongList[maxDeletes + 1];
+        all    = new LongList();
+
+        for (int deletes = NOTHING; deletes <= maxDeletes; deletes++)
+        {
+            hashes[deletes] = all;
+        }
+
+        addDeletionHashes(input, maxDeletes, NOTHING, hashes);
+
+        return all.toSortedUniqueArray();
+    }
+
+    /**
+     * Adds the hash of every string made by deleting up to a number of characters from a term, each tagged
+     * with the term's id, to the list for the number of characters deleted. A string that can be made in
+     * several ways is added several times.
+     *
+     * @param term       The normalized term.
+     * @param maxDeletes The largest number of characters to delete.
+     * @param id         The id to tag the hashes with.
+     * @param hashes     The lists to add the tagged hashes to, one per number of characters deleted.
+     */
+    private static void addDeletionHashes(final String term,
+                                          final int maxDeletes,
+                                          final int id,
+                                          final LongList[] hashes)
+    {
+        addDeletionHashes(term, new boolean[term.length()], NOTHING, NOTHING, Math.min(maxDeletes, term.length()),
+                          id, hashes);
+    }
+
+    /**
+     * Adds the hash of the term with the marked characters deleted, then of every way of deleting more
+     * characters after the given position.
+     *
+     * @param term       The normalized term.
+     * @param deleted    Which characters are deleted so far.
+     * @param from       The first position that may still be deleted.
+     * @param deletes    The number of characters deleted so far.
+     * @param maxDeletes The largest number of characters to delete.
+     * @param id         The id to tag the hashes with.
+     * @param hashes     The lists to add the tagged hashes to, one per number of characters deleted.
+     */
+    private static void addDeletionHashes(final String term,
+                                          final boolean[] deleted,
+                                          final int from,
+                                          final int deletes,
+                                          final int maxDeletes,
+                                          final int id,
+                                          final LongList[] hashes)
+    {
+        hashes[deletes].add((hash(term, deleted) & HASH_MASK) | id);
+
+        if (deletes == maxDeletes)
+        {
+            return;
+        }
+
+        for (int i = from; i < term.length(); i++)
+        {
+            deleted[i] = true;
+            addDeletionHashes(term, deleted, i + 1, deletes + 1, maxDeletes, id, hashes);
+            deleted[i] = false;
+        }
+    }
+
+    /**
+     * Hashes a term with some of its characters deleted, without building the shorter string.
+     *
+     * @param term    The term.
+     * @param deleted Which characters to leave out.
+     * @return The 64-bit hash.
+     */
+    private static long hash(final String term,
+                             final boolean[] deleted)
+    {
+        long hash;
+        hash = FNV_OFFSET_BASIS;
+
+        for (int i = NOTHING; i < term.length(); i++)
+        {
+            if (!deleted[i])
+            {
+                hash = (hash ^ term.charAt(i)) * FNV_PRIME;
+            }
+        }
+
+        // FNV leaves the high bits poorly mixed, and only the high bits are kept
+        hash ^= hash >>> MIX_SHIFT;
+        hash *= MIX_MULTIPLIER;
+        hash ^= hash >>> MIX_SHIFT;
+
+        return hash;
+    }
+
+    /**
+     * Returns the position of the first indexed deletion with a hash, by binary search.
+     *
+     * @param indexed The sorted indexed deletions.
+     * @param hash    The hash, with its id bits cleared.
+     * @return The position, or the position it would be inserted at if there is none.
+     */
+    private static int firstWithHash(final long[] indexed,
+                                     final long hash)
+    {
+        final long key;
+        final int position;
+
+        key      = hash & HASH_MASK;
+        position = Arrays.binarySearch(indexed, key);
+
+        // the id bits of the key are zero, so an exact hit is the first entry with that hash
+        return position >= NOTHING ? position : -position - 1;
+    }
+
+    /**
+     * Returns whether an indexed deletion has a hash.
+     *
+     * @param deletion The indexed deletion, tagged with its term's id.
+     * @param hash     The hash.
+     * @return true if the hashes are the same.
+     */
+    private static boolean sameHash(final long deletion,
+                                    final long hash)
+    {
+        return (deletion & HASH_MASK) == (hash & HASH_MASK);
+    }
+
+    /**
+     * Returns the number of edits allowed for an expected answer of a given length.
+     *
+     * @param expected The normalized expected answer.
+     * @return The allowed edit distance.
+     */
+    private int allowedDistance(final String expected)
+    {
+        return Math.min(maxDistance, expected.length() / CHARACTERS_PER_EDIT);
+    }
+
+    /**
+     * Normalizes an answer by trimming it, removing accents and converting it to lower case.
+     *
+     * @param answer The answer to normalize.
+     * @return The normalized answer.
+     */
+    private static String normalize(final String answer)
+    {
+        return World.normalize(answer);
+    }
+
+    /**
+     * Computes the Levenshtein distance between two strings, stopping as soon as it must exceed a limit.
+     *
+     * @param first  The first string.
+     * @param second The second string.
+     * @param limit  The largest distance of interest.
+     * @return The edit distance, or a number greater than the limit if it is greater than the limit.
+     */
+    private static int editDistance(final String first,
+                                    final String second,
+                                    final int limit)
+    {
+        if (Math.abs(first.length() - second.length()) > limit)
+        {
+            return limit + 1;
+        }
+
+        int[] previous;
+        int[] current;
+
+        previous = new int[second.length() + 1];
+        current  = new int[second.length() + 1];
+
+        for (int j = NOTHING; j <= second.length(); j++)
+        {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= first.length(); i++)
+        {
+            final int[] swap;
+            int rowMinimum;
+
+            current[NOTHING] = i;
+            rowMinimum       = i;
+
+            for (int j = 1; j <= second.length(); j++)
+            {
+                final int substitution;
+                substitution = first.charAt(i - 1) == second.charAt(j - 1) ? NOTHING : 1;
+
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1),
+                                      previous[j - 1] + substitution);
+                rowMinimum = Math.min(rowMinimum, current[j]);
+            }
+
+            // no later row can be smaller than the smallest entry of this one
+            if (rowMinimum > limit)
+            {
+                return limit + 1;
+            }
+
+            swap     = previous;
+            previous = current;
+            current  = swap;
+        }
+
+        return previous[second.length()];
+    }
+
+    /**
+     * Computes the Levenshtein distance between two strings: the number of single-character
+     * insertions, deletions and substitutions needed to turn one into the other.
+     *
+     * @param first  The first string.
+     * @param second The second string.
+     * @return The edit distance.
+     */
+    static int editDistance(final String first,
+                            final String second)
+    {
+        int[] previous;
+        int[] current;
+
+        previous = new int[second.length() + 1];
+        current  = new int[second.length() + 1];
+
+        for (int j = NOTHING; j <= second.length(); j++)
+        {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= first.length(); i++)
+        {
+            final int[] swap;
+            current[NOTHING] = i;
+
+            for (int j = 1; j <= second.length(); j++)
+            {
+                final int substitution;
+                substitution = first.charAt(i - 1) == second.charAt(j - 1) ? NOTHING : 1;
+
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1),
+                                      previous[j - 1] + substitution);
+            }
+
+            swap     = previous;
+            previous = current;
+            current  = swap;
+        }
+
+        return previous[second.length()];
+    }
+
+    /**
+     * A growable list of longs, to collect hashes without boxing them.
+     */
+    private static final class LongList
+    {
+        private static final int INITIAL_CAPACITY = 64;
+        private static final int GROWTH_FACTOR    = 2;
+
+        private long[] values;
+        private int    size;
+
+        private LongList()
+        {
+            this.values = new long[INITIAL_CAPACITY];
+            this.size   = NOTHING;
+        }
+
+        /**
+         * Adds a value to the end of the list.
+         *
+         * @param value The value to add.
+         */
+        private void add(final long value)
+        {
+            if (size == values.length)
+            {
+                values = Arrays.copyOf(values, size * GROWTH_FACTOR);
+            }
+
+            values[size++] = value;
+        }
+
+        /**
+         * Returns the values in ascending order, without repeats.
+         *
+         * @return The sorted, distinct values.
+         */
+        private long[] toSortedUniqueArray()
+        {
+            int unique;
+            unique = NOTHING;
+
+            Arrays.sort(values, NOTHING, size);
+
+            for (int i = NOTHING; i < size; i++)
+            {
+                if (unique == NOTHING || values[i] != values[unique - 1])
+                {
+                    values[unique++] = values[i];
+                }
+            }
+
+            return Arrays.copyOf(values, unique);
+        }
+    }
+}
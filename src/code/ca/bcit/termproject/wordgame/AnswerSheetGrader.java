@@ -0,0 +1,621 @@
+package ca.bcit.termproject.wordgame;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The {@code AnswerSheetGrader} class grades pre-recorded answer sheets without a player at the console,
+ * such as a classroom export, and writes one {@link Score} record per sheet to a score file.
+ * <p>
+ * An answer sheet file holds sheets separated by blank lines. Each sheet starts with the date and time it was
+ * taken, in the score file's format, followed by one line per question answered:
+ * <pre>
+ * Date and Time: 2025-04-04 17:01:18
+ * COUNTRY_TO_CAPITAL|Canada|Otawa
+ * CAPITAL_TO_COUNTRY|Peru|Chile|Peru
+ * FACT_TO_COUNTRY|Japan|China|Korea
+ * </pre>
+ * An answer line holds the {@link Question.Type}, the country the question was about, the first attempt, and,
+ * optionally, the second attempt. For a closest capital question, the country is the one whose capital was
+ * asked about, and the answer is graded against the nearest capital in the World's {@link SpatialIndex}.
+ * Each sheet is graded by its own {@link GameSession}, so the rules are the console game's: a correct first
+ * attempt ends the question, otherwise the second attempt is graded, and a missing second attempt is
+ * incorrect. Every {@value GameSession#QUESTIONS_PER_GAME} answers are one game, and a shorter last game
+ * counts as a game too.
+ * <p>
+ * Grading is a pipeline:
+ * 1. The calling thread streams the file and splits it into sheets, without parsing them.
+ * 2. Sheets are handed out in batches to a fixed pool of threads, which parse and grade them against the
+ *    shared {@link World} and {@link AnswerMatcher}, and format each batch's scores into one string.
+ * 3. The calling thread writes the batches' scores in file order, one write per batch.
+ * <p>
+ * At most {@value BATCHES_PER_THREAD} batches per thread are in flight and a sheet keeps at most
+ * {@value MAX_SHEET_LINES} lines, so memory stays the same however large the file is, and throughput grows with
+ * the number of threads until writing the scores is the bottleneck. A malformed sheet, including one with more
+ * lines than that, is skipped as a whole, before any of its answers are graded, and reported on the standard
+ * error stream with its line number, as malformed country records are.
+ * <p>
+ * Sheets are graded with a selector that records nothing, so importing answers never changes the difficulty
+ * statistics of the shared World.
+ * <p>
+ * Run from the repository root:
+ * {@code java ca.bcit.termproject.wordgame.AnswerSheetGrader <answerSheetFile> <scoreFile> [threads]}
+ *
+ * @author Jonah Botelho
+ * @version 1.0
+ */
+public final class AnswerSheetGrader
+{
+    /** The number of sheets handed to a thread at once, unless another size is given. */
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    /** The most lines a sheet may have, including its date and time; a longer sheet is malformed. */
+    public static final int MAX_SHEET_LINES = 10_000;
+
+    private static final int    NOTHING              = 0;
+    private static final int    BATCHES_PER_THREAD   = 2;
+    private static final int    BUFFER_SIZE          = 1 << 16;
+    private static final String DATE_PREFIX          = "Date and Time: ";
+    private static final String FIELD_SEPARATOR      = "\\|";
+    private static final int    TYPE_FIELD           = 0;
+    private static final int    COUNTRY_FIELD        = 1;
+    private static final int    FIRST_ATTEMPT_FIELD  = 2;
+    private static final int    SECOND_ATTEMPT_FIELD = 3;
+    private static final int    MIN_FIELDS           = 3;
+    private static final int    MAX_FIELDS           = 4;
+    private static final double NANOS_PER_SECOND     = 1_000_000_000.0;
+
+    private static final int SHEET_FILE_ARGUMENT = 0;
+    private static final int SCORE_FILE_ARGUMENT = 1;
+    private static final int THREADS_ARGUMENT    = 2;
+
+    private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    // a sheet fixes its own questions, so nothing is ever drawn or generated at random
+    private static final CountrySelector SHEET_SELECTOR = new SheetSelector();
+    private static final Random          UNUSED_RANDOM  = new Random();
+
+    private final World         world;
+    private final AnswerMatcher matcher;
+    private final int           threads;
+    private final int           batchSize;
+
+    /**
+     * Constructs an AnswerSheetGrader.
+     *
+     * @param world     The World the sheets' countries are looked up in.
+     * @param matcher   The matcher to grade answers with, built over the same World.
+     * @param threads   The number of threads grading at once.
+     * @param batchSize The number of sheets handed to a thread at once.
+     */
+    public AnswerSheetGrader(final World world,
+                             final AnswerMatcher matcher,
+                             final int threads,
+                             final int batchSize)
+    {
+        if (world == null || matcher == null)
+        {
+            throw new IllegalArgumentException("World and matcher cannot be null");
+        }
+
+        if (threads <= NOTHING || batchSize <= NOTHING)
+        {
+            throw new IllegalArgumentException("Threads and batch size must be positive");
+        }
+
+        this.world     = world;
+        this.matcher   = matcher;
+        this.threads   = threads;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Grades the answer sheets in a file, with one thread per available processor.
+     *
+     * @param args The answer sheet file, the score file to append to, and optionally the number of threads.
+     */
+    public static void main(final String[] args) throws IOException, InterruptedException, ExecutionException
+    {
+        if (args.length <= SCORE_FILE_ARGUMENT)
+        {
+            System.err.println("Usage: java ca.bcit.termproject.wordgame.AnswerSheetGrader " +
+                               "<answerSheetFile> <scoreFile> [threads]");
+            return;
+        }
+
+        final World world;
+        final int threads;
+        final AnswerSheetGrader grader;
+        final long startTime;
+        final Summary summary;
+        final long elapsed;
+
+        world     = World.getInstance();
+        threads   = args.length > THREADS_ARGUMENT ?
+                    Integer.parseInt(args[THREADS_ARGUMENT]) : Runtime.getRuntime().availableProcessors();
+        grader    = new AnswerSheetGrader(world,
+                                          new AnswerMatcher(world, AnswerMatcher.DEFAULT_MAX_DISTANCE),
+                                          threads,
+                                          DEFAULT_BATCH_SIZE);
+        startTime = System.nanoTime();
+        summary   = grader.grade(Path.of(args[SHEET_FILE_ARGUMENT]), Path.of(args[SCORE_FILE_ARGUMENT]));
+        elapsed   = System.nanoTime() - startTime;
+
+        System.out.printf("Graded %,d sheets (%,d answers) and skipped %,d on %d threads in %.2f s: %,.0f sheets/s%n",
+                          summary.getSheetsGraded(),
+                          summary.getAnswersGraded(),
+                          summary.getSheetsSkipped(),
+                          threads,
+                          elapsed / NANOS_PER_SECOND,
+                          summary.getSheetsGraded() * NANOS_PER_SECOND / elapsed);
+    }
+
+    /**
+     * Grades every sheet in an answer sheet file and appends one score per graded sheet to a score file,
+     * which is created if it does not exist.
+     *
+     * @param sheetFile The answer sheet file.
+     * @param scoreFile The score file to append to.
+     * @return How many sheets and answers were graded.
+     */
+    public Summary grade(final Path sheetFile,
+                         final Path scoreFile) throws IOException, InterruptedException, ExecutionException
+    {
+        if (sheetFile == null || scoreFile == null)
+        {
+            throw new IllegalArgumentException("Files cannot be null");
+        }
+
+        try (BufferedReader sheets = Files.newBufferedReader(sheetFile, StandardCharsets.UTF_8);
+             BufferedWriter scores = new BufferedWriter(Files.newBufferedWriter(scoreFile,
+                                                                                StandardCharsets.UTF_8,
+                                                                                StandardOpenOption.CREATE,
+                                                                                StandardOpenOption.APPEND),
+                                                        BUFFER_SIZE))
+        {
+            return grade(sheets, scores, sheetFile.toString());
+        }
+    }
+
+    /**
+     * Grades every sheet read from a reader and writes one score per graded sheet, in input order.
+     * The writer is flushed, but not closed.
+     *
+     * @param sheets The answer sheets.
+     * @param scores Where the score records are written.
+     * @param source The name of the input, used when reporting malformed sheets.
+     * @return How many sheets and answers were graded.
+     */
+    Summary grade(final BufferedReader sheets,
+                  final Writer scores,
+                  final String source) throws IOException, InterruptedException, ExecutionException
+    {
+        final ExecutorService pool;
+        final ArrayDeque<Future<Batch>> pending;
+        final Summary summary;
+        List<RawSheet> batch;
+        List<String> lines;
+        boolean oversized;
+        int firstLineNumber;
+        int lineNumber;
+        String line;
+
+        pool            = Executors.newFixedThreadPool(threads);
+        pending         = new ArrayDeque<>();
+        summary         = new Summary();
+        batch           = new ArrayList<>(batchSize);
+        lines           = new ArrayList<>();
+        oversized       = false;
+        firstLineNumber = NOTHING;
+        lineNumber      = NOTHING;
+
+        try
+        {
+            while ((line = sheets.readLine()) != null)
+            {
+                lineNumber++;
+
+                // a blank line always ends the current sheet
+                if (!line.isBlank())
+                {
+                    if (lines.isEmpty())
+                    {
+                        firstLineNumber = lineNumber;
+                    }
+
+                    // the rest of an oversized sheet is read past, not kept
+                    if (lines.size() < MAX_SHEET_LINES)
+                    {
+                        lines.add(line);
+                    }
+                    else
+                    {
+                        oversized = true;
+                    }
+                    continue;
+                }
+
+                if (lines.isEmpty())
+                {
+                    continue;
+                }
+
+                batch.add(new RawSheet(firstLineNumber, lines, oversized));
+                lines     = new ArrayList<>();
+                oversized = false;
+
+                if (batch.size() == batchSize)
+                {
+                    submit(pool, pending, batch, source, scores, summary);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+
+            if (!lines.isEmpty())
+            {
+                batch.add(new RawSheet(firstLineNumber, lines, oversized));
+            }
+
+            if (!batch.isEmpty())
+            {
+                submit(pool, pending, batch, source, scores, summary);
+            }
+
+            while (!pending.isEmpty())
+            {
+                writeNext(pending, scores, summary);
+            }
+        }
+        finally
+        {
+            pool.shutdownNow();
+        }
+
+        scores.flush();
+
+        return summary;
+    }
+
+    /**
+     * Hands a batch to the pool, first writing the oldest batch if too many are in flight.
+     *
+     * @param pool    The grading threads.
+     * @param pending The batches in flight, oldest first.
+     * @param batch   The batch to grade.
+     * @param source  The name of the input.
+     * @param scores  Where the score records are written.
+     * @param summary The running totals.
+     */
+    private void submit(final ExecutorService pool,
+                        final ArrayDeque<Future<Batch>> pending,
+                        final List<RawSheet> batch,
+                        final String source,
+                        final Writer scores,
+                        final Summary summary) throws IOException, InterruptedException, ExecutionException
+    {
+        if (pending.size() >= threads * BATCHES_PER_THREAD)
+        {
+            writeNext(pending, scores, summary);
+        }
+
+        pending.add(pool.submit(() -> gradeBatch(batch, source)));
+    }
+
+    /**
+     * Waits for the oldest batch in flight, writes its scores and reports its malformed sheets.
+     *
+     * @param pending The batches in flight, oldest first.
+     * @param scores  Where the score records are written.
+     * @param summary The running totals.
+     */
+    private static void writeNext(final ArrayDeque<Future<Batch>> pending,
+                                  final Writer scores,
+                                  final Summary summary) throws IOException, InterruptedException, ExecutionException
+    {
+        final Batch batch;
+        batch = pending.remove().get();
+
+        scores.append(batch.scores);
+
+        for (final String problem : batch.problems)
+        {
+            System.err.println("Skipped malformed answer sheet: " + problem);
+        }
+
+        summary.sheetsGraded  += batch.sheetsGraded;
+        summary.sheetsSkipped += batch.problems.size();
+        summary.answersGraded += batch.answersGraded;
+    }
+
+    /**
+     * Grades a batch of sheets on a pool thread.
+     *
+     * @param sheets The sheets of the batch.
+     * @param source The name of the input.
+     * @return The batch's score records and problems.
+     */
+    private Batch gradeBatch(final List<RawSheet> sheets,
+                             final String source)
+    {
+        final Batch batch;
+        batch = new Batch();
+
+        for (final RawSheet sheet : sheets)
+        {
+            gradeSheet(sheet, source, batch);
+        }
+
+        return batch;
+    }
+
+    /**
+     * Parses and grades one sheet, adding its score record to the batch, or skips it if any line is malformed.
+     *
+     * @param sheet  The sheet.
+     * @param source The name of the input.
+     * @param batch  The batch the sheet belongs to.
+     */
+    private void gradeSheet(final RawSheet sheet,
+                            final String source,
+                            final Batch batch)
+    {
+        final String header;
+        final LocalDateTime time;
+        final int answerCount;
+        final Question[] questions;
+        final String[][] attempts;
+        final GameSession session;
+
+        header = sheet.lines.get(NOTHING);
+
+        if (sheet.oversized)
+        {
+            batch.problems.add(describe(source, sheet.firstLineNumber, header,
+                                        "more than " + MAX_SHEET_LINES + " lines"));
+            return;
+        }
+
+        if (!header.startsWith(DATE_PREFIX))
+        {
+            batch.problems.add(describe(source, sheet.firstLineNumber, header, "expected " + DATE_PREFIX.trim()));
+            return;
+        }
+
+        try
+        {
+            time = LocalDateTime.parse(header.substring(DATE_PREFIX.length()).trim(), formatter);
+        }
+        catch (final DateTimeParseException e)
+        {
+            batch.problems.add(describe(source, sheet.firstLineNumber, header, "unreadable date and time"));
+            return;
+        }
+
+        answerCount = sheet.lines.size() - 1;
+
+        if (answerCount == NOTHING)
+        {
+            batch.problems.add(describe(source, sheet.firstLineNumber, header, "no answers"));
+            return;
+        }
+
+        questions = new Question[answerCount];
+        attempts  = new String[answerCount][];
+
+        // every line is checked before any answer is graded, so a skipped sheet records nothing
+        for (int i = NOTHING; i < answerCount; i++)
+        {
+            final String line;
+            final String[] fields;
+            final Question.Type type;
+            final Country country;
+
+            line   = sheet.lines.get(i + 1);
+            fields = line.split(FIELD_SEPARATOR, -1);
+
+            if (fields.length < MIN_FIELDS || fields.length > MAX_FIELDS)
+            {
+                batch.problems.add(describe(source, sheet.firstLineNumber + i + 1, line,
+                                            "expected Type|Country|FirstAttempt|SecondAttempt"));
+                return;
+            }
+
+            type    = parseType(fields[TYPE_FIELD]);
+            country = world.getCountryByName(fields[COUNTRY_FIELD]);
+
+            if (type == null || country == null)
+            {
+                batch.problems.add(describe(source, sheet.firstLineNumber + i + 1, line,
+                                            type == null ? "unknown question type" : "unknown country"));
+                return;
+            }
+
+            // a closest capital line names the country of the capital asked about, not of the answer
+            if (type == Question.Type.CLOSEST_CAPITAL)
+            {
+                questions[i] = world.getSpatialIndex().createClosestCapitalQuestion(country);
+
+                if (questions[i] == null)
+                {
+                    batch.problems.add(describe(source, sheet.firstLineNumber + i + 1, line,
+                                                "no coordinates for the closest capital"));
+                    return;
+                }
+            }
+            else
+            {
+                questions[i] = new Question(type, "Answer sheet question about " + country.getName(), country);
+            }
+
+            attempts[i] = fields;
+        }
+
+        session = new GameSession(world, matcher, SHEET_SELECTOR, UNUSED_RANDOM);
+
+        for (int i = NOTHING; i < answerCount; i++)
+        {
+            if (session.submitFirstAttempt(questions[i], attempts[i][FIRST_ATTEMPT_FIELD]) ==
+                AnswerMatcher.MatchType.NONE)
+            {
+                // a missing second attempt is graded as no answer at all
+                session.submitSecondAttempt(questions[i],
+                                            attempts[i].length > SECOND_ATTEMPT_FIELD ?
+                                            attempts[i][SECOND_ATTEMPT_FIELD] : null);
+            }
+
+            if ((i + 1) % GameSession.QUESTIONS_PER_GAME == NOTHING || i == answerCount - 1)
+            {
+                session.finishGame();
+            }
+        }
+
+        // the same record and separator Score.appendScoreToFile writes
+        batch.scores.append(session.toScore(time)).append(System.lineSeparator());
+        batch.sheetsGraded++;
+        batch.answersGraded += answerCount;
+    }
+
+    /**
+     * Parses a question type, ignoring case and surrounding whitespace.
+     *
+     * @param text The text of the type.
+     * @return The question type, or null if there is no such type.
+     */
+    private static Question.Type parseType(final String text)
+    {
+        for (final Question.Type type : Question.Type.values())
+        {
+            if (type.name().equalsIgnoreCase(text.trim()))
+            {
+                return type;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Describes a malformed sheet the way a {@link CountryFormatException} describes a malformed record.
+     *
+     * @param source     The name of the input.
+     * @param lineNumber The 1-based number of the offending line.
+     * @param text       The text of the offending line.
+     * @param reason     What is wrong with the line.
+     * @return The description.
+     */
+    private static String describe(final String source,
+                                   final int lineNumber,
+                                   final String text,
+                                   final String reason)
+    {
+        return source + ":" + lineNumber + ": " + reason + ": \"" + text + "\"";
+    }
+
+    /**
+     * The totals of a grading run.
+     */
+    public static final class Summary
+    {
+        private int  sheetsGraded;
+        private int  sheetsSkipped;
+        private long answersGraded;
+
+        /**
+         * Returns the number of sheets graded, which is the number of score records written.
+         *
+         * @return The number of sheets graded.
+         */
+        public int getSheetsGraded()
+        {
+            return sheetsGraded;
+        }
+
+        /**
+         * Returns the number of malformed sheets skipped.
+         *
+         * @return The number of sheets skipped.
+         */
+        public int getSheetsSkipped()
+        {
+            return sheetsSkipped;
+        }
+
+        /**
+         * Returns the number of questions answered on the graded sheets.
+         *
+         * @return The number of answers graded.
+         */
+        public long getAnswersGraded()
+        {
+            return answersGraded;
+        }
+    }
+
+    /**
+     * The unparsed lines of one sheet, where it starts in the input, and whether it had more lines than
+     * were kept.
+     */
+    private static final class RawSheet
+    {
+        private final int          firstLineNumber;
+        private final List<String> lines;
+        private final boolean      oversized;
+
+        private RawSheet(final int firstLineNumber,
+                         final List<String> lines,
+                         final boolean oversized)
+        {
+            this.firstLineNumber = firstLineNumber;
+            this.lines           = lines;
+            this.oversized       = oversized;
+        }
+    }
+
+    /**
+     * The formatted score records and problems of one graded batch.
+     */
+    private static final class Batch
+    {
+        private final StringBuilder scores   = new StringBuilder();
+        private final List<String>  problems = new ArrayList<>();
+
+        private int  sheetsGraded;
+        private long answersGraded;
+    }
+
+    /**
+     * The selector of a sheet's session, which never draws, since a sheet fixes its own questions, and keeps
+     * the default {@link CountrySelector#record(Country, Recall)}, which records nothing.
+     */
+    private static final class SheetSelector implements CountrySelector
+    {
+        @Override
+        public Country draw()
+        {
+            throw new IllegalStateException("Answer sheets choose their own countries");
+        }
+
+        @Override
+        public void drawGame(final Country[] questions)
+        {
+            throw new IllegalStateException("Answer sheets choose their own countries");
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package ca.bcit.termproject.wordgame;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * The {@code AnswerStrategy} interface decides how a simulated player answers word game questions.
+ * <p>
+ * Strategies are used by the {@link WordGameSimulator} in place of console input. The provided strategies are:
+ * 1. {@link #alwaysRight()}, which always gives the expected answer.
+ * 2. {@link #randomAccuracy(double)}, which gives the expected answer with a fixed probability.
+ * 3. {@link #typoInjector(double)}, which misspells the expected answer with a fixed probability,
+ *    so the typo-tolerant grading of the {@link AnswerMatcher} is exercised.
+ * <p>
+ * A strategy draws all of its randomness from the generator it is given, so one strategy can be shared
+ * by any number of sessions at once.
+ *
+ * @author Jonah Botelho
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface AnswerStrategy
+{
+    /** The number of the first attempt at a question. */
+    int FIRST_ATTEMPT = 1;
+
+    /** The number of the second attempt at a question. */
+    int SECOND_ATTEMPT = 2;
+
+    /**
+     * Returns the answer to a question.
+     *
+     * @param question The question being answered.
+     * @param attempt  The attempt number, {@link #FIRST_ATTEMPT} or {@link #SECOND_ATTEMPT}.
+     * @param random   The random number generator of the session.
+     * @return The answer.
+     */
+    String answer(Question question,
+                  int attempt,
+                  Random random);
+
+    /**
+     * Returns a strategy that always gives the expected answer.
+     *
+     * @return The strategy.
+     */
+    static AnswerStrategy alwaysRight()
+    {
+        return (question, attempt, random) -> question.getExpectedAnswer();
+    }
+
+    /**
+     * Returns a strategy that gives the expected answer with the given probability on each attempt,
+     * and a wrong answer otherwise.
+     *
+     * @param accuracy The probability of answering correctly, from 0 to 1.
+     * @return The strategy.
+     */
+    static AnswerStrategy randomAccuracy(final double accuracy)
+    {
+        validateProbability(accuracy);
+
+        return (question, attempt, random) -> random.nextDouble() < accuracy ?
+                                              question.getExpectedAnswer() :
+                                              "";
+    }
+
+    /**
+     * Returns a strategy that gives the expected answer, replacing one letter of it with the given
+     * probability on each attempt.
+     *
+     * @param typoRate The probability of making a typo, from 0 to 1.
+     * @return The strategy.
+     */
+    static AnswerStrategy typoInjector(final double typoRate)
+    {
+        validateProbability(typoRate);
+
+        return (question, attempt, random) ->
+        {
+            final String answer;
+            final char[] letters;
+            final int position;
+
+            answer = question.getExpectedAnswer();
+
+            if (random.nextDouble() >= typoRate)
+            {
+                return answer;
+            }
+
+            letters            = answer.toCharArray();
+            position           = random.nextInt(letters.length);
+            letters[position]  = letters[position] == 'x' ? 'q' : 'x';
+
+            return new String(letters);
+        };
+    }
+
+    /**
+     * Returns the strategy with the given name: "right", "random" or "typo".
+     *
+     * @param name        The name of the strategy.
+     * @param probability The accuracy of "random", or the typo rate of "typo"; unused by "right".
+     * @return The strategy.
+     */
+    static AnswerStrategy forName(final String name,
+                                  final double probability)
+    {
+        if (name == null)
+        {
+            throw new IllegalArgumentException("Strategy name cannot be null");
+        }
+
+        switch (name.toLowerCase(Locale.ROOT))
+        {
+            case "right":
+                return alwaysRight();
+            case "random":
+                return randomAccuracy(probability);
+            case "typo":
+                return typoInjector(probability);
+            default:
+                throw new IllegalArgumentException("Unknown strategy: " + name);
+        }
+    }
+
+    /**
+     * Validates that a value is a probability.
+     *
+     * @param probability The value to validate.
+     */
+    private static void validateProbability(final double probability)
+    {
+        if (probability < 0.0 || probability > 1.0)
+        {
+            throw new IllegalArgumentException("Probability must be between 0 and 1: " + probability);
+        }
+    }
+}
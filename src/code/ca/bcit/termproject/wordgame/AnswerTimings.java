@@ -0,0 +1,294 @@
+package ca.bcit.termproject.wordgame;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The {@code AnswerTimings} class times every attempt at a question in three phases, and keeps a
+ * {@link LatencyHistogram} per question type and phase, for the current game and for the whole sitting.
+ * <p>
+ * An attempt is timed with four calls, each of which reads {@link System#nanoTime()} once:
+ * 1. {@link #startPrompt()} before the prompt is built.
+ * 2. {@link #promptShown()} once the prompt has been written to the console.
+ * 3. {@link #inputReceived()} once the player's input has been read.
+ * 4. {@link #graded(Question.Type)} once the attempt has been graded, which records the three phases.
+ * <p>
+ * Recording allocates nothing, so timing an attempt costs four clock reads and a few array updates, well under
+ * a microsecond. {@link #finishGame()} keeps a summary of each game's percentiles, and
+ * {@link #appendSummariesToFile(LocalDateTime, String)} appends them to a file next to the score file,
+ * under the same date and time as the game's {@link Score}.
+ * <p>
+ * AnswerTimings is not thread-safe; each console or session should have its own.
+ *
+ * @author Jonah Botelho
+ * @version 1.0
+ */
+public final class AnswerTimings
+{
+    /**
+     * The phases of an attempt, each with the unit its percentiles are reported in.
+     */
+    public enum Phase
+    {
+        /** From building the prompt to writing it to the console. */
+        DISPLAY("us", 1_000.0),
+        /** From showing the prompt to receiving the player's input: how long the player took. */
+        RESPONSE("ms", 1_000_000.0),
+        /** From receiving the input to having graded it. */
+        GRADING("us", 1_000.0);
+
+        private final String unit;
+        private final double nanosPerUnit;
+
+        Phase(final String unit,
+              final double nanosPerUnit)
+        {
+            this.unit         = unit;
+            this.nanosPerUnit = nanosPerUnit;
+        }
+    }
+
+    private static final int NOTHING     = 0;
+    private static final int TYPE_COUNT  = Question.Type.values().length;
+    private static final int PHASE_COUNT = Phase.values().length;
+
+    private static final double[] SUMMARY_PERCENTILES = {50.0, 90.0, 99.0};
+
+    private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final LatencyHistogram[][] game;
+    private final LatencyHistogram[][] total;
+    private final List<String>         gameSummaries;
+
+    private long promptStart;
+    private long promptShown;
+    private long inputReceived;
+
+    /**
+     * Constructs an AnswerTimings with nothing recorded.
+     */
+    public AnswerTimings()
+    {
+        game          = new LatencyHistogram[TYPE_COUNT][PHASE_COUNT];
+        total         = new LatencyHistogram[TYPE_COUNT][PHASE_COUNT];
+        gameSummaries = new ArrayList<>();
+
+        for (int type = NOTHING; type < TYPE_COUNT; type++)
+        {
+            for (int phase = NOTHING; phase < PHASE_COUNT; phase++)
+            {
+                game[type][phase]  = new LatencyHistogram();
+                total[type][phase] = new LatencyHistogram();
+            }
+        }
+    }
+
+    /**
+     * Marks the start of an attempt, before its prompt is built.
+     */
+    public void startPrompt()
+    {
+        promptStart = System.nanoTime();
+    }
+
+    /**
+     * Marks the moment the prompt has been written to the console.
+     */
+    public void promptShown()
+    {
+        promptShown = System.nanoTime();
+    }
+
+    /**
+     * Marks the moment the player's input has been read.
+     */
+    public void inputReceived()
+    {
+        inputReceived = System.nanoTime();
+    }
+
+    /**
+     * Marks the moment the attempt has been graded, and records its three phases.
+     *
+     * @param type The type of the question attempted.
+     */
+    public void graded(final Question.Type type)
+    {
+        final long gradedTime;
+        gradedTime = System.nanoTime();
+
+        record(type, Phase.DISPLAY, promptShown - promptStart);
+        record(type, Phase.RESPONSE, inputReceived - promptShown);
+        record(type, Phase.GRADING, gradedTime - inputReceived);
+    }
+
+    /**
+     * Records one duration of one phase directly, for callers that measure phases themselves.
+     *
+     * @param type  The type of the question attempted.
+     * @param phase The phase.
+     * @param nanos The duration in nanoseconds.
+     */
+    public void record(final Question.Type type,
+                       final Phase phase,
+                       final long nanos)
+    {
+        game[type.ordinal()][phase.ordinal()].record(nanos);
+        total[type.ordinal()][phase.ordinal()].record(nanos);
+    }
+
+    /**
+     * Ends the current game: keeps a summary of its timings and starts the next game with empty histograms.
+     * A game with no attempts leaves no summary.
+     */
+    public void finishGame()
+    {
+        final StringBuilder summary;
+        summary = new StringBuilder();
+
+        for (final Question.Type type : Question.Type.values())
+        {
+            if (game[type.ordinal()][Phase.RESPONSE.ordinal()].getCount() > NOTHING)
+            {
+                summary.append("Game ").append(gameSummaries.size() + 1).append(' ');
+                summary.append(summarize(type, game[type.ordinal()])).append('\n');
+            }
+
+            for (final LatencyHistogram histogram : game[type.ordinal()])
+            {
+                histogram.clear();
+            }
+        }
+
+        if (!summary.isEmpty())
+        {
+            gameSummaries.add(summary.toString());
+        }
+    }
+
+    /**
+     * Forgets every timing and game summary, ready for a new sitting.
+     */
+    public void clear()
+    {
+        for (int type = NOTHING; type < TYPE_COUNT; type++)
+        {
+            for (int phase = NOTHING; phase < PHASE_COUNT; phase++)
+            {
+                game[type][phase].clear();
+                total[type][phase].clear();
+            }
+        }
+
+        gameSummaries.clear();
+    }
+
+    /**
+     * Appends the summary of every finished game to a file, under one date and time line, followed by a
+     * blank line, as {@link Score#appendScoreToFile(Score, String)} appends a score.
+     *
+     * @param time The date and time of the sitting, the same as its Score's.
+     * @param file The file to append to, which is created if it does not exist.
+     */
+    public void appendSummariesToFile(final LocalDateTime time,
+                                      final String file) throws IOException
+    {
+        if (time == null)
+        {
+            throw new IllegalArgumentException("Time cannot be null");
+        }
+
+        if (file == null || file.isBlank())
+        {
+            throw new IllegalArgumentException("Invalid String");
+        }
+
+        if (gameSummaries.isEmpty())
+        {
+            return;
+        }
+
+        final StringBuilder record;
+        record = new StringBuilder();
+
+        record.append("Date and Time: ").append(time.format(formatter)).append('\n');
+
+        for (final String summary : gameSummaries)
+        {
+            record.append(summary);
+        }
+
+        Files.writeString(Path.of(file),
+                          record + System.lineSeparator(),
+                          StandardOpenOption.CREATE,
+                          StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Returns the histogram of one phase of one question type, over every game of the sitting.
+     *
+     * @param type  The question type.
+     * @param phase The phase.
+     * @return The histogram, which is live and should not be modified.
+     */
+    public LatencyHistogram getHistogram(final Question.Type type,
+                                         final Phase phase)
+    {
+        return total[type.ordinal()][phase.ordinal()];
+    }
+
+    /**
+     * Returns the summaries of the games finished so far, one line per question type asked in each game.
+     *
+     * @return The summaries, which cannot be modified.
+     */
+    public List<String> getGameSummaries()
+    {
+        return Collections.unmodifiableList(gameSummaries);
+    }
+
+    /**
+     * Summarizes the phases of one question type on one line, such as
+     * {@code "CAPITAL_TO_COUNTRY: attempts 4, display us p50 21.0 ...; response ms p50 2310.0 ..."}.
+     *
+     * @param type   The question type.
+     * @param phases The histograms of its phases.
+     * @return The summary.
+     */
+    private static String summarize(final Question.Type type,
+                                    final LatencyHistogram[] phases)
+    {
+        final StringBuilder summary;
+        summary = new StringBuilder();
+
+        summary.append(type).append(": attempts ").append(phases[Phase.RESPONSE.ordinal()].getCount());
+
+        for (final Phase phase : Phase.values())
+        {
+            final LatencyHistogram histogram;
+            histogram = phases[phase.ordinal()];
+
+            summary.append(phase == Phase.DISPLAY ? ", " : "; ");
+            summary.append(phase.name().toLowerCase(Locale.ROOT)).append(' ').append(phase.unit);
+
+            for (final double percentile : SUMMARY_PERCENTILES)
+            {
+                summary.append(String.format(Locale.ROOT, " p%.0f %.1f",
+                                             percentile,
+                                             histogram.getValueAtPercentile(percentile) / phase.nanosPerUnit));
+            }
+
+            summary.append(String.format(Locale.ROOT, " max %.1f", histogram.getMax() / phase.nanosPerUnit));
+        }
+
+        return summary.toString();
+    }
+}
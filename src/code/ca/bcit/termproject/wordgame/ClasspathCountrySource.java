@@ -0,0 +1,107 @@
+package ca.bcit.termproject.wordgame;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link CountrySource} that reads letter files (a.txt, b.txt, etc.) packaged as classpath resources,
+ * so a packaged deployment can load its country data from its own jar regardless of the working directory.
+ * <p>
+ * The default resource directory is {@value #DEFAULT_RESOURCE_DIRECTORY}, which matches the layout of
+ * the {@code src/res} resource folder.
+ *
+ * @author Jonah Botelho
+ * @version 1.0
+ */
+public final class ClasspathCountrySource implements CountrySource
+{
+    /** The resource directory of the shipped letter files. */
+    public static final String DEFAULT_RESOURCE_DIRECTORY = "wordgame/countrydata/";
+
+    private static final String LETTER_FILE_EXTENSION = ".txt";
+    private static final String DIRECTORY_SEPARATOR   = "/";
+
+    private final ClassLoader classLoader;
+    private final String      resourceDirectory;
+
+    /**
+     * Constructs a ClasspathCountrySource over the shipped letter files, using this class's class loader.
+     */
+    public ClasspathCountrySource()
+    {
+        this(ClasspathCountrySource.class.getClassLoader(), DEFAULT_RESOURCE_DIRECTORY);
+    }
+
+    /**
+     * Constructs a ClasspathCountrySource over a resource directory of letter files.
+     *
+     * @param classLoader       The class loader to load the resources with.
+     * @param resourceDirectory The resource directory containing the letter files, such as "wordgame/countrydata/".
+     */
+    public ClasspathCountrySource(final ClassLoader classLoader,
+                                  final String resourceDirectory)
+    {
+        if (classLoader == null)
+        {
+            throw new IllegalArgumentException("Class loader cannot be null");
+        }
+
+        if (resourceDirectory == null)
+        {
+            throw new IllegalArgumentException("Resource directory cannot be null");
+        }
+
+        this.classLoader = classLoader;
+
+        if (resourceDirectory.isEmpty() || resourceDirectory.endsWith(DIRECTORY_SEPARATOR))
+        {
+            this.resourceDirectory = resourceDirectory;
+        }
+        else
+        {
+            this.resourceDirectory = resourceDirectory + DIRECTORY_SEPARATOR;
+        }
+    }
+
+    /**
+     * Reads and parses the letter file resource of one shard, reporting malformed records on
+     * the standard error stream.
+     *
+     * @param letter The lower-case letter of the shard.
+     * @return The well-formed countries in the resource, or an empty list if there is no such resource.
+     */
+    @Override
+    public List<Country> loadShard(final char letter) throws IOException
+    {
+        final String resourceName;
+        resourceName = resourceDirectory + letter + LETTER_FILE_EXTENSION;
+
+        try (InputStream in = classLoader.getResourceAsStream(resourceName))
+        {
+            if (in == null)
+            {
+                return List.of();
+            }
+
+            final ReadableByteChannel channel;
+            final List<Country> shardCountries;
+            final List<CountryFormatException> problems;
+
+            channel        = Channels.newChannel(in);
+            shardCountries = new ArrayList<>();
+            problems       = CountryFileParser.parse(channel, Paths.get(resourceName), shardCountries::add);
+
+            for (final CountryFormatException problem : problems)
+            {
+                System.err.println("Skipped malformed country record: " + problem.getMessage());
+            }
+
+            return shardCountries;
+        }
+    }
+}
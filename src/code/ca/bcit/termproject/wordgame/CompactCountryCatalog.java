@@ -0,0 +1,320 @@
+package ca.bcit.termproject.wordgame;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The {@code CompactCountryCatalog} class is a memory-saving alternative to holding a {@link Country} object
+ * per entry, intended for large catalogs such as cities or regions with hundreds of thousands of entries.
+ * <p>
+ * All text is stored as UTF-8 in a single shared byte arena. Each entry is just five consecutive positions in
+ * one int array, marking where its name, capital city and three facts start in the arena; a field ends where
+ * the next one starts. This replaces four String objects, their backing arrays and a facts array per entry with
+ * a few ints, and Strings are only created when an accessor asks for one.
+ * <p>
+ * Only the name, capital city and facts of an entry are stored. Alias lines and coordinates are not, so a
+ * Country added to the catalog and read back with {@link #getCountry(int)} has neither.
+ * <p>
+ * Catalogs are built with a {@link Builder} and are immutable once built.
+ *
+ * @author Jonah Botelho
+ * @version 1.0
+ */
+public final class CompactCountryCatalog
+{
+    private static final int FIELDS_PER_ENTRY = 5;
+    private static final int NAME_FIELD       = 0;
+    private static final int CAPITAL_FIELD    = 1;
+    private static final int FIRST_FACT_FIELD = 2;
+    private static final int FACTS_LENGTH     = 3;
+    private static final int NOTHING          = 0;
+
+    private final byte[] arena;
+    private final int[]  fieldStarts;
+    private final int    size;
+
+    /**
+     * Constructs a catalog over a finished arena.
+     *
+     * @param arena       The UTF-8 bytes of every field, in entry order.
+     * @param fieldStarts The start of every field in the arena, followed by the end of the arena.
+     * @param size        The number of entries.
+     */
+    private CompactCountryCatalog(final byte[] arena,
+                                  final int[] fieldStarts,
+                                  final int size)
+    {
+        this.arena       = arena;
+        this.fieldStarts = fieldStarts;
+        this.size        = size;
+    }
+
+    /**
+     * Builds a compact catalog holding the given countries, in list order.
+     *
+     * @param countries The countries to store.
+     * @return The compact catalog.
+     */
+    public static CompactCountryCatalog of(final List<Country> countries)
+    {
+        if (countries == null)
+        {
+            throw new IllegalArgumentException("Countries cannot be null");
+        }
+
+        final Builder builder;
+        builder = new Builder();
+
+        for (final Country country : countries)
+        {
+            builder.add(country);
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Returns the number of entries in the catalog.
+     *
+     * @return The number of entries.
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Returns the name of an entry.
+     *
+     * @param index The entry index, from 0 to {@link #size()} - 1.
+     * @return The name.
+     */
+    public String getName(final int index)
+    {
+        return readField(index, NAME_FIELD);
+    }
+
+    /**
+     * Returns the capital city name of an entry.
+     *
+     * @param index The entry index, from 0 to {@link #size()} - 1.
+     * @return The capital city name.
+     */
+    public String getCapitalCityName(final int index)
+    {
+        return readField(index, CAPITAL_FIELD);
+    }
+
+    /**
+     * Returns one fact of an entry.
+     *
+     * @param index     The entry index, from 0 to {@link #size()} - 1.
+     * @param factIndex The fact index, from 0 to 2.
+     * @return The fact.
+     */
+    public String getFact(final int index,
+                          final int factIndex)
+    {
+        if (factIndex < NOTHING || factIndex >= FACTS_LENGTH)
+        {
+            throw new IllegalArgumentException("Invalid fact index: " + factIndex);
+        }
+
+        return readField(index, FIRST_FACT_FIELD + factIndex);
+    }
+
+    /**
+     * Creates a Country object for an entry. The Country is not cached, so callers that need
+     * it repeatedly should keep it.
+     * <p>
+     * The conversion is lossy: the catalog does not store aliases or coordinates, so the Country has no
+     * aliases and no coordinates, whatever the Country that was added had.
+     *
+     * @param index The entry index, from 0 to {@link #size()} - 1.
+     * @return A new Country holding the entry's name, capital city and facts.
+     */
+    public Country getCountry(final int index)
+    {
+        final String[] facts;
+        facts = new String[FACTS_LENGTH];
+
+        for (int i = NOTHING; i < FACTS_LENGTH; i++)
+        {
+            facts[i] = getFact(index, i);
+        }
+
+        return new Country(getName(index), getCapitalCityName(index), facts);
+    }
+
+    /**
+     * Decodes one field of an entry from the arena.
+     *
+     * @param index The entry index.
+     * @param field The field number within the entry.
+     * @return The decoded field.
+     */
+    private String readField(final int index,
+                             final int field)
+    {
+        if (index < NOTHING || index >= size)
+        {
+            throw new IllegalArgumentException("Invalid entry index: " + index);
+        }
+
+        final int position;
+        final int start;
+        final int end;
+
+        position = index * FIELDS_PER_ENTRY + field;
+        start    = fieldStarts[position];
+        end      = fieldStarts[position + 1];
+
+        return new String(arena, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Accumulates entries into a growing arena and builds an immutable {@link CompactCountryCatalog}.
+     * The arrays grow by doubling, so adding an entry takes amortized constant time.
+     */
+    public static final class Builder
+    {
+        private static final int INITIAL_ARENA_BYTES = 1024;
+        private static final int INITIAL_ENTRIES     = 16;
+        private static final int GROWTH_FACTOR       = 2;
+
+        private byte[] arena;
+        private int[]  fieldStarts;
+        private int    arenaLength;
+        private int    fieldCount;
+        private int    size;
+
+        /**
+         * Constructs an empty Builder.
+         */
+        public Builder()
+        {
+            this.arena       = new byte[INITIAL_ARENA_BYTES];
+            this.fieldStarts = new int[INITIAL_ENTRIES * FIELDS_PER_ENTRY + 1];
+            this.arenaLength = NOTHING;
+            this.fieldCount  = NOTHING;
+            this.size        = NOTHING;
+        }
+
+        /**
+         * Adds a country as the next entry. Its aliases and coordinates are not stored.
+         *
+         * @param country The country to add.
+         * @return This Builder.
+         */
+        public Builder add(final Country country)
+        {
+            if (country == null)
+            {
+                throw new IllegalArgumentException("Country cannot be null");
+            }
+
+            return add(country.getName(), country.getCapitalCityName(), country.getFacts());
+        }
+
+        /**
+         * Adds an entry from its fields, without creating a Country object.
+         *
+         * @param name            The name of the entry.
+         * @param capitalCityName The capital city name of the entry.
+         * @param facts           The three facts about the entry.
+         * @return This Builder.
+         */
+        public Builder add(final String name,
+                           final String capitalCityName,
+                           final String[] facts)
+        {
+            validateString(name);
+            validateString(capitalCityName);
+
+            if (facts == null || facts.length != FACTS_LENGTH)
+            {
+                throw new IllegalArgumentException("Entries must have exactly " + FACTS_LENGTH + " facts");
+            }
+
+            // validate everything first so a bad entry is not half added
+            for (final String fact : facts)
+            {
+                validateString(fact);
+            }
+
+            ensureEntryCapacity();
+            appendField(name);
+            appendField(capitalCityName);
+
+            for (final String fact : facts)
+            {
+                appendField(fact);
+            }
+
+            size++;
+            return this;
+        }
+
+        /**
+         * Builds the catalog, trimming the arrays to their used length.
+         *
+         * @return The immutable catalog.
+         */
+        public CompactCountryCatalog build()
+        {
+            fieldStarts[fieldCount] = arenaLength;
+
+            return new CompactCountryCatalog(Arrays.copyOf(arena, arenaLength),
+                                             Arrays.copyOf(fieldStarts, fieldCount + 1),
+                                             size);
+        }
+
+        /**
+         * Appends one field's UTF-8 bytes to the arena and records where it starts.
+         *
+         * @param field The field to append.
+         */
+        private void appendField(final String field)
+        {
+            final byte[] bytes;
+            bytes = field.getBytes(StandardCharsets.UTF_8);
+
+            if (arenaLength + bytes.length > arena.length)
+            {
+                arena = Arrays.copyOf(arena, Math.max(arena.length * GROWTH_FACTOR, arenaLength + bytes.length));
+            }
+
+            fieldStarts[fieldCount++] = arenaLength;
+            System.arraycopy(bytes, NOTHING, arena, arenaLength, bytes.length);
+            arenaLength += bytes.length;
+        }
+
+        /**
+         * Grows the field start array so one more entry fits, plus the closing end position.
+         */
+        private void ensureEntryCapacity()
+        {
+            final int required;
+            required = (size + 1) * FIELDS_PER_ENTRY + 1;
+
+            if (required > fieldStarts.length)
+            {
+                fieldStarts = Arrays.copyOf(fieldStarts, Math.max(fieldStarts.length * GROWTH_FACTOR, required));
+            }
+        }
+
+        /**
+         * Validates that a string is neither null nor blank.
+         *
+         * @param s The string to validate.
+         */
+        private static void validateString(final String s)
+        {
+            if (s == null || s.isBlank())
+            {
+                throw new IllegalArgumentException("Invalid String");
+            }
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package ca.bcit.termproject.wordgame;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.util.Formatter;
+import java.util.Locale;
+
+/**
+ * The {@code ConsoleRenderer} class builds each screen of console output in a reusable buffer and writes
+ * it in one go when the program is about to wait for input.
+ * <p>
+ * Printing through {@link System#out} locks the stream on every call and flushes it on every line, so a
+ * question and its feedback cost one write per line. A renderer instead:
+ * 1. Appends text to a {@link StringBuilder} that is cleared, not reallocated, after each screen.
+ * 2. On {@link #flush()}, copies the screen into a reusable character array, encodes it as UTF-8 into a
+ *    reusable byte buffer and writes it to the underlying channel, which is a single write for any screen
+ *    that fits the buffer.
+ * <p>
+ * Nothing reaches the output until {@link #flush()} is called, so callers flush once per prompt, just before
+ * reading the player's answer. The same renderer works for the console and for a network session, since
+ * it only needs an {@link OutputStream} or a {@link WritableByteChannel}.
+ * <p>
+ * A ConsoleRenderer is not thread-safe; each console or session should use its own.
+ *
+ * @author Jonah Botelho
+ * @version 1.0
+ */
+public final class ConsoleRenderer implements Flushable
+{
+    private static final int    INITIAL_SCREEN_CAPACITY = 1_024;
+    private static final int    BYTE_BUFFER_CAPACITY    = 8_192;
+    private static final int    NOTHING                 = 0;
+    private static final String LINE_SEPARATOR          = "\n";
+    private static final Object STANDARD_OUTPUT_LOCK    = new Object();
+
+    private static ConsoleRenderer standardOutput;
+
+    private final WritableByteChannel channel;
+    private final StringBuilder       screen;
+    private final Formatter           formatter;
+    private final CharsetEncoder      encoder;
+    private final ByteBuffer          bytes;
+
+    private char[] chars;
+
+    /**
+     * Constructs a ConsoleRenderer that writes to a channel.
+     *
+     * @param channel The channel to write each screen to.
+     */
+    public ConsoleRenderer(final WritableByteChannel channel)
+    {
+        if (channel == null)
+        {
+            throw new IllegalArgumentException("Channel cannot be null");
+        }
+
+        this.channel   = channel;
+        this.screen    = new StringBuilder(INITIAL_SCREEN_CAPACITY);
+        this.formatter = new Formatter(screen, Locale.ROOT);
+        this.encoder   = StandardCharsets.UTF_8.newEncoder();
+        this.bytes     = ByteBuffer.allocate(BYTE_BUFFER_CAPACITY);
+        this.chars     = new char[INITIAL_SCREEN_CAPACITY];
+    }
+
+    /**
+     * Constructs a ConsoleRenderer that writes to an output stream, such as a socket's.
+     * The stream should not buffer or flush by itself.
+     *
+     * @param out The stream to write each screen to.
+     */
+    public ConsoleRenderer(final OutputStream out)
+    {
+        this(Channels.newChannel(validateStream(out)));
+    }
+
+    /**
+     * Returns the process-wide renderer for standard output. It writes each screen to {@link System#out} in a
+     * single call, so the stream is locked and flushed once per screen rather than once per line, and any
+     * other output printed through {@link System#out} or {@link System#err} stays in order with the screens
+     * that have been flushed.
+     *
+     * @return The standard output renderer.
+     */
+    public static ConsoleRenderer standardOutput()
+    {
+        synchronized (STANDARD_OUTPUT_LOCK)
+        {
+            if (standardOutput == null)
+            {
+                standardOutput = new ConsoleRenderer(System.out);
+            }
+
+            return standardOutput;
+        }
+    }
+
+    /**
+     * Appends text to the current screen.
+     *
+     * @param text The text to append.
+     * @return This renderer.
+     */
+    public ConsoleRenderer print(final String text)
+    {
+        screen.append(text);
+        return this;
+    }
+
+    /**
+     * Appends text and a line break to the current screen.
+     *
+     * @param text The text to append.
+     * @return This renderer.
+     */
+    public ConsoleRenderer println(final String text)
+    {
+        screen.append(text).append(LINE_SEPARATOR);
+        return this;
+    }
+
+    /**
+     * Appends the text of an object and a line break to the current screen.
+     *
+     * @param value The object to append.
+     * @return This renderer.
+     */
+    public ConsoleRenderer println(final Object value)
+    {
+        return println(String.valueOf(value));
+    }
+
+    /**
+     * Appends a line break to the current screen.
+     *
+     * @return This renderer.
+     */
+    public ConsoleRenderer println()
+    {
+        screen.append(LINE_SEPARATOR);
+        return this;
+    }
+
+    /**
+     * Appends formatted text to the current screen, as {@link String#format(String, Object...)} would.
+     *
+     * @param format The format string.
+     * @param args   The arguments referenced by the format string.
+     * @return This renderer.
+     */
+    public ConsoleRenderer printf(final String format,
+                                  final Object... args)
+    {
+        formatter.format(format, args);
+        return this;
+    }
+
+    /**
+     * Writes the current screen to the output and starts a new, empty screen.
+     * Does nothing if the screen is empty.
+     */
+    @Override
+    public void flush() throws IOException
+    {
+        if (screen.isEmpty())
+        {
+            return;
+        }
+
+        final int length;
+        final CharBuffer screenChars;
+
+        // the encoder is much faster over an array than over a StringBuilder, so the screen is copied first
+        length = screen.length();
+        if (chars.length < length)
+        {
+            chars = new char[Math.max(length, chars.length * 2)];
+        }
+        screen.getChars(NOTHING, length, chars, NOTHING);
+
+        screenChars = CharBuffer.wrap(chars, NOTHING, length);
+        encoder.reset();
+
+        try
+        {
+            CoderResult result;
+
+            // a screen larger than the byte buffer is written in several parts
+            do
+            {
+                result = encoder.encode(screenChars, bytes, true);
+                if (result.isError())
+                {
+                    result.throwException();
+                }
+                writeBytes();
+            }
+            while (result.isOverflow());
+
+            while (encoder.flush(bytes).isOverflow())
+            {
+                writeBytes();
+            }
+            writeBytes();
+        }
+        finally
+        {
+            screen.setLength(NOTHING);
+            bytes.clear();
+        }
+    }
+
+    /**
+     * Writes the encoded bytes to the channel and empties the byte buffer.
+     */
+    private void writeBytes() throws IOException
+    {
+        bytes.flip();
+
+        while (bytes.hasRemaining())
+        {
+            channel.write(bytes);
+        }
+
+        bytes.clear();
+    }
+
+    /**
+     * Validates that an output stream is not null.
+     *
+     * @param out The stream to validate.
+     * @return The stream.
+     */
+    private static OutputStream validateStream(final OutputStream out)
+    {
+        if (out == null)
+        {
+            throw new IllegalArgumentException("Output stream cannot be null");
+        }
+
+        return out;
+    }
+}
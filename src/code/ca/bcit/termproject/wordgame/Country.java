@@ -17,6 +17,20 @@ import java.util.Arrays;
  * <p>
  * This class also includes validation methods to ensure strings are non-null and non-blank, as well as to
  * confirm that the array of facts is neither null nor empty.
+ * <p>
+ * A country may also have aliases, alternate names that are accepted as answers, such as "USA" for
+ * "United States" or "Kiev" for "Kyiv". Most countries have none.
+ * <p>
+ * A country may also know where its capital city is, as a latitude and longitude in degrees, which
+ * distance questions are built on (see {@link SpatialIndex}). Countries without coordinates are left out
+ * of those questions.
+ * <p>
+ * The facts of a country loaded from a {@link CountrySnapshot} are not decoded up front. Such a country only
+ * keeps the position of its facts in the snapshot and reads them on the first call to {@link #getFacts()},
+ * since most countries are never the subject of a fact question.
+ * <p>
+ * The answer keys of the name and capital city, folded with {@link World#normalize(String)}, are computed
+ * once at construction, so grading an answer only has to fold the user's input.
  *
  * @author Jonah Botelho
  * @version 1.0
@@ -24,14 +38,30 @@ import java.util.Arrays;
 
 public final class Country
 {
+    /** The largest latitude north or south, in degrees. */
+    public static final double MAX_LATITUDE = 90.0;
+
+    /** The largest longitude east or west, in degrees. */
+    public static final double MAX_LONGITUDE = 180.0;
+
     private static final int NOTHING = 0;
+    private static final String[] NO_ALIASES = new String[NOTHING];
+    private static final double NO_COORDINATE = Double.NaN;
 
     final String name;
     final String capitalCityName;
-    final String[] facts;
+    private volatile String[] facts;
+    private final FactsReader factsReader;
+    private final int factsOffset;
+    final String nameKey;
+    final String capitalCityKey;
+    final String[] nameAliases;
+    final String[] capitalCityAliases;
+    final double latitude;
+    final double longitude;
 
     /**
-     * Constructs a Country object with the specified name, capital city, and facts.
+     * Constructs a Country object with the specified name, capital city, and facts, and no aliases.
      *
      * @param name            The name of the country.
      * @param capitalCityName The name of the capital city of the country.
@@ -40,14 +70,126 @@ public final class Country
     public Country(final String name,
                    final String capitalCityName,
                    final String[] facts)
+    {
+        this(name, capitalCityName, facts, NO_ALIASES, NO_ALIASES);
+    }
+
+    /**
+     * Constructs a Country object with the specified name, capital city, facts, and aliases.
+     *
+     * @param name               The name of the country.
+     * @param capitalCityName    The name of the capital city of the country.
+     * @param facts              An array of facts about the country.
+     * @param nameAliases        Alternate names of the country that are accepted as answers; may be empty.
+     * @param capitalCityAliases Alternate names of the capital city that are accepted as answers; may be empty.
+     */
+    public Country(final String name,
+                   final String capitalCityName,
+                   final String[] facts,
+                   final String[] nameAliases,
+                   final String[] capitalCityAliases)
+    {
+        this(name, capitalCityName, facts, nameAliases, capitalCityAliases, NO_COORDINATE, NO_COORDINATE);
+    }
+
+    /**
+     * Constructs a Country object with the specified name, capital city, facts, aliases, and the
+     * coordinates of its capital city.
+     *
+     * @param name               The name of the country.
+     * @param capitalCityName    The name of the capital city of the country.
+     * @param facts              An array of facts about the country.
+     * @param nameAliases        Alternate names of the country that are accepted as answers; may be empty.
+     * @param capitalCityAliases Alternate names of the capital city that are accepted as answers; may be empty.
+     * @param latitude           The latitude of the capital city in degrees, or NaN if it is unknown.
+     * @param longitude          The longitude of the capital city in degrees, or NaN if it is unknown.
+     */
+    public Country(final String name,
+                   final String capitalCityName,
+                   final String[] facts,
+                   final String[] nameAliases,
+                   final String[] capitalCityAliases,
+                   final double latitude,
+                   final double longitude)
     {
         validateString(name);
         validateString(capitalCityName);
         validateStringArray(facts);
+        validateAliases(nameAliases);
+        validateAliases(capitalCityAliases);
+        validateCoordinates(latitude, longitude);
 
         this.name = name;
         this.capitalCityName = capitalCityName;
         this.facts = facts;
+        this.factsReader = null;
+        this.factsOffset = NOTHING;
+        this.nameKey = World.normalize(name);
+        this.capitalCityKey = World.normalize(capitalCityName);
+        this.nameAliases = nameAliases;
+        this.capitalCityAliases = capitalCityAliases;
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+
+    /**
+     * Constructs a Country object whose facts are read on first access rather than now.
+     *
+     * @param name               The name of the country.
+     * @param capitalCityName    The name of the capital city of the country.
+     * @param nameAliases        Alternate names of the country that are accepted as answers; may be empty.
+     * @param capitalCityAliases Alternate names of the capital city that are accepted as answers; may be empty.
+     * @param latitude           The latitude of the capital city in degrees, or NaN if it is unknown.
+     * @param longitude          The longitude of the capital city in degrees, or NaN if it is unknown.
+     * @param factsReader        The reader that decodes the facts.
+     * @param factsOffset        The position of the facts, passed to the reader.
+     */
+    Country(final String name,
+            final String capitalCityName,
+            final String[] nameAliases,
+            final String[] capitalCityAliases,
+            final double latitude,
+            final double longitude,
+            final FactsReader factsReader,
+            final int factsOffset)
+    {
+        validateString(name);
+        validateString(capitalCityName);
+        validateAliases(nameAliases);
+        validateAliases(capitalCityAliases);
+        validateCoordinates(latitude, longitude);
+
+        if (factsReader == null)
+        {
+            throw new IllegalArgumentException("Facts reader cannot be null");
+        }
+
+        this.name = name;
+        this.capitalCityName = capitalCityName;
+        this.facts = null;
+        this.factsReader = factsReader;
+        this.factsOffset = factsOffset;
+        this.nameKey = World.normalize(name);
+        this.capitalCityKey = World.normalize(capitalCityName);
+        this.nameAliases = nameAliases;
+        this.capitalCityAliases = capitalCityAliases;
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+
+    /**
+     * Reads the facts of a country stored elsewhere, such as in a memory-mapped snapshot.
+     */
+    @FunctionalInterface
+    interface FactsReader
+    {
+        /**
+         * Reads the facts stored at a position.
+         *
+         * @param offset The position of the facts.
+         * @return The facts.
+         */
+        String[] readFacts(int offset);
     }
 
     /**
@@ -78,6 +220,56 @@ public final class Country
         Arrays.stream(s).forEach(this::validateString);
     }
 
+    /**
+     * Validates that an alias array is not null and holds no null or blank aliases. It may be empty.
+     *
+     * @param aliases The alias array to validate.
+     */
+    private void validateAliases(final String[] aliases)
+    {
+        if (aliases == null)
+        {
+            throw new IllegalArgumentException("Invalid alias array");
+        }
+
+        Arrays.stream(aliases).forEach(this::validateString);
+    }
+
+    /**
+     * Validates that coordinates are either both unknown (NaN), or a latitude from -90 to 90 degrees and a
+     * longitude from -180 to 180 degrees.
+     *
+     * @param latitude  The latitude to validate.
+     * @param longitude The longitude to validate.
+     */
+    private static void validateCoordinates(final double latitude,
+                                            final double longitude)
+    {
+        if (Double.isNaN(latitude) && Double.isNaN(longitude))
+        {
+            return;
+        }
+
+        if (!isValidLocation(latitude, longitude))
+        {
+            throw new IllegalArgumentException("Invalid coordinates");
+        }
+    }
+
+    /**
+     * Returns whether a latitude and longitude are a point on the globe: a latitude from -90 to 90 degrees
+     * and a longitude from -180 to 180 degrees. NaN is never valid.
+     *
+     * @param latitude  The latitude.
+     * @param longitude The longitude.
+     * @return true if both are in range.
+     */
+    static boolean isValidLocation(final double latitude,
+                                   final double longitude)
+    {
+        return Math.abs(latitude) <= MAX_LATITUDE && Math.abs(longitude) <= MAX_LONGITUDE;
+    }
+
     /**
      * Gets the name of the country as a String.
      *
@@ -99,12 +291,103 @@ public final class Country
     }
 
     /**
-     * Gets the facts about the country as a String array.
+     * Gets the facts about the country as a String array, reading them on the first call if they
+     * were not loaded with the country.
      *
      * @return An array of facts about the country.
      */
     public String[] getFacts()
     {
-        return facts;
+        String[] loaded;
+        loaded = facts;
+
+        // Country is otherwise immutable, so a racing thread at worst reads the same facts twice
+        if (loaded == null)
+        {
+            loaded = factsReader.readFacts(factsOffset);
+            facts  = loaded;
+        }
+
+        return loaded;
+    }
+
+    /**
+     * Returns whether the facts have been read. Facts given to the constructor count as read.
+     *
+     * @return true if the facts are in memory.
+     */
+    boolean hasLoadedFacts()
+    {
+        return facts != null;
+    }
+
+    /**
+     * Gets the answer key of the country name: the name without accents, in lower case.
+     *
+     * @return The folded name.
+     */
+    public String getNameKey()
+    {
+        return nameKey;
+    }
+
+    /**
+     * Gets the answer key of the capital city name: the name without accents, in lower case.
+     *
+     * @return The folded capital city name.
+     */
+    public String getCapitalCityKey()
+    {
+        return capitalCityKey;
+    }
+
+    /**
+     * Gets the alternate names of the country that are accepted as answers.
+     *
+     * @return An array of name aliases, empty if there are none.
+     */
+    public String[] getNameAliases()
+    {
+        return nameAliases;
+    }
+
+    /**
+     * Gets the alternate names of the capital city that are accepted as answers.
+     *
+     * @return An array of capital city aliases, empty if there are none.
+     */
+    public String[] getCapitalCityAliases()
+    {
+        return capitalCityAliases;
+    }
+
+    /**
+     * Returns whether the coordinates of the capital city are known.
+     *
+     * @return true if the country has coordinates.
+     */
+    public boolean hasCoordinates()
+    {
+        return !Double.isNaN(latitude);
+    }
+
+    /**
+     * Gets the latitude of the capital city.
+     *
+     * @return The latitude in degrees, from -90 to 90, or NaN if it is unknown.
+     */
+    public double getLatitude()
+    {
+        return latitude;
+    }
+
+    /**
+     * Gets the longitude of the capital city.
+     *
+     * @return The longitude in degrees, from -180 to 180, or NaN if it is unknown.
+     */
+    public double getLongitude()
+    {
+        return longitude;
     }
 }
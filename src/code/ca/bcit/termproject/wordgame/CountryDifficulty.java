@@ -0,0 +1,245 @@
+package ca.bcit.termproject.wordgame;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * The {@code CountryDifficulty} class tracks how often the questions about each country of a {@link World}
+ * are answered correctly, and keeps an {@link AliasTable} that favours the countries players find hard.
+ * <p>
+ * Every answer adds to two counters of its country: the number of answers, and a penalty of 0 for a correct
+ * first attempt, 1 for a correct second attempt and 2 for a miss. A country's weight is its smoothed miss rate,
+ * {@code (penalty / 2 + 1) / (answers + 2)}, plus a floor of {@value MIN_WEIGHT} so that easy countries are
+ * still asked now and then. Before any answers every country weighs the same.
+ * <p>
+ * The counters are atomic, so any number of sessions can record answers at once. Recording an answer never
+ * rebuilds the table. Once enough answers have been recorded for the weights to drift, a new table is built
+ * on a background thread and published with a volatile write, so drawing a country always costs the same.
+ * <p>
+ * Statistics belong to one World; a reloaded World starts with fresh statistics.
+ *
+ * @author Jonah Botelho
+ * @version 1.0
+ */
+public final class CountryDifficulty
+{
+    /** The smallest weight of a country, however easy. */
+    public static final double MIN_WEIGHT = 0.05;
+
+    private static final int    PENALTY_FIRST_ATTEMPT  = 0;
+    private static final int    PENALTY_SECOND_ATTEMPT = 1;
+    private static final int    PENALTY_MISSED         = 2;
+    private static final double PENALTY_PER_MISS       = 2.0;
+    private static final double PRIOR_MISSES           = 1.0;
+    private static final double PRIOR_ANSWERS          = 2.0;
+    private static final int    MIN_REBUILD_ANSWERS    = 256;
+    private static final int    REBUILD_FRACTION       = 8;
+    private static final int    NOTHING                = 0;
+    private static final String REBUILD_THREAD_NAME    = "country-difficulty-rebuild";
+
+    private static final ExecutorService REBUILDER = Executors.newSingleThreadExecutor(task ->
+    {
+        final Thread thread;
+        thread = new Thread(task, REBUILD_THREAD_NAME);
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Country[]            countries;
+    private final Map<String, Integer> indexByKey;
+    private final AtomicIntegerArray   answers;
+    private final AtomicIntegerArray   penalties;
+    private final AtomicInteger        answersSinceRebuild;
+    private final AtomicBoolean        rebuilding;
+    private final AtomicInteger        rebuildCount;
+    private final int                  rebuildThreshold;
+
+    private volatile AliasTable table;
+
+    /**
+     * Constructs a CountryDifficulty for every country of a World, with no answers recorded.
+     *
+     * @param world The World to track.
+     */
+    CountryDifficulty(final World world)
+    {
+        final double[] weights;
+
+        if (world.getCountryCount() == NOTHING)
+        {
+            throw new IllegalArgumentException("World has no countries");
+        }
+
+        this.countries           = world.getCountryArray();
+        this.indexByKey          = new HashMap<>();
+        this.answers             = new AtomicIntegerArray(countries.length);
+        this.penalties           = new AtomicIntegerArray(countries.length);
+        this.answersSinceRebuild = new AtomicInteger();
+        this.rebuilding          = new AtomicBoolean();
+        this.rebuildCount        = new AtomicInteger();
+        this.rebuildThreshold    = Math.max(MIN_REBUILD_ANSWERS, countries.length / REBUILD_FRACTION);
+
+        for (int i = NOTHING; i < countries.length; i++)
+        {
+            indexByKey.put(countries[i].getNameKey(), i);
+        }
+
+        weights = new double[countries.length];
+        Arrays.fill(weights, PRIOR_MISSES / PRIOR_ANSWERS + MIN_WEIGHT);
+
+        this.table = new AliasTable(weights);
+    }
+
+    /**
+     * Records how a question about a country was answered. Once enough answers have been
+     * recorded, a new table is built in the background.
+     *
+     * @param country The country the question was about.
+     * @param recall  How well the player recalled the answer.
+     */
+    public void record(final Country country,
+                       final CountrySelector.Recall recall)
+    {
+        if (country == null || recall == null)
+        {
+            throw new IllegalArgumentException("Country and recall cannot be null");
+        }
+
+        final Integer index;
+        final int penalty;
+
+        index = indexByKey.get(country.getNameKey());
+
+        if (index == null)
+        {
+            // the country belongs to another catalog, such as one replaced by a reload
+            return;
+        }
+
+        switch (recall)
+        {
+            case FIRST_ATTEMPT:
+                penalty = PENALTY_FIRST_ATTEMPT;
+                break;
+            case SECOND_ATTEMPT:
+                penalty = PENALTY_SECOND_ATTEMPT;
+                break;
+            case MISSED:
+                penalty = PENALTY_MISSED;
+                break;
+            default:
+                // This should be impossible to reach
+                throw new IllegalStateException("Unexpected value: " + recall);
+        }
+
+        answers.incrementAndGet(index);
+        penalties.addAndGet(index, penalty);
+
+        if (answersSinceRebuild.incrementAndGet() >= rebuildThreshold && rebuilding.compareAndSet(false, true))
+        {
+            REBUILDER.execute(this::rebuildInBackground);
+        }
+    }
+
+    /**
+     * Returns the current table, which samples country indices by difficulty.
+     *
+     * @return The latest published table.
+     */
+    public AliasTable getTable()
+    {
+        return table;
+    }
+
+    /**
+     * Returns the country at an index drawn from the table.
+     *
+     * @param index The index.
+     * @return The country.
+     */
+    Country getCountry(final int index)
+    {
+        return countries[index];
+    }
+
+    /**
+     * Returns the current weight of a country, from its recorded answers.
+     *
+     * @param country The country.
+     * @return The weight, at least {@value MIN_WEIGHT}.
+     */
+    public double getWeight(final Country country)
+    {
+        final Integer index;
+        index = indexByKey.get(country.getNameKey());
+
+        if (index == null)
+        {
+            throw new IllegalArgumentException("Country is not in this World: " + country);
+        }
+
+        return weightOf(index);
+    }
+
+    /**
+     * Returns the number of tables built since construction, not counting the first.
+     *
+     * @return The rebuild count.
+     */
+    public int getRebuildCount()
+    {
+        return rebuildCount.get();
+    }
+
+    /**
+     * Builds and publishes a new table from the current statistics on the calling thread.
+     */
+    public void rebuildNow()
+    {
+        final double[] weights;
+
+        answersSinceRebuild.set(NOTHING);
+        weights = new double[countries.length];
+
+        for (int i = NOTHING; i < weights.length; i++)
+        {
+            weights[i] = weightOf(i);
+        }
+
+        table = new AliasTable(weights);
+        rebuildCount.incrementAndGet();
+    }
+
+    /**
+     * Rebuilds the table on the background thread, then allows the next rebuild to be scheduled.
+     */
+    private void rebuildInBackground()
+    {
+        try
+        {
+            rebuildNow();
+        }
+        finally
+        {
+            rebuilding.set(false);
+        }
+    }
+
+    /**
+     * Returns the weight of the country at an index.
+     *
+     * @param index The index.
+     * @return The smoothed miss rate plus the floor.
+     */
+    private double weightOf(final int index)
+    {
+        return (penalties.get(index) / PENALTY_PER_MISS + PRIOR_MISSES) / (answers.get(index) + PRIOR_ANSWERS)
+               + MIN_WEIGHT;
+    }
+}
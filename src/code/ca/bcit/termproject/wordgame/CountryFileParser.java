@@ -0,0 +1,418 @@
+package ca.bcit.termproject.wordgame;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * The {@code CountryFileParser} class reads a country letter file in a single pass, one line at a time.
+ * <p>
+ * Each record in a letter file has the format:
+ * <pre>
+ * CountryName:CapitalCity
+ * Fact 1
+ * Fact 2
+ * Fact 3
+ * </pre>
+ * A record may end with optional alias lines, giving alternate names that are accepted as answers,
+ * separated by "|":
+ * <pre>
+ * Aliases:USA|United States of America
+ * Capital aliases:Washington
+ * </pre>
+ * It may also give the latitude and longitude of the capital city in degrees, north and east positive:
+ * <pre>
+ * Coordinates:38.9072,-77.0369
+ * </pre>
+ * Records are separated by one or more blank lines.
+ * <p>
+ * The file is read through a buffered reader over a byte channel, so memory use does not grow with the
+ * size of the file; each country is passed to a consumer as soon as its record is complete. A malformed
+ * record does not shift the records after it: the parser reports it, skips to the next blank line, and
+ * carries on from there. Every problem is reported as a {@link CountryFormatException} naming the file,
+ * the line number and the offending text.
+ *
+ * @author Jonah Botelho
+ * @version 1.0
+ */
+public final class CountryFileParser
+{
+    private static final int    BUFFER_SIZE          = 8192;
+    private static final int    FACTS_LENGTH         = 3;
+    private static final int    NOTHING              = 0;
+    private static final int    NOT_FOUND            = -1;
+    private static final String NAME_SEPARATOR       = ":";
+    private static final String NAME_ALIASES         = "Aliases:";
+    private static final String CAPITAL_ALIASES      = "Capital aliases:";
+    private static final String ALIAS_SEPARATOR      = "\\|";
+    private static final String COORDINATES          = "Coordinates:";
+    private static final String COORDINATE_SEPARATOR = ",";
+    private static final int    COORDINATE_COUNT     = 2;
+    private static final int    LATITUDE_PART        = 0;
+    private static final int    LONGITUDE_PART       = 1;
+
+    /**
+     * The part of a record the parser expects to read next.
+     */
+    private enum State
+    {
+        HEADER,
+        FACT,
+        SEPARATOR,
+        SKIPPING
+    }
+
+    private final Path                          file;
+    private final Consumer<Country>             consumer;
+    private final List<CountryFormatException>  problems;
+
+    private State    state;
+    private String   name;
+    private String   capitalCityName;
+    private String[] facts;
+    private int      factCount;
+    private int      headerLineNumber;
+    private String   headerLine;
+
+    private List<String> nameAliases;
+    private List<String> capitalCityAliases;
+    private double       latitude;
+    private double       longitude;
+    private int          coordinatesLineNumber;
+    private String       coordinatesLine;
+
+    /**
+     * Constructs a parser for one letter file.
+     *
+     * @param file     The letter file being parsed.
+     * @param consumer The consumer that receives each parsed country.
+     */
+    private CountryFileParser(final Path file,
+                              final Consumer<Country> consumer)
+    {
+        this.file     = file;
+        this.consumer = consumer;
+        this.problems = new ArrayList<>();
+        this.state    = State.HEADER;
+    }
+
+    /**
+     * Parses a letter file, passing each well-formed country to the consumer in file order.
+     * Malformed records are skipped and returned as problems rather than thrown, so one bad
+     * record does not prevent the rest of the file from loading.
+     *
+     * @param file     The letter file to parse, on any file system.
+     * @param consumer The consumer that receives each parsed country.
+     * @return The problems found in the file, in line order; empty if the file is well-formed.
+     */
+    public static List<CountryFormatException> parse(final Path file,
+                                                     final Consumer<Country> consumer) throws IOException
+    {
+        if (file == null)
+        {
+            throw new IllegalArgumentException("File cannot be null");
+        }
+
+        try (ReadableByteChannel channel = Files.newByteChannel(file, StandardOpenOption.READ))
+        {
+            return parse(channel, file, consumer);
+        }
+    }
+
+    /**
+     * Parses letter file data from an open channel, passing each well-formed country to the consumer
+     * in order. The channel is read to the end but not closed.
+     *
+     * @param channel  The channel to read the letter file data from.
+     * @param source   The name of the data, reported in problems.
+     * @param consumer The consumer that receives each parsed country.
+     * @return The problems found in the data, in line order; empty if the data is well-formed.
+     */
+    public static List<CountryFormatException> parse(final ReadableByteChannel channel,
+                                                     final Path source,
+                                                     final Consumer<Country> consumer) throws IOException
+    {
+        if (channel == null || source == null)
+        {
+            throw new IllegalArgumentException("Channel and source cannot be null");
+        }
+
+        if (consumer == null)
+        {
+            throw new IllegalArgumentException("Consumer cannot be null");
+        }
+
+        final CountryFileParser parser;
+        final BufferedReader reader;
+        String line;
+        int lineNumber;
+
+        parser     = new CountryFileParser(source, consumer);
+        reader     = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8.newDecoder(), BUFFER_SIZE),
+                                        BUFFER_SIZE);
+        lineNumber = NOTHING;
+
+        while ((line = reader.readLine()) != null)
+        {
+            lineNumber++;
+            parser.acceptLine(line, lineNumber);
+        }
+
+        parser.finish(lineNumber);
+
+        return parser.problems;
+    }
+
+    /**
+     * Advances the parser by one line.
+     *
+     * @param line       The text of the line.
+     * @param lineNumber The 1-based number of the line.
+     */
+    private void acceptLine(final String line,
+                            final int lineNumber)
+    {
+        // a blank line always ends the current record, so parsing resyncs here
+        if (line.isBlank())
+        {
+            if (state == State.FACT)
+            {
+                report(headerLineNumber, headerLine,
+                       "expected " + FACTS_LENGTH + " facts but found " + factCount + " before line " + lineNumber);
+            }
+            else if (state == State.SEPARATOR)
+            {
+                emitCountry();
+            }
+
+            state = State.HEADER;
+            return;
+        }
+
+        switch (state)
+        {
+            case HEADER:
+                readHeader(line, lineNumber);
+                break;
+            case FACT:
+                facts[factCount++] = line;
+
+                // the country is emitted at the end of the record, after any alias lines
+                if (factCount == FACTS_LENGTH)
+                {
+                    state = State.SEPARATOR;
+                }
+                break;
+            case SEPARATOR:
+                if (line.startsWith(COORDINATES))
+                {
+                    // a record with unreadable coordinates is skipped rather than loaded without them
+                    if (readCoordinates(line))
+                    {
+                        coordinatesLineNumber = lineNumber;
+                        coordinatesLine       = line;
+                    }
+                    else
+                    {
+                        report(lineNumber, line, "expected " + COORDINATES + "latitude" + COORDINATE_SEPARATOR +
+                                                 "longitude in degrees");
+                        state = State.SKIPPING;
+                    }
+                }
+                else if (!readAliases(line))
+                {
+                    emitCountry();
+                    report(lineNumber, line, "expected an alias line or a blank line after the facts");
+                    state = State.SKIPPING;
+                }
+                break;
+            case SKIPPING:
+                break;
+            default:
+                // This should be impossible to reach
+                throw new IllegalStateException("Unexpected value: " + state);
+        }
+    }
+
+    /**
+     * Reads the "CountryName:CapitalCity" line that starts a record.
+     *
+     * @param line       The text of the line.
+     * @param lineNumber The 1-based number of the line.
+     */
+    private void readHeader(final String line,
+                            final int lineNumber)
+    {
+        final int separatorIndex;
+        separatorIndex = line.indexOf(NAME_SEPARATOR);
+
+        if (separatorIndex == NOT_FOUND)
+        {
+            report(lineNumber, line, "expected CountryName" + NAME_SEPARATOR + "CapitalCity");
+            state = State.SKIPPING;
+            return;
+        }
+
+        name               = line.substring(NOTHING, separatorIndex);
+        capitalCityName    = line.substring(separatorIndex + NAME_SEPARATOR.length());
+        facts              = new String[FACTS_LENGTH];
+        factCount          = NOTHING;
+        headerLineNumber   = lineNumber;
+        headerLine         = line;
+        nameAliases        = new ArrayList<>();
+        capitalCityAliases = new ArrayList<>();
+        latitude           = Double.NaN;
+        longitude          = Double.NaN;
+        coordinatesLine    = null;
+        state              = State.FACT;
+    }
+
+    /**
+     * Reads an "Aliases:" or "Capital aliases:" line after the facts of a record.
+     *
+     * @param line The text of the line.
+     * @return true if the line is an alias line, false otherwise.
+     */
+    private boolean readAliases(final String line)
+    {
+        final List<String> target;
+        final String aliases;
+
+        if (line.startsWith(NAME_ALIASES))
+        {
+            target  = nameAliases;
+            aliases = line.substring(NAME_ALIASES.length());
+        }
+        else if (line.startsWith(CAPITAL_ALIASES))
+        {
+            target  = capitalCityAliases;
+            aliases = line.substring(CAPITAL_ALIASES.length());
+        }
+        else
+        {
+            return false;
+        }
+
+        for (final String alias : aliases.split(ALIAS_SEPARATOR))
+        {
+            if (!alias.isBlank())
+            {
+                target.add(alias.trim());
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Reads a "Coordinates:" line after the facts of a record. The range of the numbers is checked by the
+     * {@link Country} constructor when the record is complete.
+     *
+     * @param line The text of the line, which starts with "Coordinates:".
+     * @return true if the line holds two numbers, false otherwise.
+     */
+    private boolean readCoordinates(final String line)
+    {
+        final String[] parts;
+        final double parsedLatitude;
+        final double parsedLongitude;
+
+        parts = line.substring(COORDINATES.length()).split(COORDINATE_SEPARATOR);
+
+        if (parts.length != COORDINATE_COUNT)
+        {
+            return false;
+        }
+
+        try
+        {
+            parsedLatitude  = Double.parseDouble(parts[LATITUDE_PART].trim());
+            parsedLongitude = Double.parseDouble(parts[LONGITUDE_PART].trim());
+        }
+        catch (final NumberFormatException e)
+        {
+            return false;
+        }
+
+        latitude  = parsedLatitude;
+        longitude = parsedLongitude;
+
+        return true;
+    }
+
+    /**
+     * Builds the country from the completed record and passes it to the consumer.
+     */
+    private void emitCountry()
+    {
+        state = State.HEADER;
+
+        final Country country;
+
+        try
+        {
+            country = new Country(name,
+                                  capitalCityName,
+                                  facts,
+                                  nameAliases.toArray(new String[NOTHING]),
+                                  capitalCityAliases.toArray(new String[NOTHING]),
+                                  latitude,
+                                  longitude);
+        }
+        catch (final IllegalArgumentException e)
+        {
+            // the constructor rejects the record as a whole, so the problem is pointed at the likelier line
+            if (coordinatesLine != null && !Country.isValidLocation(latitude, longitude))
+            {
+                report(coordinatesLineNumber, coordinatesLine, "latitude or longitude out of range");
+            }
+            else
+            {
+                report(headerLineNumber, headerLine, "blank country name, capital city or fact");
+            }
+            return;
+        }
+
+        consumer.accept(country);
+    }
+
+    /**
+     * Emits the last record if it was complete when the file ended, or reports it if it was not.
+     *
+     * @param lastLineNumber The number of the last line in the file.
+     */
+    private void finish(final int lastLineNumber)
+    {
+        if (state == State.FACT)
+        {
+            report(headerLineNumber, headerLine,
+                   "expected " + FACTS_LENGTH + " facts but the file ended after line " + lastLineNumber);
+        }
+        else if (state == State.SEPARATOR)
+        {
+            emitCountry();
+        }
+    }
+
+    /**
+     * Records a problem with a line of the file.
+     *
+     * @param lineNumber The 1-based number of the offending line.
+     * @param text       The text of the offending line.
+     * @param reason     A description of the problem.
+     */
+    private void report(final int lineNumber,
+                        final String text,
+                        final String reason)
+    {
+        problems.add(new CountryFormatException(file, lineNumber, text, reason));
+    }
+}
@@ -0,0 +1,72 @@
+package ca.bcit.termproject.wordgame;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Signals that a country letter file contains a malformed record.
+ * <p>
+ * The exception records the file, the 1-based line number and the text of the offending line,
+ * so a hand-edited data file can be fixed without searching for the problem.
+ *
+ * @author Jonah Botelho
+ * @version 1.0
+ */
+public final class CountryFormatException extends IOException
+{
+    private static final long serialVersionUID = 1L;
+
+    private final transient Path   file;
+    private final int              lineNumber;
+    private final String           text;
+
+    /**
+     * Constructs a CountryFormatException for a line of a letter file.
+     *
+     * @param file       The letter file containing the problem.
+     * @param lineNumber The 1-based number of the offending line.
+     * @param text       The text of the offending line.
+     * @param reason     A description of what is wrong with the line.
+     */
+    public CountryFormatException(final Path file,
+                                  final int lineNumber,
+                                  final String text,
+                                  final String reason)
+    {
+        super(file + ":" + lineNumber + ": " + reason + ": \"" + text + "\"");
+
+        this.file       = file;
+        this.lineNumber = lineNumber;
+        this.text       = text;
+    }
+
+    /**
+     * Returns the letter file containing the problem.
+     *
+     * @return The letter file.
+     */
+    public Path getFile()
+    {
+        return file;
+    }
+
+    /**
+     * Returns the 1-based number of the offending line.
+     *
+     * @return The line number.
+     */
+    public int getLineNumber()
+    {
+        return lineNumber;
+    }
+
+    /**
+     * Returns the text of the offending line.
+     *
+     * @return The offending line, or an empty String if the file ended early.
+     */
+    public String getText()
+    {
+        return text;
+    }
+}
@@ -0,0 +1,157 @@
+package ca.bcit.termproject.wordgame;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The {@code CountrySampler} class draws countries from a {@link World} without repeats, using a shuffle bag
+ * over the World's dense country array.
+ * <p>
+ * The bag holds the index of every country, or of every country of a subset such as a topic. Each draw picks
+ * a random index from the part of the bag that has not been drawn yet and swaps it to the end, so a draw takes
+ * constant time and allocates nothing. Once every country has been drawn the bag refills itself. Calling
+ * {@link #drawGame(Country[])} starts a fresh bag, so the countries of one game are always distinct as long as
+ * the game asks no more questions than there are countries.
+ * <p>
+ * This is the default {@link CountrySelector}. A CountrySampler is not thread-safe; each game or session should use its own.
+ *
+ * @author Jonah Botelho
+ * @version 1.0
+ */
+public final class CountrySampler implements CountrySelector
+{
+    private static final int NOTHING = 0;
+
+    private final Country[] countries;
+    private final int[]     bag;
+    private final Random    random;
+
+    private int remaining;
+
+    /**
+     * Constructs a CountrySampler over every country of a World.
+     *
+     * @param world  The World to draw countries from.
+     * @param random The random number generator to draw with.
+     */
+    public CountrySampler(final World world,
+                          final Random random)
+    {
+        this(countriesOf(world), random);
+    }
+
+    /**
+     * Creates a CountrySampler over a subset of countries, such as the countries of a topic
+     * found with a {@link FactIndex}.
+     *
+     * @param countries The countries to draw from.
+     * @param random    The random number generator to draw with.
+     * @return A sampler over a copy of the countries.
+     */
+    public static CountrySampler of(final List<Country> countries,
+                                    final Random random)
+    {
+        return new CountrySampler(countries == null ? null : countries.toArray(new Country[NOTHING]), random);
+    }
+
+    /**
+     * Constructs a CountrySampler over an array of countries, which is not copied.
+     *
+     * @param countries The countries to draw from.
+     * @param random    The random number generator to draw with.
+     */
+    private CountrySampler(final Country[] countries,
+                           final Random random)
+    {
+        if (countries == null)
+        {
+            throw new IllegalArgumentException("Countries cannot be null");
+        }
+
+        if (random == null)
+        {
+            throw new IllegalArgumentException("Random cannot be null");
+        }
+
+        if (countries.length == NOTHING)
+        {
+            throw new IllegalArgumentException("No countries to draw from");
+        }
+
+        this.countries = countries;
+        this.bag       = new int[countries.length];
+        this.random    = random;
+
+        for (int i = NOTHING; i < bag.length; i++)
+        {
+            bag[i] = i;
+        }
+
+        this.remaining = bag.length;
+    }
+
+    /**
+     * Returns the shared country array of a World.
+     *
+     * @param world The World.
+     * @return The World's countries.
+     */
+    private static Country[] countriesOf(final World world)
+    {
+        if (world == null)
+        {
+            throw new IllegalArgumentException("World cannot be null");
+        }
+
+        return world.getCountryArray();
+    }
+
+    /**
+     * Draws the next country from the bag, refilling the bag first if every country has been drawn.
+     *
+     * @return A country that has not been drawn since the bag was last refilled.
+     */
+    @Override
+    public Country draw()
+    {
+        final int pick;
+        final int drawnIndex;
+
+        if (remaining == NOTHING)
+        {
+            remaining = bag.length;
+        }
+
+        // move the picked index to the end of the undrawn part of the bag
+        pick            = random.nextInt(remaining);
+        remaining--;
+        drawnIndex      = bag[pick];
+        bag[pick]       = bag[remaining];
+        bag[remaining]  = drawnIndex;
+
+        return countries[drawnIndex];
+    }
+
+    /**
+     * Refills the bag and fills the given array with distinct countries for one game.
+     * If the array is longer than the number of countries, countries repeat only after
+     * every country has been drawn once.
+     *
+     * @param questions The array to fill, one country per question.
+     */
+    @Override
+    public void drawGame(final Country[] questions)
+    {
+        if (questions == null)
+        {
+            throw new IllegalArgumentException("Questions array cannot be null");
+        }
+
+        remaining = bag.length;
+
+        for (int i = NOTHING; i < questions.length; i++)
+        {
+            questions[i] = draw();
+        }
+    }
+}
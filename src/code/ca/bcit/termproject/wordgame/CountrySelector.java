@@ -0,0 +1,55 @@
+package ca.bcit.termproject.wordgame;
+
+/**
+ * The {@code CountrySelector} interface decides which countries a {@link QuestionGenerator} asks about.
+ * <p>
+ * The default selector is a {@link CountrySampler}, which picks uniformly without repeats. Other selectors
+ * can favour certain countries; they are told how each question was answered through
+ * {@link #record(Country, Recall)}, which does nothing by default.
+ * <p>
+ * Selectors are not expected to be thread-safe; each game or session should use its own.
+ *
+ * @author Jonah Botelho
+ * @version 1.0
+ */
+public interface CountrySelector
+{
+    /**
+     * How well a player recalled the answer to a question.
+     */
+    enum Recall
+    {
+        /** Answered correctly on the first attempt. */
+        FIRST_ATTEMPT,
+        /** Answered correctly on the second attempt. */
+        SECOND_ATTEMPT,
+        /** Answered incorrectly on both attempts. */
+        MISSED
+    }
+
+    /**
+     * Selects the country of the next question.
+     *
+     * @return The country.
+     */
+    Country draw();
+
+    /**
+     * Fills the given array with distinct countries for one game, as long as the game asks
+     * no more questions than there are countries.
+     *
+     * @param questions The array to fill, one country per question.
+     */
+    void drawGame(Country[] questions);
+
+    /**
+     * Records how a question about a country was answered. Does nothing by default.
+     *
+     * @param country The country the question was about.
+     * @param recall  How well the player recalled the answer.
+     */
+    default void record(final Country country,
+                        final Recall recall)
+    {
+    }
+}
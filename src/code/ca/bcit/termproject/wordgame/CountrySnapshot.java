@@ -0,0 +1,539 @@
+package ca.bcit.termproject.wordgame;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The {@code CountrySnapshot} class is a precompiled binary copy of the country letter files that can be
+ * memory-mapped instead of parsed. The letter files remain the source of truth; the snapshot is only a cache
+ * of them, and it records a fingerprint of the letter files so a stale snapshot can be detected and rebuilt.
+ * <p>
+ * Snapshot file layout (all integers are big-endian):
+ * <pre>
+ * header:  int magic | int version | long source fingerprint | int record count
+ * records: one fixed-width record per country, made of seven (int offset, int length) pairs
+ *          for the name, the capital city, the three facts, the name aliases and the capital city
+ *          aliases, then the latitude and longitude of the capital city as two doubles, NaN if unknown;
+ *          each alias list is stored as one string with the aliases separated by "|"
+ * strings: a string table holding the UTF-8 bytes of every string; offsets are relative to its start
+ * </pre>
+ * Opening a snapshot costs one mmap. {@link Country} objects are only decoded from the mapped records
+ * when they are first requested, and are cached afterwards. Their facts are decoded later still, on the
+ * first call to {@link Country#getFacts()}; until then a country only holds the position of its fact fields.
+ * <p>
+ * The snapshot can be compiled ahead of time by running this class:
+ * {@code java ca.bcit.termproject.wordgame.CountrySnapshot [dataDirectory] [snapshotFile]}
+ *
+ * @author Jonah Botelho
+ * @version 1.0
+ */
+public final class CountrySnapshot
+{
+    private static final int MAGIC                 = 0x43534E50; // "CSNP"
+    private static final int VERSION               = 3;
+    private static final int HEADER_BYTES          = Integer.BYTES + Integer.BYTES + Long.BYTES + Integer.BYTES;
+    private static final int FINGERPRINT_OFFSET    = Integer.BYTES + Integer.BYTES;
+    private static final int COUNT_OFFSET          = FINGERPRINT_OFFSET + Long.BYTES;
+    private static final int FIELDS_PER_RECORD     = 7;
+    private static final int BYTES_PER_FIELD       = Integer.BYTES + Integer.BYTES;
+    private static final int COORDINATES_OFFSET    = FIELDS_PER_RECORD * BYTES_PER_FIELD;
+    private static final int RECORD_BYTES          = COORDINATES_OFFSET + Double.BYTES + Double.BYTES;
+    private static final int NAME_FIELD            = 0;
+    private static final int CAPITAL_FIELD         = 1;
+    private static final int FIRST_FACT_FIELD      = 2;
+    private static final int FACTS_LENGTH          = 3;
+    private static final int NAME_ALIASES_FIELD    = FIRST_FACT_FIELD + FACTS_LENGTH;
+    private static final int CAPITAL_ALIASES_FIELD = NAME_ALIASES_FIELD + 1;
+    private static final int ALPHABET_LENGTH       = 26 + 'a';
+    private static final int FINGERPRINT_PRIME     = 31;
+    private static final int NOTHING               = 0;
+    private static final int DATA_DIRECTORY_ARG    = 0;
+    private static final int SNAPSHOT_FILE_ARG     = 1;
+
+    private static final String   ALIAS_SEPARATOR       = "|";
+    private static final String   ALIAS_SEPARATOR_REGEX = "\\|";
+    private static final String[] NO_ALIASES            = new String[NOTHING];
+
+    private final MappedByteBuffer buffer;
+    private final long             sourceFingerprint;
+    private final int              recordCount;
+    private final int              stringTableStart;
+    private final Country[]        decoded;
+
+    /**
+     * Constructs a CountrySnapshot over an already mapped snapshot file.
+     * <p>
+     * Every record is checked once here, so a damaged file is rejected when it is opened, and rebuilt by
+     * {@link #openOrRebuild(Path, Path)}, rather than failing when one of its countries is first decoded.
+     *
+     * @param buffer       The mapped snapshot file.
+     * @param snapshotFile The snapshot file, used in error messages.
+     */
+    private CountrySnapshot(final MappedByteBuffer buffer,
+                            final Path snapshotFile) throws IOException
+    {
+        if (buffer.capacity() < HEADER_BYTES ||
+            buffer.getInt(NOTHING) != MAGIC ||
+            buffer.getInt(Integer.BYTES) != VERSION)
+        {
+            throw new IOException("Not a country snapshot: " + snapshotFile);
+        }
+
+        final int count;
+        final long tableStart;
+
+        count      = buffer.getInt(COUNT_OFFSET);
+        tableStart = HEADER_BYTES + (long) count * RECORD_BYTES;
+
+        // the count is checked before anything is sized by it
+        if (count < NOTHING || tableStart > buffer.capacity())
+        {
+            throw new IOException("Truncated country snapshot: " + snapshotFile);
+        }
+
+        this.buffer            = buffer;
+        this.sourceFingerprint = buffer.getLong(FINGERPRINT_OFFSET);
+        this.recordCount       = count;
+        this.stringTableStart  = (int) tableStart;
+
+        validateRecords(snapshotFile);
+
+        this.decoded = new Country[recordCount];
+    }
+
+    /**
+     * Checks that every field of every record lies within the string table, and that every record's
+     * coordinates are either unknown or on the globe.
+     *
+     * @param snapshotFile The snapshot file, used in error messages.
+     */
+    private void validateRecords(final Path snapshotFile) throws IOException
+    {
+        for (int index = NOTHING; index < recordCount; index++)
+        {
+            final int recordStart;
+            final double latitude;
+            final double longitude;
+
+            recordStart = HEADER_BYTES + index * RECORD_BYTES;
+
+            for (int field = NOTHING; field < FIELDS_PER_RECORD; field++)
+            {
+                final int fieldStart;
+                final int offset;
+                final int length;
+
+                fieldStart = recordStart + field * BYTES_PER_FIELD;
+                offset     = buffer.getInt(fieldStart);
+                length     = buffer.getInt(fieldStart + Integer.BYTES);
+
+                if (offset < NOTHING || length < NOTHING ||
+                    (long) stringTableStart + offset + length > buffer.capacity())
+                {
+                    throw new IOException("Corrupt country snapshot: " + snapshotFile + ", record " + index);
+                }
+            }
+
+            latitude  = buffer.getDouble(recordStart + COORDINATES_OFFSET);
+            longitude = buffer.getDouble(recordStart + COORDINATES_OFFSET + Double.BYTES);
+
+            if (!(Double.isNaN(latitude) && Double.isNaN(longitude)) && !Country.isValidLocation(latitude, longitude))
+            {
+                throw new IOException("Corrupt country snapshot: " + snapshotFile + ", record " + index);
+            }
+        }
+    }
+
+    /**
+     * Memory-maps an existing snapshot file.
+     *
+     * @param snapshotFile The snapshot file to open.
+     * @return The opened snapshot.
+     */
+    public static CountrySnapshot open(final Path snapshotFile) throws IOException
+    {
+        validatePath(snapshotFile);
+
+        try (FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.READ))
+        {
+            final MappedByteBuffer mapped;
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, NOTHING, channel.size());
+
+            // the mapping stays valid after the channel is closed
+            return new CountrySnapshot(mapped, snapshotFile);
+        }
+    }
+
+    /**
+     * Opens the snapshot file, first compiling it from the letter files if it is missing,
+     * unreadable, or older than the letter files.
+     *
+     * @param dataDirectory The directory containing the letter files.
+     * @param snapshotFile  The snapshot file to open or rebuild.
+     * @return The opened, up-to-date snapshot.
+     */
+    public static CountrySnapshot openOrRebuild(final Path dataDirectory,
+                                                final Path snapshotFile) throws IOException
+    {
+        return openOrRebuild(dataDirectory, snapshotFile, false);
+    }
+
+    /**
+     * Opens the snapshot file, first compiling it from the letter files if it is missing,
+     * unreadable, or older than the letter files.
+     *
+     * @param dataDirectory The directory containing the letter files.
+     * @param snapshotFile  The snapshot file to open or rebuild.
+     * @param parallel      true to parse the letter files concurrently if a rebuild is needed.
+     * @return The opened, up-to-date snapshot.
+     */
+    public static CountrySnapshot openOrRebuild(final Path dataDirectory,
+                                                final Path snapshotFile,
+                                                final boolean parallel) throws IOException
+    {
+        validatePath(dataDirectory);
+        validatePath(snapshotFile);
+
+        final long currentFingerprint;
+        currentFingerprint = fingerprint(dataDirectory);
+
+        if (Files.exists(snapshotFile))
+        {
+            try
+            {
+                final CountrySnapshot existing;
+                existing = open(snapshotFile);
+
+                if (existing.getSourceFingerprint() == currentFingerprint)
+                {
+                    return existing;
+                }
+            }
+            catch (final IOException e)
+            {
+                // a corrupt snapshot is rebuilt like a stale one
+            }
+        }
+
+        compile(dataDirectory, snapshotFile, parallel);
+        return open(snapshotFile);
+    }
+
+    /**
+     * Compiles the letter files in the given directory into a snapshot file.
+     * The snapshot is written to a temporary file first and then moved into place, so
+     * readers never see a partially written snapshot.
+     *
+     * @param dataDirectory The directory containing the letter files.
+     * @param snapshotFile  The snapshot file to write.
+     */
+    public static void compile(final Path dataDirectory,
+                               final Path snapshotFile) throws IOException
+    {
+        compile(dataDirectory, snapshotFile, false);
+    }
+
+    /**
+     * Compiles the letter files in the given directory into a snapshot file, optionally
+     * parsing the letter files concurrently.
+     *
+     * @param dataDirectory The directory containing the letter files.
+     * @param snapshotFile  The snapshot file to write.
+     * @param parallel      true to parse the letter files concurrently.
+     */
+    public static void compile(final Path dataDirectory,
+                               final Path snapshotFile,
+                               final boolean parallel) throws IOException
+    {
+        validatePath(dataDirectory);
+        validatePath(snapshotFile);
+
+        final long sourceFingerprint;
+        final List<Country> countries;
+        final ByteArrayOutputStream stringTable;
+        final int[] records;
+        final Path parent;
+        final Path tempFile;
+
+        // fingerprint before parsing, so edits made while compiling leave the snapshot stale
+        sourceFingerprint = fingerprint(dataDirectory);
+        countries         = new DirectoryCountrySource(dataDirectory).loadAll(parallel);
+        stringTable       = new ByteArrayOutputStream();
+        records           = new int[countries.size() * RECORD_BYTES / Integer.BYTES];
+
+        // build the string table and the offset records
+        int recordIndex = NOTHING;
+        for (final Country country : countries)
+        {
+            final String[] fields;
+            fields = new String[FIELDS_PER_RECORD];
+
+            fields[NAME_FIELD]    = country.getName();
+            fields[CAPITAL_FIELD] = country.getCapitalCityName();
+            System.arraycopy(country.getFacts(), NOTHING, fields, FIRST_FACT_FIELD, FACTS_LENGTH);
+            fields[NAME_ALIASES_FIELD]    = String.join(ALIAS_SEPARATOR, country.getNameAliases());
+            fields[CAPITAL_ALIASES_FIELD] = String.join(ALIAS_SEPARATOR, country.getCapitalCityAliases());
+
+            for (final String field : fields)
+            {
+                final byte[] bytes;
+                bytes = field.getBytes(StandardCharsets.UTF_8);
+
+                records[recordIndex++] = stringTable.size();
+                records[recordIndex++] = bytes.length;
+                stringTable.writeBytes(bytes);
+            }
+
+            // each double is written as its high int, then its low int, so it reads back as one big-endian double
+            for (final double coordinate : new double[]{country.getLatitude(), country.getLongitude()})
+            {
+                final long bits;
+                bits = Double.doubleToLongBits(coordinate);
+
+                records[recordIndex++] = (int) (bits >>> Integer.SIZE);
+                records[recordIndex++] = (int) bits;
+            }
+        }
+
+        parent = snapshotFile.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        tempFile = Files.createTempFile(parent, snapshotFile.getFileName().toString(), ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile))))
+        {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(sourceFingerprint);
+            out.writeInt(countries.size());
+
+            for (final int value : records)
+            {
+                out.writeInt(value);
+            }
+
+            stringTable.writeTo(out);
+        }
+
+        try
+        {
+            Files.move(tempFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        finally
+        {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Computes a fingerprint of the letter files from their names, sizes and modification times.
+     * Only file attributes are read, so checking a snapshot for staleness does not parse any file.
+     *
+     * @param dataDirectory The directory containing the letter files.
+     * @return The fingerprint of the letter files.
+     */
+    public static long fingerprint(final Path dataDirectory) throws IOException
+    {
+        long result;
+        result = NOTHING;
+
+        for (char fileIndex = 'a'; fileIndex < ALPHABET_LENGTH; fileIndex++)
+        {
+            final Path filePath;
+            filePath = DirectoryCountrySource.getLetterFile(dataDirectory, fileIndex);
+
+            if (Files.exists(filePath))
+            {
+                result = result * FINGERPRINT_PRIME + fileIndex;
+                result = result * FINGERPRINT_PRIME + Files.size(filePath);
+                result = result * FINGERPRINT_PRIME + Files.getLastModifiedTime(filePath).toMillis();
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the number of countries in the snapshot.
+     *
+     * @return The number of country records.
+     */
+    public int size()
+    {
+        return recordCount;
+    }
+
+    /**
+     * Returns the fingerprint of the letter files this snapshot was compiled from.
+     *
+     * @return The source fingerprint stored in the snapshot header.
+     */
+    public long getSourceFingerprint()
+    {
+        return sourceFingerprint;
+    }
+
+    /**
+     * Returns the country stored in the given record, decoding it from the mapped file on first access.
+     *
+     * @param index The record index, from 0 to {@link #size()} - 1.
+     * @return The country stored in the record.
+     */
+    public Country getCountry(final int index)
+    {
+        if (index < NOTHING || index >= recordCount)
+        {
+            throw new IllegalArgumentException("Invalid record index: " + index);
+        }
+
+        Country country;
+        country = decoded[index];
+
+        // Country is immutable, so a racing thread at worst decodes the same record twice
+        if (country == null)
+        {
+            final int recordStart;
+            recordStart = HEADER_BYTES + index * RECORD_BYTES;
+
+            country = new Country(readField(recordStart, NAME_FIELD),
+                                  readField(recordStart, CAPITAL_FIELD),
+                                  readAliases(recordStart, NAME_ALIASES_FIELD),
+                                  readAliases(recordStart, CAPITAL_ALIASES_FIELD),
+                                  buffer.getDouble(recordStart + COORDINATES_OFFSET),
+                                  buffer.getDouble(recordStart + COORDINATES_OFFSET + Double.BYTES),
+                                  this::readFacts,
+                                  recordStart + FIRST_FACT_FIELD * BYTES_PER_FIELD);
+            decoded[index] = country;
+        }
+
+        return country;
+    }
+
+    /**
+     * Returns every country in the snapshot, in record order.
+     *
+     * @return A list of all the countries.
+     */
+    public List<Country> getCountries()
+    {
+        final List<Country> countries;
+        countries = new ArrayList<>(recordCount);
+
+        for (int i = NOTHING; i < recordCount; i++)
+        {
+            countries.add(getCountry(i));
+        }
+
+        return countries;
+    }
+
+    /**
+     * Decodes one string field of a record from the string table. The field was checked to lie within the
+     * table when the snapshot was opened.
+     *
+     * @param recordStart The byte position of the record.
+     * @param field       The field number within the record.
+     * @return The decoded string.
+     */
+    private String readField(final int recordStart,
+                             final int field)
+    {
+        final int fieldStart;
+        final int offset;
+        final int length;
+        final byte[] bytes;
+
+        fieldStart = recordStart + field * BYTES_PER_FIELD;
+        offset     = buffer.getInt(fieldStart);
+        length     = buffer.getInt(fieldStart + Integer.BYTES);
+        bytes      = new byte[length];
+
+        buffer.get(stringTableStart + offset, bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decodes the fact fields of a record.
+     *
+     * @param factsStart The byte position of the first fact field of the record.
+     * @return The facts.
+     */
+    private String[] readFacts(final int factsStart)
+    {
+        final String[] facts;
+        facts = new String[FACTS_LENGTH];
+
+        for (int i = NOTHING; i < FACTS_LENGTH; i++)
+        {
+            facts[i] = readField(factsStart, i);
+        }
+
+        return facts;
+    }
+
+    /**
+     * Decodes one alias list field of a record.
+     *
+     * @param recordStart The byte position of the record.
+     * @param field       The field number within the record.
+     * @return The aliases, empty if there are none.
+     */
+    private String[] readAliases(final int recordStart,
+                                 final int field)
+    {
+        final String aliases;
+        aliases = readField(recordStart, field);
+
+        if (aliases.isEmpty())
+        {
+            return NO_ALIASES;
+        }
+
+        return aliases.split(ALIAS_SEPARATOR_REGEX);
+    }
+
+    /**
+     * Validates that a path is not null.
+     *
+     * @param path The path to validate.
+     */
+    private static void validatePath(final Path path)
+    {
+        if (path == null)
+        {
+            throw new IllegalArgumentException("Path cannot be null");
+        }
+    }
+
+    /**
+     * Compiles the letter files into a snapshot file.
+     *
+     * @param args optional data directory and snapshot file; the World defaults are used when omitted.
+     */
+    public static void main(final String[] args) throws IOException
+    {
+        final Path dataDirectory;
+        final Path snapshotFile;
+        final CountrySnapshot snapshot;
+
+        dataDirectory = args.length > DATA_DIRECTORY_ARG ? Paths.get(args[DATA_DIRECTORY_ARG]) : World.DATA_DIRECTORY;
+        snapshotFile  = args.length > SNAPSHOT_FILE_ARG ? Paths.get(args[SNAPSHOT_FILE_ARG]) : World.SNAPSHOT_FILE;
+
+        compile(dataDirectory, snapshotFile, true);
+        snapshot = open(snapshotFile);
+
+        System.out.println("Compiled " + snapshot.size() + " countries into " + snapshotFile);
+    }
+}
@@ -0,0 +1,115 @@
+package ca.bcit.termproject.wordgame;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * A source of country data for a {@link World}.
+ * <p>
+ * Country data is split into shards, one per letter from 'a' to 'z', matching the letter files
+ * (a.txt, b.txt, etc.) of the original data layout. A source only has to load a single shard; loading the
+ * whole catalog, sequentially or in parallel, is built on top of that. Sources that hold all their data in
+ * one place can override {@link #loadAll(boolean)} to skip the per-shard work.
+ * <p>
+ * Implementations:
+ * 1. {@link DirectoryCountrySource} reads letter files from a directory, including a directory inside a zip archive.
+ * 2. {@link ClasspathCountrySource} reads letter files packaged as classpath resources.
+ * 3. {@link SnapshotCountrySource} reads a memory-mapped {@link CountrySnapshot}.
+ * 4. {@link InMemoryCountrySource} holds countries built in code, for tests and benchmarks.
+ *
+ * @author Jonah Botelho
+ * @version 1.0
+ */
+public interface CountrySource
+{
+    /** The letter of the first shard. */
+    char FIRST_SHARD = 'a';
+    /** The letter of the last shard. */
+    char LAST_SHARD  = 'z';
+
+    /**
+     * Loads the countries of one shard.
+     *
+     * @param letter The lower-case letter of the shard, from {@value #FIRST_SHARD} to {@value #LAST_SHARD}.
+     * @return The countries in the shard in source order, or an empty list if the shard does not exist.
+     */
+    List<Country> loadShard(char letter) throws IOException;
+
+    /**
+     * Loads every shard and joins them in letter order.
+     * <p>
+     * In parallel mode each shard is loaded as its own task on the common fork-join pool into its own
+     * list, so the tasks share nothing while they run. The lists are joined in letter order at the end,
+     * which gives exactly the same result as a sequential load.
+     *
+     * @param parallel true to load the shards concurrently, false to load them one by one.
+     * @return Every country of the source, in letter order.
+     */
+    default List<Country> loadAll(final boolean parallel) throws IOException
+    {
+        final List<Country> loadedCountries;
+        loadedCountries = new ArrayList<>();
+
+        if (!parallel)
+        {
+            for (char letter = FIRST_SHARD; letter <= LAST_SHARD; letter++)
+            {
+                loadedCountries.addAll(loadShard(letter));
+            }
+
+            return loadedCountries;
+        }
+
+        final List<ForkJoinTask<List<Country>>> shardTasks;
+        shardTasks = new ArrayList<>();
+
+        for (char letter = FIRST_SHARD; letter <= LAST_SHARD; letter++)
+        {
+            final char shardLetter;
+            shardLetter = letter;
+
+            shardTasks.add(ForkJoinPool.commonPool().submit(() -> loadShard(shardLetter)));
+        }
+
+        // join in submission order so the result matches a sequential load
+        for (final ForkJoinTask<List<Country>> shardTask : shardTasks)
+        {
+            try
+            {
+                loadedCountries.addAll(shardTask.get());
+            }
+            catch (final InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while loading country data", e);
+            }
+            catch (final ExecutionException e)
+            {
+                if (e.getCause() instanceof IOException)
+                {
+                    throw (IOException) e.getCause();
+                }
+
+                throw new IOException("Could not load country data", e.getCause());
+            }
+        }
+
+        return loadedCountries;
+    }
+
+    /**
+     * Returns the shard letter a country name belongs to: its first letter in lower case.
+     *
+     * @param name The country name.
+     * @return The shard letter.
+     */
+    static char getShardLetter(final String name)
+    {
+        return name.trim().toLowerCase(Locale.ROOT).charAt(0);
+    }
+}
@@ -0,0 +1,126 @@
+package ca.bcit.termproject.wordgame;
+
+import java.util.Random;
+
+/**
+ * The {@code DifficultyWeightedSampler} class draws countries with probability proportional to how hard
+ * players have found them, using the {@link AliasTable} of the World's {@link CountryDifficulty}.
+ * <p>
+ * A draw reads the latest published table and samples it, which takes constant time: one random integer
+ * and one random double, about the same as the uniform pick of a {@link CountrySampler}. The table is rebuilt
+ * in the background as answers are recorded, so the weights follow the statistics without any cost per draw.
+ * Answers are recorded through {@link #record(Country, Recall)}, so only games that draw by difficulty pay for
+ * keeping the statistics.
+ * <p>
+ * Countries of one game are kept distinct by drawing again when a country repeats; with a floor on every
+ * weight, a repeat is rare unless the catalog is barely larger than a game.
+ * A DifficultyWeightedSampler is not thread-safe; each game or session should use its own.
+ *
+ * @author Jonah Botelho
+ * @version 1.0
+ */
+public final class DifficultyWeightedSampler implements CountrySelector
+{
+    private static final int NOTHING = 0;
+
+    private final CountryDifficulty difficulty;
+    private final Random            random;
+    private final int               countryCount;
+
+    /**
+     * Constructs a DifficultyWeightedSampler over every country of a World.
+     *
+     * @param world  The World to draw countries from.
+     * @param random The random number generator to draw with.
+     */
+    public DifficultyWeightedSampler(final World world,
+                                     final Random random)
+    {
+        if (world == null || random == null)
+        {
+            throw new IllegalArgumentException("World and random cannot be null");
+        }
+
+        this.difficulty   = world.getDifficulty();
+        this.random       = random;
+        this.countryCount = world.getCountryCount();
+    }
+
+    /**
+     * Draws a country, weighted by difficulty.
+     *
+     * @return The country.
+     */
+    @Override
+    public Country draw()
+    {
+        return difficulty.getCountry(difficulty.getTable().sample(random));
+    }
+
+    /**
+     * Fills the given array with countries for one game, weighted by difficulty. The countries are distinct
+     * as long as the game asks no more questions than there are countries.
+     *
+     * @param questions The array to fill, one country per question.
+     */
+    @Override
+    public void drawGame(final Country[] questions)
+    {
+        if (questions == null)
+        {
+            throw new IllegalArgumentException("Questions array cannot be null");
+        }
+
+        final AliasTable table;
+        table = difficulty.getTable();
+
+        for (int i = NOTHING; i < questions.length; i++)
+        {
+            Country country;
+
+            do
+            {
+                country = difficulty.getCountry(table.sample(random));
+            }
+            while (i < countryCount && contains(questions, i, country));
+
+            questions[i] = country;
+        }
+    }
+
+    /**
+     * Records how a question about a country was answered in the World's difficulty statistics.
+     *
+     * @param country The country the question was about.
+     * @param recall  How well the player recalled the answer.
+     */
+    @Override
+    public void record(final Country country,
+                       final Recall recall)
+    {
+        difficulty.record(country, recall);
+    }
+
+    /**
+     * Returns whether a country is among the first entries of an array.
+     *
+     * @param questions The array.
+     * @param count     The number of entries to search.
+     * @param country   The country to find.
+     * @return true if the country is already in the game.
+     */
+    private static boolean contains(final Country[] questions,
+                                    final int count,
+                                    final Country country)
+    {
+        for (int i = NOTHING; i < count; i++)
+        {
+            if (questions[i] == country)
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
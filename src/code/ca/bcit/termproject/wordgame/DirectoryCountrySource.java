@@ -0,0 +1,147 @@
+package ca.bcit.termproject.wordgame;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystemAlreadyExistsException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link CountrySource} that reads letter files (a.txt, b.txt, etc.) from a directory, using
+ * {@link CountryFileParser}. This is the original country data layout.
+ * <p>
+ * The directory may be on any file system, so {@link #ofArchive(Path, String)} can read the letter files
+ * straight out of a zip or jar archive without extracting it.
+ *
+ * @author Jonah Botelho
+ * @version 1.0
+ */
+public final class DirectoryCountrySource implements CountrySource
+{
+    private static final String LETTER_FILE_EXTENSION = ".txt";
+    private static final String JAR_URI_PREFIX        = "jar:";
+
+    private final Path dataDirectory;
+
+    /**
+     * Constructs a DirectoryCountrySource over a directory of letter files.
+     *
+     * @param dataDirectory The directory containing the letter files.
+     */
+    public DirectoryCountrySource(final Path dataDirectory)
+    {
+        if (dataDirectory == null)
+        {
+            throw new IllegalArgumentException("Data directory cannot be null");
+        }
+
+        this.dataDirectory = dataDirectory;
+    }
+
+    /**
+     * Creates a DirectoryCountrySource over a directory inside a zip or jar archive.
+     * The archive is opened as a zip file system, which stays open for the life of the process.
+     *
+     * @param archive            The zip or jar file.
+     * @param directoryInArchive The directory of letter files inside the archive, such as "/wordgame/countrydata".
+     * @return A source reading the letter files from the archive.
+     */
+    public static DirectoryCountrySource ofArchive(final Path archive,
+                                                   final String directoryInArchive) throws IOException
+    {
+        if (archive == null || directoryInArchive == null)
+        {
+            throw new IllegalArgumentException("Archive and directory cannot be null");
+        }
+
+        final URI archiveUri;
+        FileSystem archiveFileSystem;
+
+        archiveUri = URI.create(JAR_URI_PREFIX + archive.toAbsolutePath().toUri());
+
+        try
+        {
+            archiveFileSystem = FileSystems.newFileSystem(archiveUri, Map.of());
+        }
+        catch (final FileSystemAlreadyExistsException e)
+        {
+            archiveFileSystem = FileSystems.getFileSystem(archiveUri);
+        }
+
+        return new DirectoryCountrySource(archiveFileSystem.getPath(directoryInArchive));
+    }
+
+    /**
+     * Reads and parses the letter file of one shard.
+     * <p>
+     * Malformed records are skipped rather than loaded out of alignment, and each one is reported
+     * on the standard error stream with its file, line number and text.
+     *
+     * @param letter The lower-case letter of the shard.
+     * @return The well-formed countries in the letter file, or an empty list if there is no such file.
+     */
+    @Override
+    public List<Country> loadShard(final char letter) throws IOException
+    {
+        final Path filePath;
+        filePath = getLetterFile(dataDirectory, letter);
+
+        if (Files.notExists(filePath))
+        {
+            return List.of();
+        }
+
+        return readCountryFile(filePath);
+    }
+
+    /**
+     * Returns the directory this source reads from.
+     *
+     * @return The directory containing the letter files.
+     */
+    public Path getDataDirectory()
+    {
+        return dataDirectory;
+    }
+
+    /**
+     * Reads and parses a single letter file into Country objects, reporting malformed
+     * records on the standard error stream.
+     *
+     * @param filePath The letter file to read.
+     * @return A list of the well-formed countries in the file, in file order.
+     */
+    static List<Country> readCountryFile(final Path filePath) throws IOException
+    {
+        final List<Country> fileCountries;
+        final List<CountryFormatException> problems;
+
+        fileCountries = new ArrayList<>();
+        problems      = CountryFileParser.parse(filePath, fileCountries::add);
+
+        for (final CountryFormatException problem : problems)
+        {
+            System.err.println("Skipped malformed country record: " + problem.getMessage());
+        }
+
+        return fileCountries;
+    }
+
+    /**
+     * Returns the path of the letter file for the given letter.
+     *
+     * @param dataDirectory The directory containing the letter files.
+     * @param letter        The lower-case letter of the file.
+     * @return The path of the letter file, which may not exist.
+     */
+    static Path getLetterFile(final Path dataDirectory,
+                              final char letter)
+    {
+        return dataDirectory.resolve(letter + LETTER_FILE_EXTENSION);
+    }
+}
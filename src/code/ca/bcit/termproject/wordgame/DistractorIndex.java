@@ -0,0 +1,544 @@
+package ca.bcit.termproject.wordgame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * The {@code DistractorIndex} class holds, for every country of a {@link World}, a short list of plausible
+ * wrong answers, and turns a {@link Question} into a {@link MultipleChoiceQuestion} from them.
+ * <p>
+ * There are two lists per country: other country names, for the questions answered with a country, and other
+ * capital cities, for the questions answered with a capital. A candidate scores points for:
+ * 1. Starting with the same letter as the answer, the letter that picks the answer's shard.
+ * 2. Having a name of about the same length as the answer.
+ * 3. Sharing keywords of its facts with the answer's country, such as "Sahara" or "Caribbean". Keywords come
+ * from the World's {@link FactIndex}; words that appear in the facts of many countries are not keywords.
+ * <p>
+ * The candidates of a country are gathered from its neighbours in length order, its neighbours of the same
+ * letter, and the countries sharing its keywords, so building the index never compares every pair of countries.
+ * The best {@value CANDIDATES_PER_ANSWER} are kept.
+ * <p>
+ * Creating a question only picks at random from the kept candidates, so a game of multiple choice questions
+ * takes microseconds. The options of a question are always distinct, and a wrong option never has the same
+ * answer key as the expected answer.
+ * A DistractorIndex is immutable, so every session over a World shares the one from {@link World#getDistractors()}.
+ *
+ * @author Jonah Botelho
+ * @version 1.0
+ */
+public final class DistractorIndex
+{
+    /** The fewest options a multiple choice question can have. */
+    public static final int MIN_CHOICES = 2;
+
+    /** The number of options used by the word game. */
+    public static final int DEFAULT_CHOICES = 4;
+
+    private static final int  CANDIDATES_PER_ANSWER = 12;
+    private static final int  LENGTH_NEIGHBOURS     = 8;
+    private static final int  MIN_KEYWORD_LENGTH    = 4;
+    private static final int  MIN_KEYWORD_COUNTRIES = 2;
+    private static final int  MAX_KEYWORD_COUNTRIES = 16;
+    private static final int  SAME_LETTER_SCORE     = 4;
+    private static final int  MAX_LENGTH_SCORE      = 3;
+    private static final int  SHARED_KEYWORD_SCORE  = 2;
+    private static final int  MAX_SHARED_KEYWORDS   = 3;
+    private static final int  MAX_SCORE             = SAME_LETTER_SCORE +
+                                                      MAX_LENGTH_SCORE +
+                                                      SHARED_KEYWORD_SCORE * MAX_SHARED_KEYWORDS;
+    private static final int  SCORE_SHIFT           = 32;
+    private static final long INDEX_MASK            = 0xFFFFFFFFL;
+    private static final int  NOTHING               = 0;
+    private static final int  NOT_SEEN              = -1;
+
+    /**
+     * The fact keywords of every country: the sorted keyword ids of each country, and the countries of each
+     * keyword.
+     */
+    private static final class Keywords
+    {
+        private final int[][] idsByCountry;
+        private final int[][] countriesById;
+
+        /**
+         * Constructs Keywords.
+         *
+         * @param idsByCountry  The sorted keyword ids of each country.
+         * @param countriesById The countries of each keyword, in index order.
+         */
+        private Keywords(final int[][] idsByCountry,
+                         final int[][] countriesById)
+        {
+            this.idsByCountry  = idsByCountry;
+            this.countriesById = countriesById;
+        }
+    }
+
+    /**
+     * Builds the candidate lists of one kind of answer, reusing its scratch arrays from one country to the next.
+     */
+    private static final class CandidateBuilder
+    {
+        private final Keywords              keywords;
+        private final String[]              keys;
+        private final char[]                letters;
+        private final int[]                 lengths;
+        private final int[]                 byLength;
+        private final int[]                 positionByLength;
+        private final Map<Character, int[]> byLetter;
+        private final int[]                 positionByLetter;
+        private final int[]                 lastSeenBy;
+
+        private long[] scored;
+        private int    scoredCount;
+
+        /**
+         * Constructs a CandidateBuilder.
+         *
+         * @param countries The countries of the World.
+         * @param textOf    Returns the answer shown for a country.
+         * @param keyOf     Returns the answer key of a country.
+         * @param keywords  The fact keywords of every country.
+         */
+        private CandidateBuilder(final Country[] countries,
+                                 final Function<Country, String> textOf,
+                                 final Function<Country, String> keyOf,
+                                 final Keywords keywords)
+        {
+            final Map<Character, List<Integer>> letterLists;
+
+            this.keywords         = keywords;
+            this.keys             = new String[countries.length];
+            this.letters          = new char[countries.length];
+            this.lengths          = new int[countries.length];
+            this.positionByLength = new int[countries.length];
+            this.byLetter         = new HashMap<>();
+            this.positionByLetter = new int[countries.length];
+            this.lastSeenBy       = new int[countries.length];
+            this.scored           = new long[CANDIDATES_PER_ANSWER];
+
+            for (int i = NOTHING; i < countries.length; i++)
+            {
+                final String text;
+                text = textOf.apply(countries[i]);
+
+                keys[i]       = keyOf.apply(countries[i]);
+                letters[i]    = CountrySource.getShardLetter(text);
+                lengths[i]    = text.length();
+                lastSeenBy[i] = NOT_SEEN;
+            }
+
+            this.byLength = sortByLength(countries.length);
+            letterLists   = new HashMap<>();
+
+            for (int position = NOTHING; position < byLength.length; position++)
+            {
+                final int country;
+                final List<Integer> letterList;
+
+                country    = byLength[position];
+                letterList = letterLists.computeIfAbsent(letters[country], letter -> new ArrayList<>());
+
+                positionByLength[country] = position;
+                positionByLetter[country] = letterList.size();
+                letterList.add(country);
+            }
+
+            for (final Map.Entry<Character, List<Integer>> entry : letterLists.entrySet())
+            {
+                byLetter.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+            }
+        }
+
+        /**
+         * Returns every country index, ordered by the length of its answer and then by index.
+         *
+         * @param count The number of countries.
+         * @return The sorted indices.
+         */
+        private int[] sortByLength(final int count)
+        {
+            final long[] packed;
+            final int[] sorted;
+
+            packed = new long[count];
+            sorted = new int[count];
+
+            for (int i = NOTHING; i < count; i++)
+            {
+                packed[i] = (long) lengths[i] << SCORE_SHIFT | i;
+            }
+
+            Arrays.sort(packed);
+
+            for (int i = NOTHING; i < count; i++)
+            {
+                sorted[i] = (int) (packed[i] & INDEX_MASK);
+            }
+
+            return sorted;
+        }
+
+        /**
+         * Builds the candidate list of every country.
+         *
+         * @return The best candidates of each country, best first.
+         */
+        private int[][] build()
+        {
+            final int[][] candidates;
+            candidates = new int[keys.length][];
+
+            for (int target = NOTHING; target < keys.length; target++)
+            {
+                final int keep;
+
+                scoredCount = NOTHING;
+
+                addNeighbours(target, byLength, positionByLength[target]);
+                addNeighbours(target, byLetter.get(letters[target]), positionByLetter[target]);
+
+                for (final int keyword : keywords.idsByCountry[target])
+                {
+                    for (final int country : keywords.countriesById[keyword])
+                    {
+                        add(target, country);
+                    }
+                }
+
+                // best score first, then lowest index, so the lists do not depend on the order candidates are found
+                Arrays.sort(scored, NOTHING, scoredCount);
+
+                keep               = Math.min(scoredCount, CANDIDATES_PER_ANSWER);
+                candidates[target] = new int[keep];
+
+                for (int i = NOTHING; i < keep; i++)
+                {
+                    candidates[target][i] = (int) (scored[i] & INDEX_MASK);
+                }
+            }
+
+            return candidates;
+        }
+
+        /**
+         * Adds the countries on either side of a position in an ordered list as candidates.
+         *
+         * @param target   The country whose candidates are being built.
+         * @param order    The ordered country indices.
+         * @param position The target's position in the list.
+         */
+        private void addNeighbours(final int target,
+                                   final int[] order,
+                                   final int position)
+        {
+            final int from;
+            final int to;
+
+            from = Math.max(NOTHING, position - LENGTH_NEIGHBOURS);
+            to   = Math.min(order.length, position + LENGTH_NEIGHBOURS + 1);
+
+            for (int i = from; i < to; i++)
+            {
+                add(target, order[i]);
+            }
+        }
+
+        /**
+         * Scores a candidate, unless it is the target, already scored, or has the same answer as the target.
+         *
+         * @param target    The country whose candidates are being built.
+         * @param candidate The candidate country.
+         */
+        private void add(final int target,
+                         final int candidate)
+        {
+            final int score;
+
+            if (candidate == target || lastSeenBy[candidate] == target || keys[candidate].equals(keys[target]))
+            {
+                return;
+            }
+
+            lastSeenBy[candidate] = target;
+
+            score = (letters[candidate] == letters[target] ? SAME_LETTER_SCORE : NOTHING)
+                    + Math.max(NOTHING, MAX_LENGTH_SCORE - Math.abs(lengths[candidate] - lengths[target]))
+                    + SHARED_KEYWORD_SCORE * Math.min(MAX_SHARED_KEYWORDS, countSharedKeywords(target, candidate));
+
+            if (scoredCount == scored.length)
+            {
+                scored = Arrays.copyOf(scored, scored.length * 2);
+            }
+
+            scored[scoredCount++] = (long) (MAX_SCORE - score) << SCORE_SHIFT | candidate;
+        }
+
+        /**
+         * Counts the keywords two countries share, by merging their sorted keyword ids.
+         *
+         * @param first  One country.
+         * @param second The other country.
+         * @return The number of shared keywords.
+         */
+        private int countSharedKeywords(final int first,
+                                        final int second)
+        {
+            final int[] firstIds;
+            final int[] secondIds;
+            int i;
+            int j;
+            int shared;
+
+            firstIds  = keywords.idsByCountry[first];
+            secondIds = keywords.idsByCountry[second];
+            i         = NOTHING;
+            j         = NOTHING;
+            shared    = NOTHING;
+
+            while (i < firstIds.length && j < secondIds.length)
+            {
+                if (firstIds[i] < secondIds[j])
+                {
+                    i++;
+                }
+                else if (firstIds[i] > secondIds[j])
+                {
+                    j++;
+                }
+                else
+                {
+                    shared++;
+                    i++;
+                    j++;
+                }
+            }
+
+            return shared;
+        }
+    }
+
+    private final Country[]            countries;
+    private final Map<String, Integer> indexByKey;
+    private final int[][]              nameCandidates;
+    private final int[][]              capitalCandidates;
+
+    /**
+     * Constructs a DistractorIndex over every country of a World.
+     *
+     * @param world The World to index.
+     */
+    DistractorIndex(final World world)
+    {
+        final Keywords keywords;
+
+        if (world.getCountryCount() < MIN_CHOICES)
+        {
+            throw new IllegalArgumentException("World has too few countries for multiple choice");
+        }
+
+        this.countries  = world.getCountryArray();
+        this.indexByKey = new HashMap<>();
+
+        for (int i = NOTHING; i < countries.length; i++)
+        {
+            indexByKey.putIfAbsent(countries[i].getNameKey(), i);
+        }
+
+        keywords = buildKeywords(countries.length, world.getFactIndex());
+
+        this.nameCandidates    = new CandidateBuilder(countries,
+                                                      Country::getName,
+                                                      Country::getNameKey,
+                                                      keywords).build();
+        this.capitalCandidates = new CandidateBuilder(countries,
+                                                      Country::getCapitalCityName,
+                                                      Country::getCapitalCityKey,
+                                                      keywords).build();
+    }
+
+    /**
+     * Finds the keywords of every country's facts in the World's {@link FactIndex}: tokens of at least
+     * {@value MIN_KEYWORD_LENGTH} characters whose posting lists hold a few countries, but not many.
+     *
+     * @param countryCount The number of countries in the World.
+     * @param facts        The fact index of the World.
+     * @return The keywords.
+     */
+    private static Keywords buildKeywords(final int countryCount,
+                                          final FactIndex facts)
+    {
+        final List<int[]> countriesById;
+        final int[] keywordCounts;
+        final int[][] idsByCountry;
+
+        countriesById = new ArrayList<>();
+        keywordCounts = new int[countryCount];
+        idsByCountry  = new int[countryCount][];
+
+        for (final Map.Entry<String, int[]> posting : facts.getPostings().entrySet())
+        {
+            final int[] sharing;
+            sharing = posting.getValue();
+
+            if (posting.getKey().length() >= MIN_KEYWORD_LENGTH &&
+                sharing.length >= MIN_KEYWORD_COUNTRIES &&
+                sharing.length <= MAX_KEYWORD_COUNTRIES)
+            {
+                countriesById.add(sharing);
+
+                for (final int country : sharing)
+                {
+                    keywordCounts[country]++;
+                }
+            }
+        }
+
+        for (int i = NOTHING; i < countryCount; i++)
+        {
+            idsByCountry[i]  = new int[keywordCounts[i]];
+            keywordCounts[i] = NOTHING;
+        }
+
+        // keyword ids are visited in ascending order, so every country's ids come out sorted
+        for (int id = NOTHING; id < countriesById.size(); id++)
+        {
+            for (final int country : countriesById.get(id))
+            {
+                idsByCountry[country][keywordCounts[country]++] = id;
+            }
+        }
+
+        return new Keywords(idsByCountry, countriesById.toArray(new int[NOTHING][]));
+    }
+
+    /**
+     * Creates a multiple choice question from a question about a country of this World. The expected answer
+     * is placed at a random position among the options.
+     *
+     * @param question The question to ask.
+     * @param choices  The number of options, at least {@value MIN_CHOICES}.
+     * @param random   The random number generator used to pick and order the options.
+     * @return The multiple choice question.
+     */
+    public MultipleChoiceQuestion createQuestion(final Question question,
+                                                 final int choices,
+                                                 final Random random)
+    {
+        if (question == null || random == null)
+        {
+            throw new IllegalArgumentException("Question and random cannot be null");
+        }
+
+        if (choices < MIN_CHOICES || choices > countries.length)
+        {
+            throw new IllegalArgumentException("Invalid number of choices: " + choices);
+        }
+
+        final Integer index;
+        final boolean capitals;
+        final int[] pool;
+        final String[] options;
+        final String[] optionKeys;
+        final int correctIndex;
+        final int start;
+        int filled;
+
+        index = indexByKey.get(question.getCountry().getNameKey());
+
+        if (index == null)
+        {
+            throw new IllegalArgumentException("Country is not in this World: " + question.getCountry());
+        }
+
+        capitals   = question.getType().expectsCapitalCity();
+        pool       = (capitals ? capitalCandidates[index] : nameCandidates[index]).clone();
+        options    = new String[choices];
+        optionKeys = new String[choices];
+
+        options[NOTHING]    = question.getExpectedAnswer();
+        optionKeys[NOTHING] = question.getExpectedAnswerKey();
+        filled              = NOTHING + 1;
+
+        // draw from the candidates without replacement
+        for (int remaining = pool.length; remaining > NOTHING && filled < choices; remaining--)
+        {
+            final int pick;
+            final int candidate;
+
+            pick       = random.nextInt(remaining);
+            candidate  = pool[pick];
+            pool[pick] = pool[remaining - 1];
+
+            filled = addOption(options, optionKeys, filled, countries[candidate], capitals);
+        }
+
+        // only a very small World runs out of candidates
+        start = random.nextInt(countries.length);
+
+        for (int i = NOTHING; i < countries.length && filled < choices; i++)
+        {
+            filled = addOption(options, optionKeys, filled, countries[(start + i) % countries.length], capitals);
+        }
+
+        if (filled < choices)
+        {
+            throw new IllegalArgumentException("World has too few distinct answers for " + choices + " choices");
+        }
+
+        correctIndex = random.nextInt(choices);
+
+        options[NOTHING]      = options[correctIndex];
+        options[correctIndex] = question.getExpectedAnswer();
+
+        return new MultipleChoiceQuestion(question, options, correctIndex);
+    }
+
+    /**
+     * Adds the answer of a country as the next option, unless its answer key is already an option.
+     *
+     * @param options    The options so far.
+     * @param optionKeys The answer keys of the options so far.
+     * @param filled     The number of options so far.
+     * @param country    The country whose answer to add.
+     * @param capitals   true to add the capital city, false to add the country name.
+     * @return The new number of options.
+     */
+    private static int addOption(final String[] options,
+                                 final String[] optionKeys,
+                                 final int filled,
+                                 final Country country,
+                                 final boolean capitals)
+    {
+        final String key;
+        key = capitals ? country.getCapitalCityKey() : country.getNameKey();
+
+        for (int i = NOTHING; i < filled; i++)
+        {
+            if (optionKeys[i].equals(key))
+            {
+                return filled;
+            }
+        }
+
+        options[filled]    = capitals ? country.getCapitalCityName() : country.getName();
+        optionKeys[filled] = key;
+
+        return filled + 1;
+    }
+
+    /**
+     * Returns the number of countries indexed.
+     *
+     * @return The country count.
+     */
+    public int size()
+    {
+        return countries.length;
+    }
+}
@@ -0,0 +1,732 @@
+package ca.bcit.termproject.wordgame;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code FactIndex} class is an inverted index over the facts of a {@link World}: it maps every token of
+ * the facts, folded like an answer with {@link World#normalize(String)}, to the sorted ids of the countries whose
+ * facts contain it. A country id is the country's index in the World, as used by {@link World#getCountry(int)}.
+ * <p>
+ * A term is a word, such as "volcano" or "UNESCO", or a phrase, such as "Silk Road". Queries combine terms:
+ * 1. {@link #findAll(String...)} returns the countries matching every term, by intersecting posting lists,
+ * smallest first. A short list is intersected with a much longer one by binary search.
+ * 2. {@link #findAny(String...)} returns the countries matching any term, by merging posting lists.
+ * 3. {@link #query(String)} accepts text such as {@code "volcano AND island OR Silk Road"}; AND binds tighter
+ * than OR.
+ * <p>
+ * A phrase is found by intersecting the lists of its words and then checking that the words are adjacent in the
+ * facts of the countries found, so no query ever scans the facts of every country.
+ * <p>
+ * The index of the shared World is saved next to the country snapshot, with the fingerprint of the letter files
+ * it was built from, and loaded instead of rebuilt while the letter files are unchanged (see
+ * {@link #loadOrRebuild(World, Path, Path)}).
+ * <p>
+ * Index file layout (all integers are big-endian):
+ * <pre>
+ * header:   int magic | int version | long source fingerprint | int country count | int catalog hash
+ *           | int token count
+ * postings: one entry per token: UTF token | int country count | the gaps between the ascending country ids,
+ *           each a variable-length integer of 7 bits per byte, low bits first; the first gap is from -1
+ * </pre>
+ * Most gaps are small, so most ids take one byte instead of four.
+ * A FactIndex is immutable, so it can be shared between threads.
+ *
+ * @author Jonah Botelho
+ * @version 1.0
+ */
+public final class FactIndex
+{
+    private static final int    MAGIC            = 0x57474649; // "WGFI"
+    private static final int    VERSION          = 1;
+    private static final int    MIN_TOKEN_LENGTH = 2;
+    private static final int    GALLOP_RATIO     = 8;
+    private static final int    CATALOG_PRIME    = 31;
+    private static final int    NOTHING          = 0;
+    private static final int    FIRST            = 0;
+    private static final int    NO_ID            = -1;
+    private static final int    GAP_BITS         = 7;
+    private static final int    GAP_BITS_MASK    = 0x7F;
+    private static final int    GAP_CONTINUES    = 0x80;
+    private static final String OR               = " OR ";
+    private static final String AND              = " AND ";
+    private static final int[]  NO_COUNTRIES     = new int[NOTHING];
+
+    private final Country[]          countries;
+    private final Map<String, int[]> postings;
+
+    /**
+     * Constructs a FactIndex.
+     *
+     * @param countries The countries of the World, indexed by country id.
+     * @param postings  The sorted country ids of every token.
+     */
+    private FactIndex(final Country[] countries,
+                      final Map<String, int[]> postings)
+    {
+        this.countries = countries;
+        this.postings  = postings;
+    }
+
+    /**
+     * Builds the index of a World by reading the facts of every country.
+     *
+     * @param world The World to index.
+     * @return The index.
+     */
+    public static FactIndex build(final World world)
+    {
+        if (world == null)
+        {
+            throw new IllegalArgumentException("World cannot be null");
+        }
+
+        final Country[] countries;
+        final Map<String, List<Integer>> lists;
+        final Map<String, int[]> postings;
+
+        countries = world.getCountryArray();
+        lists     = new HashMap<>();
+        postings  = new HashMap<>();
+
+        for (int i = NOTHING; i < countries.length; i++)
+        {
+            for (final String fact : countries[i].getFacts())
+            {
+                for (final String token : tokenize(fact))
+                {
+                    final List<Integer> list;
+                    list = lists.computeIfAbsent(token, key -> new ArrayList<>());
+
+                    // countries are visited in id order, so a repeated token can only repeat the last id
+                    if (list.isEmpty() || list.get(list.size() - 1) != i)
+                    {
+                        list.add(i);
+                    }
+                }
+            }
+        }
+
+        for (final Map.Entry<String, List<Integer>> entry : lists.entrySet())
+        {
+            postings.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        return new FactIndex(countries, postings);
+    }
+
+    /**
+     * Loads the index of a World from an index file.
+     *
+     * @param world             The World the index was built from.
+     * @param file              The index file.
+     * @param sourceFingerprint The fingerprint of the letter files the World was loaded from.
+     * @return The index.
+     * @throws IOException if the file cannot be read, is not an index file, or was built from other data.
+     */
+    public static FactIndex load(final World world,
+                                 final Path file,
+                                 final long sourceFingerprint) throws IOException
+    {
+        if (world == null || file == null)
+        {
+            throw new IllegalArgumentException("World and file cannot be null");
+        }
+
+        final Country[] countries;
+        countries = world.getCountryArray();
+
+        try (final DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file))))
+        {
+            final int tokenCount;
+            final Map<String, int[]> postings;
+
+            if (in.readInt() != MAGIC || in.readInt() != VERSION)
+            {
+                throw new IOException("Not a fact index file: " + file);
+            }
+
+            if (in.readLong() != sourceFingerprint ||
+                in.readInt() != countries.length ||
+                in.readInt() != catalogHash(countries))
+            {
+                throw new IOException("Fact index is stale: " + file);
+            }
+
+            tokenCount = in.readInt();
+            postings   = new HashMap<>();
+
+            for (int i = NOTHING; i < tokenCount; i++)
+            {
+                final String token;
+                final int idCount;
+                final int[] ids;
+                int id;
+
+                token   = in.readUTF();
+                idCount = in.readInt();
+
+                if (idCount <= NOTHING || idCount > countries.length)
+                {
+                    throw new IOException("Corrupt fact index: " + file);
+                }
+
+                ids = new int[idCount];
+                id  = NO_ID;
+
+                for (int j = NOTHING; j < ids.length; j++)
+                {
+                    id    += readGap(in);
+                    ids[j] = id;
+
+                    if (id >= countries.length)
+                    {
+                        throw new IOException("Corrupt fact index: " + file);
+                    }
+                }
+
+                postings.put(token, ids);
+            }
+
+            return new FactIndex(countries, postings);
+        }
+    }
+
+    /**
+     * Loads the index of a World from an index file, first rebuilding the file if it is missing, corrupt, or
+     * older than the letter files. The index file is only a cache, so if it cannot be written the built index
+     * is still returned.
+     *
+     * @param world         The World, loaded from the letter files in the data directory.
+     * @param dataDirectory The directory containing the letter files.
+     * @param file          The index file.
+     * @return The index.
+     */
+    public static FactIndex loadOrRebuild(final World world,
+                                          final Path dataDirectory,
+                                          final Path file) throws IOException
+    {
+        final long sourceFingerprint;
+        final FactIndex built;
+
+        sourceFingerprint = CountrySnapshot.fingerprint(dataDirectory);
+
+        if (Files.exists(file))
+        {
+            try
+            {
+                return load(world, file, sourceFingerprint);
+            }
+            catch (final IOException e)
+            {
+                // a corrupt index is rebuilt like a stale one
+            }
+        }
+
+        built = build(world);
+
+        try
+        {
+            built.save(file, sourceFingerprint);
+        }
+        catch (final IOException e)
+        {
+            // the index still works in memory
+        }
+
+        return built;
+    }
+
+    /**
+     * Saves the index. The file is written to a temporary file first and then moved into place, so
+     * readers never see a partially written index.
+     *
+     * @param file              The index file to write.
+     * @param sourceFingerprint The fingerprint of the letter files the World was loaded from.
+     */
+    public void save(final Path file,
+                     final long sourceFingerprint) throws IOException
+    {
+        if (file == null)
+        {
+            throw new IllegalArgumentException("File cannot be null");
+        }
+
+        final Path parent;
+        final Path tempFile;
+
+        parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        tempFile = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+
+        try
+        {
+            try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile))))
+            {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(sourceFingerprint);
+                out.writeInt(countries.length);
+                out.writeInt(catalogHash(countries));
+                out.writeInt(postings.size());
+
+                for (final Map.Entry<String, int[]> entry : postings.entrySet())
+                {
+                    int previous;
+                    previous = NO_ID;
+
+                    out.writeUTF(entry.getKey());
+                    out.writeInt(entry.getValue().length);
+
+                    for (final int id : entry.getValue())
+                    {
+                        writeGap(out, id - previous);
+                        previous = id;
+                    }
+                }
+            }
+
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        finally
+        {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Writes a positive gap as a variable-length integer: 7 bits per byte, low bits first, with the high bit
+     * of every byte but the last set.
+     *
+     * @param out The stream to write to.
+     * @param gap The gap, at least 1.
+     */
+    private static void writeGap(final DataOutputStream out,
+                                 final int gap) throws IOException
+    {
+        int remaining;
+        remaining = gap;
+
+        while ((remaining & ~GAP_BITS_MASK) != NOTHING)
+        {
+            out.writeByte(remaining & GAP_BITS_MASK | GAP_CONTINUES);
+            remaining >>>= GAP_BITS;
+        }
+
+        out.writeByte(remaining);
+    }
+
+    /**
+     * Reads a gap written by {@link #writeGap(DataOutputStream, int)}.
+     *
+     * @param in The stream to read from.
+     * @return The gap, at least 1.
+     * @throws IOException if the gap cannot be read or is not positive.
+     */
+    private static int readGap(final DataInputStream in) throws IOException
+    {
+        int gap;
+        int shift;
+        int next;
+
+        gap   = NOTHING;
+        shift = NOTHING;
+
+        do
+        {
+            if (shift > Integer.SIZE)
+            {
+                throw new IOException("Corrupt fact index gap");
+            }
+
+            next   = in.readUnsignedByte();
+            gap   |= (next & GAP_BITS_MASK) << shift;
+            shift += GAP_BITS;
+        }
+        while ((next & GAP_CONTINUES) != NOTHING);
+
+        if (gap <= NOTHING)
+        {
+            throw new IOException("Corrupt fact index gap");
+        }
+
+        return gap;
+    }
+
+    /**
+     * Hashes the name keys of the countries in id order, so an index is never used with a World whose
+     * countries are in a different order.
+     *
+     * @param countries The countries of the World.
+     * @return The hash.
+     */
+    private static int catalogHash(final Country[] countries)
+    {
+        int hash;
+        hash = NOTHING;
+
+        for (final Country country : countries)
+        {
+            hash = hash * CATALOG_PRIME + country.getNameKey().hashCode();
+        }
+
+        return hash;
+    }
+
+    /**
+     * Splits a text into its tokens: runs of letters and digits of at least {@value MIN_TOKEN_LENGTH}
+     * characters, folded with {@link World#normalize(String)}.
+     *
+     * @param text The text to split.
+     * @return The tokens, in order.
+     */
+    static List<String> tokenize(final String text)
+    {
+        final String folded;
+        final List<String> tokens;
+        int tokenStart;
+
+        folded     = World.normalize(text);
+        tokens     = new ArrayList<>();
+        tokenStart = NOTHING;
+
+        // one past the end counts as a separator, which closes the last token
+        for (int i = NOTHING; i <= folded.length(); i++)
+        {
+            if (i < folded.length() && Character.isLetterOrDigit(folded.charAt(i)))
+            {
+                continue;
+            }
+
+            if (i - tokenStart >= MIN_TOKEN_LENGTH)
+            {
+                tokens.add(folded.substring(tokenStart, i));
+            }
+
+            tokenStart = i + 1;
+        }
+
+        return tokens;
+    }
+
+    /**
+     * Returns the ids of the countries whose facts match every term.
+     *
+     * @param terms The words or phrases to find.
+     * @return The matching country ids, ascending.
+     */
+    public int[] findAll(final String... terms)
+    {
+        final int[][] lists;
+        int[] result;
+
+        if (terms == null || terms.length == NOTHING)
+        {
+            throw new IllegalArgumentException("Terms cannot be null or empty");
+        }
+
+        lists = new int[terms.length][];
+
+        for (int i = NOTHING; i < terms.length; i++)
+        {
+            lists[i] = find(terms[i]);
+        }
+
+        // intersect the shortest lists first, so every step is as short as possible
+        Arrays.sort(lists, (first, second) -> Integer.compare(first.length, second.length));
+
+        result = lists[FIRST];
+
+        for (int i = FIRST + 1; i < lists.length && result.length > NOTHING; i++)
+        {
+            result = intersect(result, lists[i]);
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the ids of the countries whose facts match any term.
+     *
+     * @param terms The words or phrases to find.
+     * @return The matching country ids, ascending.
+     */
+    public int[] findAny(final String... terms)
+    {
+        int[] result;
+
+        if (terms == null || terms.length == NOTHING)
+        {
+            throw new IllegalArgumentException("Terms cannot be null or empty");
+        }
+
+        result = NO_COUNTRIES;
+
+        for (final String term : terms)
+        {
+            result = union(result, find(term));
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the ids of the countries matching a query made of terms joined by AND and OR, such as
+     * {@code "volcano AND island OR Silk Road"}. AND binds tighter than OR.
+     *
+     * @param query The query.
+     * @return The matching country ids, ascending.
+     */
+    public int[] query(final String query)
+    {
+        if (query == null || query.isBlank())
+        {
+            throw new IllegalArgumentException("Query cannot be null or blank");
+        }
+
+        int[] result;
+        result = NO_COUNTRIES;
+
+        for (final String group : query.split(OR))
+        {
+            result = union(result, findAll(group.split(AND)));
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the countries with the given ids.
+     *
+     * @param ids The country ids, such as the result of a query.
+     * @return The countries, in the order of the ids.
+     */
+    public List<Country> getCountries(final int[] ids)
+    {
+        if (ids == null)
+        {
+            throw new IllegalArgumentException("Ids cannot be null");
+        }
+
+        final List<Country> found;
+        found = new ArrayList<>(ids.length);
+
+        for (final int id : ids)
+        {
+            found.add(countries[id]);
+        }
+
+        return found;
+    }
+
+    /**
+     * Returns the number of distinct tokens in the index.
+     *
+     * @return The token count.
+     */
+    public int getTokenCount()
+    {
+        return postings.size();
+    }
+
+    /**
+     * Returns every posting list, keyed by token. The lists are shared and must not be modified.
+     *
+     * @return The posting lists.
+     */
+    Map<String, int[]> getPostings()
+    {
+        return Collections.unmodifiableMap(postings);
+    }
+
+    /**
+     * Returns the ids of the countries matching one word or phrase.
+     *
+     * @param term The word or phrase.
+     * @return The matching country ids, ascending.
+     */
+    private int[] find(final String term)
+    {
+        final List<String> tokens;
+        int[] candidates;
+
+        tokens = tokenize(term);
+
+        if (tokens.isEmpty())
+        {
+            return NO_COUNTRIES;
+        }
+
+        candidates = postings.getOrDefault(tokens.get(FIRST), NO_COUNTRIES);
+
+        for (int i = FIRST + 1; i < tokens.size() && candidates.length > NOTHING; i++)
+        {
+            candidates = intersect(candidates, postings.getOrDefault(tokens.get(i), NO_COUNTRIES));
+        }
+
+        if (tokens.size() == FIRST + 1)
+        {
+            return candidates;
+        }
+
+        return keepPhraseMatches(candidates, tokens);
+    }
+
+    /**
+     * Keeps the candidates whose facts contain the tokens of a phrase next to each other. Only the facts of
+     * the candidates are read.
+     *
+     * @param candidates The countries containing every token of the phrase.
+     * @param phrase     The tokens of the phrase.
+     * @return The countries containing the phrase.
+     */
+    private int[] keepPhraseMatches(final int[] candidates,
+                                    final List<String> phrase)
+    {
+        final int[] matches;
+        int matchCount;
+
+        matches    = new int[candidates.length];
+        matchCount = NOTHING;
+
+        for (final int id : candidates)
+        {
+            for (final String fact : countries[id].getFacts())
+            {
+                if (Collections.indexOfSubList(tokenize(fact), phrase) >= NOTHING)
+                {
+                    matches[matchCount++] = id;
+                    break;
+                }
+            }
+        }
+
+        return Arrays.copyOf(matches, matchCount);
+    }
+
+    /**
+     * Intersects two sorted lists. When one list is much longer, each id of the shorter list is found in it
+     * by binary search, so the cost follows the shorter list.
+     *
+     * @param first  A sorted list.
+     * @param second Another sorted list.
+     * @return The ids in both lists, ascending.
+     */
+    private static int[] intersect(final int[] first,
+                                   final int[] second)
+    {
+        final int[] shorter;
+        final int[] longer;
+        final int[] both;
+        int count;
+
+        shorter = first.length <= second.length ? first : second;
+        longer  = shorter == first ? second : first;
+        both    = new int[shorter.length];
+        count   = NOTHING;
+
+        if (longer.length > shorter.length * GALLOP_RATIO)
+        {
+            int from;
+            from = NOTHING;
+
+            for (final int id : shorter)
+            {
+                final int found;
+                found = Arrays.binarySearch(longer, from, longer.length, id);
+
+                if (found >= NOTHING)
+                {
+                    both[count++] = id;
+                    from          = found + 1;
+                }
+                else
+                {
+                    // the insertion point, since later ids are larger
+                    from = -found - 1;
+                }
+            }
+        }
+        else
+        {
+            int i;
+            int j;
+
+            i = NOTHING;
+            j = NOTHING;
+
+            while (i < shorter.length && j < longer.length)
+            {
+                if (shorter[i] < longer[j])
+                {
+                    i++;
+                }
+                else if (shorter[i] > longer[j])
+                {
+                    j++;
+                }
+                else
+                {
+                    both[count++] = shorter[i];
+                    i++;
+                    j++;
+                }
+            }
+        }
+
+        return Arrays.copyOf(both, count);
+    }
+
+    /**
+     * Merges two sorted lists.
+     *
+     * @param first  A sorted list.
+     * @param second Another sorted list.
+     * @return The ids in either list, ascending, without repeats.
+     */
+    private static int[] union(final int[] first,
+                               final int[] second)
+    {
+        final int[] either;
+        int i;
+        int j;
+        int count;
+
+        either = new int[first.length + second.length];
+        i      = NOTHING;
+        j      = NOTHING;
+        count  = NOTHING;
+
+        while (i < first.length || j < second.length)
+        {
+            if (j == second.length || (i < first.length && first[i] < second[j]))
+            {
+                either[count++] = first[i++];
+            }
+            else if (i == first.length || second[j] < first[i])
+            {
+                either[count++] = second[j++];
+            }
+            else
+            {
+                either[count++] = first[i];
+                i++;
+                j++;
+            }
+        }
+
+        return Arrays.copyOf(either, count);
+    }
+}
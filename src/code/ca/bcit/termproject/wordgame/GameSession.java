@@ -0,0 +1,365 @@
+package ca.bcit.termproject.wordgame;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+
+/**
+ * The {@code GameSession} class holds the state of one player's word game session: the questions being
+ * asked and the player's running statistics.
+ * <p>
+ * Each question allows two attempts. A correct first attempt counts as correct on the first attempt; otherwise
+ * a correct second attempt counts as correct on the second attempt, and a wrong second attempt counts as
+ * incorrect. Answers are graded with an {@link AnswerMatcher}, so small typos and aliases are accepted.
+ * The result of each question is passed to the selector, which is how a {@link DifficultyWeightedSampler}
+ * keeps the World's {@link CountryDifficulty} statistics up to date.
+ * Games can also be played as {@link MultipleChoiceQuestion}s, which are graded the same way once the number
+ * of an option is turned into its text.
+ * <p>
+ * A session does no input or output, so the console game, a network session, or a simulated player can all
+ * drive it. Sessions share the immutable {@link World} and matcher, but each has its own generator and
+ * statistics, so any number of sessions can run at once. A single session is not thread-safe.
+ *
+ * @author Jonah Botelho
+ * @version 1.0
+ */
+public final class GameSession
+{
+    /** The number of questions in one game. */
+    public static final int QUESTIONS_PER_GAME = 10;
+
+    private static final int NOTHING = 0;
+
+    private final World                    world;
+    private final CountrySelector          selector;
+    private final QuestionGenerator        generator;
+    private final AnswerMatcher            matcher;
+    private final Random                   random;
+    private final Question[]               questions;
+    private final MultipleChoiceQuestion[] multipleChoiceQuestions;
+
+    private int gamesPlayed;
+    private int correctOnFirstAttempt;
+    private int correctOnSecondAttempt;
+    private int incorrectOnSecondAttempt;
+
+    /**
+     * Constructs a GameSession.
+     *
+     * @param world   The World to ask about.
+     * @param matcher The matcher to grade answers with, built over the same World.
+     * @param random  The random number generator used to pick questions.
+     */
+    public GameSession(final World world,
+                       final AnswerMatcher matcher,
+                       final Random random)
+    {
+        this(world, matcher, new CountrySampler(world, random), random);
+    }
+
+    /**
+     * Constructs a GameSession whose countries are chosen by a selector, such as a
+     * {@link SpacedRepetitionScheduler}. The selector is told how each question was answered.
+     *
+     * @param world    The World to ask about.
+     * @param matcher  The matcher to grade answers with, built over the same World.
+     * @param selector The selector that chooses the country of each question, from the same World.
+     * @param random   The random number generator used to pick question types and facts.
+     */
+    public GameSession(final World world,
+                       final AnswerMatcher matcher,
+                       final CountrySelector selector,
+                       final Random random)
+    {
+        if (world == null || matcher == null)
+        {
+            throw new IllegalArgumentException("World and matcher cannot be null");
+        }
+
+        this.world                   = world;
+        this.selector                = selector;
+        this.generator               = new QuestionGenerator(selector, random);
+        this.matcher                 = matcher;
+        this.random                  = random;
+        this.questions               = new Question[QUESTIONS_PER_GAME];
+        this.multipleChoiceQuestions = new MultipleChoiceQuestion[QUESTIONS_PER_GAME];
+    }
+
+    /**
+     * Starts a new game and returns its questions, each about a different country.
+     * The returned array is reused by the next game.
+     *
+     * @return The questions of the game.
+     */
+    public Question[] startGame()
+    {
+        generator.generateGame(questions);
+        return questions;
+    }
+
+    /**
+     * Starts a new game of multiple choice questions, each about a different country. The wrong options come
+     * from the World's {@link DistractorIndex}. The returned array is reused by the next game.
+     *
+     * @param choices The number of options per question.
+     * @return The questions of the game.
+     */
+    public MultipleChoiceQuestion[] startMultipleChoiceGame(final int choices)
+    {
+        final DistractorIndex distractors;
+        distractors = world.getDistractors();
+
+        generator.generateGame(questions);
+
+        for (int i = NOTHING; i < questions.length; i++)
+        {
+            multipleChoiceQuestions[i] = distractors.createQuestion(questions[i], choices, random);
+        }
+
+        return multipleChoiceQuestions;
+    }
+
+    /**
+     * Starts a new game of closest capital questions, each about a different capital city with coordinates.
+     * The capitals are drawn from the World's {@link SpatialIndex}, not from the selector, since the selector
+     * does not know which countries have coordinates. The returned array is reused by the next game.
+     *
+     * @return The questions of the game.
+     * @throws IllegalStateException If fewer than {@value SpatialIndex#MIN_CAPITALS} capitals have coordinates.
+     */
+    public Question[] startClosestCapitalGame()
+    {
+        final SpatialIndex index;
+        final int[] positions;
+
+        index = world.getSpatialIndex();
+
+        if (index.size() < SpatialIndex.MIN_CAPITALS)
+        {
+            throw new IllegalStateException("Not enough capital cities have coordinates");
+        }
+
+        positions = new int[QUESTIONS_PER_GAME];
+
+        for (int i = NOTHING; i < QUESTIONS_PER_GAME; i++)
+        {
+            // redraw a capital already in this game, unless there are too few capitals to avoid it
+            do
+            {
+                positions[i] = random.nextInt(index.size());
+            }
+            while (i < index.size() && contains(positions, i, positions[i]));
+
+            questions[i] = index.createClosestCapitalQuestion(index.getCountry(positions[i]));
+        }
+
+        return questions;
+    }
+
+    /**
+     * Records that a game has been completed.
+     */
+    public void finishGame()
+    {
+        gamesPlayed++;
+    }
+
+    /**
+     * Grades a first attempt, recording it if it is correct. A wrong first attempt is not recorded,
+     * since the player gets a second attempt.
+     *
+     * @param question The question being answered.
+     * @param input    The player's answer.
+     * @return How the answer matched; anything but NONE is correct.
+     */
+    public AnswerMatcher.MatchType submitFirstAttempt(final Question question,
+                                                      final String input)
+    {
+        final AnswerMatcher.MatchType match;
+        match = grade(question, input);
+
+        if (match != AnswerMatcher.MatchType.NONE)
+        {
+            correctOnFirstAttempt++;
+            record(question, CountrySelector.Recall.FIRST_ATTEMPT);
+        }
+
+        return match;
+    }
+
+    /**
+     * Grades a first attempt at a multiple choice question, which may be the number of an option.
+     *
+     * @param question The question being answered.
+     * @param input    The player's answer.
+     * @return How the answer matched; anything but NONE is correct.
+     */
+    public AnswerMatcher.MatchType submitFirstAttempt(final MultipleChoiceQuestion question,
+                                                      final String input)
+    {
+        if (question == null)
+        {
+            throw new IllegalArgumentException("Question cannot be null");
+        }
+
+        return submitFirstAttempt(question.getQuestion(), question.resolveAnswer(input));
+    }
+
+    /**
+     * Grades and records a second attempt.
+     *
+     * @param question The question being answered.
+     * @param input    The player's answer.
+     * @return How the answer matched; anything but NONE is correct.
+     */
+    public AnswerMatcher.MatchType submitSecondAttempt(final Question question,
+                                                       final String input)
+    {
+        final AnswerMatcher.MatchType match;
+        match = grade(question, input);
+
+        if (match != AnswerMatcher.MatchType.NONE)
+        {
+            correctOnSecondAttempt++;
+            record(question, CountrySelector.Recall.SECOND_ATTEMPT);
+        }
+        else
+        {
+            incorrectOnSecondAttempt++;
+            record(question, CountrySelector.Recall.MISSED);
+        }
+
+        return match;
+    }
+
+    /**
+     * Grades and records a second attempt at a multiple choice question, which may be the number of an option.
+     *
+     * @param question The question being answered.
+     * @param input    The player's answer.
+     * @return How the answer matched; anything but NONE is correct.
+     */
+    public AnswerMatcher.MatchType submitSecondAttempt(final MultipleChoiceQuestion question,
+                                                       final String input)
+    {
+        if (question == null)
+        {
+            throw new IllegalArgumentException("Question cannot be null");
+        }
+
+        return submitSecondAttempt(question.getQuestion(), question.resolveAnswer(input));
+    }
+
+    /**
+     * Grades an answer against the expected answer of a question.
+     *
+     * @param question The question being answered.
+     * @param input    The player's answer.
+     * @return How the answer matched.
+     */
+    private AnswerMatcher.MatchType grade(final Question question,
+                                          final String input)
+    {
+        if (question == null)
+        {
+            throw new IllegalArgumentException("Question cannot be null");
+        }
+
+        return matcher.gradeKey(input, question.getExpectedAnswerKey());
+    }
+
+    /**
+     * Returns whether a value is among the first entries of an array.
+     *
+     * @param values The array.
+     * @param count  The number of entries to search.
+     * @param value  The value to find.
+     * @return true if it is found.
+     */
+    private static boolean contains(final int[] values,
+                                    final int count,
+                                    final int value)
+    {
+        for (int i = NOTHING; i < count; i++)
+        {
+            if (values[i] == value)
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Tells the selector how a question was finally answered.
+     *
+     * @param question The question that was answered.
+     * @param recall   How well the player recalled the answer.
+     */
+    private void record(final Question question,
+                        final CountrySelector.Recall recall)
+    {
+        // a closest capital answer shows what the player knows of a map, not of the answer's country
+        if (question.getType() == Question.Type.CLOSEST_CAPITAL)
+        {
+            return;
+        }
+
+        selector.record(question.getCountry(), recall);
+    }
+
+    /**
+     * Creates a Score from the statistics of this session.
+     *
+     * @param time The time to record with the score.
+     * @return The score.
+     */
+    public Score toScore(final LocalDateTime time)
+    {
+        return new Score(time,
+                         gamesPlayed,
+                         correctOnFirstAttempt,
+                         correctOnSecondAttempt,
+                         incorrectOnSecondAttempt);
+    }
+
+    /**
+     * Returns the number of games completed.
+     *
+     * @return The number of games played.
+     */
+    public int getGamesPlayed()
+    {
+        return gamesPlayed;
+    }
+
+    /**
+     * Returns the number of questions answered correctly on the first attempt.
+     *
+     * @return The number of correct first attempts.
+     */
+    public int getCorrectOnFirstAttempt()
+    {
+        return correctOnFirstAttempt;
+    }
+
+    /**
+     * Returns the number of questions answered correctly on the second attempt.
+     *
+     * @return The number of correct second attempts.
+     */
+    public int getCorrectOnSecondAttempt()
+    {
+        return correctOnSecondAttempt;
+    }
+
+    /**
+     * Returns the number of questions answered incorrectly on both attempts.
+     *
+     * @return The number of incorrect second attempts.
+     */
+    public int getIncorrectOnSecondAttempt()
+    {
+        return incorrectOnSecondAttempt;
+    }
+}
@@ -0,0 +1,127 @@
+package ca.bcit.termproject.wordgame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link CountrySource} holding countries built in code, so tests and benchmarks can create a
+ * {@link World} without touching the disk.
+ * <p>
+ * Instances are created with a {@link Builder}:
+ * <pre>
+ * new InMemoryCountrySource.Builder()
+ *         .add("Canada", "Ottawa", "Fact 1", "Fact 2", "Fact 3")
+ *         .build();
+ * </pre>
+ *
+ * @author Jonah Botelho
+ * @version 1.0
+ */
+public final class InMemoryCountrySource implements CountrySource
+{
+    private final List<Country> countries;
+
+    /**
+     * Constructs an InMemoryCountrySource holding the given countries.
+     *
+     * @param countries The countries, in the order they were added.
+     */
+    private InMemoryCountrySource(final List<Country> countries)
+    {
+        this.countries = List.copyOf(countries);
+    }
+
+    /**
+     * Returns the countries whose names start with the given letter.
+     *
+     * @param letter The lower-case letter of the shard.
+     * @return The countries in the shard, in the order they were added.
+     */
+    @Override
+    public List<Country> loadShard(final char letter)
+    {
+        final List<Country> shardCountries;
+        shardCountries = new ArrayList<>();
+
+        for (final Country country : countries)
+        {
+            if (CountrySource.getShardLetter(country.getName()) == letter)
+            {
+                shardCountries.add(country);
+            }
+        }
+
+        return shardCountries;
+    }
+
+    /**
+     * Returns every country in the order it was added. Nothing is read, so the parallel
+     * option has no effect.
+     *
+     * @param parallel ignored.
+     * @return Every country of this source.
+     */
+    @Override
+    public List<Country> loadAll(final boolean parallel)
+    {
+        return countries;
+    }
+
+    /**
+     * Collects countries for an {@link InMemoryCountrySource}.
+     */
+    public static final class Builder
+    {
+        private final List<Country> countries;
+
+        /**
+         * Constructs an empty Builder.
+         */
+        public Builder()
+        {
+            this.countries = new ArrayList<>();
+        }
+
+        /**
+         * Adds a country.
+         *
+         * @param country The country to add.
+         * @return This Builder.
+         */
+        public Builder add(final Country country)
+        {
+            if (country == null)
+            {
+                throw new IllegalArgumentException("Country cannot be null");
+            }
+
+            countries.add(country);
+            return this;
+        }
+
+        /**
+         * Adds a country from its fields.
+         *
+         * @param name            The name of the country.
+         * @param capitalCityName The name of the capital city.
+         * @param facts           The facts about the country.
+         * @return This Builder.
+         */
+        public Builder add(final String name,
+                           final String capitalCityName,
+                           final String... facts)
+        {
+            return add(new Country(name, capitalCityName, facts));
+        }
+
+        /**
+         * Builds the source.
+         *
+         * @return An InMemoryCountrySource holding every added country.
+         */
+        public InMemoryCountrySource build()
+        {
+            return new InMemoryCountrySource(countries);
+        }
+    }
+}
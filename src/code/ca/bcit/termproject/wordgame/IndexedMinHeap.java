@@ -0,0 +1,326 @@
+package ca.bcit.termproject.wordgame;
+
+/**
+ * The {@code IndexedMinHeap} class is a binary min-heap of the items 0 to capacity - 1, each with a long key,
+ * that can find any item's place in the heap in constant time.
+ * <p>
+ * Besides the heap array, the heap keeps the position of every item, so the key of an item already in the
+ * heap can be changed without searching for it:
+ * 1. {@link #peekMin()} and {@link #contains(int)} take constant time.
+ * 2. {@link #insert(int, long)}, {@link #pollMin()}, {@link #changeKey(int, long)} and {@link #remove(int)}
+ *    take O(log n) time.
+ * <p>
+ * All storage is allocated up front as primitive arrays, so the heap allocates nothing after construction.
+ * An IndexedMinHeap is not thread-safe.
+ *
+ * @author Jonah Botelho
+ * @version 1.0
+ */
+public final class IndexedMinHeap
+{
+    private static final int NOT_IN_HEAP = -1;
+    private static final int ROOT        = 0;
+    private static final int NOTHING     = 0;
+
+    private final int[]  heap;
+    private final int[]  positions;
+    private final long[] keys;
+
+    private int size;
+
+    /**
+     * Constructs an empty IndexedMinHeap for the items 0 to capacity - 1.
+     *
+     * @param capacity The number of distinct items.
+     */
+    public IndexedMinHeap(final int capacity)
+    {
+        if (capacity < NOTHING)
+        {
+            throw new IllegalArgumentException("Capacity cannot be negative");
+        }
+
+        this.heap      = new int[capacity];
+        this.positions = new int[capacity];
+        this.keys      = new long[capacity];
+
+        for (int i = NOTHING; i < capacity; i++)
+        {
+            positions[i] = NOT_IN_HEAP;
+        }
+    }
+
+    /**
+     * Returns the number of items in the heap.
+     *
+     * @return The size.
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Returns whether the heap is empty.
+     *
+     * @return true if the heap holds no items.
+     */
+    public boolean isEmpty()
+    {
+        return size == NOTHING;
+    }
+
+    /**
+     * Returns whether an item is in the heap.
+     *
+     * @param item The item.
+     * @return true if the item is in the heap.
+     */
+    public boolean contains(final int item)
+    {
+        validateItem(item);
+        return positions[item] != NOT_IN_HEAP;
+    }
+
+    /**
+     * Returns the key of an item in the heap.
+     *
+     * @param item The item.
+     * @return The item's key.
+     */
+    public long keyOf(final int item)
+    {
+        validateContained(item);
+        return keys[item];
+    }
+
+    /**
+     * Adds an item that is not in the heap.
+     *
+     * @param item The item.
+     * @param key  The item's key.
+     */
+    public void insert(final int item,
+                       final long key)
+    {
+        validateItem(item);
+
+        if (positions[item] != NOT_IN_HEAP)
+        {
+            throw new IllegalArgumentException("Item is already in the heap: " + item);
+        }
+
+        keys[item] = key;
+        place(item, size);
+        size++;
+        siftUp(positions[item]);
+    }
+
+    /**
+     * Changes the key of an item in the heap.
+     *
+     * @param item The item.
+     * @param key  The item's new key.
+     */
+    public void changeKey(final int item,
+                          final long key)
+    {
+        final long oldKey;
+
+        validateContained(item);
+
+        oldKey     = keys[item];
+        keys[item] = key;
+
+        if (key < oldKey)
+        {
+            siftUp(positions[item]);
+        }
+        else
+        {
+            siftDown(positions[item]);
+        }
+    }
+
+    /**
+     * Returns the item with the smallest key without removing it.
+     *
+     * @return The item with the smallest key.
+     */
+    public int peekMin()
+    {
+        validateNotEmpty();
+        return heap[ROOT];
+    }
+
+    /**
+     * Removes and returns the item with the smallest key.
+     *
+     * @return The item with the smallest key.
+     */
+    public int pollMin()
+    {
+        final int min;
+
+        validateNotEmpty();
+
+        min = heap[ROOT];
+        remove(min);
+
+        return min;
+    }
+
+    /**
+     * Removes an item from the heap.
+     *
+     * @param item The item to remove.
+     */
+    public void remove(final int item)
+    {
+        final int position;
+        final int last;
+
+        validateContained(item);
+
+        position = positions[item];
+        size--;
+        last     = heap[size];
+
+        positions[item] = NOT_IN_HEAP;
+
+        if (position == size)
+        {
+            return;
+        }
+
+        // the last item fills the hole, then moves whichever way its key requires
+        place(last, position);
+        siftUp(position);
+        siftDown(positions[last]);
+    }
+
+    /**
+     * Moves the item at a position up until its parent's key is no larger.
+     *
+     * @param start The position of the item.
+     */
+    private void siftUp(final int start)
+    {
+        final int item;
+        int position;
+
+        item     = heap[start];
+        position = start;
+
+        while (position > ROOT)
+        {
+            final int parent;
+            parent = (position - 1) / 2;
+
+            if (keys[heap[parent]] <= keys[item])
+            {
+                break;
+            }
+
+            place(heap[parent], position);
+            position = parent;
+        }
+
+        place(item, position);
+    }
+
+    /**
+     * Moves the item at a position down until neither child has a smaller key.
+     *
+     * @param start The position of the item.
+     */
+    private void siftDown(final int start)
+    {
+        final int item;
+        int position;
+
+        item     = heap[start];
+        position = start;
+
+        while (true)
+        {
+            final int left;
+            int child;
+
+            left = 2 * position + 1;
+
+            if (left >= size)
+            {
+                break;
+            }
+
+            child = left;
+            if (left + 1 < size && keys[heap[left + 1]] < keys[heap[left]])
+            {
+                child = left + 1;
+            }
+
+            if (keys[item] <= keys[heap[child]])
+            {
+                break;
+            }
+
+            place(heap[child], position);
+            position = child;
+        }
+
+        place(item, position);
+    }
+
+    /**
+     * Puts an item at a position and records the position.
+     *
+     * @param item     The item.
+     * @param position The position in the heap array.
+     */
+    private void place(final int item,
+                       final int position)
+    {
+        heap[position]  = item;
+        positions[item] = position;
+    }
+
+    /**
+     * Validates that an item is within the capacity of the heap.
+     *
+     * @param item The item to validate.
+     */
+    private void validateItem(final int item)
+    {
+        if (item < NOTHING || item >= positions.length)
+        {
+            throw new IllegalArgumentException("Invalid item: " + item);
+        }
+    }
+
+    /**
+     * Validates that an item is in the heap.
+     *
+     * @param item The item to validate.
+     */
+    private void validateContained(final int item)
+    {
+        validateItem(item);
+
+        if (positions[item] == NOT_IN_HEAP)
+        {
+            throw new IllegalArgumentException("Item is not in the heap: " + item);
+        }
+    }
+
+    /**
+     * Validates that the heap is not empty.
+     */
+    private void validateNotEmpty()
+    {
+        if (size == NOTHING)
+        {
+            throw new IllegalStateException("Heap is empty");
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package ca.bcit.termproject.wordgame;
+
+import java.util.Arrays;
+
+/**
+ * The {@code LatencyHistogram} class counts durations in nanoseconds in a fixed set of buckets, so any
+ * number of them can be recorded in constant time and space and summarized by percentile afterwards.
+ * <p>
+ * The buckets are log-linear:
+ * 1. Durations under {@value SUB_BUCKET_COUNT} nanoseconds each have a bucket of their own.
+ * 2. Every larger power of two is split into {@value SUB_BUCKET_COUNT} equal buckets, so a bucket is never
+ *    wider than 1/{@value SUB_BUCKET_COUNT} of the durations it holds, about 3%.
+ * <p>
+ * Recording finds the bucket with a count of leading zeros and a shift, and allocates nothing. Percentiles
+ * are reported as the highest duration of their bucket, but never above the largest duration recorded.
+ * <p>
+ * A LatencyHistogram is not thread-safe; give each thread its own and {@link #add(LatencyHistogram) add}
+ * them together afterwards.
+ *
+ * @author Jonah Botelho
+ * @version 1.0
+ */
+public final class LatencyHistogram
+{
+    private static final int    SUB_BUCKET_BITS  = 5;
+    private static final int    SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int    SUB_BUCKET_MASK  = SUB_BUCKET_COUNT - 1;
+    private static final int    BUCKET_COUNT     = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+    private static final int    NOTHING          = 0;
+    private static final double HUNDRED_PERCENT  = 100.0;
+
+    private final long[] counts;
+
+    private long count;
+    private long sum;
+    private long min;
+    private long max;
+
+    /**
+     * Constructs an empty LatencyHistogram.
+     */
+    public LatencyHistogram()
+    {
+        counts = new long[BUCKET_COUNT];
+        clear();
+    }
+
+    /**
+     * Records one duration. A negative duration, which a clock can only report in error, is recorded as 0.
+     *
+     * @param nanos The duration in nanoseconds.
+     */
+    public void record(final long nanos)
+    {
+        final long value;
+        value = Math.max(nanos, NOTHING);
+
+        counts[bucketOf(value)]++;
+        count++;
+        sum += value;
+
+        if (value < min)
+        {
+            min = value;
+        }
+
+        if (value > max)
+        {
+            max = value;
+        }
+    }
+
+    /**
+     * Adds every duration recorded by another histogram to this one.
+     *
+     * @param other The histogram to add.
+     */
+    public void add(final LatencyHistogram other)
+    {
+        if (other == null)
+        {
+            throw new IllegalArgumentException("Histogram cannot be null");
+        }
+
+        for (int i = NOTHING; i < BUCKET_COUNT; i++)
+        {
+            counts[i] += other.counts[i];
+        }
+
+        count += other.count;
+        sum   += other.sum;
+        min    = Math.min(min, other.min);
+        max    = Math.max(max, other.max);
+    }
+
+    /**
+     * Forgets every duration recorded.
+     */
+    public void clear()
+    {
+        Arrays.fill(counts, NOTHING);
+
+        count = NOTHING;
+        sum   = NOTHING;
+        min   = Long.MAX_VALUE;
+        max   = NOTHING;
+    }
+
+    /**
+     * Returns the duration at a percentile, by the nearest-rank method.
+     *
+     * @param percentile The percentile, from 0 to 100.
+     * @return The duration in nanoseconds, to within the width of its bucket, or 0 if nothing was recorded.
+     */
+    public long getValueAtPercentile(final double percentile)
+    {
+        if (!(percentile >= NOTHING && percentile <= HUNDRED_PERCENT))
+        {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+
+        if (count == NOTHING)
+        {
+            return NOTHING;
+        }
+
+        final long rank;
+        long seen;
+
+        rank = Math.max((long) Math.ceil(percentile / HUNDRED_PERCENT * count), 1L);
+        seen = NOTHING;
+
+        for (int i = NOTHING; i < BUCKET_COUNT; i++)
+        {
+            seen += counts[i];
+
+            if (seen >= rank)
+            {
+                return Math.max(Math.min(highestValueOf(i), max), min);
+            }
+        }
+
+        // This should be impossible to reach, since the counts add up to the count
+        return max;
+    }
+
+    /**
+     * Returns the number of durations recorded.
+     *
+     * @return The count.
+     */
+    public long getCount()
+    {
+        return count;
+    }
+
+    /**
+     * Returns the shortest duration recorded.
+     *
+     * @return The shortest duration in nanoseconds, or 0 if nothing was recorded.
+     */
+    public long getMin()
+    {
+        return count == NOTHING ? NOTHING : min;
+    }
+
+    /**
+     * Returns the longest duration recorded.
+     *
+     * @return The longest duration in nanoseconds, or 0 if nothing was recorded.
+     */
+    public long getMax()
+    {
+        return max;
+    }
+
+    /**
+     * Returns the mean of the durations recorded.
+     *
+     * @return The mean in nanoseconds, or 0 if nothing was recorded.
+     */
+    public double getMean()
+    {
+        return count == NOTHING ? NOTHING : (double) sum / count;
+    }
+
+    /**
+     * Returns the bucket that holds a duration.
+     *
+     * @param value The duration, which is not negative.
+     * @return The index of its bucket.
+     */
+    private static int bucketOf(final long value)
+    {
+        final int shift;
+
+        if (value < SUB_BUCKET_COUNT)
+        {
+            return (int) value;
+        }
+
+        // the top SUB_BUCKET_BITS + 1 bits of the value pick its bucket
+        shift = Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS - 1;
+
+        return (shift + 1) * SUB_BUCKET_COUNT + (int) ((value >>> shift) & SUB_BUCKET_MASK);
+    }
+
+    /**
+     * Returns the highest duration a bucket holds.
+     *
+     * @param bucket The index of the bucket.
+     * @return The highest duration in nanoseconds.
+     */
+    private static long highestValueOf(final int bucket)
+    {
+        final int shift;
+        final long lowest;
+
+        if (bucket < SUB_BUCKET_COUNT)
+        {
+            return bucket;
+        }
+
+        shift  = bucket / SUB_BUCKET_COUNT - 1;
+        lowest = (long) (SUB_BUCKET_COUNT + (bucket & SUB_BUCKET_MASK)) << shift;
+
+        return lowest + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,178 @@
+package ca.bcit.termproject.wordgame;
+
+/**
+ * The {@code MultipleChoiceQuestion} class pairs a word game {@link Question} with a fixed set of options,
+ * exactly one of which is the expected answer.
+ * <p>
+ * Options are created by a {@link DistractorIndex}. The player may answer with the number of an option,
+ * counting from 1, or by typing an answer as for a free-text question; {@link #resolveAnswer(String)} turns a
+ * number into the text of its option, so both are graded the same way.
+ * A MultipleChoiceQuestion is immutable.
+ *
+ * @author Jonah Botelho
+ * @version 1.0
+ */
+public final class MultipleChoiceQuestion
+{
+    private static final int  NOTHING      = 0;
+    private static final int  FIRST_NUMBER = 1;
+    private static final int  MAX_DIGITS   = 2;
+    private static final int  DECIMAL      = 10;
+    private static final char FIRST_DIGIT  = '0';
+    private static final char LAST_DIGIT   = '9';
+
+    private final Question question;
+    private final String[] options;
+    private final int      correctIndex;
+
+    /**
+     * Constructs a MultipleChoiceQuestion.
+     *
+     * @param question     The question being asked.
+     * @param options      The options shown to the player. The array is not copied and must not be modified.
+     * @param correctIndex The index of the option that is the expected answer.
+     */
+    MultipleChoiceQuestion(final Question question,
+                           final String[] options,
+                           final int correctIndex)
+    {
+        if (question == null || options == null)
+        {
+            throw new IllegalArgumentException("Question and options cannot be null");
+        }
+
+        if (correctIndex < NOTHING || correctIndex >= options.length)
+        {
+            throw new IllegalArgumentException("Invalid correct index: " + correctIndex);
+        }
+
+        if (!options[correctIndex].equals(question.getExpectedAnswer()))
+        {
+            throw new IllegalArgumentException("Correct option is not the expected answer");
+        }
+
+        this.question     = question;
+        this.options      = options;
+        this.correctIndex = correctIndex;
+    }
+
+    /**
+     * Returns the question being asked.
+     *
+     * @return The question.
+     */
+    public Question getQuestion()
+    {
+        return question;
+    }
+
+    /**
+     * Returns the number of options.
+     *
+     * @return The option count.
+     */
+    public int getOptionCount()
+    {
+        return options.length;
+    }
+
+    /**
+     * Returns one option.
+     *
+     * @param index The index of the option, from 0.
+     * @return The text of the option.
+     */
+    public String getOption(final int index)
+    {
+        return options[index];
+    }
+
+    /**
+     * Returns the index of the option that is the expected answer.
+     *
+     * @return The correct index, from 0.
+     */
+    public int getCorrectIndex()
+    {
+        return correctIndex;
+    }
+
+    /**
+     * Returns the prompt of the question followed by the numbered options, one per line.
+     *
+     * @return The text shown to the player.
+     */
+    public String getPrompt()
+    {
+        final StringBuilder prompt;
+        prompt = new StringBuilder(question.getPrompt());
+
+        for (int i = NOTHING; i < options.length; i++)
+        {
+            prompt.append('\n')
+                  .append(i + FIRST_NUMBER)
+                  .append(". ")
+                  .append(options[i]);
+        }
+
+        return prompt.toString();
+    }
+
+    /**
+     * Turns the number of an option into the text of that option. Any other input, including a number
+     * that is not an option, is returned unchanged, so it is graded as a typed answer.
+     *
+     * @param input The player's answer.
+     * @return The text of the chosen option, or the input.
+     */
+    public String resolveAnswer(final String input)
+    {
+        final String trimmed;
+        int number;
+
+        if (input == null)
+        {
+            return null;
+        }
+
+        trimmed = input.trim();
+
+        if (trimmed.isEmpty() || trimmed.length() > MAX_DIGITS)
+        {
+            return input;
+        }
+
+        number = NOTHING;
+
+        for (int i = NOTHING; i < trimmed.length(); i++)
+        {
+            final char c;
+            c = trimmed.charAt(i);
+
+            if (c < FIRST_DIGIT || c > LAST_DIGIT)
+            {
+                return input;
+            }
+
+            number = number * DECIMAL + (c - FIRST_DIGIT);
+        }
+
+        if (number < FIRST_NUMBER || number > options.length)
+        {
+            return input;
+        }
+
+        return options[number - FIRST_NUMBER];
+    }
+
+    /**
+     * Returns the question and its options as text, for debugging.
+     *
+     * @return The prompt, options and expected answer.
+     */
+    @Override
+    public String toString()
+    {
+        return question.getType() + ": " + getPrompt() + " -> " + (correctIndex + FIRST_NUMBER);
+    }
+}
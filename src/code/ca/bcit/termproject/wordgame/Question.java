@@ -0,0 +1,134 @@
+package ca.bcit.termproject.wordgame;
+
+/**
+ * The {@code Question} class represents one word game question: what kind of question it is, the prompt
+ * shown to the player, the expected answer, and the country the question is about.
+ * <p>
+ * Questions are created by a {@link QuestionGenerator} and do no input or output of their own, so they can be
+ * generated ahead of time, in bulk, or for a player who is not at the console. A Question is immutable.
+ *
+ * @author Jonah Botelho
+ * @version 1.0
+ */
+public final class Question
+{
+    /**
+     * The kinds of question the word game asks.
+     */
+    public enum Type
+    {
+        /** Given a capital city, name the country. */
+        CAPITAL_TO_COUNTRY,
+        /** Given a country, name its capital city. */
+        COUNTRY_TO_CAPITAL,
+        /** Given a fact, name the country it describes. */
+        FACT_TO_COUNTRY,
+        /**
+         * Given a capital city, name the capital city closest to it. The question's country is the country
+         * of the closest capital, not the country of the capital in the prompt.
+         */
+        CLOSEST_CAPITAL;
+
+        /**
+         * Returns whether questions of this type are answered with a capital city rather than a country.
+         *
+         * @return true for {@link #COUNTRY_TO_CAPITAL} and {@link #CLOSEST_CAPITAL}.
+         */
+        public boolean expectsCapitalCity()
+        {
+            return this == COUNTRY_TO_CAPITAL || this == CLOSEST_CAPITAL;
+        }
+    }
+
+    private final Type    type;
+    private final String  prompt;
+    private final Country country;
+
+    /**
+     * Constructs a Question.
+     *
+     * @param type    The kind of question.
+     * @param prompt  The text shown to the player.
+     * @param country The country the question is about.
+     */
+    public Question(final Type type,
+                    final String prompt,
+                    final Country country)
+    {
+        if (type == null || country == null)
+        {
+            throw new IllegalArgumentException("Type and country cannot be null");
+        }
+
+        if (prompt == null || prompt.isBlank())
+        {
+            throw new IllegalArgumentException("Invalid prompt");
+        }
+
+        this.type    = type;
+        this.prompt  = prompt;
+        this.country = country;
+    }
+
+    /**
+     * Returns the kind of question.
+     *
+     * @return The question type.
+     */
+    public Type getType()
+    {
+        return type;
+    }
+
+    /**
+     * Returns the text shown to the player. Fact questions span two lines.
+     *
+     * @return The prompt.
+     */
+    public String getPrompt()
+    {
+        return prompt;
+    }
+
+    /**
+     * Returns the country the question is about.
+     *
+     * @return The source country.
+     */
+    public Country getCountry()
+    {
+        return country;
+    }
+
+    /**
+     * Returns the expected answer: the capital city for a type that {@link Type#expectsCapitalCity() expects
+     * one}, and the country name otherwise.
+     *
+     * @return The expected answer.
+     */
+    public String getExpectedAnswer()
+    {
+        return type.expectsCapitalCity() ? country.getCapitalCityName() : country.getName();
+    }
+
+    /**
+     * Returns the answer key of the expected answer, precomputed by the country.
+     *
+     * @return The folded expected answer.
+     */
+    public String getExpectedAnswerKey()
+    {
+        return type.expectsCapitalCity() ? country.getCapitalCityKey() : country.getNameKey();
+    }
+
+    /**
+     * Returns the question as text, for debugging.
+     *
+     * @return The type, prompt and expected answer.
+     */
+    @Override
+    public String toString()
+    {
+        return type + ": " + prompt + " -> " + getExpectedAnswer();
+    }
+}
@@ -0,0 +1,169 @@
+package ca.bcit.termproject.wordgame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The {@code QuestionGenerator} class creates word game {@link Question}s from the countries of a {@link World},
+ * without any console input or output.
+ * <p>
+ * Countries are drawn with a {@link CountrySampler} by default, or with any other {@link CountrySelector},
+ * and the questions of one game are about distinct countries.
+ * The question type, and the fact used by a fact question, are chosen at random; closest capital questions are
+ * left to the {@link SpatialIndex}, since not every country has coordinates. Given the same World and seed,
+ * a generator produces the same questions, which makes games reproducible in tests and benchmarks.
+ * <p>
+ * Questions can be generated one at a time, a game at a time, or in large batches.
+ * A QuestionGenerator is not thread-safe; each game or session should use its own.
+ *
+ * @author Jonah Botelho
+ * @version 1.0
+ */
+public final class QuestionGenerator
+{
+    private static final int NOTHING = 0;
+
+    // closest capital questions need coordinates, so they are created by a SpatialIndex instead
+    private static final Question.Type[] QUESTION_TYPES = {Question.Type.CAPITAL_TO_COUNTRY,
+                                                           Question.Type.COUNTRY_TO_CAPITAL,
+                                                           Question.Type.FACT_TO_COUNTRY};
+
+    private final CountrySelector selector;
+    private final Random          random;
+
+    /**
+     * Constructs a QuestionGenerator with a fixed seed.
+     *
+     * @param world The World to draw countries from.
+     * @param seed  The seed of the random number generator.
+     */
+    public QuestionGenerator(final World world,
+                             final long seed)
+    {
+        this(world, new Random(seed));
+    }
+
+    /**
+     * Constructs a QuestionGenerator that draws with the given random number generator.
+     *
+     * @param world  The World to draw countries from.
+     * @param random The random number generator to draw with.
+     */
+    public QuestionGenerator(final World world,
+                             final Random random)
+    {
+        this(new CountrySampler(world, random), random);
+    }
+
+    /**
+     * Constructs a QuestionGenerator that asks about the countries chosen by a selector.
+     *
+     * @param selector The selector that chooses the country of each question.
+     * @param random   The random number generator used to choose question types and facts.
+     */
+    public QuestionGenerator(final CountrySelector selector,
+                             final Random random)
+    {
+        if (selector == null || random == null)
+        {
+            throw new IllegalArgumentException("Selector and random cannot be null");
+        }
+
+        this.selector = selector;
+        this.random   = random;
+    }
+
+    /**
+     * Generates the next question. With the default sampler, countries repeat only after every country
+     * has been asked about.
+     *
+     * @return The next question.
+     */
+    public Question next()
+    {
+        return createQuestion(selector.draw());
+    }
+
+    /**
+     * Fills the given array with the questions of one game, each about a different country.
+     *
+     * @param questions The array to fill, one question per slot.
+     */
+    public void generateGame(final Question[] questions)
+    {
+        if (questions == null)
+        {
+            throw new IllegalArgumentException("Questions array cannot be null");
+        }
+
+        final Country[] countries;
+        countries = new Country[questions.length];
+
+        selector.drawGame(countries);
+
+        for (int i = NOTHING; i < questions.length; i++)
+        {
+            questions[i] = createQuestion(countries[i]);
+        }
+    }
+
+    /**
+     * Generates a batch of questions. With the default sampler, countries repeat only after every country
+     * has been asked about.
+     *
+     * @param count The number of questions to generate.
+     * @return The generated questions, in order.
+     */
+    public List<Question> generateBatch(final int count)
+    {
+        if (count < NOTHING)
+        {
+            throw new IllegalArgumentException("Count cannot be negative");
+        }
+
+        final List<Question> batch;
+        batch = new ArrayList<>(count);
+
+        for (int i = NOTHING; i < count; i++)
+        {
+            batch.add(next());
+        }
+
+        return batch;
+    }
+
+    /**
+     * Creates a question of a random type about a country.
+     *
+     * @param country The country the question is about.
+     * @return The question.
+     */
+    private Question createQuestion(final Country country)
+    {
+        final Question.Type type;
+        final String prompt;
+
+        type = QUESTION_TYPES[random.nextInt(QUESTION_TYPES.length)];
+
+        switch (type)
+        {
+            case CAPITAL_TO_COUNTRY:
+                prompt = "What country is " + country.getCapitalCityName() + " the capital of?";
+                break;
+            case COUNTRY_TO_CAPITAL:
+                prompt = "What is the capital of " + country.getName() + "?";
+                break;
+            case FACT_TO_COUNTRY:
+                final String[] facts;
+                facts  = country.getFacts();
+                prompt = "What country is being described?\n" + facts[random.nextInt(facts.length)];
+                break;
+            default:
+                // This should be impossible to reach
+                throw new IllegalStateException("Unexpected value: " + type);
+        }
+
+        return new Question(type, prompt, country);
+    }
+}
@@ -0,0 +1,103 @@
+package ca.bcit.termproject.wordgame;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link CountrySource} backed by a memory-mapped {@link CountrySnapshot}.
+ * <p>
+ * The whole snapshot is one mapped file, so {@link #loadAll(boolean)} returns every record directly
+ * instead of loading shard by shard.
+ *
+ * @author Jonah Botelho
+ * @version 1.0
+ */
+public final class SnapshotCountrySource implements CountrySource
+{
+    private static final int NOTHING = 0;
+
+    private final CountrySnapshot snapshot;
+
+    /**
+     * Constructs a SnapshotCountrySource over an opened snapshot.
+     *
+     * @param snapshot The snapshot to read countries from.
+     */
+    public SnapshotCountrySource(final CountrySnapshot snapshot)
+    {
+        if (snapshot == null)
+        {
+            throw new IllegalArgumentException("Snapshot cannot be null");
+        }
+
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Creates a SnapshotCountrySource over an existing snapshot file, without checking it for staleness.
+     *
+     * @param snapshotFile The snapshot file.
+     * @return A source reading the snapshot.
+     */
+    public static SnapshotCountrySource open(final Path snapshotFile) throws IOException
+    {
+        return new SnapshotCountrySource(CountrySnapshot.open(snapshotFile));
+    }
+
+    /**
+     * Creates a SnapshotCountrySource over a snapshot of a directory of letter files, first rebuilding
+     * the snapshot if it is missing, corrupt or older than the letter files.
+     *
+     * @param dataDirectory The directory containing the letter files.
+     * @param snapshotFile  The snapshot file.
+     * @param parallel      true to parse the letter files concurrently if a rebuild is needed.
+     * @return A source reading the up-to-date snapshot.
+     */
+    public static SnapshotCountrySource openOrRebuild(final Path dataDirectory,
+                                                      final Path snapshotFile,
+                                                      final boolean parallel) throws IOException
+    {
+        return new SnapshotCountrySource(CountrySnapshot.openOrRebuild(dataDirectory, snapshotFile, parallel));
+    }
+
+    /**
+     * Returns the countries of the snapshot whose names start with the given letter.
+     *
+     * @param letter The lower-case letter of the shard.
+     * @return The countries in the shard, in record order.
+     */
+    @Override
+    public List<Country> loadShard(final char letter)
+    {
+        final List<Country> shardCountries;
+        shardCountries = new ArrayList<>();
+
+        for (int i = NOTHING; i < snapshot.size(); i++)
+        {
+            final Country country;
+            country = snapshot.getCountry(i);
+
+            if (CountrySource.getShardLetter(country.getName()) == letter)
+            {
+                shardCountries.add(country);
+            }
+        }
+
+        return shardCountries;
+    }
+
+    /**
+     * Returns every country of the snapshot in record order. The records are already in one
+     * mapped file, so the parallel option has no effect.
+     *
+     * @param parallel ignored.
+     * @return Every country of the snapshot.
+     */
+    @Override
+    public List<Country> loadAll(final boolean parallel)
+    {
+        return snapshot.getCountries();
+    }
+}
@@ -0,0 +1,543 @@
+package ca.bcit.termproject.wordgame;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * The {@code SpacedRepetitionScheduler} class chooses questions for one player by spaced repetition, so
+ * countries the player keeps missing come back soon and countries they have mastered come back rarely.
+ * <p>
+ * Time is counted in questions answered. Every country has a due time and a box from 0 to {@value MAX_BOX}:
+ * 1. The next question is about the country that has been due the longest, found at the top of an
+ *    {@link IndexedMinHeap} keyed by due time.
+ * 2. A country answered on the first attempt moves up a box, one answered on the second attempt stays in
+ *    its box, and one that was missed goes back to box 0.
+ * 3. The country is then due again {@value BASE_INTERVAL} times 2 to the power of its box questions later.
+ * <p>
+ * Countries the player has not seen yet are due one per question, in a random order, so new countries are
+ * mixed in with reviews. Selecting a country and rescheduling it both take O(log n) time, so the scheduler
+ * stays fast for catalogs of any size.
+ * <p>
+ * A player's progress is saved to a compact binary file that lists only the countries they have seen,
+ * keyed by {@link Country#getNameKey()} so it survives changes to the catalog.
+ * A SpacedRepetitionScheduler is not thread-safe; each player should use their own.
+ *
+ * @author Jonah Botelho
+ * @version 1.0
+ */
+public final class SpacedRepetitionScheduler implements CountrySelector
+{
+    /** The largest box a country can reach. */
+    public static final int MAX_BOX = 10;
+
+    /** The number of questions before a country in box 0 is due again. */
+    public static final int BASE_INTERVAL = 4;
+
+    private static final int  MAGIC     = 0x57475352;
+    private static final int  VERSION   = 1;
+    private static final byte UNSEEN    = -1;
+    private static final int  FIRST_BOX = 0;
+    private static final int  NOTHING   = 0;
+
+    private final Country[]      countries;
+    private final byte[]         boxes;
+    private final IndexedMinHeap due;
+
+    private int[]  drawn;
+    private long[] drawnDue;
+    private long   clock;
+    private int    drawnCount;
+
+    /**
+     * Constructs a SpacedRepetitionScheduler for a player who has not seen any country yet.
+     *
+     * @param world  The World to ask about.
+     * @param random The random number generator used to order unseen countries.
+     */
+    public SpacedRepetitionScheduler(final World world,
+                                     final Random random)
+    {
+        this(world);
+        scheduleUnseen(random);
+    }
+
+    /**
+     * Constructs a SpacedRepetitionScheduler with no scheduled countries.
+     *
+     * @param world The World to ask about.
+     */
+    private SpacedRepetitionScheduler(final World world)
+    {
+        if (world == null)
+        {
+            throw new IllegalArgumentException("World cannot be null");
+        }
+
+        if (world.getCountryCount() == NOTHING)
+        {
+            throw new IllegalArgumentException("World has no countries");
+        }
+
+        this.countries = world.getCountryArray();
+        this.boxes     = new byte[countries.length];
+        this.due       = new IndexedMinHeap(countries.length);
+        this.drawn     = new int[countries.length];
+        this.drawnDue  = new long[countries.length];
+
+        Arrays.fill(boxes, UNSEEN);
+    }
+
+    /**
+     * Loads a player's progress from a file. Countries in the file that are no longer in the World
+     * are ignored, and countries that are not in the file are treated as unseen.
+     *
+     * @param world  The World to ask about.
+     * @param file   The file written by {@link #save(Path)}.
+     * @param random The random number generator used to order unseen countries.
+     * @return The player's scheduler.
+     */
+    public static SpacedRepetitionScheduler load(final World world,
+                                                 final Path file,
+                                                 final Random random) throws IOException
+    {
+        final SpacedRepetitionScheduler scheduler;
+        final Map<String, Integer> indexByKey;
+
+        scheduler  = new SpacedRepetitionScheduler(world);
+        indexByKey = new HashMap<>();
+
+        for (int i = NOTHING; i < scheduler.countries.length; i++)
+        {
+            indexByKey.put(scheduler.countries[i].getNameKey(), i);
+        }
+
+        try (final DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file))))
+        {
+            final int entryCount;
+
+            if (in.readInt() != MAGIC || in.readInt() != VERSION)
+            {
+                throw new IOException("Not a spaced repetition file: " + file);
+            }
+
+            scheduler.clock = in.readLong();
+            entryCount      = in.readInt();
+
+            for (int i = NOTHING; i < entryCount; i++)
+            {
+                final String key;
+                final byte box;
+                final long dueTime;
+                final Integer index;
+
+                key     = in.readUTF();
+                box     = in.readByte();
+                dueTime = in.readLong();
+                index   = indexByKey.get(key);
+
+                if (index != null && box >= FIRST_BOX && box <= MAX_BOX && !scheduler.due.contains(index))
+                {
+                    scheduler.boxes[index] = box;
+                    scheduler.due.insert(index, dueTime);
+                }
+            }
+        }
+
+        scheduler.scheduleUnseen(random);
+
+        return scheduler;
+    }
+
+    /**
+     * Loads a player's progress from a file, or starts afresh if the file does not exist or cannot be read.
+     * An unreadable file is reported and left in place until the next save replaces it.
+     *
+     * @param world  The World to ask about.
+     * @param file   The player's file.
+     * @param random The random number generator used to order unseen countries.
+     * @return The player's scheduler.
+     */
+    public static SpacedRepetitionScheduler loadOrCreate(final World world,
+                                                         final Path file,
+                                                         final Random random)
+    {
+        if (Files.exists(file))
+        {
+            try
+            {
+                return load(world, file, random);
+            }
+            catch (final IOException e)
+            {
+                System.err.println("Could not read progress, starting afresh: " + e);
+            }
+        }
+
+        return new SpacedRepetitionScheduler(world, random);
+    }
+
+    /**
+     * Saves the player's progress. Only countries the player has seen are written, each as its
+     * name key, box and due time.
+     * <p>
+     * The progress is written to a temporary file that then replaces the old one in a single move, so a
+     * crash or a full disk part way through leaves the previous progress intact.
+     *
+     * @param file The file to write.
+     */
+    public void save(final Path file) throws IOException
+    {
+        final Path parent;
+        final Path tempFile;
+        int seen;
+
+        seen = NOTHING;
+        for (final byte box : boxes)
+        {
+            if (box != UNSEEN)
+            {
+                seen++;
+            }
+        }
+
+        parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        tempFile = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+
+        try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile))))
+        {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(clock);
+            out.writeInt(seen);
+
+            for (int i = NOTHING; i < countries.length; i++)
+            {
+                if (boxes[i] != UNSEEN)
+                {
+                    out.writeUTF(countries[i].getNameKey());
+                    out.writeByte(boxes[i]);
+                    out.writeLong(dueTimeOf(i));
+                }
+            }
+        }
+
+        try
+        {
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        finally
+        {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Selects the country that has been due the longest. Countries that were drawn but never
+     * recorded are scheduled again first, at their old due time.
+     *
+     * @return The country.
+     */
+    @Override
+    public Country draw()
+    {
+        returnUnrecorded();
+        return countries[take()];
+    }
+
+    /**
+     * Fills the given array with the countries that have been due the longest, which are distinct
+     * as long as the array is no longer than the catalog. A longer game asks about the same countries
+     * again, in the same order, and every question can be recorded.
+     *
+     * @param questions The array to fill, one country per question.
+     */
+    @Override
+    public void drawGame(final Country[] questions)
+    {
+        if (questions == null)
+        {
+            throw new IllegalArgumentException("Questions array cannot be null");
+        }
+
+        returnUnrecorded();
+
+        for (int i = NOTHING; i < questions.length; i++)
+        {
+            if (i < countries.length)
+            {
+                questions[i] = countries[take()];
+            }
+            else
+            {
+                // every country is already in this game, so the earlier questions are asked again
+                questions[i] = questions[i - countries.length];
+                addDrawn(drawn[i - countries.length], drawnDue[i - countries.length]);
+            }
+        }
+    }
+
+    /**
+     * Moves a drawn country to its new box and schedules it again, advancing the clock by one question.
+     *
+     * @param country The country the question was about, which must have been drawn.
+     * @param recall  How well the player recalled the answer.
+     */
+    @Override
+    public void record(final Country country,
+                       final Recall recall)
+    {
+        if (recall == null)
+        {
+            throw new IllegalArgumentException("Recall cannot be null");
+        }
+
+        final int slot;
+        final int index;
+        final int box;
+
+        slot  = findDrawn(country);
+        index = drawn[slot];
+
+        // the last drawn country fills the slot
+        drawnCount--;
+        drawn[slot]    = drawn[drawnCount];
+        drawnDue[slot] = drawnDue[drawnCount];
+
+        switch (recall)
+        {
+            case FIRST_ATTEMPT:
+                box = Math.min(Math.max(boxes[index], FIRST_BOX) + 1, MAX_BOX);
+                break;
+            case SECOND_ATTEMPT:
+                box = Math.max(boxes[index], FIRST_BOX);
+                break;
+            case MISSED:
+                box = FIRST_BOX;
+                break;
+            default:
+                // This should be impossible to reach
+                throw new IllegalStateException("Unexpected value: " + recall);
+        }
+
+        clock++;
+        boxes[index] = (byte) box;
+        reschedule(index, clock + ((long) BASE_INTERVAL << box));
+    }
+
+    /**
+     * Returns the box of a country, or -1 if the player has not seen it.
+     * This searches the whole catalog, so it is meant for tests and reports.
+     *
+     * @param country The country.
+     * @return The country's box.
+     */
+    int getBox(final Country country)
+    {
+        return boxes[indexOf(country)];
+    }
+
+    /**
+     * Returns the number of questions the player has answered.
+     *
+     * @return The clock.
+     */
+    public long getClock()
+    {
+        return clock;
+    }
+
+    /**
+     * Schedules every unseen country one question apart, in a random order, starting now.
+     *
+     * @param random The random number generator used to order the countries.
+     */
+    private void scheduleUnseen(final Random random)
+    {
+        final int[] order;
+        int unseen;
+
+        order  = new int[countries.length];
+        unseen = NOTHING;
+
+        for (int i = NOTHING; i < countries.length; i++)
+        {
+            if (boxes[i] == UNSEEN)
+            {
+                order[unseen++] = i;
+            }
+        }
+
+        // Fisher-Yates shuffle of the unseen countries
+        for (int i = unseen - 1; i > NOTHING; i--)
+        {
+            final int j;
+            final int swap;
+
+            j        = random.nextInt(i + 1);
+            swap     = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+
+        for (int i = NOTHING; i < unseen; i++)
+        {
+            due.insert(order[i], clock + i);
+        }
+    }
+
+    /**
+     * Removes the most overdue country from the heap and remembers it as drawn.
+     *
+     * @return The index of the country.
+     */
+    private int take()
+    {
+        final int index;
+
+        index = due.peekMin();
+        addDrawn(index, due.keyOf(index));
+
+        due.pollMin();
+
+        return index;
+    }
+
+    /**
+     * Remembers a country as drawn, growing the drawn arrays if a long game repeats countries.
+     *
+     * @param index   The index of the country.
+     * @param dueTime The due time to schedule it at if it is not recorded.
+     */
+    private void addDrawn(final int index,
+                          final long dueTime)
+    {
+        if (drawnCount == drawn.length)
+        {
+            drawn    = Arrays.copyOf(drawn, drawn.length * 2);
+            drawnDue = Arrays.copyOf(drawnDue, drawnDue.length * 2);
+        }
+
+        drawn[drawnCount]    = index;
+        drawnDue[drawnCount] = dueTime;
+        drawnCount++;
+    }
+
+    /**
+     * Schedules a recorded country at its new due time. If the same game asks about it again, it stays
+     * drawn and the new due time is kept for when that question is recorded or returned.
+     *
+     * @param index   The index of the country.
+     * @param dueTime The new due time.
+     */
+    private void reschedule(final int index,
+                            final long dueTime)
+    {
+        boolean stillDrawn;
+
+        stillDrawn = false;
+        for (int i = NOTHING; i < drawnCount; i++)
+        {
+            if (drawn[i] == index)
+            {
+                drawnDue[i] = dueTime;
+                stillDrawn  = true;
+            }
+        }
+
+        if (!stillDrawn)
+        {
+            due.insert(index, dueTime);
+        }
+    }
+
+    /**
+     * Schedules every drawn but unrecorded country again at its old due time.
+     */
+    private void returnUnrecorded()
+    {
+        for (int i = NOTHING; i < drawnCount; i++)
+        {
+            // a country asked twice in one game is drawn twice but scheduled once
+            if (!due.contains(drawn[i]))
+            {
+                due.insert(drawn[i], drawnDue[i]);
+            }
+        }
+
+        drawnCount = NOTHING;
+    }
+
+    /**
+     * Returns the due time of a country, whether it is scheduled or drawn.
+     *
+     * @param index The index of the country.
+     * @return The due time.
+     */
+    private long dueTimeOf(final int index)
+    {
+        if (due.contains(index))
+        {
+            return due.keyOf(index);
+        }
+
+        for (int i = NOTHING; i < drawnCount; i++)
+        {
+            if (drawn[i] == index)
+            {
+                return drawnDue[i];
+            }
+        }
+
+        return clock;
+    }
+
+    /**
+     * Returns the first slot of a drawn country. Only a game's worth of countries is drawn at a time,
+     * so the search is short.
+     *
+     * @param country The country.
+     * @return The slot in the drawn array.
+     */
+    private int findDrawn(final Country country)
+    {
+        for (int i = NOTHING; i < drawnCount; i++)
+        {
+            if (countries[drawn[i]] == country)
+            {
+                return i;
+            }
+        }
+
+        throw new IllegalArgumentException("Country was not drawn: " + country);
+    }
+
+    /**
+     * Returns the index of a country in the World.
+     *
+     * @param country The country.
+     * @return The country's index.
+     */
+    private int indexOf(final Country country)
+    {
+        for (int i = NOTHING; i < countries.length; i++)
+        {
+            if (countries[i] == country)
+            {
+                return i;
+            }
+        }
+
+        throw new IllegalArgumentException("Country is not in this World: " + country);
+    }
+}
@@ -0,0 +1,782 @@
+package ca.bcit.termproject.wordgame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The {@code SpatialIndex} class is a k-d tree over the capital cities of a World's countries that have
+ * coordinates, answering nearest-neighbour and radius queries without comparing every pair of capitals.
+ * <p>
+ * Each capital is stored as a point on the unit sphere, so the straight-line distance between two points
+ * grows with the great-circle distance between the capitals, and the tree needs no special case at the poles
+ * or across the date line. The tree works as follows:
+ * 1. The points are kept in flat arrays, and the tree is implicit: the median of a range of the arrays is its
+ *    node, splitting on x, y and z in turn, and the halves on either side are its subtrees.
+ * 2. Building partitions each range around its median in linear time, so the whole build takes O(n log n).
+ * 3. A nearest-neighbour search descends to the query's leaf in O(log n), then only visits subtrees whose
+ *    splitting plane is closer than the worst of the best k found so far, which are kept in a small heap.
+ * 4. A radius search only visits subtrees the sphere around the query reaches.
+ * <p>
+ * Countries are returned as their positions in the World, as a {@link FactIndex} returns them. The index is
+ * immutable once built, so any number of threads can query it at once.
+ *
+ * @author Jonah Botelho
+ * @version 1.0
+ */
+public final class SpatialIndex
+{
+    /** The mean radius of the Earth, in kilometres. */
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    /** The fewest capitals with coordinates a closest capital question needs: the one asked about and another. */
+    public static final int MIN_CAPITALS = 2;
+
+    private static final int    NOTHING    = 0;
+    private static final int    DIMENSIONS = 3;
+    private static final int    X          = 0;
+    private static final int    Y          = 1;
+    private static final int    Z          = 2;
+    private static final double HALF       = 0.5;
+    private static final int[]  NO_IDS     = new int[NOTHING];
+
+    private final World    world;
+    private final int[]    ids;
+    private final double[] points;
+
+    /**
+     * Constructs a SpatialIndex over points that are already arranged as a tree.
+     *
+     * @param world  The World the countries belong to.
+     * @param ids    The position in the World of the country at each node.
+     * @param points The x, y and z of each node, one after another.
+     */
+    private SpatialIndex(final World world,
+                         final int[] ids,
+                         final double[] points)
+    {
+        this.world  = world;
+        this.ids    = ids;
+        this.points = points;
+    }
+
+    /**
+     * Builds the index over every country of a World that has coordinates.
+     *
+     * @param world The World to index.
+     * @return The index, which is empty if no country has coordinates.
+     */
+    public static SpatialIndex build(final World world)
+    {
+        if (world == null)
+        {
+            throw new IllegalArgumentException("World cannot be null");
+        }
+
+        final int[] allIds;
+        final double[] allPoints;
+        final SpatialIndex index;
+        int count;
+
+        allIds    = new int[world.getCountryCount()];
+        allPoints = new double[world.getCountryCount() * DIMENSIONS];
+        count     = NOTHING;
+
+        for (int i = NOTHING; i < world.getCountryCount(); i++)
+        {
+            final Country country;
+            country = world.getCountry(i);
+
+            if (country.hasCoordinates())
+            {
+                allIds[count] = i;
+                toPoint(country.getLatitude(), country.getLongitude(), allPoints, count * DIMENSIONS);
+                count++;
+            }
+        }
+
+        index = new SpatialIndex(world,
+                                 Arrays.copyOf(allIds, count),
+                                 Arrays.copyOf(allPoints, count * DIMENSIONS));
+        index.arrange(NOTHING, count, X);
+
+        return index;
+    }
+
+    /**
+     * Returns the great-circle distance between two points, by the haversine formula.
+     *
+     * @param latitude1  The latitude of the first point, in degrees.
+     * @param longitude1 The longitude of the first point, in degrees.
+     * @param latitude2  The latitude of the second point, in degrees.
+     * @param longitude2 The longitude of the second point, in degrees.
+     * @return The distance in kilometres.
+     */
+    public static double distanceKm(final double latitude1,
+                                    final double longitude1,
+                                    final double latitude2,
+                                    final double longitude2)
+    {
+        final double sinLatitude;
+        final double sinLongitude;
+        final double haversine;
+
+        sinLatitude  = Math.sin(Math.toRadians(latitude2 - latitude1) * HALF);
+        sinLongitude = Math.sin(Math.toRadians(longitude2 - longitude1) * HALF);
+        haversine    = sinLatitude * sinLatitude +
+                       Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2)) *
+                       sinLongitude * sinLongitude;
+
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(Math.sqrt(haversine), 1.0));
+    }
+
+    /**
+     * Finds the capitals nearest to a point.
+     *
+     * @param latitude  The latitude of the point, in degrees.
+     * @param longitude The longitude of the point, in degrees.
+     * @param count     The number of capitals to find.
+     * @return The positions in the World of up to {@code count} countries, nearest first.
+     */
+    public int[] findNearest(final double latitude,
+                             final double longitude,
+                             final int count)
+    {
+        return findNearest(latitude, longitude, count, null);
+    }
+
+    /**
+     * Finds the capitals nearest to the capital of a country, not counting the country itself.
+     *
+     * @param country The country, which must have coordinates.
+     * @param count   The number of capitals to find.
+     * @return The positions in the World of up to {@code count} other countries, nearest first.
+     */
+    public int[] findNearest(final Country country,
+                             final int count)
+    {
+        if (country == null || !country.hasCoordinates())
+        {
+            throw new IllegalArgumentException("Country must have coordinates");
+        }
+
+        return findNearest(country.getLatitude(), country.getLongitude(), count, country);
+    }
+
+    /**
+     * Finds every capital within a distance of a point.
+     *
+     * @param latitude  The latitude of the point, in degrees.
+     * @param longitude The longitude of the point, in degrees.
+     * @param radiusKm  The distance, in kilometres.
+     * @return The positions in the World of the countries whose capitals are that close, nearest first.
+     */
+    public int[] findWithin(final double latitude,
+                            final double longitude,
+                            final double radiusKm)
+    {
+        validateCoordinates(latitude, longitude);
+
+        if (!(radiusKm >= NOTHING))
+        {
+            throw new IllegalArgumentException("Radius cannot be negative");
+        }
+
+        final double[] query;
+        final double chord;
+        final Nearest found;
+
+        query = new double[DIMENSIONS];
+        chord = 2 * Math.sin(Math.min(radiusKm / EARTH_RADIUS_KM, Math.PI) * HALF);
+        found = new Nearest(NOTHING);
+
+        toPoint(latitude, longitude, query, NOTHING);
+        searchWithin(query, chord * chord, NOTHING, ids.length, X, found);
+
+        return found.toSortedIds(ids);
+    }
+
+    /**
+     * Creates a question asking which capital city is closest to the capital of a country.
+     *
+     * @param reference The country whose capital the question is about.
+     * @return The question, whose expected answer is the nearest other capital, or null if the reference has
+     *         no coordinates or no other capital has any.
+     */
+    public Question createClosestCapitalQuestion(final Country reference)
+    {
+        if (reference == null)
+        {
+            throw new IllegalArgumentException("Country cannot be null");
+        }
+
+        if (!reference.hasCoordinates())
+        {
+            return null;
+        }
+
+        final int[] nearest;
+        nearest = findNearest(reference, 1);
+
+        if (nearest.length == NOTHING)
+        {
+            return null;
+        }
+
+        return new Question(Question.Type.CLOSEST_CAPITAL,
+                            "Which capital city is closest to " + reference.getCapitalCityName() + "?",
+                            world.getCountry(nearest[NOTHING]));
+    }
+
+    /**
+     * Returns the countries at the given positions in the World.
+     *
+     * @param countryIds The positions, such as the result of a query.
+     * @return The countries, in the same order.
+     */
+    public List<Country> getCountries(final int[] countryIds)
+    {
+        final List<Country> countries;
+        countries = new ArrayList<>(countryIds.length);
+
+        for (final int id : countryIds)
+        {
+            countries.add(world.getCountry(id));
+        }
+
+        return countries;
+    }
+
+    /**
+     * Returns one of the indexed countries, in no particular order.
+     *
+     * @param position The position in the index, from 0 to {@link #size()} - 1.
+     * @return The country.
+     */
+    public Country getCountry(final int position)
+    {
+        return world.getCountry(ids[position]);
+    }
+
+    /**
+     * Returns the number of countries with coordinates.
+     *
+     * @return The number of indexed countries.
+     */
+    public int size()
+    {
+        return ids.length;
+    }
+
+    /**
+     * Finds the capitals nearest to a point, optionally leaving one country out.
+     *
+     * @param latitude  The latitude of the point, in degrees.
+     * @param longitude The longitude of the point, in degrees.
+     * @param count     The number of capitals to find.
+     * @param excluded  The country to leave out, or null.
+     * @return The positions in the World of up to {@code count} countries, nearest first.
+     */
+    private int[] findNearest(final double latitude,
+                              final double longitude,
+                              final int count,
+                              final Country excluded)
+    {
+        validateCoordinates(latitude, longitude);
+
+        if (count < NOTHING)
+        {
+            throw new IllegalArgumentException("Count cannot be negative");
+        }
+
+        if (count == NOTHING || ids.length == NOTHING)
+        {
+            return NO_IDS;
+        }
+
+        final double[] query;
+        final Nearest found;
+
+        query = new double[DIMENSIONS];
+        found = new Nearest(Math.min(count, ids.length));
+
+        toPoint(latitude, longitude, query, NOTHING);
+        searchNearest(query, NOTHING, ids.length, X, excluded, found);
+
+        return found.toSortedIds(ids);
+    }
+
+    /**
+     * Visits the subtree of a range, keeping the nearest nodes found.
+     *
+     * @param query    The query point.
+     * @param from     The first node of the range.
+     * @param to       One past the last node of the range.
+     * @param axis     The axis the range splits on.
+     * @param excluded The country to leave out, or null.
+     * @param found    The nearest nodes found so far.
+     */
+    private void searchNearest(final double[] query,
+                               final int from,
+                               final int to,
+                               final int axis,
+                               final Country excluded,
+                               final Nearest found)
+    {
+        if (from >= to)
+        {
+            return;
+        }
+
+        final int node;
+        final double offset;
+        final int nextAxis;
+
+        node     = (from + to) >>> 1;
+        offset   = query[axis] - points[node * DIMENSIONS + axis];
+        nextAxis = (axis + 1) % DIMENSIONS;
+
+        if (excluded == null || !world.getCountry(ids[node]).getNameKey().equals(excluded.getNameKey()))
+        {
+            found.offer(node, squaredDistance(query, node));
+        }
+
+        // the query's own side first, so the far side can usually be ruled out by the plane alone
+        if (offset < NOTHING)
+        {
+            searchNearest(query, from, node, nextAxis, excluded, found);
+
+            if (found.canImprove(offset * offset))
+            {
+                searchNearest(query, node + 1, to, nextAxis, excluded, found);
+            }
+        }
+        else
+        {
+            searchNearest(query, node + 1, to, nextAxis, excluded, found);
+
+            if (found.canImprove(offset * offset))
+            {
+                searchNearest(query, from, node, nextAxis, excluded, found);
+            }
+        }
+    }
+
+    /**
+     * Visits the subtree of a range, keeping every node within a distance.
+     *
+     * @param query          The query point.
+     * @param squaredRadius  The squared straight-line distance.
+     * @param from           The first node of the range.
+     * @param to             One past the last node of the range.
+     * @param axis           The axis the range splits on.
+     * @param found          The nodes found so far.
+     */
+    private void searchWithin(final double[] query,
+                              final double squaredRadius,
+                              final int from,
+                              final int to,
+                              final int axis,
+                              final Nearest found)
+    {
+        if (from >= to)
+        {
+            return;
+        }
+
+        final int node;
+        final double offset;
+        final double squaredDistance;
+        final int nextAxis;
+
+        node            = (from + to) >>> 1;
+        offset          = query[axis] - points[node * DIMENSIONS + axis];
+        squaredDistance = squaredDistance(query, node);
+        nextAxis        = (axis + 1) % DIMENSIONS;
+
+        if (squaredDistance <= squaredRadius)
+        {
+            found.add(node, squaredDistance);
+        }
+
+        if (offset < NOTHING || offset * offset <= squaredRadius)
+        {
+            searchWithin(query, squaredRadius, from, node, nextAxis, found);
+        }
+
+        if (offset >= NOTHING || offset * offset <= squaredRadius)
+        {
+            searchWithin(query, squaredRadius, node + 1, to, nextAxis, found);
+        }
+    }
+
+    /**
+     * Arranges a range of the arrays as a subtree: its median on the axis in the middle, the nodes below
+     * it before it, and the nodes above it after it, each arranged the same way on the next axis.
+     *
+     * @param from The first node of the range.
+     * @param to   One past the last node of the range.
+     * @param axis The axis to split on.
+     */
+    private void arrange(final int from,
+                         final int to,
+                         final int axis)
+    {
+        if (to - from <= 1)
+        {
+            return;
+        }
+
+        final int median;
+        median = (from + to) >>> 1;
+
+        select(from, to - 1, median, axis);
+        arrange(from, median, (axis + 1) % DIMENSIONS);
+        arrange(median + 1, to, (axis + 1) % DIMENSIONS);
+    }
+
+    /**
+     * Moves the node that belongs at a position, in order of one axis, to that position, with no greater
+     * node before it and no smaller node after it, by quickselect.
+     *
+     * @param first  The first node of the range.
+     * @param last   The last node of the range.
+     * @param target The position to fill.
+     * @param axis   The axis to order by.
+     */
+    private void select(final int first,
+                        final int last,
+                        final int target,
+                        final int axis)
+    {
+        int low;
+        int high;
+
+        low  = first;
+        high = last;
+
+        while (low < high)
+        {
+            final double pivot;
+            int left;
+            int right;
+
+            pivot = medianOfThree(low, (low + high) >>> 1, high, axis);
+            left  = low;
+            right = high;
+
+            while (left <= right)
+            {
+                while (points[left * DIMENSIONS + axis] < pivot)
+                {
+                    left++;
+                }
+
+                while (points[right * DIMENSIONS + axis] > pivot)
+                {
+                    right--;
+                }
+
+                if (left <= right)
+                {
+                    swap(left, right);
+                    left++;
+                    right--;
+                }
+            }
+
+            // carry on in the part that holds the target
+            if (target <= right)
+            {
+                high = right;
+            }
+            else if (target >= left)
+            {
+                low = left;
+            }
+            else
+            {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the median of three nodes' coordinates on an axis, a pivot that copes with sorted input.
+     *
+     * @param a    The first node.
+     * @param b    The second node.
+     * @param c    The third node.
+     * @param axis The axis.
+     * @return The median coordinate.
+     */
+    private double medianOfThree(final int a,
+                                 final int b,
+                                 final int c,
+                                 final int axis)
+    {
+        final double first;
+        final double second;
+        final double third;
+
+        first  = points[a * DIMENSIONS + axis];
+        second = points[b * DIMENSIONS + axis];
+        third  = points[c * DIMENSIONS + axis];
+
+        return Math.max(Math.min(first, second), Math.min(Math.max(first, second), third));
+    }
+
+    /**
+     * Swaps two nodes.
+     *
+     * @param a The first node.
+     * @param b The second node.
+     */
+    private void swap(final int a,
+                      final int b)
+    {
+        final int id;
+        id     = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+
+        for (int d = NOTHING; d < DIMENSIONS; d++)
+        {
+            final double coordinate;
+            coordinate                 = points[a * DIMENSIONS + d];
+            points[a * DIMENSIONS + d] = points[b * DIMENSIONS + d];
+            points[b * DIMENSIONS + d] = coordinate;
+        }
+    }
+
+    /**
+     * Returns the squared straight-line distance from a point to a node.
+     *
+     * @param query The point.
+     * @param node  The node.
+     * @return The squared distance.
+     */
+    private double squaredDistance(final double[] query,
+                                   final int node)
+    {
+        final double dx;
+        final double dy;
+        final double dz;
+
+        dx = query[X] - points[node * DIMENSIONS + X];
+        dy = query[Y] - points[node * DIMENSIONS + Y];
+        dz = query[Z] - points[node * DIMENSIONS + Z];
+
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    /**
+     * Writes the point on the unit sphere at a latitude and longitude.
+     *
+     * @param latitude  The latitude, in degrees.
+     * @param longitude The longitude, in degrees.
+     * @param target    The array to write x, y and z to.
+     * @param offset    The position of x in the array.
+     */
+    private static void toPoint(final double latitude,
+                                final double longitude,
+                                final double[] target,
+                                final int offset)
+    {
+        final double phi;
+        final double lambda;
+
+        phi    = Math.toRadians(latitude);
+        lambda = Math.toRadians(longitude);
+
+        target[offset + X] = Math.cos(phi) * Math.cos(lambda);
+        target[offset + Y] = Math.cos(phi) * Math.sin(lambda);
+        target[offset + Z] = Math.sin(phi);
+    }
+
+    /**
+     * Validates that a latitude and longitude are in range.
+     *
+     * @param latitude  The latitude to validate.
+     * @param longitude The longitude to validate.
+     */
+    private static void validateCoordinates(final double latitude,
+                                            final double longitude)
+    {
+        if (!Country.isValidLocation(latitude, longitude))
+        {
+            throw new IllegalArgumentException("Invalid coordinates");
+        }
+    }
+
+    /**
+     * The nodes found by a search with their squared distances: either the best few, kept in a max-heap on
+     * distance so the worst is replaced first, or every node within a radius.
+     */
+    private static final class Nearest
+    {
+        private final int      capacity;
+        private       int[]    nodes;
+        private       double[] distances;
+        private       int      size;
+
+        private Nearest(final int capacity)
+        {
+            this.capacity  = capacity;
+            this.nodes     = new int[Math.max(capacity, 1)];
+            this.distances = new double[Math.max(capacity, 1)];
+        }
+
+        /**
+         * Keeps a node if fewer than the capacity have been found, or it is nearer than the worst of them.
+         *
+         * @param node     The node.
+         * @param distance Its squared distance.
+         */
+        private void offer(final int node,
+                           final double distance)
+        {
+            if (size < capacity)
+            {
+                nodes[size]     = node;
+                distances[size] = distance;
+                siftUp(size++);
+            }
+            else if (distance < distances[NOTHING])
+            {
+                nodes[NOTHING]     = node;
+                distances[NOTHING] = distance;
+                siftDown(NOTHING);
+            }
+        }
+
+        /**
+         * Keeps a node, growing as needed, for a radius search.
+         *
+         * @param node     The node.
+         * @param distance Its squared distance.
+         */
+        private void add(final int node,
+                         final double distance)
+        {
+            if (size == nodes.length)
+            {
+                nodes     = Arrays.copyOf(nodes, size * 2);
+                distances = Arrays.copyOf(distances, size * 2);
+            }
+
+            nodes[size]     = node;
+            distances[size] = distance;
+            size++;
+        }
+
+        /**
+         * Returns whether a node at the given squared distance could still be kept.
+         *
+         * @param distance The squared distance.
+         * @return true if it could.
+         */
+        private boolean canImprove(final double distance)
+        {
+            return size < capacity || distance < distances[NOTHING];
+        }
+
+        /**
+         * Returns the World positions of the nodes found, nearest first.
+         *
+         * @param ids The World position of each node.
+         * @return The positions.
+         */
+        private int[] toSortedIds(final int[] ids)
+        {
+            final Integer[] order;
+            final int[] result;
+
+            order  = new Integer[size];
+            result = new int[size];
+
+            for (int i = NOTHING; i < size; i++)
+            {
+                order[i] = i;
+            }
+
+            Arrays.sort(order, (a, b) -> Double.compare(distances[a], distances[b]));
+
+            for (int i = NOTHING; i < size; i++)
+            {
+                result[i] = ids[nodes[order[i]]];
+            }
+
+            return result;
+        }
+
+        private void siftUp(final int position)
+        {
+            int child;
+            child = position;
+
+            while (child > NOTHING)
+            {
+                final int parent;
+                parent = (child - 1) / 2;
+
+                if (distances[parent] >= distances[child])
+                {
+                    return;
+                }
+
+                swap(parent, child);
+                child = parent;
+            }
+        }
+
+        private void siftDown(final int position)
+        {
+            int parent;
+            parent = position;
+
+            while (true)
+            {
+                final int left;
+                final int right;
+                int largest;
+
+                left    = parent * 2 + 1;
+                right   = left + 1;
+                largest = parent;
+
+                if (left < size && distances[left] > distances[largest])
+                {
+                    largest = left;
+                }
+
+                if (right < size && distances[right] > distances[largest])
+                {
+                    largest = right;
+                }
+
+                if (largest == parent)
+                {
+                    return;
+                }
+
+                swap(parent, largest);
+                parent = largest;
+            }
+        }
+
+        private void swap(final int a,
+                          final int b)
+        {
+            final int node;
+            final double distance;
+
+            node         = nodes[a];
+            distance     = distances[a];
+            nodes[a]     = nodes[b];
+            distances[a] = distances[b];
+            nodes[b]     = node;
+            distances[b] = distance;
+        }
+    }
+}
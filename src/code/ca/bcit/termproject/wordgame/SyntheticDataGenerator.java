@@ -0,0 +1,680 @@
+package ca.bcit.termproject.wordgame;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * The {@code SyntheticDataGenerator} class writes large, seeded data sets in the exact formats the game
+ * reads, so loading, parsing and recovery can be measured at sizes the shipped data never reaches.
+ * <p>
+ * The generator writes three kinds of file:
+ * 1. Letter files, one per shard from 'a' to 'z', with unique, pronounceable country names, capital cities,
+ *    three facts per country built from templates with realistic keywords, capital coordinates spread evenly
+ *    over the globe, and occasional alias lines.
+ *    These load through a {@link DirectoryCountrySource}.
+ * 2. A word game score file of records written exactly as {@link Score#appendScoreToFile(Score, String)}
+ *    writes them, which {@link Score#readScoresFromFile(String)} reads back.
+ * 3. A Clock Storm score file of one integer per line, as the Clock Storm game keeps its scores.
+ * <p>
+ * Every file is a function of the seed and the record count alone, so the same arguments always produce
+ * the same bytes. A share of records, given by the corruption rate, is deliberately malformed the way a
+ * hand-edited or half-written file would be: headers without a separator, missing facts, coordinates
+ * off the globe, blank capital cities, unparseable timestamps and non-numeric or overflowing values.
+ * Corrupted records keep the framing of a record, so every reader gets past them the same way it would in
+ * a real file.
+ * <p>
+ * Existing files are never overwritten. Run from the repository root:
+ * {@code java ca.bcit.termproject.wordgame.SyntheticDataGenerator <outputDirectory> [countries] [scores] [seed] [corruptionRate]}
+ *
+ * @author Jonah Botelho
+ * @version 1.0
+ */
+public final class SyntheticDataGenerator
+{
+    public static final String COUNTRY_DIRECTORY    = "countrydata";
+    public static final String WORD_GAME_SCORES     = "wordgame_score.txt";
+    public static final String CLOCK_STORM_SCORES   = "clockstorm_score.txt";
+
+    private static final int    DEFAULT_COUNTRIES       = 100_000;
+    private static final int    DEFAULT_SCORES          = 1_000_000;
+    private static final long   DEFAULT_SEED            = 2522L;
+    private static final double DEFAULT_CORRUPTION_RATE = 0.0;
+    private static final int    NOTHING                 = 0;
+    private static final int    BUFFER_SIZE             = 1 << 16;
+    private static final int    SHARD_COUNT             = CountrySource.LAST_SHARD - CountrySource.FIRST_SHARD + 1;
+    private static final int    FACTS_LENGTH            = 3;
+    private static final int    MIN_NAME_SYLLABLES      = 2;
+    private static final int    MAX_NAME_SYLLABLES      = 4;
+    private static final int    MIN_CAPITAL_SYLLABLES   = 2;
+    private static final int    MAX_CAPITAL_SYLLABLES   = 3;
+    private static final double ALIAS_RATE              = 0.1;
+    private static final int    MIN_FACT_NUMBER         = 2;
+    private static final int    MAX_FACT_NUMBER         = 99;
+    private static final int    MAX_GAMES_PER_SCORE     = 20;
+    private static final int    MAX_CLOCK_STORM_SCORE   = 500;
+    private static final long   COUNTRY_SALT            = 0x436F756E74727931L;
+    private static final long   WORD_GAME_SALT          = 0x576F726447616D65L;
+    private static final long   CLOCK_STORM_SALT        = 0x436C6F636B53746DL;
+    private static final long   NANOS_PER_MILLI         = 1_000_000L;
+
+    private static final int CORRUPTION_KINDS  = 4;
+    private static final int MISSING_SEPARATOR = 0;
+    private static final int MISSING_FACTS     = 1;
+    private static final int BAD_COORDINATES   = 2;
+
+    private static final int OUTPUT_DIRECTORY_ARGUMENT = 0;
+    private static final int COUNTRIES_ARGUMENT        = 1;
+    private static final int SCORES_ARGUMENT           = 2;
+    private static final int SEED_ARGUMENT             = 3;
+    private static final int CORRUPTION_RATE_ARGUMENT  = 4;
+
+    private static final LocalDateTime FIRST_SCORE_TIME = LocalDateTime.of(2000, 1, 1, 0, 0, 0);
+    private static final LocalDateTime LAST_SCORE_TIME  = LocalDateTime.of(2099, 12, 31, 23, 59, 59);
+
+    private static final String CONSONANTS = "bcdfghjklmnprstvwz";
+    private static final String VOWELS     = "aeiou";
+
+    private static final String[] NAME_SUFFIXES = {"", "", "", "ia", "land", "stan", "a"};
+
+    // %1$s is the country, %2$s the capital city and %3$d a number
+    private static final String[] FACT_TEMPLATES = {
+            "%1$s is home to an active volcano that last erupted %3$d years ago.",
+            "Much of %1$s is desert, and %2$s is its largest city.",
+            "%2$s was a trading stop on the Silk Road.",
+            "The old town of %2$s is a UNESCO World Heritage Site.",
+            "A glacier covers about %3$d percent of %1$s.",
+            "%1$s has more than %3$d islands off its coast.",
+            "The largest lake in %1$s lies %3$d kilometres from %2$s.",
+            "%1$s has been independent for %3$d years.",
+            "The national football team of %1$s plays its home games in %2$s.",
+            "Coffee and tea are grown in the highlands of %1$s.",
+            "%2$s hosts a jazz festival every summer.",
+            "The rainforest of %1$s shelters %3$d species of monkey.",
+            "%1$s shares a mountain range with its %3$d neighbours.",
+            "The currency of %1$s is printed in %2$s."
+    };
+
+    private static final String[] INVALID_TIMESTAMPS = {
+            "2025-13-45 25:61:00",
+            "yesterday afternoon",
+            "2025/04/04 17:01:18",
+            "1999-12-31 23:59:59"
+    };
+
+    private static final String[] INVALID_VALUES = {"many", "", "-3", "4.5", "99999999999"};
+
+    private static final String[] INVALID_CLOCK_STORM_LINES = {"", "abc", "12.5", "-", "99999999999", " 7 points"};
+
+    private final long seed;
+    private final double corruptionRate;
+
+    /**
+     * Constructs a SyntheticDataGenerator.
+     *
+     * @param seed           The seed every file is generated from.
+     * @param corruptionRate The share of records to corrupt, from 0 to 1.
+     */
+    public SyntheticDataGenerator(final long seed,
+                                  final double corruptionRate)
+    {
+        if (!(corruptionRate >= NOTHING && corruptionRate <= 1.0))
+        {
+            throw new IllegalArgumentException("Corruption rate must be between 0 and 1");
+        }
+
+        this.seed           = seed;
+        this.corruptionRate = corruptionRate;
+    }
+
+    /**
+     * Writes a full data set: letter files, a word game score file and a Clock Storm score file.
+     *
+     * @param args The output directory, then optionally the number of countries, the number of scores
+     *             in each score file, the seed and the corruption rate.
+     */
+    public static void main(final String[] args) throws IOException
+    {
+        if (args.length <= OUTPUT_DIRECTORY_ARGUMENT)
+        {
+            System.err.println("Usage: java ca.bcit.termproject.wordgame.SyntheticDataGenerator " +
+                               "<outputDirectory> [countries] [scores] [seed] [corruptionRate]");
+            return;
+        }
+
+        final Path outputDirectory;
+        final int countries;
+        final int scores;
+        final long seed;
+        final double corruptionRate;
+        final SyntheticDataGenerator generator;
+        final long startTime;
+        final int corruptCountries;
+        final int corruptScores;
+        final int corruptClockStormScores;
+
+        outputDirectory = Path.of(args[OUTPUT_DIRECTORY_ARGUMENT]);
+        countries       = args.length > COUNTRIES_ARGUMENT ?
+                          Integer.parseInt(args[COUNTRIES_ARGUMENT]) : DEFAULT_COUNTRIES;
+        scores          = args.length > SCORES_ARGUMENT ?
+                          Integer.parseInt(args[SCORES_ARGUMENT]) : DEFAULT_SCORES;
+        seed            = args.length > SEED_ARGUMENT ?
+                          Long.parseLong(args[SEED_ARGUMENT]) : DEFAULT_SEED;
+        corruptionRate  = args.length > CORRUPTION_RATE_ARGUMENT ?
+                          Double.parseDouble(args[CORRUPTION_RATE_ARGUMENT]) : DEFAULT_CORRUPTION_RATE;
+        generator       = new SyntheticDataGenerator(seed, corruptionRate);
+        startTime       = System.nanoTime();
+
+        corruptCountries        = generator.writeCountries(outputDirectory.resolve(COUNTRY_DIRECTORY), countries);
+        corruptScores           = generator.writeWordGameScores(outputDirectory.resolve(WORD_GAME_SCORES), scores);
+        corruptClockStormScores = generator.writeClockStormScores(outputDirectory.resolve(CLOCK_STORM_SCORES),
+                                                                  scores);
+
+        System.out.printf("%,d countries (%,d corrupt) in %s%n",
+                          countries, corruptCountries, outputDirectory.resolve(COUNTRY_DIRECTORY));
+        System.out.printf("%,d word game scores (%,d corrupt) in %s%n",
+                          scores, corruptScores, outputDirectory.resolve(WORD_GAME_SCORES));
+        System.out.printf("%,d Clock Storm scores (%,d corrupt) in %s%n",
+                          scores, corruptClockStormScores, outputDirectory.resolve(CLOCK_STORM_SCORES));
+        System.out.printf("Written in %,d ms%n", (System.nanoTime() - startTime) / NANOS_PER_MILLI);
+    }
+
+    /**
+     * Writes letter files holding the given number of countries into a directory, which is created if needed.
+     * <p>
+     * Each country is filed under the letter its name starts with, so the files load through a
+     * {@link DirectoryCountrySource} on the directory. Names are unique even among the corrupted records.
+     *
+     * @param directory The directory to write the letter files into; it must not hold letter files yet.
+     * @param count     The number of country records to write.
+     * @return The number of records deliberately corrupted, which will not load.
+     */
+    public int writeCountries(final Path directory,
+                              final int count) throws IOException
+    {
+        validatePath(directory);
+        validateCount(count);
+
+        final Random random;
+        final Set<String> names;
+        final BufferedWriter[] writers;
+        int corrupted;
+
+        random    = new Random(seed ^ COUNTRY_SALT);
+        names     = new HashSet<>();
+        writers   = new BufferedWriter[SHARD_COUNT];
+        corrupted = NOTHING;
+
+        Files.createDirectories(directory);
+
+        try
+        {
+            for (int i = NOTHING; i < SHARD_COUNT; i++)
+            {
+                writers[i] = Files.newBufferedWriter(
+                        DirectoryCountrySource.getLetterFile(directory, (char) (CountrySource.FIRST_SHARD + i)),
+                        StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE_NEW,
+                        StandardOpenOption.WRITE);
+            }
+
+            for (int i = NOTHING; i < count; i++)
+            {
+                final int shard;
+                final String name;
+                final String capitalCity;
+                final boolean corrupt;
+
+                shard       = random.nextInt(SHARD_COUNT);
+                name        = makeUniqueName(random, (char) (CountrySource.FIRST_SHARD + shard), names);
+                capitalCity = makeWord(random, MIN_CAPITAL_SYLLABLES, MAX_CAPITAL_SYLLABLES);
+                corrupt     = isCorrupt(random);
+
+                writeCountry(writers[shard], random, name, capitalCity, corrupt);
+
+                if (corrupt)
+                {
+                    corrupted++;
+                }
+            }
+        }
+        finally
+        {
+            closeAll(writers);
+        }
+
+        return corrupted;
+    }
+
+    /**
+     * Writes a word game score file holding the given number of records.
+     * <p>
+     * Valid records are written from real {@link Score} objects, with dates between 2000 and 2099 and
+     * {@value GameSession#QUESTIONS_PER_GAME} answers per game played. Corrupted records keep the seven
+     * lines of a record, but with an unparseable or out of range timestamp, or a value that is not a
+     * non-negative integer.
+     *
+     * @param file  The score file to write; it must not exist yet.
+     * @param count The number of score records to write.
+     * @return The number of records deliberately corrupted.
+     */
+    public int writeWordGameScores(final Path file,
+                                   final int count) throws IOException
+    {
+        validatePath(file);
+        validateCount(count);
+
+        final Random random;
+        final long firstSecond;
+        final long secondCount;
+        int corrupted;
+
+        random      = new Random(seed ^ WORD_GAME_SALT);
+        firstSecond = FIRST_SCORE_TIME.toEpochSecond(ZoneOffset.UTC);
+        secondCount = LAST_SCORE_TIME.toEpochSecond(ZoneOffset.UTC) - firstSecond + 1;
+        corrupted   = NOTHING;
+
+        createParentDirectories(file);
+
+        try (BufferedWriter writer = newWriter(file))
+        {
+            for (int i = NOTHING; i < count; i++)
+            {
+                final LocalDateTime time;
+                final int gamesPlayed;
+                final int answers;
+                final int correctOnFirstAttempt;
+                final int correctOnSecondAttempt;
+                final String record;
+
+                time                   = LocalDateTime.ofEpochSecond(firstSecond + random.nextLong(secondCount),
+                                                                     NOTHING,
+                                                                     ZoneOffset.UTC);
+                gamesPlayed            = random.nextInt(MAX_GAMES_PER_SCORE) + 1;
+                answers                = gamesPlayed * GameSession.QUESTIONS_PER_GAME;
+                correctOnFirstAttempt  = random.nextInt(answers + 1);
+                correctOnSecondAttempt = random.nextInt(answers - correctOnFirstAttempt + 1);
+                record                 = new Score(time,
+                                                   gamesPlayed,
+                                                   correctOnFirstAttempt,
+                                                   correctOnSecondAttempt,
+                                                   answers - correctOnFirstAttempt - correctOnSecondAttempt)
+                                                 .toString();
+
+                if (isCorrupt(random))
+                {
+                    writer.write(corruptScore(random, record, gamesPlayed));
+                    corrupted++;
+                }
+                else
+                {
+                    writer.write(record);
+                }
+
+                // the same separator Score.appendScoreToFile writes after each record
+                writer.write(System.lineSeparator());
+            }
+        }
+
+        return corrupted;
+    }
+
+    /**
+     * Writes a Clock Storm score file holding the given number of lines.
+     * <p>
+     * Valid lines hold one non-negative integer each. Corrupted lines are blank, hold text or a decimal,
+     * or hold a number too large for an int; the last kind looks like an integer but cannot be parsed as one.
+     *
+     * @param file  The score file to write; it must not exist yet.
+     * @param count The number of lines to write.
+     * @return The number of lines deliberately corrupted.
+     */
+    public int writeClockStormScores(final Path file,
+                                     final int count) throws IOException
+    {
+        validatePath(file);
+        validateCount(count);
+
+        final Random random;
+        int corrupted;
+
+        random    = new Random(seed ^ CLOCK_STORM_SALT);
+        corrupted = NOTHING;
+
+        createParentDirectories(file);
+
+        try (BufferedWriter writer = newWriter(file))
+        {
+            for (int i = NOTHING; i < count; i++)
+            {
+                final int score;
+                score = random.nextInt(MAX_CLOCK_STORM_SCORE + 1);
+
+                if (isCorrupt(random))
+                {
+                    writer.write(INVALID_CLOCK_STORM_LINES[random.nextInt(INVALID_CLOCK_STORM_LINES.length)]);
+                    corrupted++;
+                }
+                else
+                {
+                    writer.write(Integer.toString(score));
+                }
+
+                writer.newLine();
+            }
+        }
+
+        return corrupted;
+    }
+
+    /**
+     * Writes one country record, followed by the blank line that ends it.
+     * <p>
+     * A corrupted record is one of:
+     * 1. A header without the separator between the name and the capital city.
+     * 2. A record with fewer than three facts.
+     * 3. A record whose coordinates are off the globe.
+     * 4. A record with a blank capital city.
+     *
+     * @param writer      The writer of the letter file.
+     * @param random      The random number generator.
+     * @param name        The name of the country.
+     * @param capitalCity The name of its capital city.
+     * @param corrupt     Whether to corrupt the record.
+     */
+    private static void writeCountry(final BufferedWriter writer,
+                                     final Random random,
+                                     final String name,
+                                     final String capitalCity,
+                                     final boolean corrupt) throws IOException
+    {
+        final int corruption;
+        final int factCount;
+        final int firstTemplate;
+        final int templateStep;
+
+        corruption    = corrupt ? random.nextInt(CORRUPTION_KINDS) : NOTHING;
+        factCount     = corrupt && corruption == MISSING_FACTS ? random.nextInt(FACTS_LENGTH) : FACTS_LENGTH;
+        firstTemplate = random.nextInt(FACT_TEMPLATES.length);
+        templateStep  = random.nextInt(FACT_TEMPLATES.length - FACTS_LENGTH) + 1;
+
+        if (!corrupt)
+        {
+            writer.write(name + ":" + capitalCity);
+        }
+        else if (corruption == MISSING_SEPARATOR)
+        {
+            writer.write(name + " " + capitalCity);
+        }
+        else if (corruption == MISSING_FACTS || corruption == BAD_COORDINATES)
+        {
+            writer.write(name + ":" + capitalCity);
+        }
+        else
+        {
+            writer.write(name + ": ");
+        }
+
+        writer.newLine();
+
+        // a step smaller than the number of templates less the facts keeps the three templates distinct
+        for (int i = NOTHING; i < factCount; i++)
+        {
+            final String template;
+            template = FACT_TEMPLATES[(firstTemplate + i * templateStep) % FACT_TEMPLATES.length];
+
+            writer.write(String.format(template,
+                                       name,
+                                       capitalCity,
+                                       MIN_FACT_NUMBER + random.nextInt(MAX_FACT_NUMBER - MIN_FACT_NUMBER + 1)));
+            writer.newLine();
+        }
+
+        if (!corrupt)
+        {
+            writeCoordinates(writer, random);
+        }
+        else if (corruption == BAD_COORDINATES)
+        {
+            writer.write("Coordinates:" + (Country.MAX_LONGITUDE + 1 + random.nextInt(MAX_FACT_NUMBER)) + ",0");
+            writer.newLine();
+        }
+
+        // an alias line straight after too few facts would be read as one more fact
+        if (!corrupt && random.nextDouble() < ALIAS_RATE)
+        {
+            writer.write("Aliases:Republic of " + name);
+            writer.newLine();
+        }
+
+        writer.newLine();
+    }
+
+    /**
+     * Writes the coordinates line of a capital city, at a point drawn evenly over the surface of the globe,
+     * so capitals are no denser near the poles than anywhere else.
+     *
+     * @param writer The writer of the letter file.
+     * @param random The random number generator.
+     */
+    private static void writeCoordinates(final BufferedWriter writer,
+                                         final Random random) throws IOException
+    {
+        final double latitude;
+        final double longitude;
+
+        latitude  = Math.toDegrees(Math.asin(2 * random.nextDouble() - 1));
+        longitude = 2 * Country.MAX_LONGITUDE * random.nextDouble() - Country.MAX_LONGITUDE;
+
+        writer.write(String.format(Locale.ROOT, "Coordinates:%.4f,%.4f", latitude, longitude));
+        writer.newLine();
+    }
+
+    /**
+     * Corrupts one line of a score record, keeping its seven lines.
+     *
+     * @param random      The random number generator.
+     * @param record      The valid record.
+     * @param gamesPlayed The number of games played in the record.
+     * @return The corrupted record.
+     */
+    private static String corruptScore(final Random random,
+                                       final String record,
+                                       final int gamesPlayed)
+    {
+        if (random.nextBoolean())
+        {
+            return "Date and Time: " + INVALID_TIMESTAMPS[random.nextInt(INVALID_TIMESTAMPS.length)] +
+                   record.substring(record.indexOf('\n'));
+        }
+
+        return record.replace("Games Played: " + gamesPlayed,
+                              "Games Played: " + INVALID_VALUES[random.nextInt(INVALID_VALUES.length)]);
+    }
+
+    /**
+     * Makes a country name that starts with the given letter and has not been made before.
+     * <p>
+     * The name is built from consonant and vowel syllables, with an occasional suffix; a name that is
+     * already taken is made longer by a syllable until it is unique.
+     *
+     * @param random The random number generator.
+     * @param letter The lower-case letter the name starts with.
+     * @param names  The normalized names made so far; the new name is added.
+     * @return The name.
+     */
+    private static String makeUniqueName(final Random random,
+                                         final char letter,
+                                         final Set<String> names)
+    {
+        final StringBuilder name;
+
+        name = new StringBuilder();
+        name.append(Character.toUpperCase(letter));
+        name.append(VOWELS.charAt(random.nextInt(VOWELS.length())));
+        name.append(makeWord(random, MIN_NAME_SYLLABLES - 1, MAX_NAME_SYLLABLES - 1).toLowerCase(Locale.ROOT));
+        name.append(NAME_SUFFIXES[random.nextInt(NAME_SUFFIXES.length)]);
+
+        while (!names.add(World.normalize(name.toString())))
+        {
+            appendSyllable(random, name);
+        }
+
+        return name.toString();
+    }
+
+    /**
+     * Makes a capitalized word of consonant and vowel syllables.
+     *
+     * @param random       The random number generator.
+     * @param minSyllables The fewest syllables.
+     * @param maxSyllables The most syllables.
+     * @return The word.
+     */
+    private static String makeWord(final Random random,
+                                   final int minSyllables,
+                                   final int maxSyllables)
+    {
+        final StringBuilder word;
+        final int syllables;
+
+        word      = new StringBuilder();
+        syllables = minSyllables + random.nextInt(maxSyllables - minSyllables + 1);
+
+        for (int i = NOTHING; i < syllables; i++)
+        {
+            appendSyllable(random, word);
+        }
+
+        word.setCharAt(NOTHING, Character.toUpperCase(word.charAt(NOTHING)));
+
+        return word.toString();
+    }
+
+    /**
+     * Appends a consonant followed by a vowel.
+     *
+     * @param random The random number generator.
+     * @param word   The word to append to.
+     */
+    private static void appendSyllable(final Random random,
+                                       final StringBuilder word)
+    {
+        word.append(CONSONANTS.charAt(random.nextInt(CONSONANTS.length())));
+        word.append(VOWELS.charAt(random.nextInt(VOWELS.length())));
+    }
+
+    /**
+     * Decides whether the next record is corrupted.
+     *
+     * @param random The random number generator.
+     * @return Whether to corrupt the record.
+     */
+    private boolean isCorrupt(final Random random)
+    {
+        return random.nextDouble() < corruptionRate;
+    }
+
+    /**
+     * Opens a new file for writing, failing if it already exists.
+     *
+     * @param file The file to open.
+     * @return The writer.
+     */
+    private static BufferedWriter newWriter(final Path file) throws IOException
+    {
+        return new BufferedWriter(Files.newBufferedWriter(file,
+                                                          StandardCharsets.UTF_8,
+                                                          StandardOpenOption.CREATE_NEW,
+                                                          StandardOpenOption.WRITE),
+                                  BUFFER_SIZE);
+    }
+
+    /**
+     * Creates the parent directories of a file, if it has any.
+     *
+     * @param file The file.
+     */
+    private static void createParentDirectories(final Path file) throws IOException
+    {
+        if (file.toAbsolutePath().getParent() != null)
+        {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+        }
+    }
+
+    /**
+     * Closes every writer that was opened, even if closing one of them fails.
+     *
+     * @param writers The writers, some of which may be null.
+     */
+    private static void closeAll(final BufferedWriter[] writers) throws IOException
+    {
+        IOException failure;
+        failure = null;
+
+        for (final BufferedWriter writer : writers)
+        {
+            if (writer == null)
+            {
+                continue;
+            }
+
+            try
+            {
+                writer.close();
+            }
+            catch (final IOException e)
+            {
+                if (failure == null)
+                {
+                    failure = e;
+                }
+                else
+                {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+
+        if (failure != null)
+        {
+            throw failure;
+        }
+    }
+
+    /**
+     * Validates that a path is not null.
+     *
+     * @param path The path to validate.
+     */
+    private static void validatePath(final Path path)
+    {
+        if (path == null)
+        {
+            throw new IllegalArgumentException("Path cannot be null");
+        }
+    }
+
+    /**
+     * Validates that a record count is not negative.
+     *
+     * @param count The count to validate.
+     */
+    private static void validateCount(final int count)
+    {
+        if (count < NOTHING)
+        {
+            throw new IllegalArgumentException("Count cannot be negative");
+        }
+    }
+}
@@ -1,11 +1,9 @@
 package ca.bcit.termproject.wordgame;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Random;
 import java.util.Scanner;
 import java.text.DecimalFormat;
@@ -24,6 +22,9 @@ import java.text.DecimalFormat;
  * 4. Allows the user to play multiple rounds, with the option to play again after each round.
  * 5. Saves and compares the user's score to the high score stored in a file.
  * 6. Uses `DecimalFormat` to display scores with two decimal places.
+ * 7. Builds each screen with a {@link ConsoleRenderer} and writes it once, just before reading input.
+ * 8. Times how long each prompt takes to show, the player takes to answer, and the answer takes to grade,
+ *    per question type, and saves a summary of each game next to the score file (see {@link AnswerTimings}).
  * <p>
  * The game flow is controlled by a main game loop, which generates questions based on random
  * selections and evaluates user input. The user can play multiple rounds, and after each round,
@@ -40,25 +41,57 @@ import java.text.DecimalFormat;
 public final class WordGame
 {
     private static final Scanner SCANNER = new Scanner(System.in);
-    private static final int QUESTIONS_PER_GAME = 10;
+    private static final ConsoleRenderer CONSOLE = ConsoleRenderer.standardOutput();
+    private static final Random RANDOM = new Random();
+    private static final AnswerTimings TIMINGS = new AnswerTimings();
+    private static final int QUESTIONS_PER_GAME = GameSession.QUESTIONS_PER_GAME;
     private static final int NOTHING = 0;
-    private static final int QUESTION_TYPE_ONE = 0;
-    private static final int QUESTION_TYPE_TWO = 1;
-    private static final int QUESTION_TYPE_THREE = 2;
-    private static final int FACTS_PER_COUNTRY = 3;
-    private static final int TYPES_OF_QUESTIONS = 3;
     private static final String PLAY_AGAIN_TRUE = "yes";
     private static final String PLAY_AGAIN_FALSE = "no";
 
-    private static int gamesPlayed;
-    private static int correctOnFirstAttempt;
-    private static int correctOnSecondAttempt;
-    private static int incorrectOnSecondAttempt;
+    /** The system property naming the player, which turns on spaced repetition for that player. */
+    public static final String PLAYER_PROPERTY = "wordgame.player";
+
+    /** The system property that turns on question selection weighted by difficulty. */
+    public static final String WEIGHTED_PROPERTY = "wordgame.weighted";
+
+    /** The system property giving a fact query, which limits questions to the countries of that topic. */
+    public static final String TOPIC_PROPERTY = "wordgame.topic";
+
+    /** The system property giving the number of options per question, which turns on multiple choice. */
+    public static final String CHOICES_PROPERTY = "wordgame.choices";
+
+    /** The system property that turns on closest capital questions, for data with capital coordinates. */
+    public static final String CLOSEST_PROPERTY = "wordgame.closest";
+
+    private static final String PLAYER_NAME_PATTERN = "[A-Za-z0-9_-]+";
 
     /**
      * Entry point for the capital cities word game application.
-     * Initializes tracking variables and starts the main gameplay loop, where the user answers
+     * Starts a {@link GameSession}, which tracks the user's statistics, and the main gameplay loop, where the user answers
      * a series of randomly selected questions about countries and their capital cities.
+     * The questions of each round are generated up front by a {@link QuestionGenerator}, and their
+     * countries never repeat within a round.
+     * If hot reloading is enabled (see {@link WorldWatcher}), edits to the country data
+     * are picked up by the next session.
+     * <p>
+     * If the system property {@value PLAYER_PROPERTY} names a player, countries are chosen by a
+     * {@link SpacedRepetitionScheduler} instead of at random, and the player's progress is loaded
+     * before the first round and saved after the last. Otherwise, if the system property
+     * {@value WEIGHTED_PROPERTY} is {@code true}, countries are chosen by a {@link DifficultyWeightedSampler},
+     * so the countries players find hard are asked more often. The statistics come from the weighted games
+     * played since the program started.
+     * <p>
+     * If the system property {@value TOPIC_PROPERTY} is a fact query, such as {@code "volcano OR glacier"},
+     * only the countries whose facts match it are asked about (see {@link FactIndex#query(String)}).
+     * <p>
+     * If the system property {@value CHOICES_PROPERTY} is a number of options, such as
+     * {@value DistractorIndex#DEFAULT_CHOICES}, every question is multiple choice, with wrong options from
+     * the World's {@link DistractorIndex}. The user may answer with the number of an option or type the answer.
+     * <p>
+     * If the system property {@value CLOSEST_PROPERTY} is {@code true}, every question instead asks which
+     * capital city is closest to another, answered from the World's {@link SpatialIndex}. This needs
+     * coordinates in the country data; without them, the usual questions are asked.
      * <p>
      * After each round of {@value QUESTIONS_PER_GAME} questions, the user is prompted to decide
      * whether to play another round. Input is validated to accept only "yes" or "no" (case-insensitive).
@@ -71,121 +104,240 @@ public final class WordGame
      */
     public static void main(final String[] args) throws IOException
     {
+        final World world;
+        final AnswerMatcher matcher;
+        final String player;
+        final SpacedRepetitionScheduler scheduler;
+        final GameSession session;
+        final int choices;
+        final boolean closest;
         String choice;
 
-        choice                      = "yes";
-        gamesPlayed                 = NOTHING;
-        correctOnFirstAttempt       = NOTHING;
-        correctOnSecondAttempt      = NOTHING;
-        incorrectOnSecondAttempt    = NOTHING;
+        WorldWatcher.startIfEnabled();
+
+        world   = World.getInstance();
+        matcher = new AnswerMatcher(world, AnswerMatcher.DEFAULT_MAX_DISTANCE);
+        player  = System.getProperty(PLAYER_PROPERTY);
+        choices = readChoices(world);
+        closest = Boolean.getBoolean(CLOSEST_PROPERTY) && hasClosestCapitals(world);
+        choice  = "yes";
+
+        if (player == null)
+        {
+            scheduler = null;
+            session   = new GameSession(world, matcher, createSelector(world), RANDOM);
+        }
+        else
+        {
+            scheduler = SpacedRepetitionScheduler.loadOrCreate(world, getReviewFile(player), RANDOM);
+            session   = new GameSession(world, matcher, scheduler, RANDOM);
+        }
+
+        TIMINGS.clear();
 
         // Play again loop
         while (choice.equalsIgnoreCase(PLAY_AGAIN_TRUE))
         {
-            // Gameplay loop
-            for (int i = NOTHING; i < QUESTIONS_PER_GAME; i++)
+            if (closest)
+            {
+                final Question[] gameQuestions;
+                gameQuestions = session.startClosestCapitalGame();
+
+                // Gameplay loop
+                for (int i = NOTHING; i < QUESTIONS_PER_GAME; i++)
+                {
+                    askQuestion(session, gameQuestions[i], null);
+                }
+            }
+            else if (choices > NOTHING)
             {
-                askQuestion();
+                final MultipleChoiceQuestion[] gameQuestions;
+                gameQuestions = session.startMultipleChoiceGame(choices);
+
+                // Gameplay loop
+                for (int i = NOTHING; i < QUESTIONS_PER_GAME; i++)
+                {
+                    askQuestion(session, gameQuestions[i].getQuestion(), gameQuestions[i]);
+                }
             }
+            else
+            {
+                final Question[] gameQuestions;
+                gameQuestions = session.startGame();
 
-            gamesPlayed++;
-            System.out.print("Do you want to play again? (yes/no): ");
-            choice = SCANNER.nextLine();
+                // Gameplay loop
+                for (int i = NOTHING; i < QUESTIONS_PER_GAME; i++)
+                {
+                    askQuestion(session, gameQuestions[i], null);
+                }
+            }
+
+            session.finishGame();
+            TIMINGS.finishGame();
+            CONSOLE.print("Do you want to play again? (yes/no): ");
+            choice = readLine();
 
             // invalid user input handling
             while (!(choice.equalsIgnoreCase(PLAY_AGAIN_TRUE) ||
                     choice.equalsIgnoreCase(PLAY_AGAIN_FALSE)))
             {
-                System.out.print("Invalid choice. Please try again (" +
+                CONSOLE.print("Invalid choice. Please try again (" +
                         PLAY_AGAIN_TRUE + "/" +
                         PLAY_AGAIN_FALSE + "): ");
-                choice = SCANNER.nextLine();
+                choice = readLine();
             }
         }
 
-        gameOver();
+        if (scheduler != null)
+        {
+            scheduler.save(getReviewFile(player));
+        }
+
+        gameOver(session);
     }
 
     /**
-     * Prompts the user with a random trivia question about countries and evaluates their input.
-     * The type of question is selected randomly from three options:
+     * Returns the number of options per multiple choice question set by {@value CHOICES_PROPERTY}, telling
+     * the user and falling back to typed answers if the World cannot offer that many options.
+     *
+     * @param world The World to ask about.
+     * @return The number of options, or 0 for typed answers.
+     */
+    private static int readChoices(final World world)
+    {
+        final int choices;
+        choices = Integer.getInteger(CHOICES_PROPERTY, NOTHING);
+
+        if (choices == NOTHING ||
+            (choices >= DistractorIndex.MIN_CHOICES && choices <= world.getCountryCount()))
+        {
+            return choices;
+        }
+
+        CONSOLE.printf("%d choices is not between %d and %d, so answers will be typed.\n",
+                       choices,
+                       DistractorIndex.MIN_CHOICES,
+                       world.getCountryCount());
+        return NOTHING;
+    }
+
+    /**
+     * Returns whether enough capital cities have coordinates for closest capital questions, telling the user
+     * if they do not.
+     *
+     * @param world The World to ask about.
+     * @return true if at least {@value SpatialIndex#MIN_CAPITALS} capitals have coordinates.
+     */
+    private static boolean hasClosestCapitals(final World world)
+    {
+        if (world.getSpatialIndex().size() >= SpatialIndex.MIN_CAPITALS)
+        {
+            return true;
+        }
+
+        CONSOLE.print("The country data has no capital coordinates, so the usual questions will be asked.\n");
+        return false;
+    }
+
+    /**
+     * Creates the selector that chooses the countries of a game when no player is named: the countries of the
+     * topic in {@value TOPIC_PROPERTY} if any match it, otherwise every country, weighted by difficulty
+     * if {@value WEIGHTED_PROPERTY} is {@code true}.
+     *
+     * @param world The World to ask about.
+     * @return The selector.
+     */
+    private static CountrySelector createSelector(final World world)
+    {
+        final String topic;
+        topic = System.getProperty(TOPIC_PROPERTY);
+
+        if (topic != null && !topic.isBlank())
+        {
+            final FactIndex facts;
+            final List<Country> topicCountries;
+
+            facts          = world.getFactIndex();
+            topicCountries = facts.getCountries(facts.query(topic));
+
+            if (!topicCountries.isEmpty())
+            {
+                CONSOLE.printf("%d countries match the topic \"%s\".\n", topicCountries.size(), topic);
+                return CountrySampler.of(topicCountries, RANDOM);
+            }
+
+            CONSOLE.printf("No countries match the topic \"%s\", so every country will be asked about.\n", topic);
+        }
+
+        if (Boolean.getBoolean(WEIGHTED_PROPERTY))
+        {
+            return new DifficultyWeightedSampler(world, RANDOM);
+        }
+
+        return new CountrySampler(world, RANDOM);
+    }
+
+    /**
+     * Returns the file that holds a player's spaced repetition progress.
+     *
+     * @param player The player's name, made of letters, digits, dashes and underscores.
+     * @return The player's review file.
+     */
+    private static Path getReviewFile(final String player)
+    {
+        if (!player.matches(PLAYER_NAME_PATTERN))
+        {
+            throw new IllegalArgumentException("Invalid player name: " + player);
+        }
+
+        return Path.of("src/data/wordgame_review_" + player + ".dat");
+    }
+
+    /**
+     * Prompts the user with a trivia question and evaluates their input.
+     * The question is one of three types, generated by {@link QuestionGenerator}:
      * - Given a capital city, identify the country.
      * - Given a country, identify the capital city.
      * - Given a fact, identify the country.
      * <p>
-     * This method initializes a new World object to access country data,
-     * randomly selects a question type and a country from the data,
-     * then uses the relevant fields to generate the question. The user's input
-     * is evaluated using the evaluateUserInput method.
+     * A multiple choice question is shown with its numbered options.
      * <p>
-     * If an unknown question type is somehow generated, an IllegalStateException
-     * will be thrown. After each question, a visual divider is printed to separate
-     * the output from the next round.
+     * The user's input is evaluated using the evaluateUserInput method. After each question,
+     * a visual divider is printed to separate the output from the next round.
+     *
+     * @param session  The session the question belongs to.
+     * @param question The question to ask.
+     * @param choices  The options of the question, or null for a free-text question.
      */
-    private static void askQuestion() throws IOException
+    private static void askQuestion(final GameSession session,
+                                    final Question question,
+                                    final MultipleChoiceQuestion choices) throws IOException
     {
-        final World world;
-        final HashMap<String, Country> worldHashMap;
-        final List<Map.Entry<String, Country>> worldList;
-        final Random ran;
-        final int questionType;
-        final int countryIndex;
-        final Country currentCountry;
-
-        world           = new World();
-        worldHashMap    = world.getWorld();
-        worldList       = new ArrayList<>(worldHashMap.entrySet());
-        ran             = new Random();
-        questionType    = ran.nextInt(TYPES_OF_QUESTIONS);
-        countryIndex    = ran.nextInt(worldList.size());
-        currentCountry  = worldList.get(countryIndex).getValue();
-
-        switch (questionType)
-        {
-            // The program will print a capital city, and ask the user what country it is the capital of
-            case QUESTION_TYPE_ONE:
-                System.out.println("\nWhat country is " +
-                        currentCountry.getCapitalCityName() +
-                        " the capital of?");
-                evaluateUserInput(currentCountry.getName());
-                break;
-            // The program will print the country name, and ask the user what is its capital city
-            case QUESTION_TYPE_TWO:
-                System.out.println("\nWhat is the capital of " +
-                        currentCountry.getName() +
-                        "?");
-                evaluateUserInput(currentCountry.getCapitalCityName());
-                break;
-            // The program will print one of the three facts, and ask the user which country is being described
-            case QUESTION_TYPE_THREE:
-                int factIndex;
-                factIndex = ran.nextInt(FACTS_PER_COUNTRY);
-                System.out.println("\nWhat country is being described?");
-                System.out.println(currentCountry.getFacts()[factIndex]);
-                evaluateUserInput(currentCountry.getName());
-                break;
-            default:
-                // This should be impossible to reach
-                throw new IllegalStateException("Unexpected value: " + questionType);
-        }
-        System.out.println("___________________________________________");
+        TIMINGS.startPrompt();
+        CONSOLE.println("\n" + (choices == null ? question.getPrompt() : choices.getPrompt()));
+        evaluateUserInput(session, question, choices);
+        CONSOLE.println("___________________________________________");
     }
 
     /**
      * Ends the game session and calculates the player's performance.
      * Displays whether the player has achieved a new high score based on average points per game.
      * The player's score is calculated, compared against the existing high score from a file,
-     * and then appended to the file regardless of outcome.
+     * and then appended to the file regardless of outcome. The timing summary of each game is
+     * appended to a timings file under the same date and time.
      * <p>
      * The score is formatted to two decimal places for display. The method also prints
      * the final score summary, and thanks the player for participating.
      * <p>
      * The player is prompted to press Enter to return to the main menu.
+     *
+     * @param session The session that has ended.
      */
-    private static void gameOver() throws IOException
+    private static void gameOver(final GameSession session) throws IOException
     {
         final DecimalFormat scoreFormat;
         final String file;
+        final String timingsFile;
         final Score userScoreScore;
         final List<Score> scoresList;
         final double highScore;
@@ -193,13 +345,10 @@ public final class WordGame
 
         scoreFormat = new DecimalFormat("0.00");
         file = "src/data/wordgame_score.txt";
+        timingsFile = "src/data/wordgame_timings.txt";
 
         // creates score object with user score
-        userScoreScore = new Score(LocalDateTime.now(),
-                gamesPlayed,
-                correctOnFirstAttempt,
-                correctOnSecondAttempt,
-                incorrectOnSecondAttempt);
+        userScoreScore = session.toScore(LocalDateTime.now());
 
         userScoreDouble = userScoreScore.getAverageScore();
         scoresList      = Score.readScoresFromFile(file);
@@ -208,39 +357,44 @@ public final class WordGame
         // handles high score printing
         if (userScoreDouble > highScore) // user has new high score
         {
-            System.out.println("You have a new high score of " +
+            CONSOLE.println("You have a new high score of " +
                     scoreFormat.format(userScoreDouble) +
                     " points per game.");
-            System.out.println("The previous high score was " +
+            CONSOLE.println("The previous high score was " +
                     scoreFormat.format(highScore) +
                     " points per game.");
         }
         else // user does not have new high score
         {
-            System.out.println("Your score of " +
+            CONSOLE.println("Your score of " +
                     scoreFormat.format(userScoreDouble) +
                     " points per game was not a high score.");
         }
 
         Score.appendScoreToFile(userScoreScore, file);
+        TIMINGS.appendSummariesToFile(userScoreScore.getCurrentTime(), timingsFile);
 
         // prints score report
-        System.out.println();
-        System.out.println(userScoreScore);
-        System.out.println("Thank you for playing!");
-        System.out.println("Press enter to return to the main menu.");
+        CONSOLE.println();
+        CONSOLE.println(userScoreScore);
+        CONSOLE.println("Thank you for playing!");
+        CONSOLE.println("Press enter to return to the main menu.");
 
-        SCANNER.nextLine();
+        readLine();
     }
 
     /**
      * Evaluates user input against the correct answer with two attempts.
      * <p>
-     * Compares user input (case-insensitive) to the expected answer:
-     * - On first correct attempt: increments correctOnFirstAttempt counter
+     * Compares user input (ignoring case and accents) to the expected answer. Small typos, such as
+     * "Kabull" for "Kabul", and aliases, such as "USA" for "United States", are accepted as correct
+     * (see {@link AnswerMatcher}). The answer key is
+     * folded once when the country is loaded, so only the user's input is folded here.
+     * The session records the result of each attempt:
+     * - On first correct attempt: counts as correct on the first attempt
      * - On first incorrect attempt: gives one retry opportunity
-     * - On second correct attempt: increments correctOnSecondAttempt counter
-     * - On second incorrect attempt: reveals answer and increments incorrectOnSecondAttempt counter
+     * - On second correct attempt: counts as correct on the second attempt
+     * - On second incorrect attempt: reveals answer and counts as incorrect
      * <p>
      * Provides real-time feedback for each attempt:
      * - "Correct!" messages for successful attempts
@@ -250,41 +404,112 @@ public final class WordGame
      * Uses standard input (System.in) via SCANNER for user interaction.
      * Validates the answer parameter before processing.
      * <p>
+     * For a multiple choice question, the number of an option counts as typing that option.
+     * <p>
+     * Each attempt is timed from its prompt to its grade, excluding the feedback printed afterwards.
+     * <p>
      * Designed to be run through MainMenu. Program may perform unexpectedly if ran separately.
      *
-     * @param answer The correct answer string to compare against user input
+     * @param session  The session that records the result
+     * @param question The question being answered
+     * @param choices  The options of the question, or null for a free-text question
      */
-    private static void evaluateUserInput(final String answer)
+    private static void evaluateUserInput(final GameSession session,
+                                          final Question question,
+                                          final MultipleChoiceQuestion choices) throws IOException
     {
+        final String answer;
+        String input;
+        AnswerMatcher.MatchType match;
+
+        answer = question.getExpectedAnswer();
         validateAnswer(answer);
 
-        String input;
-        input = SCANNER.nextLine();
+        input = readAnswer(choices);
+        match = session.submitFirstAttempt(question, input);
+        TIMINGS.graded(question.getType());
 
-        if (input.equalsIgnoreCase(answer)) // if answer is correct on first attempt
+        if (isCorrect(input, answer, match)) // if answer is correct on first attempt
         {
-            System.out.printf("%s is Correct!\n", input);
-            correctOnFirstAttempt++;
+            return;
         }
-        else // if answer is incorrect on first attempt
+
+        // if answer is incorrect on first attempt
+        TIMINGS.startPrompt();
+        CONSOLE.println("Incorrect!");
+        CONSOLE.print("Try again: ");
+        input = readAnswer(choices);
+        match = session.submitSecondAttempt(question, input);
+        TIMINGS.graded(question.getType());
+
+        if (!isCorrect(input, answer, match)) // if answer is incorrect on second attempt
         {
-            System.out.println("Incorrect!");
-            System.out.print("Try again: ");
-            input = SCANNER.nextLine();
-            if (input.equalsIgnoreCase(answer)) // is answer is correct on second attempt
-            {
-                System.out.printf("%s is Correct!\n", input);
-                correctOnSecondAttempt++;
-            }
-            else // if answer is incorrect on second attempt
-            {
-                System.out.println("Incorrect!");
-                System.out.printf("The correct answer is: %s\n", answer);
-                incorrectOnSecondAttempt++;
-            }
+            CONSOLE.println("Incorrect!");
+            CONSOLE.printf("The correct answer is: %s\n", answer);
         }
     }
 
+    /**
+     * Prints "Correct!" if a graded attempt matched the answer exactly or with a small typo.
+     * When a typo is accepted, the correct spelling is printed as well.
+     *
+     * @param input  The user's attempt.
+     * @param answer The correct answer.
+     * @param match  How the attempt matched the answer.
+     * @return true if the attempt is accepted.
+     */
+    private static boolean isCorrect(final String input,
+                                     final String answer,
+                                     final AnswerMatcher.MatchType match)
+    {
+        if (match == AnswerMatcher.MatchType.NONE)
+        {
+            return false;
+        }
+
+        CONSOLE.printf("%s is Correct!\n", input);
+
+        if (match == AnswerMatcher.MatchType.NEAR)
+        {
+            CONSOLE.printf("(accepted as %s)\n", answer);
+        }
+
+        return true;
+    }
+
+    /**
+     * Writes the current screen to the console, then reads one line of user input.
+     * This is the only place the console is flushed, so each prompt costs one write. The moments the
+     * prompt is shown and the input arrives are marked for {@link AnswerTimings}.
+     *
+     * @return The line entered by the user.
+     */
+    private static String readLine() throws IOException
+    {
+        final String line;
+
+        CONSOLE.flush();
+        TIMINGS.promptShown();
+        line = SCANNER.nextLine();
+        TIMINGS.inputReceived();
+
+        return line;
+    }
+
+    /**
+     * Reads the user's answer, turning the number of a multiple choice option into its text.
+     *
+     * @param choices The options of the question, or null for a free-text question.
+     * @return The answer to grade.
+     */
+    private static String readAnswer(final MultipleChoiceQuestion choices) throws IOException
+    {
+        final String input;
+        input = readLine();
+
+        return choices == null ? input : choices.resolveAnswer(input);
+    }
+
     /**
      * Validates the given answer to ensure it is not null or blank.
      * Throws IllegalArgumentException if answer is null or blank.
@@ -0,0 +1,410 @@
+package ca.bcit.termproject.wordgame;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code WordGameServer} class serves the word game to any number of players at once over TCP on localhost.
+ * <p>
+ * Each connection is one player's session. It runs on its own virtual thread with its own {@link GameSession},
+ * so players never share statistics, while the immutable {@link World} and the {@link AnswerMatcher} are
+ * shared by every session. A session that waits for an answer parks its virtual thread instead of holding
+ * a platform thread, so thousands of sessions can be open at once.
+ * <p>
+ * The protocol is line based and UTF-8 encoded. The server sends:
+ * 1. {@code WELCOME <questions per game>} when a player connects.
+ * 2. {@code QUESTION <line count>}, followed by the lines of the prompt. The player replies with one line.
+ * 3. {@code CORRECT <answer>} or {@code ACCEPTED <answer>} when the answer is right or has a small typo,
+ *    {@code TRY AGAIN} after a wrong first attempt, and {@code INCORRECT <answer>} after a wrong second attempt.
+ * 4. {@code PLAY AGAIN?} after each game. The player replies {@code yes} to play another game.
+ * 5. {@code SCORE <games> <first> <second> <incorrect> <average>} and {@code BYE} when the player stops.
+ * Output is built with a {@link ConsoleRenderer} and sent once per prompt.
+ * <p>
+ * A line from the player may be at most {@value MAX_LINE_LENGTH} characters long. A longer line ends the
+ * session with {@code BYE}, so a client that never sends a line break cannot exhaust the server's memory.
+ * <p>
+ * Run from the repository root:
+ * {@code java ca.bcit.termproject.wordgame.WordGameServer [port]}
+ *
+ * @author Jonah Botelho
+ * @version 1.0
+ */
+public final class WordGameServer implements Closeable
+{
+    /** The port the server listens on by default. */
+    public static final int DEFAULT_PORT = 2522;
+
+    static final String WELCOME    = "WELCOME";
+    static final String QUESTION   = "QUESTION";
+    static final String CORRECT    = "CORRECT";
+    static final String ACCEPTED   = "ACCEPTED";
+    static final String TRY_AGAIN  = "TRY AGAIN";
+    static final String INCORRECT  = "INCORRECT";
+    static final String PLAY_AGAIN = "PLAY AGAIN?";
+    static final String SCORE      = "SCORE";
+    static final String BYE        = "BYE";
+    static final String YES        = "yes";
+
+    private static final int    BACKLOG             = 4_096;
+    private static final int    IDLE_TIMEOUT_MILLIS = 300_000;
+    private static final int    MAX_LINE_LENGTH     = 1_024;
+    private static final int    END_OF_STREAM       = -1;
+    private static final char   LINE_FEED           = '\n';
+    private static final char   CARRIAGE_RETURN     = '\r';
+    private static final int    PORT_ARGUMENT       = 0;
+    private static final String PROMPT_LINE_BREAK   = "\n";
+    private static final String ACCEPTOR_NAME       = "wordgame-acceptor";
+
+    private final World           world;
+    private final AnswerMatcher   matcher;
+    private final ServerSocket    serverSocket;
+    private final ExecutorService sessions;
+    private final Thread          acceptor;
+    private final AtomicInteger   activeSessions;
+    private final AtomicLong      completedSessions;
+
+    /**
+     * Constructs a WordGameServer bound to a port on the loopback address and starts accepting players.
+     *
+     * @param world   The World shared by every session.
+     * @param matcher The matcher shared by every session, built over the same World.
+     * @param port    The port to listen on, or 0 for any free port.
+     */
+    public WordGameServer(final World world,
+                          final AnswerMatcher matcher,
+                          final int port) throws IOException
+    {
+        if (world == null || matcher == null)
+        {
+            throw new IllegalArgumentException("World and matcher cannot be null");
+        }
+
+        this.world             = world;
+        this.matcher           = matcher;
+        this.serverSocket      = new ServerSocket(port, BACKLOG, InetAddress.getLoopbackAddress());
+        this.sessions          = Executors.newVirtualThreadPerTaskExecutor();
+        this.activeSessions    = new AtomicInteger();
+        this.completedSessions = new AtomicLong();
+        this.acceptor          = Thread.ofPlatform().name(ACCEPTOR_NAME).daemon(true).start(this::accept);
+    }
+
+    /**
+     * Starts a server on the shared World and serves until the process is stopped.
+     *
+     * @param args The port to listen on, optional.
+     */
+    public static void main(final String[] args) throws IOException, InterruptedException
+    {
+        final int port;
+        final World world;
+        final WordGameServer server;
+
+        port   = args.length > PORT_ARGUMENT ? Integer.parseInt(args[PORT_ARGUMENT]) : DEFAULT_PORT;
+        world  = World.getInstance();
+        server = new WordGameServer(world, new AnswerMatcher(world, AnswerMatcher.DEFAULT_MAX_DISTANCE), port);
+
+        System.out.printf("Word game server listening on %s:%d%n",
+                          InetAddress.getLoopbackAddress().getHostAddress(),
+                          server.getPort());
+
+        server.acceptor.join();
+    }
+
+    /**
+     * Returns the port the server is listening on.
+     *
+     * @return The local port.
+     */
+    public int getPort()
+    {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Returns the number of sessions currently connected.
+     *
+     * @return The number of open sessions.
+     */
+    public int getActiveSessions()
+    {
+        return activeSessions.get();
+    }
+
+    /**
+     * Returns the number of sessions that have ended.
+     *
+     * @return The number of closed sessions.
+     */
+    public long getCompletedSessions()
+    {
+        return completedSessions.get();
+    }
+
+    /**
+     * Stops accepting players and closes every open session.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        serverSocket.close();
+        sessions.shutdownNow();
+    }
+
+    /**
+     * Accepts connections until the server is closed, starting a virtual thread for each.
+     */
+    private void accept()
+    {
+        while (!serverSocket.isClosed())
+        {
+            final Socket socket;
+
+            try
+            {
+                socket = serverSocket.accept();
+            }
+            catch (final IOException e)
+            {
+                if (!serverSocket.isClosed())
+                {
+                    System.err.println("Failed to accept a player: " + e.getMessage());
+                }
+                continue;
+            }
+
+            sessions.execute(() -> serve(socket));
+        }
+    }
+
+    /**
+     * Plays the word game with one connected player, then closes the connection.
+     *
+     * @param socket The player's connection.
+     */
+    private void serve(final Socket socket)
+    {
+        activeSessions.incrementAndGet();
+
+        try (socket;
+             final BufferedReader in = new BufferedReader(
+                     new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             final OutputStream out = socket.getOutputStream())
+        {
+            final ConsoleRenderer renderer;
+            renderer = new ConsoleRenderer(out);
+
+            socket.setSoTimeout(IDLE_TIMEOUT_MILLIS);
+
+            try
+            {
+                play(new GameSession(world, matcher, new Random()), in, renderer);
+            }
+            catch (final LineTooLongException e)
+            {
+                renderer.println(BYE);
+                renderer.flush();
+            }
+        }
+        catch (final EOFException | SocketException | SocketTimeoutException | ClosedChannelException e)
+        {
+            // the player disconnected, went idle or the server closed; their session is simply dropped
+        }
+        catch (final IOException e)
+        {
+            System.err.println("Session failed: " + e.getMessage());
+        }
+        finally
+        {
+            activeSessions.decrementAndGet();
+            completedSessions.incrementAndGet();
+        }
+    }
+
+    /**
+     * Runs the play again loop of one session over the protocol.
+     *
+     * @param session The player's session.
+     * @param in      The player's input.
+     * @param out     The output to the player, flushed once per prompt.
+     */
+    private static void play(final GameSession session,
+                             final BufferedReader in,
+                             final ConsoleRenderer out) throws IOException
+    {
+        final Score score;
+
+        out.println(WELCOME + " " + GameSession.QUESTIONS_PER_GAME);
+
+        do
+        {
+            for (final Question question : session.startGame())
+            {
+                ask(session, question, in, out);
+            }
+
+            session.finishGame();
+            out.println(PLAY_AGAIN);
+            out.flush();
+        }
+        while (YES.equalsIgnoreCase(readLine(in)));
+
+        score = session.toScore(LocalDateTime.now());
+
+        out.printf("%s %d %d %d %d %.2f%n",
+                   SCORE,
+                   score.getGamesPlayed(),
+                   score.getCorrectOnFirstAttempt(),
+                   score.getCorrectOnSecondAttempt(),
+                   score.getIncorrectOnSecondAttempt(),
+                   score.getAverageScore());
+        out.println(BYE);
+        out.flush();
+    }
+
+    /**
+     * Asks one question, allowing a second attempt after a wrong first attempt.
+     *
+     * @param session  The player's session, which records the result.
+     * @param question The question to ask.
+     * @param in       The player's input.
+     * @param out      The output to the player.
+     */
+    private static void ask(final GameSession session,
+                            final Question question,
+                            final BufferedReader in,
+                            final ConsoleRenderer out) throws IOException
+    {
+        final String[] promptLines;
+        promptLines = question.getPrompt().split(PROMPT_LINE_BREAK);
+
+        out.println(QUESTION + " " + promptLines.length);
+        for (final String line : promptLines)
+        {
+            out.println(line);
+        }
+        out.flush();
+
+        if (isCorrect(session.submitFirstAttempt(question, readLine(in)), question, out))
+        {
+            return;
+        }
+
+        out.println(TRY_AGAIN);
+        out.flush();
+
+        if (!isCorrect(session.submitSecondAttempt(question, readLine(in)), question, out))
+        {
+            out.println(INCORRECT + " " + question.getExpectedAnswer());
+        }
+    }
+
+    /**
+     * Sends the result of a correct attempt.
+     *
+     * @param match    How the attempt matched the answer.
+     * @param question The question being answered.
+     * @param out      The output to the player.
+     * @return true if the attempt was accepted.
+     */
+    private static boolean isCorrect(final AnswerMatcher.MatchType match,
+                                     final Question question,
+                                     final ConsoleRenderer out)
+    {
+        switch (match)
+        {
+            case EXACT:
+                out.println(CORRECT + " " + question.getExpectedAnswer());
+                return true;
+            case NEAR:
+                out.println(ACCEPTED + " " + question.getExpectedAnswer());
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Reads one line from the player, ended by a line feed and an optional carriage return before it.
+     * Unlike {@link BufferedReader#readLine()}, this stops reading once the line is too long.
+     *
+     * @param in The player's input.
+     * @return The line.
+     * @throws EOFException         if the player disconnected before sending a line.
+     * @throws LineTooLongException if the line is longer than {@value MAX_LINE_LENGTH} characters.
+     */
+    private static String readLine(final BufferedReader in) throws IOException
+    {
+        final StringBuilder line;
+        line = new StringBuilder();
+
+        while (true)
+        {
+            final int next;
+            next = in.read();
+
+            if (next == END_OF_STREAM)
+            {
+                if (line.isEmpty())
+                {
+                    throw new EOFException("Player disconnected");
+                }
+                break;
+            }
+
+            if (next == LINE_FEED)
+            {
+                break;
+            }
+
+            // the carriage return of a CRLF line break still fits in the limit
+            if (line.length() > MAX_LINE_LENGTH)
+            {
+                throw new LineTooLongException();
+            }
+
+            line.append((char) next);
+        }
+
+        if (!line.isEmpty() && line.charAt(line.length() - 1) == CARRIAGE_RETURN)
+        {
+            line.setLength(line.length() - 1);
+        }
+
+        if (line.length() > MAX_LINE_LENGTH)
+        {
+            throw new LineTooLongException();
+        }
+
+        return line.toString();
+    }
+
+    /**
+     * Thrown when a player sends a line longer than {@value MAX_LINE_LENGTH} characters.
+     */
+    private static final class LineTooLongException extends IOException
+    {
+        private static final long serialVersionUID = 1L;
+
+        private LineTooLongException()
+        {
+            super("Line longer than " + MAX_LINE_LENGTH + " characters");
+        }
+    }
+}
@@ -0,0 +1,374 @@
+package ca.bcit.termproject.wordgame;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The {@code WordGameSimulator} class plays the word game headlessly with simulated players, to measure
+ * how the game loop, grading and score persistence hold up under load.
+ * <p>
+ * The simulator works as follows:
+ * 1. One {@link World} and one {@link AnswerMatcher} are shared by every session.
+ * 2. Each session is a {@link GameSession} with its own seeded random number generator, answered by an
+ *    {@link AnswerStrategy} instead of the console.
+ * 3. Sessions run in parallel on one thread per available processor.
+ * 4. When a session has played its games, its Score is appended to a temporary score file with
+ *    {@link Score#appendScoreToFile(Score, String)}, one session at a time, exactly as the console game
+ *    does at game over.
+ * <p>
+ * The simulator reports games per second, percentiles of the time to grade one answer, and how many
+ * scores per second were persisted. The scores are read back to check that none were lost, and the
+ * temporary file is deleted afterwards.
+ * <p>
+ * Run from the repository root:
+ * {@code java ca.bcit.termproject.wordgame.WordGameSimulator [sessions] [gamesPerSession] [right|random|typo] [probability]}
+ *
+ * @author Jonah Botelho
+ * @version 1.0
+ */
+public final class WordGameSimulator
+{
+    private static final int    DEFAULT_SESSIONS          = 1_000;
+    private static final int    DEFAULT_GAMES_PER_SESSION = 50;
+    private static final String DEFAULT_STRATEGY          = "typo";
+    private static final double DEFAULT_PROBABILITY       = 0.2;
+    private static final int    MAX_ATTEMPTS              = AnswerStrategy.SECOND_ATTEMPT;
+    private static final long   SEED                      = 2522L;
+    private static final int    NOTHING                   = 0;
+    private static final double NANOS_PER_SECOND          = 1_000_000_000.0;
+    private static final double NANOS_PER_MILLISECOND     = 1_000_000.0;
+    private static final double NANOS_PER_MICROSECOND     = 1_000.0;
+    private static final double HUNDRED_PERCENT           = 100.0;
+
+    private static final double[] PERCENTILES = {50.0, 90.0, 99.0, 99.9};
+
+    private static final int SESSIONS_ARGUMENT          = 0;
+    private static final int GAMES_PER_SESSION_ARGUMENT = 1;
+    private static final int STRATEGY_ARGUMENT          = 2;
+    private static final int PROBABILITY_ARGUMENT       = 3;
+
+    private static final Object PERSISTENCE_LOCK = new Object();
+
+    /**
+     * Runs the simulation.
+     *
+     * @param args The number of sessions, games per session, strategy name and strategy probability, all optional.
+     */
+    public static void main(final String[] args) throws IOException, InterruptedException, ExecutionException
+    {
+        final int sessions;
+        final int gamesPerSession;
+        final String strategyName;
+        final double probability;
+        final AnswerStrategy strategy;
+        final World world;
+        final AnswerMatcher matcher;
+        final Path scoreFile;
+        final int threads;
+
+        sessions        = args.length > SESSIONS_ARGUMENT ?
+                          Integer.parseInt(args[SESSIONS_ARGUMENT]) : DEFAULT_SESSIONS;
+        gamesPerSession = args.length > GAMES_PER_SESSION_ARGUMENT ?
+                          Integer.parseInt(args[GAMES_PER_SESSION_ARGUMENT]) : DEFAULT_GAMES_PER_SESSION;
+        strategyName    = args.length > STRATEGY_ARGUMENT ? args[STRATEGY_ARGUMENT] : DEFAULT_STRATEGY;
+        probability     = args.length > PROBABILITY_ARGUMENT ?
+                          Double.parseDouble(args[PROBABILITY_ARGUMENT]) : DEFAULT_PROBABILITY;
+        strategy        = AnswerStrategy.forName(strategyName, probability);
+        world           = World.getInstance();
+        matcher         = new AnswerMatcher(world, AnswerMatcher.DEFAULT_MAX_DISTANCE);
+        threads         = Runtime.getRuntime().availableProcessors();
+
+        if (sessions <= NOTHING || gamesPerSession <= NOTHING)
+        {
+            throw new IllegalArgumentException("Sessions and games per session must be positive");
+        }
+
+        scoreFile = Files.createTempFile("wordgame_score", ".txt");
+
+        System.out.printf("Strategy %s (%.2f), %d sessions of %d games on %d threads%n",
+                          strategyName, probability, sessions, gamesPerSession, threads);
+
+        try
+        {
+            simulate(world, matcher, strategy, sessions, gamesPerSession, threads, scoreFile);
+        }
+        finally
+        {
+            Files.deleteIfExists(scoreFile);
+        }
+    }
+
+    /**
+     * Runs every session on a thread pool, then prints the results.
+     *
+     * @param world           The shared World.
+     * @param matcher         The shared answer matcher.
+     * @param strategy        How the simulated players answer.
+     * @param sessions        The number of sessions to run.
+     * @param gamesPerSession The number of games each session plays.
+     * @param threads         The number of threads to run sessions on.
+     * @param scoreFile       The file the scores are appended to.
+     */
+    private static void simulate(final World world,
+                                 final AnswerMatcher matcher,
+                                 final AnswerStrategy strategy,
+                                 final int sessions,
+                                 final int gamesPerSession,
+                                 final int threads,
+                                 final Path scoreFile) throws IOException, InterruptedException, ExecutionException
+    {
+        final ExecutorService pool;
+        final List<Future<SessionResult>> futures;
+        final List<SessionResult> results;
+        final long startTime;
+        final long elapsed;
+
+        pool    = Executors.newFixedThreadPool(threads);
+        futures = new ArrayList<>(sessions);
+        results = new ArrayList<>(sessions);
+
+        startTime = System.nanoTime();
+
+        try
+        {
+            for (int i = NOTHING; i < sessions; i++)
+            {
+                final long seed;
+                seed = SEED + i;
+
+                futures.add(pool.submit(() -> playSession(world,
+                                                          matcher,
+                                                          strategy,
+                                                          new Random(seed),
+                                                          gamesPerSession,
+                                                          scoreFile.toString())));
+            }
+
+            for (final Future<SessionResult> future : futures)
+            {
+                results.add(future.get());
+            }
+        }
+        finally
+        {
+            pool.shutdownNow();
+        }
+
+        elapsed = System.nanoTime() - startTime;
+
+        report(results, elapsed, sessions, gamesPerSession, scoreFile);
+    }
+
+    /**
+     * Plays every game of one session, then appends the session's score to the score file.
+     *
+     * @param world           The shared World.
+     * @param matcher         The shared answer matcher.
+     * @param strategy        How the simulated player answers.
+     * @param random          The random number generator of this session.
+     * @param gamesPerSession The number of games to play.
+     * @param scoreFile       The file the score is appended to.
+     * @return The answer latencies and persistence time of the session.
+     */
+    private static SessionResult playSession(final World world,
+                                             final AnswerMatcher matcher,
+                                             final AnswerStrategy strategy,
+                                             final Random random,
+                                             final int gamesPerSession,
+                                             final String scoreFile) throws IOException
+    {
+        final GameSession session;
+        final long[] latencies;
+        final long persistNanos;
+        int answers;
+
+        session   = new GameSession(world, matcher, random);
+        latencies = new long[gamesPerSession * GameSession.QUESTIONS_PER_GAME * MAX_ATTEMPTS];
+        answers   = NOTHING;
+
+        for (int game = NOTHING; game < gamesPerSession; game++)
+        {
+            for (final Question question : session.startGame())
+            {
+                final String firstAnswer;
+                final long firstStart;
+                final AnswerMatcher.MatchType firstMatch;
+
+                firstAnswer          = strategy.answer(question, AnswerStrategy.FIRST_ATTEMPT, random);
+                firstStart           = System.nanoTime();
+                firstMatch           = session.submitFirstAttempt(question, firstAnswer);
+                latencies[answers++] = System.nanoTime() - firstStart;
+
+                if (firstMatch == AnswerMatcher.MatchType.NONE)
+                {
+                    final String secondAnswer;
+                    final long secondStart;
+
+                    secondAnswer = strategy.answer(question, AnswerStrategy.SECOND_ATTEMPT, random);
+                    secondStart  = System.nanoTime();
+                    session.submitSecondAttempt(question, secondAnswer);
+                    latencies[answers++] = System.nanoTime() - secondStart;
+                }
+            }
+
+            session.finishGame();
+        }
+
+        persistNanos = persist(session.toScore(LocalDateTime.now()), scoreFile);
+
+        return new SessionResult(Arrays.copyOf(latencies, answers), persistNanos);
+    }
+
+    /**
+     * Appends a score to the score file. Appends are serialized so that concurrent sessions
+     * cannot interleave their lines.
+     *
+     * @param score     The score to append.
+     * @param scoreFile The file to append to.
+     * @return The time spent appending, in nanoseconds, not counting the wait for other sessions.
+     */
+    private static long persist(final Score score,
+                                final String scoreFile) throws IOException
+    {
+        synchronized (PERSISTENCE_LOCK)
+        {
+            final long startTime;
+            startTime = System.nanoTime();
+
+            Score.appendScoreToFile(score, scoreFile);
+
+            return System.nanoTime() - startTime;
+        }
+    }
+
+    /**
+     * Prints the throughput, answer latency percentiles and persistence throughput of a simulation,
+     * after checking that every score was persisted.
+     *
+     * @param results         The results of every session.
+     * @param elapsed         The wall-clock time of the simulation, in nanoseconds.
+     * @param sessions        The number of sessions.
+     * @param gamesPerSession The number of games each session played.
+     * @param scoreFile       The file the scores were appended to.
+     */
+    private static void report(final List<SessionResult> results,
+                               final long elapsed,
+                               final int sessions,
+                               final int gamesPerSession,
+                               final Path scoreFile) throws IOException
+    {
+        final long[] latencies;
+        final int persistedScores;
+        long persistNanos;
+        int answers;
+
+        answers      = NOTHING;
+        persistNanos = NOTHING;
+
+        for (final SessionResult result : results)
+        {
+            answers      += result.latencies.length;
+            persistNanos += result.persistNanos;
+        }
+
+        latencies = new long[answers];
+        answers   = NOTHING;
+
+        for (final SessionResult result : results)
+        {
+            System.arraycopy(result.latencies, NOTHING, latencies, answers, result.latencies.length);
+            answers += result.latencies.length;
+        }
+
+        Arrays.sort(latencies);
+
+        persistedScores = Score.readScoresFromFile(scoreFile.toString()).size();
+
+        if (persistedScores != sessions)
+        {
+            throw new IllegalStateException("Expected " + sessions + " scores but found " + persistedScores);
+        }
+
+        System.out.printf("Games:       %,.0f games/s (%,d games in %.2f s)%n",
+                          (double) sessions * gamesPerSession * NANOS_PER_SECOND / elapsed,
+                          (long) sessions * gamesPerSession,
+                          elapsed / NANOS_PER_SECOND);
+        System.out.printf("Answers:     %,.0f answers/s (%,d answers)%n",
+                          latencies.length * NANOS_PER_SECOND / elapsed,
+                          latencies.length);
+
+        for (final double percentile : PERCENTILES)
+        {
+            System.out.printf("  p%-5s     %.2f us%n",
+                              percentileLabel(percentile),
+                              percentile(latencies, percentile) / NANOS_PER_MICROSECOND);
+        }
+
+        System.out.printf("  max        %.2f us%n", latencies[latencies.length - 1] / NANOS_PER_MICROSECOND);
+        System.out.printf("Persistence: %,.0f scores/s (%d scores, %.2f ms appending)%n",
+                          persistedScores * NANOS_PER_SECOND / persistNanos,
+                          persistedScores,
+                          persistNanos / NANOS_PER_MILLISECOND);
+    }
+
+    /**
+     * Returns a value of a sorted array at a percentile, by the nearest-rank method.
+     *
+     * @param sorted     The sorted values, which must not be empty.
+     * @param percentile The percentile, from 0 to 100.
+     * @return The value at the percentile.
+     */
+    static long percentile(final long[] sorted,
+                           final double percentile)
+    {
+        final int rank;
+        rank = (int) Math.ceil(percentile / HUNDRED_PERCENT * sorted.length);
+
+        return sorted[Math.max(rank - 1, NOTHING)];
+    }
+
+    /**
+     * Returns a percentile as a label, without a fraction if it is whole.
+     *
+     * @param percentile The percentile.
+     * @return The label, such as "99" or "99.9".
+     */
+    private static String percentileLabel(final double percentile)
+    {
+        return percentile == Math.rint(percentile) ?
+               Integer.toString((int) percentile) :
+               Double.toString(percentile);
+    }
+
+    /**
+     * The answer latencies and persistence time of one session.
+     */
+    private static final class SessionResult
+    {
+        private final long[] latencies;
+        private final long   persistNanos;
+
+        /**
+         * Constructs a SessionResult.
+         *
+         * @param latencies    The time to grade each answer, in nanoseconds.
+         * @param persistNanos The time spent appending the score, in nanoseconds.
+         */
+        private SessionResult(final long[] latencies,
+                              final long persistNanos)
+        {
+            this.latencies    = latencies;
+            this.persistNanos = persistNanos;
+        }
+    }
+}
@@ -1,11 +1,20 @@
 package ca.bcit.termproject.wordgame;
 
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
 
 /**
  * The World class represents a collection of countries, each stored in a HashMap with the country's name as the key
@@ -15,7 +24,7 @@ import java.util.List;
  * Key Features:
  * 1. Loads country information from alphabetically organized text files (a.txt, b.txt, etc.).
  * 2. Each file contains country records in a specific format: country name and capital, followed by three facts.
- * 3. Validates file existence and reads data line by line to extract relevant country details.
+ * 3. Validates file existence and streams each file in a single pass, skipping and reporting malformed records.
  * 4. Creates Country objects based on the parsed data and stores them in a HashMap for efficient access during gameplay.
  * <p>
  * The constructor of the class iterates over files named after each letter of the alphabet (a.txt, b.txt, etc.) and processes
@@ -23,100 +32,707 @@ import java.util.List;
  * of the Country class and stored in the `world` HashMap, which can later be accessed for the game.
  * <p>
  * The class also provides a method to retrieve the `world` HashMap, which contains all countries' data, for use in the WordGame.
+ * <p>
+ * Rather than parsing the text files on every start, World memory-maps a precompiled binary snapshot of them
+ * (see {@link CountrySnapshot}), rebuilding the snapshot whenever the text files change.
+ * <p>
+ * Alongside the map keyed by exact country name, World builds secondary indexes at load time so a country can
+ * be found by its capital city or by a case-insensitive name in constant time. The keys of these indexes are folded
+ * once per country at load time (see {@link #normalize(String)}), so a lookup only folds the name being looked up.
+ * Alternate names from the optional alias lines of the letter files are kept in one more hashed index, from the
+ * folded alias to the answer key it stands for, so "USA" or "Czechia" resolve with a single lookup.
+ * <p>
+ * Country data can come from any {@link CountrySource}, such as a directory of letter files, classpath resources,
+ * a snapshot, or countries built in memory for tests and benchmarks.
+ * <p>
+ * A World is immutable once constructed. Games should not construct their own World; instead they share the
+ * process-wide catalog returned by {@link #getInstance()}, which is loaded lazily on first use and kept until
+ * {@link #reload()} is called. A single letter shard of the shared catalog can also be swapped atomically with
+ * {@link #replaceShard(char, List)}, which {@link WorldWatcher} uses to hot reload edited letter files. Each
+ * World records how long it took to load so the cost of reading the data files can be monitored.
  *
  * @author Jonah Botelho
  * @version 1.0
  */
 public final class World
 {
-    private static final int FILE_READER_START   = 1;
-    private static final int FACTS_LENGTH        = 3;
-    private static final int ALPHABET_LENGTH     = 26 + 'a';
-    private static final int FIRST_INDEX         = 0;
-    private static final int SECOND_INDEX        = 1;
-    private static final int THIRD_INDEX         = 2;
-    private static final int OFFSET_AT_START     = 2;
-    private static final int FIRST_FACT_OFFSET   = 1;
-    private static final int SECOND_FACT_OFFSET  = 2;
-    private static final int THIRD_FACT_OFFSET   = 3;
+    private static final int     NOTHING              = 0;
+    private static final char    LAST_ASCII_CHARACTER = 0x7F;
+    private static final Pattern COMBINING_MARKS      = Pattern.compile("\\p{M}+");
+
+    /** The directory containing the letter files, which are the source of truth for country data. */
+    static final Path DATA_DIRECTORY  = Paths.get("src", "res", "wordgame", "countrydata");
+    /** The precompiled binary snapshot of the letter files. */
+    static final Path SNAPSHOT_FILE   = Paths.get("src", "data", "wordgame_countries.snapshot");
+    /** The cached fact index of the default data, next to the snapshot. */
+    static final Path FACT_INDEX_FILE = Paths.get("src", "data", "wordgame_facts.index");
 
-    private final HashMap<String, Country> world;
+    private static final Object        INSTANCE_LOCK = new Object();
+    private static final AtomicInteger LOAD_COUNT    = new AtomicInteger();
+
+    private static final AtomicReference<World> INSTANCE = new AtomicReference<>();
+
+    private final Map<String, Country>               world;
+    private final Map<String, Country>               worldByNormalizedName;
+    private final Map<String, Country>               worldByCapital;
+    private final Map<String, String>                answerKeyByAlias;
+    private final List<Country>                      countries;
+    private final Country[]                          countryArray;
+    private final SortedMap<Character, List<Country>> shards;
+    private final long                               loadTimeNanos;
+    private final Path                               factIndexFile;
+
+    private volatile CountryDifficulty difficulty;
+    private volatile DistractorIndex   distractors;
+    private volatile FactIndex         factIndex;
+    private volatile SpatialIndex      spatialIndex;
 
     /**
-     * Constructs a World object by loading and parsing country data from text files.
+     * Constructs a World object by loading the country data.
      * <p>
-     * Initializes the world HashMap by reading country information from alphabetically organized
-     * data files (a.txt, b.txt, etc.). Each file contains country records in a specific format:
+     * The country data is read from the precompiled binary snapshot (see {@link CountrySnapshot}),
+     * which is memory-mapped rather than parsed. If the snapshot is missing or older than the
+     * letter files, it is rebuilt from the letter files first. If the snapshot cannot be written,
+     * the letter files are parsed directly instead.
+     * <p>
+     * The letter files remain the source of truth. Each file contains country records in a specific format:
      * <p>
      * For each country:
      * - First line: "CountryName:CapitalCity"
      * - Next 3 lines: Interesting facts about the country
      * <p>
-     * The constructor:
-     * - Processes files for each letter of the alphabet (a-z)
-     * - Validates file existence before reading
-     * - Parses each country's name, capital, and facts
-     * - Creates Country objects and stores them in the world HashMap
-     * <p>
      * Expected file structure example:
      * "Canada:Ottawa
      *  Fact 1 about Canada
      *  Fact 2 about Canada
      *  Fact 3 about Canada"
+     * <p>
+     * Prefer {@link #getInstance()} over this constructor, as every call reloads the data.
      */
     public World() throws IOException
     {
-        world = new HashMap<>();
+        this(false);
+    }
+
+    /**
+     * Constructs a World object by loading the country data, optionally parsing the letter files
+     * concurrently whenever they need to be parsed (see {@link #World()}).
+     * <p>
+     * The {@link FactIndex} is loaded on first use from its cache file next to the snapshot, and the cache
+     * is rebuilt when the letter files change.
+     * <p>
+     * Parsing in parallel helps when the snapshot has to be rebuilt from a large catalog; when the
+     * snapshot is up to date no letter file is parsed and this option has no effect.
+     *
+     * @param parallelLoad true to parse the letter files concurrently, false to parse them one by one.
+     */
+    public World(final boolean parallelLoad) throws IOException
+    {
+        // arguments are evaluated left to right, so opening or rebuilding the snapshot counts as loading
+        this(System.nanoTime(), createDefaultSource(parallelLoad), parallelLoad, FACT_INDEX_FILE);
+    }
+
+    /**
+     * Constructs a World object holding every country of the given source.
+     *
+     * @param source The source to load the countries from.
+     */
+    public World(final CountrySource source) throws IOException
+    {
+        this(source, false);
+    }
 
-        for (char fileIndex = 'a'; fileIndex < ALPHABET_LENGTH; fileIndex++)
+    /**
+     * Constructs a World object holding every country of the given source, optionally loading
+     * the source's shards concurrently.
+     * <p>
+     * If several countries share a name, the last one loaded is kept.
+     *
+     * @param source       The source to load the countries from.
+     * @param parallelLoad true to load the shards concurrently, false to load them one by one.
+     */
+    public World(final CountrySource source,
+                 final boolean parallelLoad) throws IOException
+    {
+        this(System.nanoTime(), source, parallelLoad, null);
+    }
+
+    /**
+     * Constructs a World object holding every country of the given source, timed from a given start.
+     *
+     * @param startTime     The time loading started, from {@link System#nanoTime()}.
+     * @param source        The source to load the countries from.
+     * @param parallelLoad  true to load the shards concurrently, false to load them one by one.
+     * @param factIndexFile The cache file of the fact index, or null to build the index in memory.
+     */
+    private World(final long startTime,
+                  final CountrySource source,
+                  final boolean parallelLoad,
+                  final Path factIndexFile) throws IOException
+    {
+        this(startTime, loadFrom(source, parallelLoad), factIndexFile);
+    }
+
+    /**
+     * Constructs a World object from loaded countries, building every index.
+     *
+     * @param startTime       The time loading started, from {@link System#nanoTime()}.
+     * @param loadedCountries The loaded countries, in source order.
+     * @param factIndexFile   The cache file of the fact index, or null to build the index in memory.
+     */
+    private World(final long startTime,
+                  final List<Country> loadedCountries,
+                  final Path factIndexFile)
+    {
+        final TreeMap<Character, List<Country>> loadedShards;
+        final HashMap<String, Country> loadedWorld;
+        final HashMap<String, Country> loadedByNormalizedName;
+        final HashMap<String, Country> loadedByCapital;
+        final HashMap<String, String> loadedAliases;
+        final List<Country> uniqueCountries;
+
+        loadedShards           = new TreeMap<>();
+        loadedWorld            = new HashMap<>();
+        loadedByNormalizedName = new HashMap<>();
+        loadedByCapital        = new HashMap<>();
+        loadedAliases          = new HashMap<>();
+        uniqueCountries        = new ArrayList<>();
+
+        for (final Country country : loadedCountries)
         {
-            final String fileName;
-            final Path filePath;
+            loadedWorld.put(country.getName(), country);
+            loadedShards.computeIfAbsent(CountrySource.getShardLetter(country.getName()), letter -> new ArrayList<>())
+                        .add(country);
+        }
 
-            fileName = "src/res/wordgame/countrydata/" + fileIndex + ".txt";
-            filePath = Paths.get(fileName);
+        // build the secondary indexes in file order, from the countries that won the name map
+        for (final Country country : loadedCountries)
+        {
+            if (loadedWorld.get(country.getName()) == country)
+            {
+                uniqueCountries.add(country);
+                loadedByNormalizedName.putIfAbsent(country.getNameKey(), country);
+                loadedByCapital.putIfAbsent(country.getCapitalCityKey(), country);
+            }
+        }
+
+        // aliases never shadow the real name or capital of another country
+        for (final Country country : uniqueCountries)
+        {
+            addAliases(loadedAliases, country.getNameAliases(), country.getNameKey(), loadedByNormalizedName);
+            addAliases(loadedAliases, country.getCapitalCityAliases(), country.getCapitalCityKey(), loadedByCapital);
+        }
 
-            if (Files.exists(filePath))
+        world                 = Map.copyOf(loadedWorld);
+        worldByNormalizedName = Map.copyOf(loadedByNormalizedName);
+        worldByCapital        = Map.copyOf(loadedByCapital);
+        answerKeyByAlias      = Map.copyOf(loadedAliases);
+        countries             = List.copyOf(uniqueCountries);
+        countryArray          = uniqueCountries.toArray(new Country[NOTHING]);
+        shards                = Collections.unmodifiableSortedMap(loadedShards);
+        this.factIndexFile    = factIndexFile;
+        loadTimeNanos         = System.nanoTime() - startTime;
+
+        LOAD_COUNT.incrementAndGet();
+    }
+
+    /**
+     * Adds the folded keys of a country's aliases to the alias index, each mapped to the answer key it
+     * stands for. An alias that is already a real answer, or an alias of an earlier country, is ignored.
+     *
+     * @param aliasIndex The alias index being built.
+     * @param aliases    The aliases to add.
+     * @param answerKey  The answer key of the name or capital the aliases stand for.
+     * @param realNames  The index of real names or capitals of the same kind.
+     */
+    private static void addAliases(final Map<String, String> aliasIndex,
+                                   final String[] aliases,
+                                   final String answerKey,
+                                   final Map<String, Country> realNames)
+    {
+        for (final String alias : aliases)
+        {
+            final String aliasKey;
+            aliasKey = normalize(alias);
+
+            if (!realNames.containsKey(aliasKey))
             {
-                final List<String> lines;
-                lines = Files.readAllLines(filePath);
+                aliasIndex.putIfAbsent(aliasKey, answerKey);
+            }
+        }
+    }
+
+    /**
+     * Loads every country of a source.
+     *
+     * @param source       The source to load the countries from.
+     * @param parallelLoad true to load the shards concurrently.
+     * @return Every country of the source.
+     */
+    private static List<Country> loadFrom(final CountrySource source,
+                                          final boolean parallelLoad) throws IOException
+    {
+        if (source == null)
+        {
+            throw new IllegalArgumentException("Country source cannot be null");
+        }
+
+        return source.loadAll(parallelLoad);
+    }
 
-                // iterate through lines
-                for (int i = FILE_READER_START; i < lines.size(); i += FACTS_LENGTH + OFFSET_AT_START)
+    /**
+     * Returns a new World in which one shard's countries are replaced, leaving every other shard as it is.
+     * Nothing is read from disk; only the indexes are rebuilt. This World is not changed.
+     *
+     * @param letter         The lower-case letter of the shard to replace.
+     * @param shardCountries The new countries of the shard; an empty list removes the shard.
+     * @return The new World.
+     */
+    public World withShard(final char letter,
+                           final List<Country> shardCountries)
+    {
+        if (shardCountries == null)
+        {
+            throw new IllegalArgumentException("Shard countries cannot be null");
+        }
+
+        final long startTime;
+        final TreeMap<Character, List<Country>> updatedShards;
+        final List<Country> updatedCountries;
+
+        startTime     = System.nanoTime();
+        updatedShards = new TreeMap<>(shards);
+
+        if (shardCountries.isEmpty())
+        {
+            updatedShards.remove(letter);
+        }
+        else
+        {
+            updatedShards.put(letter, List.copyOf(shardCountries));
+        }
+
+        updatedCountries = new ArrayList<>();
+        for (final List<Country> shard : updatedShards.values())
+        {
+            updatedCountries.addAll(shard);
+        }
+
+        return new World(startTime, updatedCountries, null);
+    }
+
+    /**
+     * Creates the default country source: the snapshot of the letter files in {@link #DATA_DIRECTORY},
+     * rebuilt first if it is stale, or the letter files themselves if the snapshot cannot be written.
+     *
+     * @param parallelLoad true to parse the letter files concurrently if they need parsing.
+     * @return The default country source.
+     */
+    private static CountrySource createDefaultSource(final boolean parallelLoad)
+    {
+        try
+        {
+            return SnapshotCountrySource.openOrRebuild(DATA_DIRECTORY, SNAPSHOT_FILE, parallelLoad);
+        }
+        catch (final IOException e)
+        {
+            // the snapshot is only a cache, so fall back to the source of truth
+            return new DirectoryCountrySource(DATA_DIRECTORY);
+        }
+    }
+
+    /**
+     * Returns the shared World catalog, loading it from the data files on first use.
+     * <p>
+     * The catalog is created at most once, even when several threads request it at the same time.
+     * Every later call returns the same immutable instance without touching the disk.
+     *
+     * @return The shared World catalog.
+     */
+    public static World getInstance() throws IOException
+    {
+        World current;
+        current = INSTANCE.get();
+
+        if (current == null)
+        {
+            synchronized (INSTANCE_LOCK)
+            {
+                current = INSTANCE.get();
+
+                if (current == null)
                 {
-                    final String[] countryAndCapitalString;
-                    final String name;
-                    final String capitalCityName;
-                    final String[] facts;
-                    final Country currentCountry;
-
-                    // retrieve country/capital name
-                    countryAndCapitalString = lines.get(i).split(":");
-                    name = countryAndCapitalString[FIRST_INDEX];
-                    capitalCityName = countryAndCapitalString[SECOND_INDEX];
-
-                    // retrieve facts
-                    facts = new String[FACTS_LENGTH];
-                    facts[FIRST_INDEX] = lines.get(i + FIRST_FACT_OFFSET);
-                    facts[SECOND_INDEX] = lines.get(i + SECOND_FACT_OFFSET);
-                    facts[THIRD_INDEX] = lines.get(i + THIRD_FACT_OFFSET);
-
-                    currentCountry = new Country(name, capitalCityName, facts);
-
-                    world.put(name, currentCountry);
+                    current = new World();
+                    INSTANCE.set(current);
                 }
             }
         }
+
+        return current;
+    }
+
+    /**
+     * Re-reads the data files and replaces the shared World catalog.
+     * <p>
+     * Callers that already hold the previous catalog keep a consistent view of it; only
+     * later calls to {@link #getInstance()} see the new data.
+     *
+     * @return The newly loaded World catalog.
+     */
+    public static World reload() throws IOException
+    {
+        final World reloaded;
+        reloaded = new World();
+
+        INSTANCE.set(reloaded);
+
+        return reloaded;
+    }
+
+    /**
+     * Replaces one shard of the shared World catalog with an atomic swap, without reloading any
+     * other shard. Readers never block: they see either the previous catalog or the new one.
+     * If the catalog has not been loaded yet, nothing is replaced.
+     *
+     * @param letter         The lower-case letter of the shard to replace.
+     * @param shardCountries The new countries of the shard; an empty list removes the shard.
+     * @return The new shared catalog, or null if the catalog has not been loaded yet.
+     */
+    public static World replaceShard(final char letter,
+                                     final List<Country> shardCountries)
+    {
+        World current;
+        World updated;
+
+        // retry if another swap happened while the new version was being built
+        do
+        {
+            current = INSTANCE.get();
+
+            if (current == null)
+            {
+                return null;
+            }
+
+            updated = current.withShard(letter, shardCountries);
+        }
+        while (!INSTANCE.compareAndSet(current, updated));
+
+        return updated;
+    }
+
+    /**
+     * Returns the number of times the country data files have been loaded by this process.
+     *
+     * @return The number of World objects constructed so far.
+     */
+    public static int getLoadCount()
+    {
+        return LOAD_COUNT.get();
     }
 
     /**
      * Retrieves the map of countries where the key is the country's name and
      * the value is the Country object.
      *
-     * @return A HashMap containing all the countries and their data.
+     * @return An unmodifiable Map containing all the countries and their data.
      */
-    public HashMap<String, Country> getWorld()
+    public Map<String, Country> getWorld()
     {
         return this.world;
     }
+
+    /**
+     * Retrieves every country in the catalog as a list, so callers can pick
+     * countries by index without copying the map.
+     *
+     * @return An unmodifiable List of all the countries.
+     */
+    public List<Country> getCountries()
+    {
+        return this.countries;
+    }
+
+    /**
+     * Returns the number of countries in the catalog.
+     *
+     * @return The number of countries.
+     */
+    public int getCountryCount()
+    {
+        return this.countryArray.length;
+    }
+
+    /**
+     * Returns the country at the given position of the dense country array, in file order.
+     *
+     * @param index The position of the country, from 0 to {@link #getCountryCount()} - 1.
+     * @return The country at that position.
+     */
+    public Country getCountry(final int index)
+    {
+        return this.countryArray[index];
+    }
+
+    /**
+     * Returns the dense array of every country, in file order, without copying it.
+     * The array is shared by every user of this World and must not be modified.
+     *
+     * @return The shared country array.
+     */
+    Country[] getCountryArray()
+    {
+        return this.countryArray;
+    }
+
+    /**
+     * Looks up a country by name or name alias, ignoring case, accents and surrounding whitespace.
+     *
+     * @param name The country name to look up.
+     * @return The matching country, or null if there is none.
+     */
+    public Country getCountryByName(final String name)
+    {
+        if (name == null)
+        {
+            return null;
+        }
+
+        return lookUp(this.worldByNormalizedName, normalize(name));
+    }
+
+    /**
+     * Looks up a country by its capital city or capital city alias, ignoring case, accents and
+     * surrounding whitespace.
+     * If several countries share a capital, the first one loaded is returned.
+     *
+     * @param capitalCityName The capital city name to look up.
+     * @return The country with that capital, or null if there is none.
+     */
+    public Country getCountryByCapital(final String capitalCityName)
+    {
+        if (capitalCityName == null)
+        {
+            return null;
+        }
+
+        return lookUp(this.worldByCapital, normalize(capitalCityName));
+    }
+
+    /**
+     * Looks up a folded key in an index, falling back to the alias index if it is not a real name.
+     *
+     * @param index The index of real names or capitals.
+     * @param key   The folded key to look up.
+     * @return The matching country, or null if there is none.
+     */
+    private Country lookUp(final Map<String, Country> index,
+                           final String key)
+    {
+        final Country country;
+        country = index.get(key);
+
+        if (country != null)
+        {
+            return country;
+        }
+
+        return index.get(resolveAlias(key));
+    }
+
+    /**
+     * Resolves an alias to the answer key it stands for, with one lookup in the alias index.
+     * For example, "usa" resolves to "united states".
+     *
+     * @param key A folded name, as returned by {@link #normalize(String)}.
+     * @return The answer key the alias stands for, or the key itself if it is not an alias.
+     */
+    public String resolveAlias(final String key)
+    {
+        return this.answerKeyByAlias.getOrDefault(key, key);
+    }
+
+    /**
+     * Returns the alias index, mapping the folded key of every alias to the answer key it stands for.
+     *
+     * @return The unmodifiable alias index.
+     */
+    Map<String, String> getAliasIndex()
+    {
+        return this.answerKeyByAlias;
+    }
+
+    /**
+     * Normalizes a name for the secondary indexes and answer grading by trimming it, removing accents
+     * and converting it to lower case, so "Bogotá", "BOGOTA" and " bogota " all give "bogota".
+     * Accents are removed by decomposing the name (Unicode NFD) and dropping the combining marks.
+     * Plain ASCII names, the common case, skip the decomposition.
+     *
+     * @param name The name to normalize.
+     * @return The normalized name.
+     */
+    static String normalize(final String name)
+    {
+        final String trimmed;
+        trimmed = name.trim();
+
+        for (int i = NOTHING; i < trimmed.length(); i++)
+        {
+            if (trimmed.charAt(i) > LAST_ASCII_CHARACTER)
+            {
+                return COMBINING_MARKS.matcher(Normalizer.normalize(trimmed, Normalizer.Form.NFD))
+                                      .replaceAll("")
+                                      .toLowerCase(Locale.ROOT);
+            }
+        }
+
+        return trimmed.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns the answer statistics of this World's countries, creating them on first use.
+     * Every session over this World records its answers here, and the weighted question selection
+     * of {@link DifficultyWeightedSampler} is built from them.
+     *
+     * @return The difficulty statistics.
+     */
+    public CountryDifficulty getDifficulty()
+    {
+        CountryDifficulty current;
+        current = difficulty;
+
+        if (current == null)
+        {
+            synchronized (this)
+            {
+                current = difficulty;
+
+                if (current == null)
+                {
+                    current    = new CountryDifficulty(this);
+                    difficulty = current;
+                }
+            }
+        }
+
+        return current;
+    }
+
+    /**
+     * Returns the multiple choice distractors of this World's countries, building them on first use.
+     * The index is only built once a multiple choice game is played.
+     *
+     * @return The distractor index.
+     */
+    public DistractorIndex getDistractors()
+    {
+        DistractorIndex current;
+        current = distractors;
+
+        if (current == null)
+        {
+            synchronized (this)
+            {
+                current = distractors;
+
+                if (current == null)
+                {
+                    current     = new DistractorIndex(this);
+                    distractors = current;
+                }
+            }
+        }
+
+        return current;
+    }
+
+    /**
+     * Returns the inverted index of this World's facts, loading it on first use. The default data reads its
+     * index from the cache file, rebuilding the file if it is stale, so the facts are only decoded when the
+     * cache has to be rebuilt; any other World builds its index in memory.
+     *
+     * @return The fact index.
+     */
+    public FactIndex getFactIndex()
+    {
+        FactIndex current;
+        current = factIndex;
+
+        if (current == null)
+        {
+            synchronized (this)
+            {
+                current = factIndex;
+
+                if (current == null)
+                {
+                    current   = loadFactIndex();
+                    factIndex = current;
+                }
+            }
+        }
+
+        return current;
+    }
+
+    /**
+     * Loads the fact index from the cache file of the default data, or builds it if this World has no cache
+     * file or the letter files cannot be read.
+     *
+     * @return The fact index.
+     */
+    private FactIndex loadFactIndex()
+    {
+        if (factIndexFile != null)
+        {
+            try
+            {
+                return FactIndex.loadOrRebuild(this, DATA_DIRECTORY, factIndexFile);
+            }
+            catch (final IOException e)
+            {
+                // the cache cannot be checked against the letter files, so the index is built in memory
+            }
+        }
+
+        return FactIndex.build(this);
+    }
+
+    /**
+     * Returns the spatial index of this World's capital cities, building it on first use.
+     * Only countries with coordinates are indexed, so the index is empty if the data has none.
+     *
+     * @return The spatial index.
+     */
+    public SpatialIndex getSpatialIndex()
+    {
+        SpatialIndex current;
+        current = spatialIndex;
+
+        if (current == null)
+        {
+            synchronized (this)
+            {
+                current = spatialIndex;
+
+                if (current == null)
+                {
+                    current      = SpatialIndex.build(this);
+                    spatialIndex = current;
+                }
+            }
+        }
+
+        return current;
+    }
+
+    /**
+     * Returns how long it took to read and parse the data files for this World.
+     *
+     * @return The load time in nanoseconds.
+     */
+    public long getLoadTimeNanos()
+    {
+        return this.loadTimeNanos;
+    }
 }
@@ -0,0 +1,219 @@
+package ca.bcit.termproject.wordgame;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code WorldWatcher} class hot reloads the shared {@link World} catalog when a letter file is edited,
+ * so changes to the country data no longer need a restart.
+ * <p>
+ * The watcher listens for changes to the data directory on a background daemon thread. When a letter file
+ * (a.txt to z.txt) is created, modified or deleted, only that letter's shard is reparsed, and the new catalog
+ * is published with {@link World#replaceShard(char, List)}, an atomic reference swap. Readers never take a
+ * lock, and a question that is already in progress keeps the catalog it started with.
+ * <p>
+ * Watching is opt-in. It can be started directly, or for the word game by setting the system property
+ * {@value #HOT_RELOAD_PROPERTY} to {@code true}. The time taken by the most recent reload and the number
+ * of reloads are available as metrics.
+ *
+ * @author Jonah Botelho
+ * @version 1.0
+ */
+public final class WorldWatcher implements Closeable
+{
+    /** The system property that turns on hot reloading of the shared catalog in the word game. */
+    public static final String HOT_RELOAD_PROPERTY = "wordgame.hotReload";
+
+    private static final String THREAD_NAME           = "world-watcher";
+    private static final String LETTER_FILE_EXTENSION = ".txt";
+    private static final int    LETTER_FILE_LENGTH    = 1 + LETTER_FILE_EXTENSION.length();
+    private static final int    LETTER_INDEX          = 0;
+    private static final Object DEFAULT_WATCHER_LOCK  = new Object();
+
+    private static WorldWatcher defaultWatcher;
+
+    private final DirectoryCountrySource source;
+    private final WatchService           watchService;
+    private final Thread                 thread;
+    private final AtomicInteger          reloadCount;
+    private final AtomicLong             lastReloadNanos;
+
+    /**
+     * Constructs a WorldWatcher for a directory of letter files and starts watching it.
+     *
+     * @param dataDirectory The directory containing the letter files of the shared catalog.
+     */
+    public WorldWatcher(final Path dataDirectory) throws IOException
+    {
+        this.source          = new DirectoryCountrySource(dataDirectory);
+        this.watchService    = FileSystems.getDefault().newWatchService();
+        this.reloadCount     = new AtomicInteger();
+        this.lastReloadNanos = new AtomicLong();
+
+        dataDirectory.register(watchService,
+                               StandardWatchEventKinds.ENTRY_CREATE,
+                               StandardWatchEventKinds.ENTRY_MODIFY,
+                               StandardWatchEventKinds.ENTRY_DELETE);
+
+        this.thread = new Thread(this::watch, THREAD_NAME);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Starts one process-wide watcher on {@link World#DATA_DIRECTORY} if the system property
+     * {@value #HOT_RELOAD_PROPERTY} is {@code true}. Later calls do nothing.
+     *
+     * @return The process-wide watcher, or null if hot reloading is not enabled.
+     */
+    public static WorldWatcher startIfEnabled() throws IOException
+    {
+        if (!Boolean.getBoolean(HOT_RELOAD_PROPERTY))
+        {
+            return null;
+        }
+
+        synchronized (DEFAULT_WATCHER_LOCK)
+        {
+            if (defaultWatcher == null)
+            {
+                defaultWatcher = new WorldWatcher(World.DATA_DIRECTORY);
+            }
+
+            return defaultWatcher;
+        }
+    }
+
+    /**
+     * Waits for changes and reloads each changed shard once per batch of events.
+     */
+    private void watch()
+    {
+        while (true)
+        {
+            final WatchKey key;
+            final Set<Character> changedLetters;
+
+            try
+            {
+                key = watchService.take();
+            }
+            catch (final InterruptedException | ClosedWatchServiceException e)
+            {
+                return;
+            }
+
+            // an editor often produces several events for one save, so collect the letters first
+            changedLetters = new TreeSet<>();
+            for (final WatchEvent<?> event : key.pollEvents())
+            {
+                if (event.context() instanceof Path changedFile)
+                {
+                    final String fileName;
+                    fileName = changedFile.getFileName().toString();
+
+                    if (isLetterFile(fileName))
+                    {
+                        changedLetters.add(fileName.charAt(LETTER_INDEX));
+                    }
+                }
+            }
+
+            for (final char letter : changedLetters)
+            {
+                reloadShard(letter);
+            }
+
+            if (!key.reset())
+            {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Reparses one letter file and swaps it into the shared catalog, recording how long it took.
+     * A file that cannot be read is reported and the current catalog is kept.
+     *
+     * @param letter The letter of the changed file.
+     */
+    private void reloadShard(final char letter)
+    {
+        final long startTime;
+        startTime = System.nanoTime();
+
+        try
+        {
+            World.replaceShard(letter, source.loadShard(letter));
+        }
+        catch (final IOException e)
+        {
+            System.err.println("Could not reload country data for '" + letter + "': " + e.getMessage());
+            return;
+        }
+
+        lastReloadNanos.set(System.nanoTime() - startTime);
+        reloadCount.incrementAndGet();
+    }
+
+    /**
+     * Returns whether a file name is a letter file, such as "a.txt".
+     *
+     * @param fileName The file name to check.
+     * @return true if the file name is a lower-case letter followed by ".txt".
+     */
+    private static boolean isLetterFile(final String fileName)
+    {
+        final char letter;
+
+        if (fileName.length() != LETTER_FILE_LENGTH || !fileName.endsWith(LETTER_FILE_EXTENSION))
+        {
+            return false;
+        }
+
+        letter = fileName.charAt(LETTER_INDEX);
+        return letter >= CountrySource.FIRST_SHARD && letter <= CountrySource.LAST_SHARD;
+    }
+
+    /**
+     * Returns how long the most recent shard reload took, from reading the file to publishing the new catalog.
+     *
+     * @return The latest reload latency in nanoseconds, or 0 if nothing has been reloaded.
+     */
+    public long getLastReloadNanos()
+    {
+        return lastReloadNanos.get();
+    }
+
+    /**
+     * Returns the number of shard reloads published so far.
+     *
+     * @return The number of reloads.
+     */
+    public int getReloadCount()
+    {
+        return reloadCount.get();
+    }
+
+    /**
+     * Stops watching the data directory.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        watchService.close();
+        thread.interrupt();
+    }
+}
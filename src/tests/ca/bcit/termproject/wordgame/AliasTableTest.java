@@ -0,0 +1,50 @@
+package ca.bcit.termproject.wordgame;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AliasTableTest
+{
+    @Test
+    void testDrawsFollowWeights()
+    {
+        double[] weights = {1, 2, 3, 0, 4};
+        AliasTable table = new AliasTable(weights);
+        Random random = new Random(42);
+        int[] counts = new int[weights.length];
+        int draws = 1_000_000;
+
+        for (int i = 0; i < draws; i++)
+        {
+            counts[table.sample(random)]++;
+        }
+
+        assertEquals(0, counts[3], "An index with no weight should never be drawn.");
+        for (int i = 0; i < weights.length; i++)
+        {
+            assertEquals(weights[i] / 10.0, (double) counts[i] / draws, 0.005, "Index " + i + " should be drawn in proportion to its weight.");
+        }
+    }
+
+    @Test
+    void testSingleIndexIsAlwaysDrawn()
+    {
+        AliasTable table = new AliasTable(new double[]{0.3});
+
+        assertEquals(1, table.size());
+        assertEquals(0, table.sample(new Random(1)));
+    }
+
+    @Test
+    void testInvalidWeights()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[0]));
+        assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[]{0, 0}));
+        assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[]{1, -1}));
+        assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[]{1, Double.NaN}));
+    }
+}
@@ -0,0 +1,206 @@
+package ca.bcit.termproject.wordgame;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AnswerMatcherTest
+{
+    private final AnswerMatcher matcher = new AnswerMatcher(List.of("Kabul", "Philippines", "Niger", "Nigeria", "Lima", "Rome"), 2);
+
+    @Test
+    void testExactMatchIgnoresCaseAndWhitespace()
+    {
+        assertEquals(AnswerMatcher.MatchType.EXACT, matcher.grade("  kABUL ", "Kabul"));
+    }
+
+    @Test
+    void testExactMatchIgnoresAccents()
+    {
+        assertEquals(AnswerMatcher.MatchType.EXACT, matcher.grade("Bogota", "Bogotá"));
+        assertEquals(AnswerMatcher.MatchType.EXACT, matcher.gradeKey("ASUNCIÓN", "asuncion"));
+    }
+
+    @Test
+    void testAliasesAreExactMatches() throws IOException
+    {
+        AnswerMatcher worldMatcher = new AnswerMatcher(World.getInstance(), 2);
+
+        assertEquals(AnswerMatcher.MatchType.EXACT, worldMatcher.grade("USA", "United States"));
+        assertEquals(AnswerMatcher.MatchType.EXACT, worldMatcher.grade("kiev", "Kyiv"));
+        assertEquals(AnswerMatcher.MatchType.NONE, worldMatcher.grade("USA", "United Kingdom"));
+        assertEquals(AnswerMatcher.MatchType.NONE, worldMatcher.grade("Washington", "United States"), "A capital alias is not the country name.");
+    }
+
+    @Test
+    void testSmallTyposAreNearMatches()
+    {
+        assertEquals(AnswerMatcher.MatchType.NEAR, matcher.grade("Kabull", "Kabul"));
+        assertEquals(AnswerMatcher.MatchType.NEAR, matcher.grade("Phillipines", "Philippines"));
+    }
+
+    @Test
+    void testOtherKnownAnswerIsNotATypo()
+    {
+        assertEquals(AnswerMatcher.MatchType.NONE, matcher.grade("Niger", "Nigeria"));
+        assertEquals(AnswerMatcher.MatchType.NONE, matcher.grade("Nigeri", "Niger"), "A typo closer to another answer should not be accepted.");
+    }
+
+    @Test
+    void testShortAnswersAllowFewerEdits()
+    {
+        assertEquals(AnswerMatcher.MatchType.NEAR, matcher.grade("Lina", "Lima"));
+        assertEquals(AnswerMatcher.MatchType.NONE, matcher.grade("Lnia", "Lima"));
+        assertEquals(AnswerMatcher.MatchType.NONE, matcher.grade("Toronto", "Rome"));
+    }
+
+    @Test
+    void testMaxDistanceIsConfigurable()
+    {
+        AnswerMatcher strict = new AnswerMatcher(List.of("Philippines"), 0);
+
+        assertEquals(AnswerMatcher.MatchType.EXACT, strict.grade("philippines", "Philippines"));
+        assertEquals(AnswerMatcher.MatchType.NONE, strict.grade("Phillipines", "Philippines"));
+    }
+
+    @Test
+    void testFindClosest()
+    {
+        assertEquals("kabul", matcher.findClosest("Kabol"));
+        assertNull(matcher.findClosest("Ottawa"));
+    }
+
+    @Test
+    void testMatchesFullScan()
+    {
+        Random random = new Random(10L);
+        List<String> answers = new ArrayList<>();
+
+        // a small alphabet makes many answers within a few edits of each other
+        for (int i = 0; i < 400; i++)
+        {
+            answers.add(randomWord(random));
+        }
+
+        AnswerMatcher dense = new AnswerMatcher(answers, 2);
+
+        for (int query = 0; query < 2000; query++)
+        {
+            String expected = answers.get(random.nextInt(answers.size()));
+            String input = random.nextBoolean() ? randomWord(random) : mutate(expected, random);
+
+            assertEquals(scanGrade(answers, input, expected), dense.grade(input, expected), input + " for " + expected);
+            assertEquals(scanClosest(answers, input), dense.findClosest(input), input);
+        }
+    }
+
+    @Test
+    void testEditDistance()
+    {
+        assertEquals(0, AnswerMatcher.editDistance("rome", "rome"));
+        assertEquals(1, AnswerMatcher.editDistance("kabul", "kabull"));
+        assertEquals(3, AnswerMatcher.editDistance("kitten", "sitting"));
+        assertEquals(4, AnswerMatcher.editDistance("", "lima"));
+    }
+
+    @Test
+    void testInvalidArguments()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new AnswerMatcher((List<String>) null, 2));
+        assertThrows(IllegalArgumentException.class, () -> new AnswerMatcher(List.of("Rome"), -1));
+    }
+
+    private static String randomWord(final Random random)
+    {
+        StringBuilder word = new StringBuilder();
+        int length = 3 + random.nextInt(6);
+
+        for (int i = 0; i < length; i++)
+        {
+            word.append("abc".charAt(random.nextInt(3)));
+        }
+
+        return word.toString();
+    }
+
+    private static String mutate(final String word, final Random random)
+    {
+        StringBuilder typo = new StringBuilder(word);
+        int edits = 1 + random.nextInt(2);
+
+        for (int i = 0; i < edits; i++)
+        {
+            int position = random.nextInt(typo.length() + 1);
+
+            switch (random.nextInt(3))
+            {
+                case 0 -> typo.insert(position, "abcd".charAt(random.nextInt(4)));
+                case 1 -> typo.deleteCharAt(Math.min(position, typo.length() - 1));
+                default -> typo.setCharAt(Math.min(position, typo.length() - 1), "abcd".charAt(random.nextInt(4)));
+            }
+        }
+
+        return typo.toString();
+    }
+
+    // the grading rules, checked against every answer
+    private static AnswerMatcher.MatchType scanGrade(final List<String> answers, final String input, final String expected)
+    {
+        if (input.equals(expected))
+        {
+            return AnswerMatcher.MatchType.EXACT;
+        }
+
+        if (answers.contains(input))
+        {
+            return AnswerMatcher.MatchType.NONE;
+        }
+
+        int distance = AnswerMatcher.editDistance(input, expected);
+
+        if (distance > Math.min(2, expected.length() / 4))
+        {
+            return AnswerMatcher.MatchType.NONE;
+        }
+
+        for (String answer : answers)
+        {
+            if (!answer.equals(expected) && AnswerMatcher.editDistance(answer, input) <= distance)
+            {
+                return AnswerMatcher.MatchType.NONE;
+            }
+        }
+
+        return AnswerMatcher.MatchType.NEAR;
+    }
+
+    private static String scanClosest(final List<String> answers, final String input)
+    {
+        String closest = null;
+        int best = 3;
+
+        for (String answer : answers.stream().distinct().toList())
+        {
+            int distance = AnswerMatcher.editDistance(answer, input);
+
+            if (distance < best)
+            {
+                closest = answer;
+                best = distance;
+            }
+            else if (distance == best)
+            {
+                closest = null;
+            }
+        }
+
+        return closest;
+    }
+}
@@ -0,0 +1,162 @@
+package ca.bcit.termproject.wordgame;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AnswerSheetGraderTest
+{
+    private static World newWorld() throws IOException
+    {
+        return new World(new InMemoryCountrySource.Builder()
+                .add("Canada", "Ottawa", "Fact 1", "Fact 2", "Fact 3")
+                .add("Peru", "Lima", "Fact 1", "Fact 2", "Fact 3")
+                .add("Chile", "Santiago", "Fact 1", "Fact 2", "Fact 3")
+                .add("Japan", "Tokyo", "Fact 1", "Fact 2", "Fact 3")
+                .build());
+    }
+
+    private static AnswerSheetGrader newGrader(World world, int threads, int batchSize)
+    {
+        return new AnswerSheetGrader(world, new AnswerMatcher(world, AnswerMatcher.DEFAULT_MAX_DISTANCE),
+                                     threads, batchSize);
+    }
+
+    @Test
+    void testGradesLikeTheConsoleGame(@TempDir Path tempDir) throws Exception
+    {
+        Path sheets = tempDir.resolve("sheets.txt");
+        Path scores = tempDir.resolve("scores.txt");
+
+        Files.writeString(sheets, String.join("\n",
+                "Date and Time: 2025-04-04 17:01:18",
+                "COUNTRY_TO_CAPITAL|Canada|Otawa",
+                "CAPITAL_TO_COUNTRY|Peru|Chile|Peru",
+                "fact_to_country|Japan|China|Korea",
+                "COUNTRY_TO_CAPITAL|Chile|Lima",
+                "",
+                "",
+                "Date and Time: 2025-04-05 09:00:00",
+                "CAPITAL_TO_COUNTRY|Canada|Canada"));
+
+        AnswerSheetGrader.Summary summary = newGrader(newWorld(), 2, 1).grade(sheets, scores);
+        List<Score> read = Score.readScoresFromFile(scores.toString());
+
+        assertEquals(2, summary.getSheetsGraded());
+        assertEquals(0, summary.getSheetsSkipped());
+        assertEquals(5, summary.getAnswersGraded());
+        assertEquals(2, read.size());
+
+        Score first = read.get(0);
+        assertEquals(1, first.getGamesPlayed());
+        assertEquals(1, first.getCorrectOnFirstAttempt(), "A small typo is accepted, as at the console.");
+        assertEquals(1, first.getCorrectOnSecondAttempt());
+        assertEquals(2, first.getIncorrectOnSecondAttempt(), "A missing second attempt is incorrect.");
+        assertEquals(2025, first.getCurrentTime().getYear());
+        assertEquals(1, read.get(1).getCorrectOnFirstAttempt());
+    }
+
+    @Test
+    void testMalformedSheetsAreSkippedAndOrderIsKept() throws IOException, InterruptedException, ExecutionException
+    {
+        StringBuilder input = new StringBuilder();
+
+        for (int i = 0; i < 60; i++)
+        {
+            input.append(String.format("Date and Time: 2025-01-01 00:%02d:00%n", i));
+
+            for (int j = 0; j <= i % 25; j++)
+            {
+                input.append("COUNTRY_TO_CAPITAL|Peru|Lima\n");
+            }
+
+            input.append('\n');
+        }
+
+        input.append("Date and Time: yesterday\nCOUNTRY_TO_CAPITAL|Peru|Lima\n\n");
+        input.append("Date and Time: 2025-01-01 01:00:00\nCOUNTRY_TO_CAPITAL|Atlantis|Lima\n\n");
+        input.append("Date and Time: 2025-01-01 01:00:00\nCOUNTRY_TO_CAPITAL|Peru\n\n");
+        input.append("Date and Time: 2025-01-01 01:00:00\nQUIZ|Peru|Lima\n\n");
+        input.append("Date and Time: 2025-01-01 01:00:00\n\n");
+        input.append("Peru|Lima\n");
+
+        StringWriter output = new StringWriter();
+        AnswerSheetGrader.Summary summary = newGrader(newWorld(), 3, 2)
+                .grade(new BufferedReader(new StringReader(input.toString())), output, "input");
+
+        assertEquals(60, summary.getSheetsGraded());
+        assertEquals(6, summary.getSheetsSkipped());
+
+        String[] lines = output.toString().split("\n");
+        assertEquals(60 * 7, lines.length + 1, "Every record is followed by a blank line.");
+
+        for (int i = 0; i < 60; i++)
+        {
+            assertEquals(String.format("Date and Time: 2025-01-01 00:%02d:00", i), lines[i * 7]);
+            assertEquals("Games Played: " + (i % 25 / 10 + 1), lines[i * 7 + 1]);
+            assertEquals("Correct First Attempts: " + (i % 25 + 1), lines[i * 7 + 2]);
+        }
+    }
+
+    @Test
+    void testOversizedSheetIsSkipped() throws IOException, InterruptedException, ExecutionException
+    {
+        StringBuilder input = new StringBuilder("Date and Time: 2025-01-01 00:00:00\n");
+
+        for (int i = 0; i < AnswerSheetGrader.MAX_SHEET_LINES; i++)
+        {
+            input.append("COUNTRY_TO_CAPITAL|Peru|Lima\n");
+        }
+
+        input.append("\nDate and Time: 2025-01-01 00:01:00\nCOUNTRY_TO_CAPITAL|Peru|Lima\n");
+
+        StringWriter output = new StringWriter();
+        AnswerSheetGrader.Summary summary = newGrader(newWorld(), 2, 1)
+                .grade(new BufferedReader(new StringReader(input.toString())), output, "input");
+
+        assertEquals(1, summary.getSheetsGraded(), "The sheet after an oversized one should still be graded.");
+        assertEquals(1, summary.getSheetsSkipped());
+        assertTrue(output.toString().startsWith("Date and Time: 2025-01-01 00:01:00"));
+    }
+
+    @Test
+    void testGradingLeavesDifficultyUntouched() throws Exception
+    {
+        World world = newWorld();
+        CountryDifficulty difficulty = world.getDifficulty();
+        StringBuilder input = new StringBuilder();
+
+        for (int i = 0; i < 100; i++)
+        {
+            input.append("Date and Time: 2025-01-01 00:00:00\nCOUNTRY_TO_CAPITAL|Peru|Paris|Rome\n\n");
+        }
+
+        newGrader(world, 2, 4).grade(new BufferedReader(new StringReader(input.toString())), new StringWriter(), "input");
+        difficulty.rebuildNow();
+
+        assertEquals(difficulty.getWeight(world.getCountryByName("Canada")), difficulty.getWeight(world.getCountryByName("Peru")),
+                     "Imported answers should not change how often the live game asks about a country.");
+    }
+
+    @Test
+    void testInvalidArguments() throws IOException
+    {
+        World world = newWorld();
+
+        assertThrows(IllegalArgumentException.class, () -> newGrader(world, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> newGrader(world, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new AnswerSheetGrader(null, null, 1, 1));
+    }
+}
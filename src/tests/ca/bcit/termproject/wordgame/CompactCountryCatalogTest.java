@@ -0,0 +1,79 @@
+package ca.bcit.termproject.wordgame;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CompactCountryCatalogTest
+{
+    @Test
+    void testRoundTrip()
+    {
+        List<Country> countries = new ArrayList<>();
+
+        // more entries and bytes than the builder starts with, so its arrays have to grow
+        for (int i = 0; i < 100; i++)
+        {
+            countries.add(new Country("Country " + i, "Capital " + i,
+                                      new String[]{"Fact one of " + i, "Fact two of " + i, "Fact three of " + i}));
+        }
+
+        CompactCountryCatalog catalog = CompactCountryCatalog.of(countries);
+
+        assertEquals(100, catalog.size());
+
+        for (int i = 0; i < countries.size(); i++)
+        {
+            Country country = catalog.getCountry(i);
+            assertEquals(countries.get(i).getName(), catalog.getName(i));
+            assertEquals(countries.get(i).getCapitalCityName(), country.getCapitalCityName());
+            assertArrayEquals(countries.get(i).getFacts(), country.getFacts());
+        }
+    }
+
+    @Test
+    void testUtf8Fields()
+    {
+        CompactCountryCatalog catalog = new CompactCountryCatalog.Builder()
+                .add("Côte d'Ivoire", "Yamoussoukro", new String[]{"Fact 1", "Fact 2", "Fact 3"})
+                .add("São Tomé and Príncipe", "São Tomé", new String[]{"Ilhéu das Rolas", "東京 is not here", "Fact 3"})
+                .build();
+
+        assertEquals("Côte d'Ivoire", catalog.getName(0));
+        assertEquals("São Tomé", catalog.getCapitalCityName(1));
+        assertEquals("Ilhéu das Rolas", catalog.getFact(1, 0));
+        assertEquals("東京 is not here", catalog.getFact(1, 1), "Fields next to multi-byte characters should not shift.");
+    }
+
+    @Test
+    void testBadIndexes()
+    {
+        CompactCountryCatalog catalog = new CompactCountryCatalog.Builder()
+                .add("Peru", "Lima", new String[]{"Fact 1", "Fact 2", "Fact 3"})
+                .build();
+
+        assertThrows(IllegalArgumentException.class, () -> catalog.getFact(0, 3));
+        assertThrows(IllegalArgumentException.class, () -> catalog.getFact(0, -1));
+        assertThrows(IllegalArgumentException.class, () -> catalog.getName(1));
+        assertThrows(IllegalArgumentException.class,
+                     () -> new CompactCountryCatalog.Builder().add("Peru", "Lima", new String[]{"Fact 1", "Fact 2"}));
+    }
+
+    @Test
+    void testAliasesAndCoordinatesAreNotStored()
+    {
+        Country peru = new Country("Peru", "Lima", new String[]{"Fact 1", "Fact 2", "Fact 3"},
+                                   new String[]{"Republic of Peru"}, new String[0], -12.0464, -77.0428);
+
+        Country copy = new CompactCountryCatalog.Builder().add(peru).build().getCountry(0);
+
+        assertEquals(0, copy.getNameAliases().length);
+        assertFalse(copy.hasCoordinates());
+    }
+}
@@ -0,0 +1,53 @@
+package ca.bcit.termproject.wordgame;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ConsoleRendererTest
+{
+    @Test
+    void testNothingIsWrittenUntilFlush() throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ConsoleRenderer renderer = new ConsoleRenderer(out);
+
+        renderer.println("What is the capital of Canada?").print("Try again: ");
+        assertEquals(0, out.size(), "A renderer should buffer the screen until it is flushed.");
+
+        renderer.flush();
+        assertEquals("What is the capital of Canada?\nTry again: ", out.toString(StandardCharsets.UTF_8));
+
+        renderer.printf("%s is Correct!\n", "Ottawa").flush();
+        assertEquals("What is the capital of Canada?\nTry again: Ottawa is Correct!\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testLargeAndAccentedScreensAreEncodedWhole() throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ConsoleRenderer renderer = new ConsoleRenderer(out);
+        StringBuilder expected = new StringBuilder();
+
+        for (int i = 0; i < 2_000; i++)
+        {
+            renderer.println("Bogotá, Côte d'Ivoire, São Tomé " + i);
+            expected.append("Bogotá, Côte d'Ivoire, São Tomé ").append(i).append('\n');
+        }
+
+        renderer.flush();
+        renderer.flush();
+        assertEquals(expected.toString(), out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testInvalidArguments()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new ConsoleRenderer((ByteArrayOutputStream) null));
+    }
+}
@@ -0,0 +1,120 @@
+package ca.bcit.termproject.wordgame;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CountryFileParserTest
+{
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testWellFormedFile() throws IOException
+    {
+        Path file = write("\nCanada:Ottawa\nFact 1\nFact 2\nFact 3\n\nChile:Santiago\nFact 1\nFact 2\nFact 3\n");
+        List<Country> countries = new ArrayList<>();
+
+        List<CountryFormatException> problems = CountryFileParser.parse(file, countries::add);
+
+        assertTrue(problems.isEmpty(), "A well-formed file should have no problems.");
+        assertEquals(2, countries.size());
+        assertEquals("Santiago", countries.get(1).getCapitalCityName());
+        assertEquals("Fact 3", countries.get(1).getFacts()[2]);
+    }
+
+    @Test
+    void testMissingFactResyncsOnBlankLine() throws IOException
+    {
+        // Canada is missing a fact; Chile must still load with the right facts
+        Path file = write("\nCanada:Ottawa\nFact 1\nFact 2\n\nChile:Santiago\nChile 1\nChile 2\nChile 3\n");
+        List<Country> countries = new ArrayList<>();
+
+        List<CountryFormatException> problems = CountryFileParser.parse(file, countries::add);
+
+        assertEquals(1, problems.size());
+        assertEquals(2, problems.get(0).getLineNumber(), "The problem should point at Canada's record.");
+        assertEquals("Canada:Ottawa", problems.get(0).getText());
+        assertEquals(file, problems.get(0).getFile());
+        assertEquals(1, countries.size());
+        assertEquals("Chile", countries.get(0).getName());
+        assertEquals("Chile 1", countries.get(0).getFacts()[0]);
+    }
+
+    @Test
+    void testBadHeaderAndExtraLine() throws IOException
+    {
+        Path file = write("\nCanada Ottawa\nFact 1\nFact 2\nFact 3\n\nChile:Santiago\nFact 1\nFact 2\nFact 3\nExtra fact\n\nCuba:Havana\nFact 1\nFact 2\nFact 3");
+        List<Country> countries = new ArrayList<>();
+
+        List<CountryFormatException> problems = CountryFileParser.parse(file, countries::add);
+
+        assertEquals(2, problems.size());
+        assertEquals(2, problems.get(0).getLineNumber());
+        assertEquals(11, problems.get(1).getLineNumber());
+        assertEquals("Extra fact", problems.get(1).getText());
+        assertEquals(2, countries.size(), "Chile and Cuba should still load.");
+        assertEquals("Cuba", countries.get(1).getName());
+    }
+
+    @Test
+    void testTruncatedLastRecord() throws IOException
+    {
+        Path file = write("\nCanada:Ottawa\nFact 1");
+        List<Country> countries = new ArrayList<>();
+
+        List<CountryFormatException> problems = CountryFileParser.parse(file, countries::add);
+
+        assertEquals(1, problems.size());
+        assertTrue(problems.get(0).getMessage().contains("file ended"));
+        assertTrue(countries.isEmpty());
+    }
+
+    @Test
+    void testAliasLines() throws IOException
+    {
+        Path file = write("\nCzech Republic:Prague\nFact 1\nFact 2\nFact 3\nAliases:Czechia| Cesko \nCapital aliases:Praha\n\nChile:Santiago\nFact 1\nFact 2\nFact 3");
+        List<Country> countries = new ArrayList<>();
+
+        List<CountryFormatException> problems = CountryFileParser.parse(file, countries::add);
+
+        assertTrue(problems.isEmpty(), "Alias lines should not be reported as problems.");
+        assertEquals(2, countries.size());
+        assertArrayEquals(new String[] {"Czechia", "Cesko"}, countries.get(0).getNameAliases());
+        assertArrayEquals(new String[] {"Praha"}, countries.get(0).getCapitalCityAliases());
+        assertEquals(0, countries.get(1).getNameAliases().length, "Aliases are optional.");
+    }
+
+    @Test
+    void testCoordinatesLine() throws IOException
+    {
+        Path file = write("\nPeru:Lima\nFact 1\nFact 2\nFact 3\nCoordinates:-12.0464, -77.0428\n\nChile:Santiago\nFact 1\nFact 2\nFact 3\nCoordinates:91,0\n\nCuba:Havana\nFact 1\nFact 2\nFact 3\n");
+        List<Country> countries = new ArrayList<>();
+
+        List<CountryFormatException> problems = CountryFileParser.parse(file, countries::add);
+
+        assertEquals(1, problems.size(), "A latitude above 90 degrees should be reported.");
+        assertEquals(12, problems.get(0).getLineNumber(), "The problem should point at the coordinates line.");
+        assertEquals(2, countries.size());
+        assertEquals(-12.0464, countries.get(0).getLatitude());
+        assertEquals(-77.0428, countries.get(0).getLongitude());
+        assertFalse(countries.get(1).hasCoordinates(), "Coordinates are optional.");
+    }
+
+    private Path write(final String content) throws IOException
+    {
+        Path file = tempDir.resolve("c.txt");
+        Files.writeString(file, content);
+        return file;
+    }
+}
@@ -0,0 +1,48 @@
+package ca.bcit.termproject.wordgame;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CountrySamplerTest
+{
+    @Test
+    void testGameCountriesAreDistinct() throws IOException
+    {
+        CountrySampler sampler = new CountrySampler(World.getInstance(), new Random(42));
+        Country[] game = new Country[10];
+
+        for (int round = 0; round < 100; round++)
+        {
+            sampler.drawGame(game);
+            Set<Country> distinct = new HashSet<>(Arrays.asList(game));
+            assertEquals(game.length, distinct.size(), "A game should never repeat a country.");
+        }
+    }
+
+    @Test
+    void testFullBagDrawsEveryCountryOnce() throws IOException
+    {
+        World world = World.getInstance();
+        CountrySampler sampler = new CountrySampler(world, new Random(7));
+        Country[] all = new Country[world.getCountryCount()];
+
+        sampler.drawGame(all);
+
+        assertEquals(new HashSet<>(world.getCountries()), new HashSet<>(Arrays.asList(all)), "Emptying the bag should draw every country exactly once.");
+    }
+
+    @Test
+    void testNullArguments()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new CountrySampler(null, new Random()));
+        assertThrows(IllegalArgumentException.class, () -> new CountrySampler(World.getInstance(), null));
+    }
+}
@@ -0,0 +1,126 @@
+package ca.bcit.termproject.wordgame;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CountrySnapshotTest
+{
+    private static final String A_FILE = "\nAndorra:Andorra la Vella\nFact one.\nFact two.\nFact three.\n";
+    private static final String B_FILE = "\nBhutan:Thimphu\nMeasures Gross National Happiness.\nFact two.\nFact three.\nCoordinates:27.4728,89.639\n";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testCompileAndOpen() throws IOException
+    {
+        Path data = writeData();
+        Path snapshotFile = tempDir.resolve("countries.snapshot");
+
+        CountrySnapshot.compile(data, snapshotFile);
+        CountrySnapshot snapshot = CountrySnapshot.open(snapshotFile);
+
+        assertEquals(2, snapshot.size(), "Both countries should be in the snapshot.");
+        Country bhutan = snapshot.getCountry(1);
+        assertEquals("Bhutan", bhutan.getName());
+        assertEquals("Thimphu", bhutan.getCapitalCityName());
+        assertArrayEquals(new String[]{"Measures Gross National Happiness.", "Fact two.", "Fact three."}, bhutan.getFacts());
+        assertEquals(27.4728, bhutan.getLatitude());
+        assertEquals(89.639, bhutan.getLongitude());
+        assertFalse(snapshot.getCountry(0).hasCoordinates(), "Coordinates are optional.");
+    }
+
+    @Test
+    void testFactsAreReadOnFirstAccess() throws IOException
+    {
+        Path snapshotFile = tempDir.resolve("countries.snapshot");
+        CountrySnapshot.compile(writeData(), snapshotFile);
+
+        Country andorra = CountrySnapshot.open(snapshotFile).getCountry(0);
+
+        assertFalse(andorra.hasLoadedFacts(), "Facts should not be decoded with the country.");
+        assertEquals("Fact one.", andorra.getFacts()[0]);
+        assertTrue(andorra.hasLoadedFacts());
+        assertSame(andorra.getFacts(), andorra.getFacts(), "Facts should be cached after the first read.");
+    }
+
+    @Test
+    void testSnapshotMatchesTextFiles() throws IOException
+    {
+        Path data = writeData();
+        List<Country> fromText = new DirectoryCountrySource(data).loadAll(false);
+        List<Country> fromSnapshot = CountrySnapshot.openOrRebuild(data, tempDir.resolve("countries.snapshot")).getCountries();
+
+        assertEquals(fromText.size(), fromSnapshot.size());
+        for (int i = 0; i < fromText.size(); i++)
+        {
+            assertEquals(fromText.get(i).getName(), fromSnapshot.get(i).getName());
+            assertEquals(fromText.get(i).getCapitalCityName(), fromSnapshot.get(i).getCapitalCityName());
+            assertArrayEquals(fromText.get(i).getFacts(), fromSnapshot.get(i).getFacts());
+        }
+    }
+
+    @Test
+    void testStaleSnapshotIsRebuilt() throws IOException
+    {
+        Path data = writeData();
+        Path snapshotFile = tempDir.resolve("countries.snapshot");
+        CountrySnapshot original = CountrySnapshot.openOrRebuild(data, snapshotFile);
+
+        // edit a letter file after the snapshot was built
+        Path cFile = data.resolve("c.txt");
+        Files.writeString(cFile, "\nChad:N'Djamena\nFact one.\nFact two.\nFact three.\n", StandardOpenOption.CREATE);
+        Files.setLastModifiedTime(cFile, FileTime.fromMillis(System.currentTimeMillis() + 1000));
+
+        CountrySnapshot rebuilt = CountrySnapshot.openOrRebuild(data, snapshotFile);
+
+        assertNotEquals(original.getSourceFingerprint(), rebuilt.getSourceFingerprint(), "The fingerprint should change.");
+        assertEquals(3, rebuilt.size(), "The rebuilt snapshot should include the new country.");
+        assertEquals("Chad", rebuilt.getCountry(2).getName());
+    }
+
+    @Test
+    void testCorruptSnapshotIsRebuilt() throws IOException
+    {
+        Path data = writeData();
+        Path snapshotFile = tempDir.resolve("countries.snapshot");
+        CountrySnapshot.compile(data, snapshotFile);
+        byte[] original = Files.readAllBytes(snapshotFile);
+
+        // a negative record count, then a name field longer than the file
+        for (int position : new int[]{16, 24})
+        {
+            ByteBuffer corrupt = ByteBuffer.wrap(original.clone());
+            corrupt.putInt(position, position == 16 ? -1 : Integer.MAX_VALUE);
+            Files.write(snapshotFile, corrupt.array());
+
+            assertThrows(IOException.class, () -> CountrySnapshot.open(snapshotFile), "A damaged snapshot should not open.");
+            assertEquals("Bhutan", CountrySnapshot.openOrRebuild(data, snapshotFile).getCountry(1).getName(),
+                         "A damaged snapshot should be rebuilt.");
+        }
+    }
+
+    private Path writeData() throws IOException
+    {
+        Path data = Files.createDirectory(tempDir.resolve("countrydata"));
+        Files.writeString(data.resolve("a.txt"), A_FILE);
+        Files.writeString(data.resolve("b.txt"), B_FILE);
+        return data;
+    }
+}
@@ -0,0 +1,90 @@
+package ca.bcit.termproject.wordgame;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CountrySourceTest
+{
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testWorldFromInMemorySource() throws IOException
+    {
+        InMemoryCountrySource source = new InMemoryCountrySource.Builder()
+                .add("Canada", "Ottawa", "Fact 1", "Fact 2", "Fact 3")
+                .add("Chile", "Santiago", "Fact 1", "Fact 2", "Fact 3")
+                .add("Peru", "Lima", "Fact 1", "Fact 2", "Fact 3")
+                .build();
+
+        World world = new World(source);
+
+        assertEquals(3, world.getCountryCount());
+        assertEquals("Lima", world.getWorld().get("Peru").getCapitalCityName());
+        assertEquals(2, source.loadShard('c').size(), "Canada and Chile should be in shard c.");
+        assertTrue(source.loadShard('x').isEmpty());
+    }
+
+    @Test
+    void testParallelLoadMatchesSequential() throws IOException
+    {
+        DirectoryCountrySource source = new DirectoryCountrySource(World.DATA_DIRECTORY);
+        List<Country> sequential = source.loadAll(false);
+        List<Country> parallel = source.loadAll(true);
+
+        assertEquals(sequential.size(), parallel.size());
+        for (int i = 0; i < sequential.size(); i++)
+        {
+            assertEquals(sequential.get(i).getName(), parallel.get(i).getName(), "Parallel loading should keep letter order.");
+        }
+    }
+
+    @Test
+    void testClasspathSourceMatchesDirectory() throws IOException
+    {
+        List<Country> fromDirectory = new DirectoryCountrySource(World.DATA_DIRECTORY).loadAll(false);
+        List<Country> fromClasspath = new ClasspathCountrySource().loadAll(false);
+
+        assertEquals(fromDirectory.size(), fromClasspath.size());
+        assertEquals(fromDirectory.get(0).getName(), fromClasspath.get(0).getName());
+    }
+
+    @Test
+    void testArchiveSource() throws IOException
+    {
+        Path archive = tempDir.resolve("countries.zip");
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(archive)))
+        {
+            zip.putNextEntry(new ZipEntry("countrydata/b.txt"));
+            zip.write("\nBhutan:Thimphu\nFact 1\nFact 2\nFact 3\n".getBytes());
+            zip.closeEntry();
+        }
+
+        World world = new World(DirectoryCountrySource.ofArchive(archive, "/countrydata"));
+
+        assertEquals(1, world.getCountryCount());
+        assertEquals("Thimphu", world.getCountry(0).getCapitalCityName());
+    }
+
+    @Test
+    void testSnapshotSource() throws IOException
+    {
+        Path snapshotFile = tempDir.resolve("countries.snapshot");
+        SnapshotCountrySource source = SnapshotCountrySource.openOrRebuild(World.DATA_DIRECTORY, snapshotFile, false);
+        World world = new World(source);
+
+        assertEquals(World.getInstance().getCountryCount(), world.getCountryCount());
+        assertSame(world.getCountryByName("Afghanistan"), world.getCountryByCapital("Kabul"));
+    }
+}
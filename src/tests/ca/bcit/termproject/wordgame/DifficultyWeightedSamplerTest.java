@@ -0,0 +1,123 @@
+package ca.bcit.termproject.wordgame;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DifficultyWeightedSamplerTest
+{
+    private static World newWorld() throws IOException
+    {
+        return new World(new InMemoryCountrySource.Builder()
+                .add("Canada", "Ottawa", "Fact 1", "Fact 2", "Fact 3")
+                .add("Peru", "Lima", "Fact 1", "Fact 2", "Fact 3")
+                .add("Chad", "N'Djamena", "Fact 1", "Fact 2", "Fact 3")
+                .add("Nauru", "Yaren", "Fact 1", "Fact 2", "Fact 3")
+                .build());
+    }
+
+    @Test
+    void testMissedCountriesAreDrawnMoreOften() throws IOException
+    {
+        World world = newWorld();
+        CountryDifficulty difficulty = world.getDifficulty();
+        Country hard = world.getCountryByName("Nauru");
+        Country easy = world.getCountryByName("Canada");
+
+        for (int i = 0; i < 20; i++)
+        {
+            difficulty.record(hard, CountrySelector.Recall.MISSED);
+            difficulty.record(easy, CountrySelector.Recall.FIRST_ATTEMPT);
+        }
+        difficulty.rebuildNow();
+
+        assertTrue(difficulty.getWeight(hard) > difficulty.getWeight(easy));
+        assertTrue(difficulty.getWeight(easy) >= CountryDifficulty.MIN_WEIGHT);
+
+        DifficultyWeightedSampler sampler = new DifficultyWeightedSampler(world, new Random(1));
+        int hardDraws = 0;
+        int easyDraws = 0;
+
+        for (int i = 0; i < 10_000; i++)
+        {
+            Country country = sampler.draw();
+            hardDraws += country == hard ? 1 : 0;
+            easyDraws += country == easy ? 1 : 0;
+        }
+
+        assertTrue(hardDraws > 5 * easyDraws, "A country that is always missed should be drawn far more often.");
+    }
+
+    @Test
+    void testRecordedAnswersRebuildTableInBackground() throws IOException, InterruptedException
+    {
+        World world = newWorld();
+        CountryDifficulty difficulty = world.getDifficulty();
+        AliasTable initial = difficulty.getTable();
+
+        for (int i = 0; i < 1_000; i++)
+        {
+            difficulty.record(world.getCountry(i % world.getCountryCount()), CountrySelector.Recall.SECOND_ATTEMPT);
+        }
+
+        for (int wait = 0; wait < 100 && difficulty.getRebuildCount() == 0; wait++)
+        {
+            Thread.sleep(10);
+        }
+
+        assertTrue(difficulty.getRebuildCount() > 0, "Enough answers should trigger a rebuild.");
+        assertTrue(initial != difficulty.getTable(), "A rebuild should publish a new table.");
+    }
+
+    @Test
+    void testOnlyWeightedSessionsRecordDifficulty() throws IOException
+    {
+        World world = newWorld();
+        CountryDifficulty difficulty = world.getDifficulty();
+        AnswerMatcher matcher = new AnswerMatcher(world, AnswerMatcher.DEFAULT_MAX_DISTANCE);
+        GameSession uniform = new GameSession(world, matcher, new Random(3));
+        GameSession weighted = new GameSession(world, matcher, new DifficultyWeightedSampler(world, new Random(3)), new Random(3));
+
+        Question question = uniform.startGame()[0];
+        uniform.submitFirstAttempt(question, "wrong");
+        uniform.submitSecondAttempt(question, "wrong");
+        difficulty.rebuildNow();
+        assertEquals(difficulty.getWeight(world.getCountry(0)), difficulty.getWeight(question.getCountry()),
+                     "A uniform session should not change the statistics.");
+
+        question = weighted.startGame()[0];
+        weighted.submitFirstAttempt(question, "wrong");
+        weighted.submitSecondAttempt(question, "wrong");
+        difficulty.rebuildNow();
+        assertTrue(difficulty.getWeight(question.getCountry()) > difficulty.getWeight(otherThan(world, question.getCountry())),
+                   "A weighted session should record its misses.");
+    }
+
+    @Test
+    void testGameCountriesAreDistinct() throws IOException
+    {
+        World world = newWorld();
+        DifficultyWeightedSampler sampler = new DifficultyWeightedSampler(world, new Random(2));
+        Country[] game = new Country[world.getCountryCount()];
+
+        for (int round = 0; round < 50; round++)
+        {
+            sampler.drawGame(game);
+            assertEquals(game.length, new HashSet<>(Arrays.asList(game)).size(), "A game should never repeat a country.");
+        }
+
+        assertSame(world.getDifficulty(), world.getDifficulty(), "A World should keep one set of statistics.");
+    }
+
+    private static Country otherThan(final World world, final Country country)
+    {
+        return world.getCountry(0) == country ? world.getCountry(1) : world.getCountry(0);
+    }
+}
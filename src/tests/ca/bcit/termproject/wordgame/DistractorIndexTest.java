@@ -0,0 +1,113 @@
+package ca.bcit.termproject.wordgame;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DistractorIndexTest
+{
+    @Test
+    void testOptionsAreDistinctAndContainAnswerOnce() throws IOException
+    {
+        World world = World.getInstance();
+        DistractorIndex distractors = world.getDistractors();
+        QuestionGenerator generator = new QuestionGenerator(world, 11L);
+        Random random = new Random(11L);
+
+        for (Question question : generator.generateBatch(2_000))
+        {
+            MultipleChoiceQuestion choices = distractors.createQuestion(question, DistractorIndex.DEFAULT_CHOICES, random);
+            Set<String> keys = new HashSet<>();
+
+            assertEquals(DistractorIndex.DEFAULT_CHOICES, choices.getOptionCount());
+            assertEquals(question.getExpectedAnswer(), choices.getOption(choices.getCorrectIndex()));
+
+            for (int i = 0; i < choices.getOptionCount(); i++)
+            {
+                String key = World.normalize(choices.getOption(i));
+                assertTrue(keys.add(key), "Options should never repeat: " + choices);
+
+                if (i != choices.getCorrectIndex())
+                {
+                    assertNotEquals(question.getExpectedAnswerKey(), key, "A distractor should never be the answer.");
+                }
+            }
+        }
+    }
+
+    @Test
+    void testDistractorsArePlausible() throws IOException
+    {
+        World world = World.getInstance();
+        DistractorIndex distractors = world.getDistractors();
+        Question question = new Question(Question.Type.FACT_TO_COUNTRY, "Prompt", world.getCountryByName("Canada"));
+        Random random = new Random(5L);
+        int sameLetter = 0;
+        int total = 0;
+
+        for (int round = 0; round < 200; round++)
+        {
+            MultipleChoiceQuestion choices = distractors.createQuestion(question, DistractorIndex.DEFAULT_CHOICES, random);
+
+            for (int i = 0; i < choices.getOptionCount(); i++)
+            {
+                if (i != choices.getCorrectIndex())
+                {
+                    sameLetter += choices.getOption(i).charAt(0) == 'C' ? 1 : 0;
+                    total++;
+                }
+            }
+        }
+
+        assertTrue(sameLetter * 2 > total, "Most distractors for Canada should start with C.");
+    }
+
+    @Test
+    void testNumberSelectsOption() throws IOException
+    {
+        World world = World.getInstance();
+        AnswerMatcher matcher = new AnswerMatcher(world, AnswerMatcher.DEFAULT_MAX_DISTANCE);
+        GameSession session = new GameSession(world, matcher, new Random(3L));
+        MultipleChoiceQuestion[] game = session.startMultipleChoiceGame(DistractorIndex.DEFAULT_CHOICES);
+        MultipleChoiceQuestion first = game[0];
+        MultipleChoiceQuestion second = game[1];
+        String right = String.valueOf(first.getCorrectIndex() + 1);
+        String wrong = String.valueOf((second.getCorrectIndex() + 1) % second.getOptionCount() + 1);
+
+        assertEquals(GameSession.QUESTIONS_PER_GAME, game.length);
+        assertEquals(first.getOption(first.getCorrectIndex()), first.resolveAnswer(" " + right + " "));
+        assertEquals("9", first.resolveAnswer("9"), "A number that is not an option is a typed answer.");
+        assertEquals("Ottawa", first.resolveAnswer("Ottawa"));
+
+        assertNotEquals(AnswerMatcher.MatchType.NONE, session.submitFirstAttempt(first, right));
+        assertEquals(AnswerMatcher.MatchType.NONE, session.submitSecondAttempt(second, wrong), "A distractor is wrong.");
+        assertEquals(1, session.getCorrectOnFirstAttempt());
+        assertEquals(1, session.getIncorrectOnSecondAttempt());
+    }
+
+    @Test
+    void testSmallWorld() throws IOException
+    {
+        World world = new World(new InMemoryCountrySource.Builder()
+                .add("Canada", "Ottawa", "Fact 1", "Fact 2", "Fact 3")
+                .add("Peru", "Lima", "Fact 1", "Fact 2", "Fact 3")
+                .add("Chad", "N'Djamena", "Fact 1", "Fact 2", "Fact 3")
+                .build());
+        Question question = new Question(Question.Type.COUNTRY_TO_CAPITAL, "Prompt", world.getCountryByName("Peru"));
+        MultipleChoiceQuestion choices = world.getDistractors().createQuestion(question, 3, new Random(1L));
+
+        assertSame(world.getDistractors(), world.getDistractors(), "A World should build its index once.");
+        assertEquals("Lima", choices.getOption(choices.getCorrectIndex()));
+        assertThrows(IllegalArgumentException.class, () -> world.getDistractors().createQuestion(question, 4, new Random()));
+        assertThrows(IllegalArgumentException.class, () -> world.getDistractors().createQuestion(question, 1, new Random()));
+    }
+}
@@ -0,0 +1,128 @@
+package ca.bcit.termproject.wordgame;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FactIndexTest
+{
+    private static World newWorld() throws IOException
+    {
+        return new World(new InMemoryCountrySource.Builder()
+                .add("Iceland", "Reykjavik", "Land of fire and ice, with an active volcano.", "Fact 2", "Fact 3")
+                .add("Uzbekistan", "Tashkent", "A stop on the Silk Road.", "Home to UNESCO cities.", "Fact 3")
+                .add("Chile", "Santiago", "Has a volcano and a desert.", "Fact 2", "Fact 3")
+                .add("Egypt", "Cairo", "Mostly desert.", "A road made of silk would be odd.", "Fact 3")
+                .build());
+    }
+
+    @Test
+    void testAndOrQueries() throws IOException
+    {
+        World world = newWorld();
+        FactIndex facts = world.getFactIndex();
+
+        assertArrayEquals(new int[]{0, 2}, facts.findAll("Volcano"));
+        assertArrayEquals(new int[]{2}, facts.findAll("volcano", "desert"));
+        assertArrayEquals(new int[]{0, 2, 3}, facts.findAny("volcano", "desert"));
+        assertArrayEquals(new int[]{1}, facts.findAll("unesco"));
+        assertArrayEquals(new int[0], facts.findAll("volcano", "glacier"));
+        assertArrayEquals(new int[]{1, 2}, facts.query("volcano AND desert OR UNESCO"));
+        assertEquals("Chile", facts.getCountries(facts.query("desert AND volcano")).get(0).getName());
+    }
+
+    @Test
+    void testPhraseMustBeAdjacent() throws IOException
+    {
+        FactIndex facts = newWorld().getFactIndex();
+
+        assertArrayEquals(new int[]{1}, facts.findAll("Silk Road"), "Egypt has both words, but not the phrase.");
+        assertArrayEquals(new int[]{1, 3}, facts.findAll("silk", "road"));
+    }
+
+    @Test
+    void testMatchesScanOfSharedWorld() throws IOException
+    {
+        World world = World.getInstance();
+        FactIndex facts = world.getFactIndex();
+
+        for (String term : new String[]{"unesco", "volcano", "desert", "island"})
+        {
+            List<Integer> scanned = new ArrayList<>();
+
+            for (int i = 0; i < world.getCountryCount(); i++)
+            {
+                for (String fact : world.getCountry(i).getFacts())
+                {
+                    if (FactIndex.tokenize(fact).contains(term))
+                    {
+                        scanned.add(i);
+                        break;
+                    }
+                }
+            }
+
+            assertArrayEquals(scanned.stream().mapToInt(Integer::intValue).toArray(), facts.findAll(term), term);
+        }
+
+        assertTrue(facts.findAll("UNESCO").length > 0);
+    }
+
+    @Test
+    void testSaveAndLoad(@TempDir Path tempDir) throws IOException
+    {
+        World world = newWorld();
+        Path file = tempDir.resolve("facts.index");
+
+        world.getFactIndex().save(file, 42L);
+        FactIndex loaded = FactIndex.load(world, file, 42L);
+
+        assertEquals(world.getFactIndex().getTokenCount(), loaded.getTokenCount());
+        assertArrayEquals(world.getFactIndex().query("volcano OR Silk Road"), loaded.query("volcano OR Silk Road"));
+        assertThrows(IOException.class, () -> FactIndex.load(world, file, 43L), "Other letter files make the index stale.");
+        assertThrows(IOException.class, () -> FactIndex.load(World.getInstance(), file, 42L), "Another catalog makes the index stale.");
+
+        Files.write(file, new byte[]{1, 2, 3});
+        assertThrows(IOException.class, () -> FactIndex.load(world, file, 42L));
+    }
+
+    @Test
+    void testLoadOrRebuildWritesCache(@TempDir Path tempDir) throws IOException
+    {
+        World world = newWorld();
+        Path file = tempDir.resolve("facts.index");
+
+        FactIndex built = FactIndex.loadOrRebuild(world, tempDir, file);
+
+        assertTrue(Files.exists(file));
+        assertArrayEquals(built.findAll("desert"), FactIndex.loadOrRebuild(world, tempDir, file).findAll("desert"));
+    }
+
+    @Test
+    void testTopicSampler() throws IOException
+    {
+        World world = newWorld();
+        FactIndex facts = world.getFactIndex();
+        CountrySampler sampler = CountrySampler.of(facts.getCountries(facts.findAll("desert")), new Random(1));
+
+        for (int i = 0; i < 20; i++)
+        {
+            String name = sampler.draw().getName();
+            assertTrue(name.equals("Chile") || name.equals("Egypt"), name);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> CountrySampler.of(new ArrayList<>(), new Random()));
+        assertThrows(IllegalArgumentException.class, () -> facts.query(" "));
+    }
+}
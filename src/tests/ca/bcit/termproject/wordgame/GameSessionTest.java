@@ -0,0 +1,75 @@
+package ca.bcit.termproject.wordgame;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GameSessionTest
+{
+    private static GameSession newSession(long seed) throws IOException
+    {
+        World world = World.getInstance();
+        return new GameSession(world, new AnswerMatcher(world, AnswerMatcher.DEFAULT_MAX_DISTANCE), new Random(seed));
+    }
+
+    @Test
+    void testAttemptsAreCounted() throws IOException
+    {
+        GameSession session = newSession(1L);
+        Question[] questions = session.startGame();
+
+        assertEquals(GameSession.QUESTIONS_PER_GAME, questions.length);
+        assertNotEquals(AnswerMatcher.MatchType.NONE, session.submitFirstAttempt(questions[0], questions[0].getExpectedAnswer()));
+
+        assertEquals(AnswerMatcher.MatchType.NONE, session.submitFirstAttempt(questions[1], ""));
+        assertNotEquals(AnswerMatcher.MatchType.NONE, session.submitSecondAttempt(questions[1], questions[1].getExpectedAnswer()));
+
+        assertEquals(AnswerMatcher.MatchType.NONE, session.submitFirstAttempt(questions[2], ""));
+        assertEquals(AnswerMatcher.MatchType.NONE, session.submitSecondAttempt(questions[2], ""));
+        session.finishGame();
+
+        assertEquals(1, session.getGamesPlayed());
+        assertEquals(1, session.getCorrectOnFirstAttempt());
+        assertEquals(1, session.getCorrectOnSecondAttempt());
+        assertEquals(1, session.getIncorrectOnSecondAttempt());
+    }
+
+    @Test
+    void testToScoreUsesSessionStatistics() throws IOException
+    {
+        GameSession session = newSession(2L);
+
+        for (Question question : session.startGame())
+        {
+            session.submitFirstAttempt(question, question.getExpectedAnswer());
+        }
+        session.finishGame();
+
+        Score score = session.toScore(LocalDateTime.now());
+        assertEquals(1, score.getGamesPlayed());
+        assertEquals(GameSession.QUESTIONS_PER_GAME, score.getCorrectOnFirstAttempt());
+        assertEquals(0, score.getIncorrectOnSecondAttempt());
+    }
+
+    @Test
+    void testStrategiesAnswerAsConfigured() throws IOException
+    {
+        Question question = newSession(3L).startGame()[0];
+        Random random = new Random(4L);
+
+        assertEquals(question.getExpectedAnswer(), AnswerStrategy.alwaysRight().answer(question, AnswerStrategy.FIRST_ATTEMPT, random));
+        assertEquals("", AnswerStrategy.randomAccuracy(0.0).answer(question, AnswerStrategy.FIRST_ATTEMPT, random));
+
+        String typo = AnswerStrategy.typoInjector(1.0).answer(question, AnswerStrategy.FIRST_ATTEMPT, random);
+        assertEquals(1, AnswerMatcher.editDistance(typo, question.getExpectedAnswer()), "A typo should change one letter.");
+
+        assertThrows(IllegalArgumentException.class, () -> AnswerStrategy.randomAccuracy(1.5));
+        assertThrows(IllegalArgumentException.class, () -> AnswerStrategy.forName("unknown", 0.5));
+    }
+}
@@ -0,0 +1,86 @@
+package ca.bcit.termproject.wordgame;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndexedMinHeapTest
+{
+    @Test
+    void testMatchesLinearScanUnderRandomOperations()
+    {
+        int capacity = 200;
+        IndexedMinHeap heap = new IndexedMinHeap(capacity);
+        Long[] expected = new Long[capacity];
+        Random random = new Random(42);
+
+        for (int step = 0; step < 20_000; step++)
+        {
+            int item = random.nextInt(capacity);
+            long key = random.nextInt(1_000);
+
+            if (expected[item] == null)
+            {
+                heap.insert(item, key);
+                expected[item] = key;
+            }
+            else if (random.nextBoolean())
+            {
+                heap.changeKey(item, key);
+                expected[item] = key;
+            }
+            else
+            {
+                heap.remove(item);
+                expected[item] = null;
+            }
+
+            if (!heap.isEmpty())
+            {
+                long min = Long.MAX_VALUE;
+                for (Long value : expected)
+                {
+                    if (value != null)
+                    {
+                        min = Math.min(min, value);
+                    }
+                }
+
+                assertEquals(min, heap.keyOf(heap.peekMin()), "The top of the heap should have the smallest key.");
+            }
+        }
+    }
+
+    @Test
+    void testPollMinReturnsItemsInKeyOrder()
+    {
+        IndexedMinHeap heap = new IndexedMinHeap(5);
+        heap.insert(0, 30);
+        heap.insert(1, 10);
+        heap.insert(2, 20);
+        heap.changeKey(0, 5);
+
+        assertEquals(0, heap.pollMin());
+        assertEquals(1, heap.pollMin());
+        assertEquals(2, heap.pollMin());
+        assertTrue(heap.isEmpty());
+        assertFalse(heap.contains(0));
+    }
+
+    @Test
+    void testInvalidOperations()
+    {
+        IndexedMinHeap heap = new IndexedMinHeap(2);
+        heap.insert(0, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> heap.insert(0, 2));
+        assertThrows(IllegalArgumentException.class, () -> heap.insert(2, 2));
+        assertThrows(IllegalArgumentException.class, () -> heap.changeKey(1, 2));
+        assertThrows(IllegalStateException.class, () -> new IndexedMinHeap(1).pollMin());
+    }
+}
@@ -0,0 +1,124 @@
+package ca.bcit.termproject.wordgame;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest
+{
+    @Test
+    void testPercentilesWithinBucketWidth()
+    {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Random random = new Random(5);
+        long[] values = new long[20_000];
+
+        for (int i = 0; i < values.length; i++)
+        {
+            // spread over microseconds to seconds, like grading and response times
+            values[i] = (long) Math.exp(random.nextDouble() * Math.log(5_000_000_000.0));
+            histogram.record(values[i]);
+        }
+
+        Arrays.sort(values);
+
+        for (double percentile : new double[]{1.0, 50.0, 90.0, 99.0, 99.9, 100.0})
+        {
+            long exact = WordGameSimulator.percentile(values, percentile);
+            long estimate = histogram.getValueAtPercentile(percentile);
+
+            assertTrue(estimate >= exact && estimate <= exact + exact / 32 + 1, percentile + ": " + estimate + " vs " + exact);
+        }
+
+        assertEquals(values.length, histogram.getCount());
+        assertEquals(values[0], histogram.getMin());
+        assertEquals(values[values.length - 1], histogram.getMax());
+        assertEquals(values[values.length - 1], histogram.getValueAtPercentile(100.0));
+    }
+
+    @Test
+    void testSmallValuesAreExact()
+    {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        for (long value = 0; value < 32; value++)
+        {
+            histogram.record(value);
+        }
+
+        histogram.record(-5);
+
+        assertEquals(0, histogram.getMin());
+        assertEquals(15, histogram.getValueAtPercentile(50.0));
+        assertEquals(31, histogram.getValueAtPercentile(100.0));
+        assertThrows(IllegalArgumentException.class, () -> histogram.getValueAtPercentile(101.0));
+    }
+
+    @Test
+    void testAddAndClear()
+    {
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+
+        first.record(1_000);
+        second.record(Long.MAX_VALUE);
+        first.add(second);
+
+        assertEquals(2, first.getCount());
+        assertEquals(Long.MAX_VALUE, first.getValueAtPercentile(100.0));
+        assertTrue(first.getValueAtPercentile(50.0) - 1_000 < 1_000 / 32, "Within the width of its bucket.");
+
+        first.clear();
+        assertEquals(0, first.getCount());
+        assertEquals(0, first.getValueAtPercentile(50.0));
+        assertEquals(0.0, first.getMean());
+    }
+
+    @Test
+    void testAnswerTimingsSummaries(@TempDir Path tempDir) throws IOException
+    {
+        AnswerTimings timings = new AnswerTimings();
+        Path file = tempDir.resolve("timings.txt");
+
+        timings.record(Question.Type.FACT_TO_COUNTRY, AnswerTimings.Phase.RESPONSE, 2_500_000_000L);
+        timings.record(Question.Type.FACT_TO_COUNTRY, AnswerTimings.Phase.GRADING, 1_500);
+        timings.finishGame();
+        timings.finishGame();
+
+        timings.startPrompt();
+        timings.promptShown();
+        timings.inputReceived();
+        timings.graded(Question.Type.COUNTRY_TO_CAPITAL);
+        timings.finishGame();
+
+        List<String> summaries = timings.getGameSummaries();
+        assertEquals(2, summaries.size(), "A game with no attempts leaves no summary.");
+        assertTrue(summaries.get(0).startsWith("Game 1 FACT_TO_COUNTRY: attempts 1"), summaries.get(0));
+        assertTrue(summaries.get(0).contains("response ms p50 2500.0"), summaries.get(0));
+        assertTrue(summaries.get(1).startsWith("Game 2 COUNTRY_TO_CAPITAL: attempts 1"), summaries.get(1));
+        assertEquals(1, timings.getHistogram(Question.Type.COUNTRY_TO_CAPITAL, AnswerTimings.Phase.DISPLAY).getCount());
+
+        timings.appendSummariesToFile(LocalDateTime.of(2025, 4, 4, 17, 1, 18), file.toString());
+        List<String> lines = Files.readAllLines(file);
+
+        assertEquals("Date and Time: 2025-04-04 17:01:18", lines.get(0));
+        assertEquals(4, lines.size());
+        assertTrue(lines.get(3).isEmpty());
+
+        timings.clear();
+        assertTrue(timings.getGameSummaries().isEmpty());
+        assertFalse(timings.getHistogram(Question.Type.FACT_TO_COUNTRY, AnswerTimings.Phase.RESPONSE).getCount() > 0);
+    }
+}
@@ -0,0 +1,85 @@
+package ca.bcit.termproject.wordgame;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuestionGeneratorTest
+{
+    @Test
+    void testSameSeedGivesSameQuestions() throws IOException
+    {
+        List<Question> first = new QuestionGenerator(World.getInstance(), 42L).generateBatch(50);
+        List<Question> second = new QuestionGenerator(World.getInstance(), 42L).generateBatch(50);
+
+        for (int i = 0; i < first.size(); i++)
+        {
+            assertEquals(first.get(i).getPrompt(), second.get(i).getPrompt(), "A seeded generator should be reproducible.");
+            assertEquals(first.get(i).getCountry(), second.get(i).getCountry());
+        }
+    }
+
+    @Test
+    void testGameQuestionsAreAboutDistinctCountries() throws IOException
+    {
+        QuestionGenerator generator = new QuestionGenerator(World.getInstance(), 7L);
+        Question[] game = new Question[10];
+
+        for (int round = 0; round < 50; round++)
+        {
+            generator.generateGame(game);
+            Set<Country> countries = new HashSet<>();
+
+            for (Question question : game)
+            {
+                countries.add(question.getCountry());
+            }
+
+            assertEquals(game.length, countries.size(), "A game should never repeat a country.");
+        }
+    }
+
+    @Test
+    void testExpectedAnswerMatchesType() throws IOException
+    {
+        for (Question question : new QuestionGenerator(World.getInstance(), 3L).generateBatch(300))
+        {
+            Country country = question.getCountry();
+
+            switch (question.getType())
+            {
+                case CAPITAL_TO_COUNTRY:
+                    assertTrue(question.getPrompt().contains(country.getCapitalCityName()));
+                    assertEquals(country.getName(), question.getExpectedAnswer());
+                    break;
+                case COUNTRY_TO_CAPITAL:
+                    assertTrue(question.getPrompt().contains(country.getName()));
+                    assertEquals(country.getCapitalCityName(), question.getExpectedAnswer());
+                    assertEquals(country.getCapitalCityKey(), question.getExpectedAnswerKey());
+                    break;
+                case FACT_TO_COUNTRY:
+                    String fact = question.getPrompt().substring(question.getPrompt().indexOf('\n') + 1);
+                    assertTrue(List.of(country.getFacts()).contains(fact), "A fact question should show one of the country's facts.");
+                    assertEquals(country.getNameKey(), question.getExpectedAnswerKey());
+                    break;
+            }
+        }
+    }
+
+    @Test
+    void testInvalidArguments() throws IOException
+    {
+        QuestionGenerator generator = new QuestionGenerator(World.getInstance(), 1L);
+
+        assertThrows(IllegalArgumentException.class, () -> generator.generateGame(null));
+        assertThrows(IllegalArgumentException.class, () -> generator.generateBatch(-1));
+        assertThrows(IllegalArgumentException.class, () -> new Question(null, "Prompt", World.getInstance().getCountry(0)));
+    }
+}
@@ -0,0 +1,154 @@
+package ca.bcit.termproject.wordgame;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpacedRepetitionSchedulerTest
+{
+    @Test
+    void testMissedCountryReturnsBeforeMasteredCountry() throws IOException
+    {
+        SpacedRepetitionScheduler scheduler = new SpacedRepetitionScheduler(World.getInstance(), new Random(1));
+        Country missed = scheduler.draw();
+        scheduler.record(missed, CountrySelector.Recall.MISSED);
+        Country mastered = scheduler.draw();
+        scheduler.record(mastered, CountrySelector.Recall.FIRST_ATTEMPT);
+
+        int missedAt = -1;
+        int masteredAt = -1;
+
+        for (int question = 0; question < 100 && masteredAt < 0; question++)
+        {
+            Country country = scheduler.draw();
+            scheduler.record(country, CountrySelector.Recall.FIRST_ATTEMPT);
+
+            if (country == missed && missedAt < 0)
+            {
+                missedAt = question;
+            }
+            if (country == mastered)
+            {
+                masteredAt = question;
+            }
+        }
+
+        assertTrue(missedAt >= 0 && missedAt <= SpacedRepetitionScheduler.BASE_INTERVAL, "A missed country should come back after about the base interval.");
+        assertTrue(masteredAt > missedAt, "A country in box 1 should wait longer than a missed country.");
+    }
+
+    @Test
+    void testGameCountriesAreDistinctAndUnrecordedOnesReturn() throws IOException
+    {
+        SpacedRepetitionScheduler scheduler = new SpacedRepetitionScheduler(World.getInstance(), new Random(2));
+        Country[] first = new Country[10];
+        Country[] second = new Country[10];
+
+        scheduler.drawGame(first);
+        assertEquals(first.length, new HashSet<>(Arrays.asList(first)).size(), "A game should never repeat a country.");
+
+        // nothing was recorded, so the next game asks about the same countries
+        scheduler.drawGame(second);
+        assertEquals(new HashSet<>(Arrays.asList(first)), new HashSet<>(Arrays.asList(second)));
+
+        Country notDrawn = World.getInstance().getCountries().stream()
+                .filter(country -> !Arrays.asList(second).contains(country))
+                .findFirst()
+                .orElseThrow();
+        assertThrows(IllegalArgumentException.class, () -> scheduler.record(notDrawn, CountrySelector.Recall.MISSED));
+    }
+
+    @Test
+    void testProgressSurvivesSaveAndLoad(@TempDir Path tempDir) throws IOException
+    {
+        World world = World.getInstance();
+        Path file = tempDir.resolve("player.dat");
+        SpacedRepetitionScheduler scheduler = new SpacedRepetitionScheduler(world, new Random(3));
+        Country[] game = new Country[10];
+
+        scheduler.drawGame(game);
+        for (int i = 1; i < game.length; i++)
+        {
+            scheduler.record(game[i], CountrySelector.Recall.FIRST_ATTEMPT);
+        }
+        scheduler.record(game[0], CountrySelector.Recall.MISSED);
+        scheduler.save(file);
+
+        SpacedRepetitionScheduler loaded = SpacedRepetitionScheduler.load(world, file, new Random(4));
+
+        assertEquals(scheduler.getClock(), loaded.getClock());
+        for (int i = 1; i < game.length; i++)
+        {
+            assertEquals(1, loaded.getBox(game[i]), "A saved country should keep its box.");
+        }
+        assertEquals(0, loaded.getBox(game[0]));
+        assertSame(scheduler.draw(), loaded.draw(), "A loaded scheduler should pick the same overdue country.");
+    }
+
+    @Test
+    void testGameLongerThanCatalogCanBeRecorded() throws IOException
+    {
+        World world = new World(new InMemoryCountrySource.Builder()
+                .add("Atlantis", "Poseidonia", "Fact 1", "Fact 2", "Fact 3")
+                .add("Lemuria", "Kumari", "Fact 1", "Fact 2", "Fact 3")
+                .add("Mu", "Hiranipura", "Fact 1", "Fact 2", "Fact 3")
+                .build());
+        SpacedRepetitionScheduler scheduler = new SpacedRepetitionScheduler(world, new Random(5));
+        Country[] game = new Country[GameSession.QUESTIONS_PER_GAME];
+
+        scheduler.drawGame(game);
+        assertEquals(3, new HashSet<>(Arrays.asList(game)).size(), "A long game should ask about every country.");
+        assertSame(game[0], game[3], "A long game should repeat its countries in order.");
+
+        for (Country country : game)
+        {
+            scheduler.record(country, CountrySelector.Recall.FIRST_ATTEMPT);
+        }
+
+        assertEquals(game.length, scheduler.getClock());
+        assertEquals(4, scheduler.getBox(game[0]), "Each of the four answers should move the country up a box.");
+
+        // every country is scheduled once again, so the next game still asks about all of them
+        scheduler.drawGame(game);
+        assertEquals(3, new HashSet<>(Arrays.asList(game)).size());
+    }
+
+    @Test
+    void testUnreadableProgressStartsAfresh(@TempDir Path tempDir) throws IOException
+    {
+        World world = World.getInstance();
+        Path file = tempDir.resolve("player.dat");
+        SpacedRepetitionScheduler scheduler = new SpacedRepetitionScheduler(world, new Random(6));
+
+        scheduler.record(scheduler.draw(), CountrySelector.Recall.MISSED);
+        scheduler.save(file);
+
+        // a save cut short by a crash
+        Files.write(file, Arrays.copyOf(Files.readAllBytes(file), 10));
+
+        SpacedRepetitionScheduler loaded = SpacedRepetitionScheduler.loadOrCreate(world, file, new Random(6));
+
+        assertEquals(0, loaded.getClock(), "An unreadable file should start a new player.");
+        loaded.record(loaded.draw(), CountrySelector.Recall.FIRST_ATTEMPT);
+        loaded.save(file);
+        assertEquals(1, SpacedRepetitionScheduler.load(world, file, new Random(6)).getClock());
+
+        try (Stream<Path> files = Files.list(tempDir))
+        {
+            assertFalse(files.anyMatch(path -> path.toString().endsWith(".tmp")), "No temporary file should be left behind.");
+        }
+    }
+}
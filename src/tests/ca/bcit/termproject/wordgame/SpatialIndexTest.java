@@ -0,0 +1,141 @@
+package ca.bcit.termproject.wordgame;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpatialIndexTest
+{
+    private static World newWorld() throws IOException
+    {
+        return new World(new InMemoryCountrySource.Builder()
+                .add(located("Afghanistan", "Kabul", 34.5553, 69.2075))
+                .add(located("Pakistan", "Islamabad", 33.6844, 73.0479))
+                .add(located("Tajikistan", "Dushanbe", 38.5598, 68.7870))
+                .add(located("India", "New Delhi", 28.6139, 77.2090))
+                .add(located("Fiji", "Suva", -18.1416, 178.4419))
+                .add(located("Samoa", "Apia", -13.8507, -171.7514))
+                .add("Atlantis", "Poseidonia", "Fact 1", "Fact 2", "Fact 3")
+                .build());
+    }
+
+    private static Country located(final String name, final String capital, final double latitude, final double longitude)
+    {
+        return new Country(name, capital, new String[]{"Fact 1", "Fact 2", "Fact 3"}, new String[0], new String[0],
+                           latitude, longitude);
+    }
+
+    @Test
+    void testNearestCapitals() throws IOException
+    {
+        World world = newWorld();
+        SpatialIndex index = world.getSpatialIndex();
+
+        assertEquals(6, index.size(), "Countries without coordinates are not indexed.");
+        assertEquals("Pakistan", world.getCountry(index.findNearest(world.getCountryByName("Afghanistan"), 1)[0]).getName());
+        assertEquals("Samoa", index.getCountries(index.findNearest(world.getCountryByName("Fiji"), 1)).get(0).getName(),
+                     "Apia is closest to Suva across the date line.");
+        assertEquals(0, index.findNearest(34.5553, 69.2075, 1)[0], "A query at Kabul should find Kabul itself.");
+        assertEquals(6, index.findNearest(0, 0, 10).length, "No more countries than are indexed should be found.");
+    }
+
+    @Test
+    void testShippedCapitalsHaveCoordinates() throws IOException
+    {
+        World world = World.getInstance();
+        SpatialIndex index = world.getSpatialIndex();
+
+        assertEquals(world.getCountryCount(), index.size(), "Every shipped capital should have coordinates.");
+        assertEquals("Islamabad", index.createClosestCapitalQuestion(world.getCountryByName("Afghanistan")).getExpectedAnswer());
+        assertEquals("Vatican City", index.createClosestCapitalQuestion(world.getCountryByName("Italy")).getExpectedAnswer());
+    }
+
+    @Test
+    void testMatchesLinearScan() throws IOException
+    {
+        Random random = new Random(25L);
+        InMemoryCountrySource.Builder builder = new InMemoryCountrySource.Builder();
+
+        for (int i = 0; i < 2000; i++)
+        {
+            builder.add(located("Country" + i, "Capital" + i,
+                                Math.toDegrees(Math.asin(2 * random.nextDouble() - 1)), 360 * random.nextDouble() - 180));
+        }
+
+        World world = new World(builder.build());
+        SpatialIndex index = world.getSpatialIndex();
+
+        for (int query = 0; query < 50; query++)
+        {
+            double latitude = 180 * random.nextDouble() - 90;
+            double longitude = 360 * random.nextDouble() - 180;
+            int[] expected = IntStream.range(0, world.getCountryCount()).boxed()
+                    .sorted(Comparator.comparingDouble(i -> distance(world.getCountry(i), latitude, longitude)))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+
+            assertArrayEquals(Arrays.copyOf(expected, 5), index.findNearest(latitude, longitude, 5));
+
+            int[] within = index.findWithin(latitude, longitude, 1500);
+            long count = Arrays.stream(expected).filter(i -> distance(world.getCountry(i), latitude, longitude) <= 1500).count();
+            assertEquals(count, within.length, "The radius query should find every capital in range.");
+            assertArrayEquals(Arrays.copyOf(expected, within.length), within);
+        }
+    }
+
+    @Test
+    void testDistance()
+    {
+        assertEquals(0.0, SpatialIndex.distanceKm(10, 20, 10, 20));
+        assertEquals(Math.PI * SpatialIndex.EARTH_RADIUS_KM, SpatialIndex.distanceKm(0, 0, 0, 180), 1e-6);
+        assertEquals(SpatialIndex.distanceKm(34.5553, 69.2075, 28.6139, 77.2090), 1010, 20, "Kabul to New Delhi is about 1000 km.");
+    }
+
+    @Test
+    void testClosestCapitalQuestion() throws IOException
+    {
+        World world = newWorld();
+        Question question = world.getSpatialIndex().createClosestCapitalQuestion(world.getCountryByName("Pakistan"));
+
+        assertEquals(Question.Type.CLOSEST_CAPITAL, question.getType());
+        assertTrue(question.getPrompt().contains("Islamabad"));
+        assertEquals("Kabul", question.getExpectedAnswer());
+        assertEquals(world.getCountryByName("Afghanistan").getCapitalCityKey(), question.getExpectedAnswerKey());
+        assertNull(world.getSpatialIndex().createClosestCapitalQuestion(world.getCountryByName("Atlantis")));
+    }
+
+    @Test
+    void testClosestCapitalGame() throws IOException
+    {
+        World world = newWorld();
+        GameSession session = new GameSession(world, new AnswerMatcher(world, AnswerMatcher.DEFAULT_MAX_DISTANCE), new Random(3L));
+
+        for (Question question : session.startClosestCapitalGame())
+        {
+            assertEquals(Question.Type.CLOSEST_CAPITAL, question.getType());
+            assertNotEquals("Atlantis", question.getCountry().getName());
+        }
+
+        World unlocated = new World(new InMemoryCountrySource.Builder()
+                .add("Atlantis", "Poseidonia", "Fact 1", "Fact 2", "Fact 3")
+                .build());
+        GameSession empty = new GameSession(unlocated, new AnswerMatcher(unlocated, AnswerMatcher.DEFAULT_MAX_DISTANCE), new Random(3L));
+        assertThrows(IllegalStateException.class, empty::startClosestCapitalGame);
+    }
+
+    private static double distance(final Country country, final double latitude, final double longitude)
+    {
+        return SpatialIndex.distanceKm(latitude, longitude, country.getLatitude(), country.getLongitude());
+    }
+}
@@ -0,0 +1,97 @@
+package ca.bcit.termproject.wordgame;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SyntheticDataGeneratorTest
+{
+    @Test
+    void testValidDataLoads(@TempDir Path tempDir) throws IOException
+    {
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(7L, 0.0);
+        Path countries = tempDir.resolve("countrydata");
+        Path scores = tempDir.resolve("wordgame_score.txt");
+        Path clockStorm = tempDir.resolve("clockstorm_score.txt");
+
+        assertEquals(0, generator.writeCountries(countries, 2_000));
+        assertEquals(0, generator.writeWordGameScores(scores, 500));
+        assertEquals(0, generator.writeClockStormScores(clockStorm, 500));
+
+        World world = new World(new DirectoryCountrySource(countries));
+        assertEquals(2_000, world.getCountryCount());
+        assertTrue(world.getFactIndex().findAll("volcano").length > 0);
+
+        List<Score> read = Score.readScoresFromFile(scores.toString());
+        assertEquals(500, read.size());
+
+        for (Score score : read)
+        {
+            assertEquals(score.getGamesPlayed() * GameSession.QUESTIONS_PER_GAME,
+                         score.getCorrectOnFirstAttempt() + score.getCorrectOnSecondAttempt() +
+                         score.getIncorrectOnSecondAttempt());
+        }
+
+        List<String> lines = Files.readAllLines(clockStorm);
+        assertEquals(500, lines.size());
+        assertTrue(lines.stream().allMatch(line -> line.matches("\\d+")));
+    }
+
+    @Test
+    void testSameSeedSameFiles(@TempDir Path tempDir) throws IOException
+    {
+        new SyntheticDataGenerator(11L, 0.1).writeCountries(tempDir.resolve("first"), 300);
+        new SyntheticDataGenerator(11L, 0.1).writeCountries(tempDir.resolve("second"), 300);
+        new SyntheticDataGenerator(12L, 0.1).writeCountries(tempDir.resolve("third"), 300);
+
+        byte[] first = Files.readAllBytes(tempDir.resolve("first").resolve("c.txt"));
+
+        assertArrayEquals(first, Files.readAllBytes(tempDir.resolve("second").resolve("c.txt")));
+        assertFalse(Arrays.equals(first, Files.readAllBytes(tempDir.resolve("third").resolve("c.txt"))));
+    }
+
+    @Test
+    void testCorruptRecordsAreSkipped(@TempDir Path tempDir) throws IOException
+    {
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(3L, 0.2);
+        Path countries = tempDir.resolve("countrydata");
+        Path scores = tempDir.resolve("wordgame_score.txt");
+        Path clockStorm = tempDir.resolve("clockstorm_score.txt");
+
+        int corruptCountries = generator.writeCountries(countries, 1_000);
+        assertTrue(corruptCountries > 0);
+        assertEquals(1_000 - corruptCountries, new World(new DirectoryCountrySource(countries)).getCountryCount());
+
+        assertTrue(generator.writeWordGameScores(scores, 200) > 0);
+        assertEquals(200 * 7, Files.readAllLines(scores).size(), "Corrupt records keep the framing of a record.");
+        assertThrows(RuntimeException.class, () -> Score.readScoresFromFile(scores.toString()));
+
+        int corruptLines = generator.writeClockStormScores(clockStorm, 1_000);
+        long valid = Files.readAllLines(clockStorm).stream().filter(line -> line.matches("\\d{1,3}")).count();
+        assertEquals(1_000 - corruptLines, valid);
+    }
+
+    @Test
+    void testRefusesToOverwrite(@TempDir Path tempDir) throws IOException
+    {
+        Path scores = tempDir.resolve("wordgame_score.txt");
+        Files.writeString(scores, "keep me");
+
+        assertThrows(FileAlreadyExistsException.class,
+                     () -> new SyntheticDataGenerator(1L, 0.0).writeWordGameScores(scores, 10));
+        assertEquals("keep me", Files.readString(scores));
+        assertThrows(IllegalArgumentException.class, () -> new SyntheticDataGenerator(1L, 1.5));
+    }
+}
@@ -0,0 +1,101 @@
+package ca.bcit.termproject.wordgame;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WordGameServerTest
+{
+    @Test
+    void testConcurrentSessionsKeepSeparateScores() throws IOException
+    {
+        World world = World.getInstance();
+
+        try (WordGameServer server = new WordGameServer(world, new AnswerMatcher(world, AnswerMatcher.DEFAULT_MAX_DISTANCE), 0);
+             Socket first = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+             Socket second = new Socket(InetAddress.getLoopbackAddress(), server.getPort()))
+        {
+            BufferedReader firstIn = new BufferedReader(new InputStreamReader(first.getInputStream(), StandardCharsets.UTF_8));
+            PrintWriter firstOut = new PrintWriter(first.getOutputStream(), true, StandardCharsets.UTF_8);
+            BufferedReader secondIn = new BufferedReader(new InputStreamReader(second.getInputStream(), StandardCharsets.UTF_8));
+            PrintWriter secondOut = new PrintWriter(second.getOutputStream(), true, StandardCharsets.UTF_8);
+
+            assertEquals("WELCOME " + GameSession.QUESTIONS_PER_GAME, firstIn.readLine());
+            assertEquals("WELCOME " + GameSession.QUESTIONS_PER_GAME, secondIn.readLine());
+
+            // the players play at the same time; the first plays two games and the second plays one
+            playWrongGame(firstIn, firstOut);
+            playWrongGame(secondIn, secondOut);
+            firstOut.println("yes");
+            playWrongGame(firstIn, firstOut);
+
+            secondOut.println("no");
+            assertTrue(secondIn.readLine().startsWith("SCORE 1 0 0 10 "));
+            assertEquals("BYE", secondIn.readLine());
+
+            firstOut.println("no");
+            assertTrue(firstIn.readLine().startsWith("SCORE 2 0 0 20 "));
+            assertEquals("BYE", firstIn.readLine());
+        }
+    }
+
+    @Test
+    void testOverlongLineEndsSession() throws IOException
+    {
+        World world = World.getInstance();
+
+        try (WordGameServer server = new WordGameServer(world, new AnswerMatcher(world, AnswerMatcher.DEFAULT_MAX_DISTANCE), 0);
+             Socket player = new Socket(InetAddress.getLoopbackAddress(), server.getPort()))
+        {
+            BufferedReader in = new BufferedReader(new InputStreamReader(player.getInputStream(), StandardCharsets.UTF_8));
+            PrintWriter out = new PrintWriter(player.getOutputStream(), true, StandardCharsets.UTF_8);
+
+            assertEquals("WELCOME " + GameSession.QUESTIONS_PER_GAME, in.readLine());
+            skipPrompt(in);
+
+            // no line break ever comes
+            out.print("x".repeat(5_000));
+            out.flush();
+
+            assertEquals("BYE", in.readLine());
+            assertNull(in.readLine(), "The server should close the session.");
+        }
+    }
+
+    private static void playWrongGame(BufferedReader in, PrintWriter out) throws IOException
+    {
+        for (int question = 0; question < GameSession.QUESTIONS_PER_GAME; question++)
+        {
+            skipPrompt(in);
+
+            out.println("not a country");
+            assertEquals("TRY AGAIN", in.readLine());
+            out.println("");
+            assertTrue(in.readLine().startsWith("INCORRECT "));
+        }
+
+        assertEquals("PLAY AGAIN?", in.readLine());
+    }
+
+    private static void skipPrompt(BufferedReader in) throws IOException
+    {
+        String header = in.readLine();
+        assertTrue(header.startsWith("QUESTION "), "Expected a question but got: " + header);
+
+        int lines = Integer.parseInt(header.substring("QUESTION ".length()));
+        for (int i = 0; i < lines; i++)
+        {
+            in.readLine();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package ca.bcit.termproject.wordgame;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WorldTest
+{
+    @Test
+    void testGetInstanceLoadsOnce() throws IOException
+    {
+        // Repeated calls should share one catalog instead of re-reading the files
+        World first = World.getInstance();
+        int loadsAfterFirst = World.getLoadCount();
+        World second = World.getInstance();
+
+        assertSame(first, second, "getInstance should always return the same catalog.");
+        assertEquals(loadsAfterFirst, World.getLoadCount(), "getInstance should not reload the data files.");
+    }
+
+    @Test
+    void testReloadReplacesInstance() throws IOException
+    {
+        World before = World.getInstance();
+        World reloaded = World.reload();
+
+        assertNotSame(before, reloaded, "reload should build a new catalog.");
+        assertSame(reloaded, World.getInstance(), "getInstance should return the reloaded catalog.");
+        assertEquals(before.getWorld().keySet(), reloaded.getWorld().keySet(), "Reloading unchanged files should give the same countries.");
+    }
+
+    @Test
+    void testCatalogIsLoadedAndImmutable() throws IOException
+    {
+        World world = World.getInstance();
+        Map<String, Country> countries = world.getWorld();
+
+        assertFalse(countries.isEmpty(), "The catalog should contain countries.");
+        assertEquals(countries.size(), world.getCountries().size(), "The list and map views should hold the same countries.");
+        assertEquals("Kabul", countries.get("Afghanistan").getCapitalCityName(), "Afghanistan should be loaded with its capital.");
+        assertTrue(world.getLoadTimeNanos() > 0, "The load time should be recorded.");
+        assertThrows(UnsupportedOperationException.class, () -> countries.remove("Afghanistan"), "The catalog should not be modifiable.");
+    }
+
+    @Test
+    void testSecondaryIndexes() throws IOException
+    {
+        World world = World.getInstance();
+        Country afghanistan = world.getWorld().get("Afghanistan");
+
+        assertSame(afghanistan, world.getCountryByName("  afGHANistan "), "Name lookups should ignore case and whitespace.");
+        assertSame(afghanistan, world.getCountryByCapital("KABUL"), "Capital lookups should ignore case.");
+        assertNull(world.getCountryByName("Atlantis"), "Unknown names should return null.");
+        assertNull(world.getCountryByCapital(null), "A null capital should return null.");
+    }
+
+    @Test
+    void testAliasLookups() throws IOException
+    {
+        World world = World.getInstance();
+        Country unitedStates = world.getWorld().get("United States");
+
+        assertSame(unitedStates, world.getCountryByName("USA"), "Name aliases should resolve to their country.");
+        assertSame(unitedStates, world.getCountryByCapital("washington"), "Capital aliases should resolve to their country.");
+        assertSame(world.getWorld().get("Czech Republic"), world.getCountryByName("czechia"));
+        assertEquals("united states", world.resolveAlias("united states of america"));
+        assertEquals("atlantis", world.resolveAlias("atlantis"), "A key that is not an alias should resolve to itself.");
+    }
+
+    @Test
+    void testLookupsIgnoreAccents() throws IOException
+    {
+        World world = World.getInstance();
+        Country colombia = world.getWorld().get("Colombia");
+
+        assertEquals("bogota", colombia.getCapitalCityKey(), "Answer keys should be folded at load time.");
+        assertSame(colombia, world.getCountryByCapital("BOGOTA"), "Capital lookups should ignore accents.");
+        assertSame(colombia, world.getCountryByCapital("Bogotá"));
+        assertEquals("chisinau", World.normalize(" Chișinău "));
+    }
+
+    @Test
+    void testWithShardReplacesOnlyThatShard() throws IOException
+    {
+        World world = new World(new InMemoryCountrySource.Builder()
+                .add("Canada", "Ottawa", "Fact 1", "Fact 2", "Fact 3")
+                .add("Peru", "Lima", "Fact 1", "Fact 2", "Fact 3")
+                .build());
+
+        World updated = world.withShard('c', List.of(new Country("Chile", "Santiago", new String[]{"Fact 1", "Fact 2", "Fact 3"})));
+
+        assertNull(updated.getCountryByName("Canada"), "The old shard should be replaced.");
+        assertEquals("Santiago", updated.getCountryByName("chile").getCapitalCityName());
+        assertSame(world.getCountryByName("Peru"), updated.getCountryByName("Peru"), "Other shards should be reused.");
+        assertEquals("Ottawa", world.getCountryByName("Canada").getCapitalCityName(), "The original World should not change.");
+        assertEquals(1, updated.withShard('c', List.of()).getCountryCount(), "An empty shard should be removed.");
+    }
+}
@@ -0,0 +1,103 @@
+package ca.bcit.termproject.wordgame;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WorldWatcherTest
+{
+    private static final long TIMEOUT_MILLIS = 10_000L;
+    private static final long POLL_MILLIS    = 20L;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testEditedLetterFileIsPublished() throws IOException, InterruptedException
+    {
+        World before = World.getInstance();
+        long otherShards = before.getCountries().stream()
+                                 .filter(country -> CountrySource.getShardLetter(country.getName()) != 'z')
+                                 .count();
+
+        try (WorldWatcher watcher = new WorldWatcher(tempDir))
+        {
+            Files.writeString(tempDir.resolve("z.txt"), "\nZembla:Onhava\nFact 1\nFact 2\nFact 3\n");
+            waitForReloads(watcher, 1);
+            waitForCountry("Zembla");
+
+            World after = World.getInstance();
+            assertNotSame(before, after, "A reload should publish a new catalog.");
+            assertEquals(otherShards + 1, after.getCountryCount(), "Every other shard should be kept.");
+            assertNull(before.getCountryByName("Zembla"), "A catalog that is already held should not change.");
+
+            // editing the file again replaces the shard rather than adding to it
+            int reloads = watcher.getReloadCount();
+            Files.writeString(tempDir.resolve("z.txt"), "\nZanzibar:Stone Town\nFact 1\nFact 2\nFact 3\n");
+            waitForReloads(watcher, reloads + 1);
+            waitForCountry("Zanzibar");
+
+            assertNull(World.getInstance().getCountryByName("Zembla"));
+            assertTrue(watcher.getLastReloadNanos() > 0);
+        }
+        finally
+        {
+            World.reload();
+        }
+    }
+
+    @Test
+    void testOtherFilesAreIgnored() throws IOException, InterruptedException
+    {
+        World before = World.getInstance();
+
+        try (WorldWatcher watcher = new WorldWatcher(tempDir))
+        {
+            Files.writeString(tempDir.resolve("notes.txt"), "\nZembla:Onhava\nFact 1\nFact 2\nFact 3\n");
+            Files.writeString(tempDir.resolve("y.txt"), "\nYonder:Far\nFact 1\nFact 2\nFact 3\n");
+            waitForReloads(watcher, 1);
+            waitForCountry("Yonder");
+
+            assertNull(World.getInstance().getCountryByName("Zembla"), "Only letter files are shards.");
+            assertNotSame(before, World.getInstance());
+        }
+        finally
+        {
+            World.reload();
+        }
+    }
+
+    private static void waitForReloads(final WorldWatcher watcher, final int count) throws InterruptedException
+    {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+
+        while (watcher.getReloadCount() < count && System.currentTimeMillis() < deadline)
+        {
+            Thread.sleep(POLL_MILLIS);
+        }
+
+        assertTrue(watcher.getReloadCount() >= count, "The watcher should have reloaded the shard.");
+    }
+
+    private static void waitForCountry(final String name) throws IOException, InterruptedException
+    {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+
+        // the file may be read between being truncated and written, so wait for the last write to be seen
+        while (World.getInstance().getCountryByName(name) == null && System.currentTimeMillis() < deadline)
+        {
+            Thread.sleep(POLL_MILLIS);
+        }
+
+        assertNotNull(World.getInstance().getCountryByName(name));
+    }
+}